@@ -37,6 +37,16 @@ import java.security.*;
 import java.sql.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.*;
 import java.util.prefs.*;
 import javax.crypto.*;
@@ -88,6 +98,12 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
      * This is the internal name for the program.
      */
     protected static final String INTERNAL_PROGRAM_NAME = "LinkManager";
+    /**
+     * This is the amount of time in milliseconds that an incomplete download 
+     * can go without being worked on before it is deleted. This is set to one 
+     * week.
+     */
+    private static final long STALE_DOWNLOAD_AGE = 7L * 24 * 60 * 60 * 1000;
     /**
      * This is the credits for the program. This is currently private as I plan 
      * to rework it.
@@ -334,6 +350,14 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
      * up-to-date than the downloaded version.
      */
     private static final int DATABASE_LOADER_CHECK_LOCAL_FLAG = 0x02;
+    /**
+     * This is the minimum size a list must be in order to be loaded from the 
+     * database into a {@link LinksListModel#isVirtual() virtual} model, which 
+     * reads its links from the database as they are needed instead of keeping 
+     * all of them in memory. Smaller lists are loaded into memory outright, 
+     * since they take up little memory anyway.
+     */
+    private static final int MINIMUM_VIRTUAL_LIST_SIZE = 4096;
     /**
      * 
      */
@@ -408,7 +432,7 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
      * @throws SQLException If a database error occurs.
      */
     private LinkDatabaseConnection connect(String file) throws SQLException{
-        return new LinkDatabaseConnection(file, config.getSQLiteConfig());
+        return connManager.connect(file);
     }
     /**
      * This creates and returns a connection to the database file located at 
@@ -420,6 +444,57 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
     private LinkDatabaseConnection connect(File file) throws SQLException{
         return connect(file.toString());
     }
+    /**
+     * This returns a read-only connection to the database file located at the 
+     * given file. The connection is taken from the pool of read-only 
+     * connections, and is returned to the pool when it is closed. This is 
+     * used to read from the database without waiting for a save in progress 
+     * to finish.
+     * @param file The file for the database to connect to.
+     * @return The read-only connection to the database.
+     * @throws SQLException If a database error occurs.
+     * @see LinkDatabaseConnectionManager#connectReadOnly(File) 
+     */
+    private LinkDatabaseConnection connectReadOnly(File file) 
+            throws SQLException{
+        return connManager.connectReadOnly(file);
+    }
+    /**
+     * This returns a source for virtual models to read the links for their 
+     * lists from the database file located at the given file. The links are 
+     * read using {@link #connectReadOnly(File) read-only connections} from 
+     * the pool, so that they can be read while the database is being saved. 
+     * Each page of links is read with a single query, since the models 
+     * already know the size of their lists, and links are found without 
+     * reading the pages of links.
+     * @param file The file for the database to read the links from.
+     * @return The source for the links in the database.
+     * @see LinksListModel#setVirtualContents(int, LinksListContentsSource) 
+     * @see ListContents#toVirtualModel(LinksListContentsSource, 
+     * ProgressObserver) 
+     */
+    private LinksListContentsSource getDatabaseContentsSource(File file){
+        return new LinksListContentsSource(){
+            @Override
+            public List<String> getLinks(LinksListModel model, int fromIndex, 
+                    int toIndex) {
+                try(LinkDatabaseConnection conn = connectReadOnly(file)){
+                    return conn.getListLinks(model.getListID(), fromIndex, 
+                            toIndex);
+                } catch (SQLException ex){
+                    throw new UncheckedSQLException(ex);
+                }
+            }
+            @Override
+            public int indexOf(LinksListModel model, String link){
+                try(LinkDatabaseConnection conn = connectReadOnly(file)){
+                    return conn.getListLinkIndex(model.getListID(), link);
+                } catch (SQLException ex){
+                    throw new UncheckedSQLException(ex);
+                }
+            }
+        };
+    }
     /**
      * 
      * @return 
@@ -550,6 +625,8 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         
             // Create the configuration for the program
         config = new LinkManagerConfig(node);
+            // Create the manager for the connections to the database
+        connManager = new LinkDatabaseConnectionManager(config.getSQLiteConfig());
         try{    // Try to load the configuration file into the properties
             LinkManagerUtilities.loadProperties(getConfigFile(),config.getProperties());
         } catch (IOException ex){
@@ -889,6 +966,10 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         
             // Set the SQLite config to enforce the foreign keys
         config.getSQLiteConfig().enforceForeignKeys(foreignKeysToggle.isSelected());
+            // Apply the performance profile to the SQLite config and the 
+            // connections to the database
+        config.getDatabasePerformanceProfile().applyTo(config.getSQLiteConfig());
+        connManager.setPerformanceProfile(config.getDatabasePerformanceProfile());
         
         try{
             updateChecker = new UpdateChecker(AUTHOR_NAME,INTERNAL_PROGRAM_NAME,
@@ -1265,6 +1346,9 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         dbUpdateUsedPrefixesButton = new javax.swing.JButton();
         dbRemoveDuplDataButton = new javax.swing.JButton();
         dbResetIDsButton = new javax.swing.JButton();
+        javax.swing.JLabel dbProfileLabel = new javax.swing.JLabel();
+        dbProfileCombo = new javax.swing.JComboBox<>();
+        dbCheckpointButton = new javax.swing.JButton();
         dbPropPanel = new javax.swing.JPanel();
         javax.swing.JLabel dbVersionTextLabel = new javax.swing.JLabel();
         dbVersionLabel = new javax.swing.JLabel();
@@ -1342,6 +1426,9 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         addLinksPanel = new manager.AddLinksFromListPanel();
         searchDialog = new javax.swing.JDialog(this);
         searchPanel = new manager.LinkSearchPanel();
+        searchResultsDialog = new javax.swing.JDialog(this);
+        searchResultsScrollPane = new javax.swing.JScrollPane();
+        searchResultsTable = new javax.swing.JTable();
         listManipSelCountPanel = new manager.SelectedItemCountPanel();
         listManipulator = new components.JListManipulator<>();
         linkEditPane = new javax.swing.JOptionPane();
@@ -1407,11 +1494,13 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         searchMenuItem = new javax.swing.JMenuItem();
         optionsMenu = new javax.swing.JMenu();
         progressDisplay = new JByteProgressDisplayMenu();
+        cancelSearchItem = new javax.swing.JMenuItem();
         alwaysOnTopToggle = new javax.swing.JCheckBoxMenuItem();
         doubleNewLinesToggle = new javax.swing.JCheckBoxMenuItem();
         linkOperationToggle = new javax.swing.JCheckBoxMenuItem();
         hiddenLinkOperationToggle = new javax.swing.JCheckBoxMenuItem();
         showDBErrorDetailsToggle = new javax.swing.JCheckBoxMenuItem();
+        parallelPrefixToggle = new javax.swing.JCheckBoxMenuItem();
         setDBLocationItem = new javax.swing.JMenuItem();
         syncDBToggle = new javax.swing.JCheckBoxMenuItem();
         autosaveMenu = new manager.timermenu.AutosaveMenu();
@@ -1767,6 +1856,25 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             }
         });
 
+        dbProfileLabel.setLabelFor(dbProfileCombo);
+        dbProfileLabel.setText("Performance Profile:");
+
+        dbProfileCombo.setModel(new javax.swing.DefaultComboBoxModel<>(DatabasePerformanceProfile.values()));
+        dbProfileCombo.setToolTipText("The SQLite settings to use for the connections to the database.");
+        dbProfileCombo.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                dbProfileComboActionPerformed(evt);
+            }
+        });
+
+        dbCheckpointButton.setText("Checkpoint");
+        dbCheckpointButton.setToolTipText("Write the write-ahead log back into the database file.");
+        dbCheckpointButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                dbCheckpointButtonActionPerformed(evt);
+            }
+        });
+
         dbPropPanel.setLayout(new java.awt.GridBagLayout());
 
         dbVersionTextLabel.setLabelFor(dbVersionLabel);
@@ -1962,6 +2070,12 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 .addContainerGap()
                 .addGroup(dbFilePanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                     .addComponent(dbPropPanel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                    .addGroup(dbFilePanelLayout.createSequentialGroup()
+                        .addComponent(dbProfileLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(dbProfileCombo, 0, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(dbCheckpointButton))
                     .addGroup(dbFilePanelLayout.createSequentialGroup()
                         .addComponent(updateDBFileCombo, 0, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
@@ -2014,6 +2128,11 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                     .addComponent(dbRemoveDuplDataButton)
                     .addComponent(dbResetIDsButton))
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(dbFilePanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(dbProfileLabel)
+                    .addComponent(dbProfileCombo, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(dbCheckpointButton))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addGroup(dbFilePanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
                     .addComponent(updateDBFileButton)
                     .addComponent(updateDBFileCombo, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
@@ -2456,7 +2575,7 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         );
 
         searchDialog.setTitle("Find...");
-        searchDialog.setMinimumSize(new java.awt.Dimension(517, 190));
+        searchDialog.setMinimumSize(new java.awt.Dimension(517, 220));
         searchDialog.setResizable(false);
         searchDialog.addComponentListener(new java.awt.event.ComponentAdapter() {
             public void componentMoved(java.awt.event.ComponentEvent evt) {
@@ -2477,6 +2596,21 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         });
         searchDialog.getContentPane().add(searchPanel, java.awt.BorderLayout.CENTER);
 
+        searchResultsDialog.setTitle("Search Results");
+
+        searchResultsScrollPane.setPreferredSize(new java.awt.Dimension(640, 320));
+
+        searchResultsTable.setAutoCreateRowSorter(true);
+        searchResultsTable.setSelectionMode(javax.swing.ListSelectionModel.SINGLE_SELECTION);
+        searchResultsTable.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseClicked(java.awt.event.MouseEvent evt) {
+                searchResultsTableMouseClicked(evt);
+            }
+        });
+        searchResultsScrollPane.setViewportView(searchResultsTable);
+
+        searchResultsDialog.getContentPane().add(searchResultsScrollPane, java.awt.BorderLayout.CENTER);
+
         listManipulator.setBottomAccessory(listManipSelCountPanel);
 
         linkEditPane.setMessage("Enter the link to use:");
@@ -2908,6 +3042,17 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 progressDisplayActionPerformed(evt);
             }
         });
+
+        cancelSearchItem.setText("Cancel Search");
+        cancelSearchItem.setToolTipText("Stops searching all the lists");
+        cancelSearchItem.setEnabled(false);
+        cancelSearchItem.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                cancelSearchItemActionPerformed(evt);
+            }
+        });
+        progressDisplay.add(cancelSearchItem);
+
         optionsMenu.add(progressDisplay);
 
         alwaysOnTopToggle.setAccelerator(javax.swing.KeyStroke.getKeyStroke(java.awt.event.KeyEvent.VK_T, java.awt.event.InputEvent.CTRL_DOWN_MASK));
@@ -2953,6 +3098,15 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         });
         optionsMenu.add(showDBErrorDetailsToggle);
 
+        parallelPrefixToggle.setSelected(true);
+        parallelPrefixToggle.setText("Generate Prefixes In Parallel");
+        parallelPrefixToggle.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                parallelPrefixToggleActionPerformed(evt);
+            }
+        });
+        optionsMenu.add(parallelPrefixToggle);
+
         setDBLocationItem.setText("Set Database Location");
         setDBLocationItem.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -3418,10 +3572,8 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             conn.setAutoCommit(false);
             Set<Long> outdatedLinks = new LinkedHashSet<>(
                     linkMap.getStartsWith(prefix).navigableKeySet());
-            for (Long linkID : outdatedLinks){
-                conn.updateLinkPrefix(linkID);
-//                progressBar.setValue(progressBar.getValue()+1);
-            }
+                // Update the prefixes for the links that start with the prefix
+            conn.updateLinkPrefix(outdatedLinks, null);
                // Ensure that the database last modified time is updated
             conn.setDatabaseLastModified();
             conn.commit();       // Commit the changes to the database
@@ -3460,11 +3612,17 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
     }//GEN-LAST:event_removePrefixButtonActionPerformed
     
     private void setDBFileNameButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_setDBFileNameButtonActionPerformed
+            // If the lists could not be loaded from the current database file
+        if (!loadVirtualModelsForFileChange())
+            return;
         config.setDatabaseFileName(dbFileNameField.getText());
         updateDatabaseFileFields();
     }//GEN-LAST:event_setDBFileNameButtonActionPerformed
 
     private void resetDBFilePathButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_resetDBFilePathButtonActionPerformed
+            // If the lists could not be loaded from the current database file
+        if (!loadVirtualModelsForFileChange())
+            return;
         config.setDatabaseFileName(null);
         updateDatabaseFileFields();
     }//GEN-LAST:event_resetDBFilePathButtonActionPerformed
@@ -3592,6 +3750,33 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
     private void showDBErrorDetailsToggleActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_showDBErrorDetailsToggleActionPerformed
         config.setDatabaseErrorDetailsAreShown(showDBErrorDetailsToggle.isSelected());
     }//GEN-LAST:event_showDBErrorDetailsToggleActionPerformed
+
+    private void parallelPrefixToggleActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_parallelPrefixToggleActionPerformed
+        config.setParallelPrefixGenerationEnabled(parallelPrefixToggle.isSelected());
+        connManager.setParallelPrefixGenerationEnabled(parallelPrefixToggle.isSelected());
+    }//GEN-LAST:event_parallelPrefixToggleActionPerformed
+
+    private void dbProfileComboActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_dbProfileComboActionPerformed
+            // Set the performance profile used for the database connections
+        config.setDatabasePerformanceProfile(
+                (DatabasePerformanceProfile)dbProfileCombo.getSelectedItem());
+        connManager.setPerformanceProfile(config.getDatabasePerformanceProfile());
+    }//GEN-LAST:event_dbProfileComboActionPerformed
+
+    private void dbCheckpointButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_dbCheckpointButtonActionPerformed
+        try(LinkDatabaseConnection conn = connect(getDatabaseFile())){
+                // If the write-ahead log could not be fully checkpointed
+            if (!conn.checkpoint())
+                getLogger().log(Level.WARNING, 
+                        "Database checkpoint was blocked by another connection");
+        } catch (SQLException ex){
+            getLogger().log(Level.WARNING,"Failed to checkpoint database", ex);
+        } catch (UncheckedSQLException ex){
+            getLogger().log(Level.WARNING,"Failed to checkpoint database", ex);
+            getLogger().log(Level.WARNING,"Failed to checkpoint database cause", ex.getCause());
+        }
+        loadDatabaseViewer(true);
+    }//GEN-LAST:event_dbCheckpointButtonActionPerformed
     /**
      * This is an action performed by all the file choosers when the user 
      * approves of the selected file(s).
@@ -3629,6 +3814,19 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 // Search for the previous match
             case(LinkSearchPanel.SEARCH_FIND_PREVIOUS_COMMAND):
                 direction = Position.Bias.Backward;
+                break;
+                // Search all the lists for every match
+            case(LinkSearchPanel.SEARCH_FIND_ALL_COMMAND):
+                searchAllWorker = new SearchAllLinks(searchPanel.getSearchText());
+                    // If the search results window is not showing
+                if (!searchResultsDialog.isVisible()){
+                    searchResultsDialog.pack();
+                    searchResultsDialog.setLocationRelativeTo(this);
+                    searchResultsDialog.setVisible(true);
+                }
+                cancelSearchItem.setEnabled(true);
+                searchAllWorker.execute();
+                return;
         }
         if (direction != null){ // If the direction is not null
             linksWorker = new SearchLinks(getSelectedList(),
@@ -3662,6 +3860,43 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             searchDialog.setLocationRelativeTo(this);
         searchDialog.setVisible(true);
     }//GEN-LAST:event_searchMenuItemActionPerformed
+    /**
+     * This cancels the search of all the lists that is currently in progress.
+     * @param evt The ActionEvent.
+     */
+    private void cancelSearchItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_cancelSearchItemActionPerformed
+        if (searchAllWorker != null){
+            getLogger().log(Level.FINER, "Cancelling search {0}", searchAllWorker);
+            searchAllWorker.cancel(true);
+        }
+    }//GEN-LAST:event_cancelSearchItemActionPerformed
+    /**
+     * This selects the link for a search result when the search result is 
+     * double clicked.
+     * @param evt The MouseEvent.
+     */
+    private void searchResultsTableMouseClicked(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_searchResultsTableMouseClicked
+            // If this is not a double click or the program is busy
+        if (evt.getClickCount() != 2 || !isInputEnabled())
+            return;
+        int row = searchResultsTable.rowAtPoint(evt.getPoint());
+        if (row < 0)        // If no search result was clicked
+            return;
+        row = searchResultsTable.convertRowIndexToModel(row);
+        Object listID = searchResultsTable.getModel().getValueAt(row, 0);
+        int index = (Integer)searchResultsTable.getModel().getValueAt(row, 2);
+            // Get the list for the search result in the selected tabs panel
+        LinksListPanel panel = (listID instanceof Integer) ? 
+                getSelectedTabsPanel().getListWithListID((Integer)listID):null;
+            // If the list is not shown or the list has changed since it was 
+            // searched
+        if (panel == null || index >= panel.getModel().size()){
+            beep();
+            return;
+        }
+        getSelectedTabsPanel().setSelectedListID((Integer)listID);
+        panel.setSelectedIndex(index, true);
+    }//GEN-LAST:event_searchResultsTableMouseClicked
     /**
      * This adds a link to the currently selected list.
      * @param evt The ActionEvent
@@ -3854,6 +4089,8 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         else if (!(loader instanceof AbstractFileDownloader) || 
                 !((AbstractFileDownloader)loader).getExitIfCancelled()){
             getLogger().finer("Exiting program normally");
+                // Close the connections to the database
+            connManager.close();
             System.exit(0);
         }
     }//GEN-LAST:event_exitButtonActionPerformed
@@ -4258,7 +4495,7 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             updateListEditButtons();
             return;
         }
-        try(LinkDatabaseConnection conn = connect(getDatabaseFile())){
+        try(LinkDatabaseConnection conn = connectReadOnly(getDatabaseFile())){
             setListEditSettings(conn,listID);
         } catch (SQLException | UncheckedSQLException | IllegalArgumentException ex) {
             processDatabaseError("Error loading settings for list " + listID,ex);
@@ -4308,7 +4545,7 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
     
     private void dbUsedPrefixSearchButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_dbUsedPrefixSearchButtonActionPerformed
         String prefixStr = dbUsedPrefixCombo.getSelectedItem().toString();
-        try(LinkDatabaseConnection conn = connect(getDatabaseFile())){
+        try(LinkDatabaseConnection conn = connectReadOnly(getDatabaseFile())){
             searchUsedPrefixes(conn,getSearchPrefix(prefixStr));
         } catch (SQLException | UncheckedSQLException | IllegalArgumentException ex) {
             processDatabaseError("Could Not Search For Prefix \""+prefixStr+"\"",
@@ -4365,7 +4602,7 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
 
     private void dbSearchButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_dbSearchButtonActionPerformed
         String prefixStr = dbSearchPrefixCombo.getSelectedItem().toString();
-        try(LinkDatabaseConnection conn = connect(getDatabaseFile())){
+        try(LinkDatabaseConnection conn = connectReadOnly(getDatabaseFile())){
             Integer prefixID = (dbSearchPrefixCheckBox.isSelected()) ? 
                     getSearchPrefix(prefixStr) : null;
             searchListContents(conn,dbSearchField.getText(),prefixID);
@@ -4575,6 +4812,9 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             saver = new DatabaseFileChanger(op,oldFile,fileName);
             saver.execute();
         } else {
+                // If the lists could not be loaded from the current database 
+            if (!loadVirtualModelsForFileChange())  // file
+                return;
             config.setDatabaseFileName(fileName);
             setLocationDialog.setVisible(false);
         }
@@ -4926,6 +5166,11 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             case (SyncLocationPanel.FILE_COMPRESSION_LEVEL_PROPERTY_CHANGED):
                 config.getSyncLocationSettings(SyncMode.DROPBOX)
                         .setFileCompressionLevel(dbxLocationPanel.getFileCompressionLevel());
+                break;
+            case (SyncLocationPanel.FILE_COMPRESSION_THREAD_COUNT_PROPERTY_CHANGED):
+                config.getSyncLocationSettings(SyncMode.DROPBOX)
+                        .setFileCompressionThreadCount(
+                                dbxLocationPanel.getFileCompressionThreadCount());
         }
     }//GEN-LAST:event_dbxLocationPanelPropertyChange
     
@@ -4979,17 +5224,54 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         dbUsedPrefixSizeLabel.setText(""+conn.getPrefixMap().getPrefixCount(prefixID));
     }
     
-    private void searchListContents(LinkDatabaseConnection conn, String text, 
-            Integer prefixID)throws SQLException{
-        TreeMap<Integer, String> listNames = new TreeMap<>(conn.getListNameMap());
-        try(PreparedStatement pstmt = conn.prepareStatement(
+    /**
+     * This prepares the statement used to search the contents of the lists in 
+     * the database for the given text and prefix. The statement returns the 
+     * listID, index, linkID, and link for each matching link, ordered by 
+     * listID and then index. Since the statement uses {@code LIKE}, the search 
+     * is case insensitive for ASCII characters.
+     * @param conn The connection to the database.
+     * @param text The text to search for, or null or empty to not search for 
+     * text.
+     * @param prefixID The prefixID of the prefix to limit the search to, or 
+     * null to not limit the search to a prefix.
+     * @return The prepared statement for the search.
+     * @throws SQLException If a database error occurs.
+     * @see LinkDatabaseConnection#getListContentsSearchQuery(boolean, boolean, 
+     * boolean) 
+     */
+    private PreparedStatement prepareListContentsSearch(
+            LinkDatabaseConnection conn, String text, Integer prefixID) 
+            throws SQLException{
+            // Get whether the link search table can be used for the search
+        boolean linkSearch = prefixID == null && 
+                LinkDatabaseConnection.canUseLinkSearch(text) && 
+                conn.isLinkSearchEnabled();
+        PreparedStatement pstmt = conn.prepareStatement(
                 LinkDatabaseConnection.getListContentsSearchQuery(
-                        text != null && !text.isEmpty(), prefixID != null))){
+                        text != null && !text.isEmpty(), prefixID != null, 
+                        linkSearch));
+        try{
             if (prefixID != null)
                 pstmt.setInt(1, prefixID);
             if (text != null && !text.isEmpty())
                 pstmt.setString((prefixID != null)?2:1, 
                         "%"+formatSearchQueryPattern(text)+"%");
+            if (linkSearch)
+                pstmt.setString(2, 
+                        LinkDatabaseConnection.formatLinkSearchMatchPattern(text));
+        } catch (SQLException ex){
+            pstmt.close();
+            throw ex;
+        }
+        return pstmt;
+    }
+    
+    private void searchListContents(LinkDatabaseConnection conn, String text, 
+            Integer prefixID)throws SQLException{
+        TreeMap<Integer, String> listNames = new TreeMap<>(conn.getListNameMap());
+        try(PreparedStatement pstmt = prepareListContentsSearch(conn,text,
+                prefixID)){
             dbLinkSearchTable.setModel(getListSearchTableModel(conn,
                     pstmt.executeQuery(),listNames));
         }
@@ -5474,6 +5756,10 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
      * This is used to perform changes to a LinksListPanel in the background.
      */
     private LinksListWorker linksWorker = null;
+    /**
+     * This is used to search all the lists in the background.
+     */
+    private SearchAllLinks searchAllWorker = null;
     /**
      * This is used to load the account details for the user's account.
      */
@@ -5508,6 +5794,12 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
      * This is used to store and manage the configuration for this program.
      */
     private LinkManagerConfig config;
+    /**
+     * This is used to open the connections to the database, and keeps a pool 
+     * of read-only connections so that the database can be read from while it 
+     * is being saved.
+     */
+    private LinkDatabaseConnectionManager connManager;
     /**
      * 
      */
@@ -5556,6 +5848,7 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
     private manager.timermenu.AutoHideMenu autoHideMenu;
     private manager.timermenu.AutosaveMenu autosaveMenu;
     private javax.swing.JButton backupDBButton;
+    private javax.swing.JMenuItem cancelSearchItem;
     private javax.swing.JMenuItem clearListSelItem;
     private javax.swing.JMenuItem clearSelTabItem;
     private javax.swing.JFileChooser configFC;
@@ -5567,6 +5860,7 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
     private javax.swing.JDialog databaseDialog;
     private javax.swing.JFileChooser databaseFC;
     private javax.swing.JFileChooser databaseUpdateFC;
+    private javax.swing.JButton dbCheckpointButton;
     private javax.swing.JScrollPane dbCreatePrefixScrollPane;
     private javax.swing.JTree dbCreatePrefixTree;
     private javax.swing.JButton dbCreateTablesButton;
@@ -5593,6 +5887,7 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
     private javax.swing.JScrollPane dbPrefixScrollPane;
     private javax.swing.JTable dbPrefixTable;
     private javax.swing.JPanel dbPrefixesPanel;
+    private javax.swing.JComboBox<DatabasePerformanceProfile> dbProfileCombo;
     private javax.swing.JPanel dbPropPanel;
     private manager.database.DatabaseQueryTestPanel dbQueryPanel;
     private javax.swing.JButton dbRefreshButton;
@@ -5668,6 +5963,7 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
     private javax.swing.JFileChooser openFC;
     private javax.swing.JButton openLinkButton;
     private javax.swing.JMenu optionsMenu;
+    private javax.swing.JCheckBoxMenuItem parallelPrefixToggle;
     private javax.swing.JButton pasteAndAddButton;
     private javax.swing.JButton prefixApplyButton;
     private javax.swing.JButton prefixCopyButton;
@@ -5692,6 +5988,9 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
     private javax.swing.JMenu searchMenu;
     private javax.swing.JMenuItem searchMenuItem;
     private manager.LinkSearchPanel searchPanel;
+    private javax.swing.JDialog searchResultsDialog;
+    private javax.swing.JScrollPane searchResultsScrollPane;
+    private javax.swing.JTable searchResultsTable;
     private javax.swing.JButton setDBAcceptButton;
     private javax.swing.JButton setDBCancelButton;
     private javax.swing.JButton setDBFileNameButton;
@@ -5788,6 +6087,41 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 // Set the selected link for the list
             config.setSelectedLink(model.getListID(), selValue);
     }
+    /**
+     * This loads the links for all the {@link LinksListModel#isVirtual() 
+     * virtual} models into memory. Virtual models read their links from the 
+     * database file they were loaded from, and their links are not written 
+     * when saving since they are assumed to already be in the database. As 
+     * such, this must be called before the database file is replaced, moved, 
+     * or changed.
+     * @throws UncheckedSQLException If the links could not be read from the 
+     * database.
+     * @see LinksListModel#ensureContentsLoaded() 
+     */
+    private void loadVirtualModels(){
+        getLogger().entering(this.getClass().getName(), "loadVirtualModels");
+            // Go through the models
+        for (LinksListModel model : getModelSet())
+            model.ensureContentsLoaded();
+        getLogger().exiting(this.getClass().getName(), "loadVirtualModels");
+    }
+    /**
+     * This loads the links for all the virtual models into memory before the 
+     * database file is changed, showing an error if this fails.
+     * @return Whether the links were loaded.
+     * @see #loadVirtualModels() 
+     */
+    private boolean loadVirtualModelsForFileChange(){
+        try{
+            loadVirtualModels();
+            return true;
+        } catch (UncheckedSQLException ex){
+            processDatabaseError("Could Not Load The Lists From The Database",
+                    "Error loading virtual lists before changing the database file",
+                    ex);
+            return false;
+        }
+    }
     /**
      * 
      * @return 
@@ -6037,10 +6371,18 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         showDBErrorDetailsToggle.setSelected(
                 config.getDatabaseErrorDetailsAreShown(
                         showDBErrorDetailsToggle.isSelected()));
+            // Set whether new prefixes are found in parallel when adding links 
+            // to the database
+        parallelPrefixToggle.setSelected(
+                config.isParallelPrefixGenerationEnabled());
+        connManager.setParallelPrefixGenerationEnabled(
+                parallelPrefixToggle.isSelected());
             // Set whether the program syncs the database to an external source 
             // upon saving or loading
         syncDBToggle.setSelected(config.getDatabaseWillSync(
                 syncDBToggle.isSelected()));
+            // Set the performance profile to use for the database connections
+        dbProfileCombo.setSelectedItem(config.getDatabasePerformanceProfile());
             // Set the operation to use when changing the location of the 
             // database file
         dbFileChangeCombo.setSelectedIndex(
@@ -6062,6 +6404,8 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         SyncLocationSettings dbxSettings = config.getSyncLocationSettings(SyncMode.DROPBOX);
         dbxLocationPanel.setFileCompressionEnabled(dbxSettings.isFileCompressionEnabled());
         dbxLocationPanel.setFileCompressionLevel(dbxSettings.getFileCompressionLevel());
+        dbxLocationPanel.setFileCompressionThreadCount(
+                dbxSettings.getFileCompressionThreadCount());
             // If the program has fully loaded
         if (fullyLoaded){
             getLogger().finer("Program is fully loaded");
@@ -6153,15 +6497,18 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                         // Get the selected link for the list
                     String selected = selMap.get(listID);
                     getLogger().log(Level.FINER, "Selection: {0}", selected);
+                        // Get the index of the selected link in the list. 
+                        // This does not load the links of virtual lists
+                    int selIndex = panel.getModel().indexOf(selected);
                         // If the list does not contain the selected link
-                    if (!panel.getModel().contains(selected)){
+                    if (selIndex < 0){
                             // No link will be selected for the list
-                        selected = null;
+                        panel.clearSelection();
                         getLogger().finer("Selection not found in model");
-                    }   // Set the selected link for the list, scrolling to the 
-                        // link if it is meant to be visible
-                    panel.setSelectedValue(selected, 
-                            selVisMap.getOrDefault(listID, false));
+                    } else  // Set the selected link for the list, scrolling 
+                            // to the link if it is meant to be visible
+                        panel.setSelectedIndex(selIndex, 
+                                selVisMap.getOrDefault(listID, false));
                 }   // Get the visible rectangle for the list
                 Rectangle rect = visRectMap.get(listID);
                 getLogger().log(Level.FINER, "Visible rectangle: {0}", rect);
@@ -6263,7 +6610,10 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 // If the model's contents were modified
             if (model.getContentsModified())
                 total += model.size();
-            linksSet.addAll(model);
+                // If the model is virtual, then its links are already in the 
+                // database, since it would no longer be virtual if it was 
+            if (!model.isVirtual())     // edited
+                linksSet.addAll(model);
         }   // Remove null if present in the set
         linksSet.remove(null);
             // This gets the map of prefixes from the database
@@ -6273,8 +6623,11 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         Map<Integer,String> newPrefixes = prefixMap.createPrefixesFrom(linksSet);
         conn.commit();          // Commit the changes to the database
         System.gc();            // Run the garbage collector
+            // This gets a compact index mapping the links in the database to 
+            // their linkIDs
+        LinkIDIndex linkIDMap = linkMap.createLinkIDIndex();
             // Remove all the links already in the link map to get any new links
-        linksSet.removeAll(new HashSet<>(linkMap.values()));
+        linksSet.removeIf(linkIDMap::containsIndexed);
             // This is a set that will get all the links that may need to have 
             // their prefix updated to the new longest prefix
         Set<Long> outdatedLinks = new LinkedHashSet<>();
@@ -6294,9 +6647,11 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         System.gc();            // Run the garbage collector
             // Add the new links to the database.
         linkMap.addAll(linksSet, progressObserver);
+            // If any links were added to the database
+        if (!linksSet.isEmpty())
+                // Recreate the index so that it includes the new links
+            linkIDMap = linkMap.createLinkIDIndex();
         progressBar.setIndeterminate(false);
-            // This gets a cached copy of the inverse link map
-        Map<String,Long> linkIDMap = new HashMap<>(conn.getLinkMap().inverse());
             // Go through the models to be saved
         for (LinksListModel model : models){
                 // If the model's contents were modified
@@ -6376,15 +6731,192 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         getLogger().exiting(this.getClass().getName(), "saveDatabase", true);
         return true;
     }
+    /**
+     * This loads the given lists from the database into models. If there is 
+     * more than one list to load and more than one processor available, then 
+     * the lists will be loaded at the same time on a pool of worker threads, 
+     * with each worker reading from the database using its own {@link 
+     * LinkDatabaseConnection#openReadOnlyConnection() read-only connection}. 
+     * The progress observer is only updated from the calling thread, once for 
+     * each list as it finishes loading. If the read-only connections cannot be 
+     * opened (such as for an in-memory database), then the lists will be 
+     * loaded one after another using the given connection. If a contents 
+     * source is given, then lists that are at least {@link 
+     * #MINIMUM_VIRTUAL_LIST_SIZE} links long will be loaded into {@link 
+     * LinksListModel#isVirtual() virtual} models that read their links from 
+     * the source as they are needed.
+     * @param conn The connection to the database.
+     * @param loadData The map of listIDs to the lists to load.
+     * @param source The source for virtual models to read their links from, 
+     * or null if all the lists are to be loaded into memory.
+     * @return A map mapping the listIDs to the models for the lists.
+     * @throws SQLException If a database error occurs.
+     */
+    private Map<Integer, LinksListModel> loadListModels(
+            LinkDatabaseConnection conn, Map<Integer,ListContents> loadData, 
+            LinksListContentsSource source) throws SQLException{
+            // This will get the models loaded from the database
+        Map<Integer, LinksListModel> models = new HashMap<>();
+            // Get the amount of threads to use to load the lists
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), 
+                loadData.size());
+            // If there is more than one list to load and more than one 
+        if (threads > 1){   // processor to load them with
+                // If there are any uncommitted changes, commit them so that the 
+            if (!conn.getAutoCommit())  // read-only connections will see them
+                conn.commit();
+                // Open the first read-only connection, if one can be opened
+            LinkDatabaseConnection reader = null;
+            try{
+                reader = conn.openReadOnlyConnection();
+            } catch (SQLException ex){
+                getLogger().log(Level.FINE, 
+                        "Could not open read-only connection, loading lists "+
+                                "one at a time", ex);
+            }   // If a read-only connection could be opened
+            if (reader != null){
+                    // This will get all the read-only connections that were 
+                    // opened, so that they can be closed once we're done
+                List<LinkDatabaseConnection> readers = 
+                        Collections.synchronizedList(new ArrayList<>());
+                readers.add(reader);
+                    // This contains the read-only connections that have been 
+                    // opened but not yet given to a thread
+                Queue<LinkDatabaseConnection> unused = new ArrayDeque<>();
+                unused.add(reader);
+                    // This will get the read-only connection for each thread
+                ThreadLocal<LinkDatabaseConnection> threadReader = 
+                        new ThreadLocal<>();
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                ExecutorCompletionService<Map.Entry<Integer,LinksListModel>> 
+                        service = new ExecutorCompletionService<>(executor);
+                    // This gets the futures for the lists being loaded
+                List<Future<Map.Entry<Integer,LinksListModel>>> futures = 
+                        new ArrayList<>();
+                    // This gets the listIDs of the lists to load mapped to 
+                    // their sizes
+                List<Map.Entry<Integer,Integer>> lists = new ArrayList<>();
+                for (Map.Entry<Integer,ListContents> listData : 
+                        loadData.entrySet())
+                    lists.add(new AbstractMap.SimpleImmutableEntry<>(
+                            listData.getKey(), listData.getValue().size()));
+                    // Sort the lists so that the largest lists are loaded 
+                    // first, which keeps the threads more evenly busy
+                lists.sort(Map.Entry.<Integer,Integer>comparingByValue()
+                        .reversed());
+                try{// Go through the lists to load
+                    for (Map.Entry<Integer,Integer> list : lists){
+                        int listID = list.getKey();
+                        futures.add(service.submit(() -> {
+                                // Get the read-only connection for this thread
+                            LinkDatabaseConnection temp = threadReader.get();
+                                // If this thread does not have a connection yet
+                            if (temp == null){
+                                    // Use an unused connection if there is one
+                                synchronized(unused){
+                                    temp = unused.poll();
+                                }   // If there are no unused connections
+                                if (temp == null){
+                                    temp = conn.openReadOnlyConnection();
+                                    readers.add(temp);
+                                }
+                                threadReader.set(temp);
+                            }
+                            return new AbstractMap.SimpleImmutableEntry<>(
+                                    listID, loadListModel(
+                                            temp.getListContents(listID), 
+                                            list.getValue(), source, null));
+                        }));
+                    }   // Go through the lists as they finish loading
+                    for (int i = 0; i < futures.size(); i++){
+                        Map.Entry<Integer,LinksListModel> entry = 
+                                service.take().get();
+                        models.put(entry.getKey(), entry.getValue());
+                            // If there is a progress observer
+                        if (progressObserver != null)
+                                // Update the progress with the size of the list
+                            progressObserver.incrementValue(
+                                    entry.getValue().size());
+                    }
+                } catch (InterruptedException ex){
+                        // Preserve the interrupt and stop loading
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while loading lists",ex);
+                } catch (ExecutionException ex){
+                        // If the list failed to load due to a database error
+                    if (ex.getCause() instanceof SQLException)
+                        throw (SQLException) ex.getCause();
+                    else if (ex.getCause() instanceof RuntimeException)
+                        throw (RuntimeException) ex.getCause();
+                    else if (ex.getCause() instanceof Error)
+                        throw (Error) ex.getCause();
+                    throw new SQLException(ex.getCause());
+                } finally {
+                        // Stop any lists that are still loading
+                    for (Future<?> future : futures)
+                        future.cancel(true);
+                    executor.shutdownNow();
+                    try{    // Wait for any lists still loading to stop
+                        executor.awaitTermination(1, TimeUnit.MINUTES);
+                    } catch (InterruptedException ex){
+                        Thread.currentThread().interrupt();
+                    }   // Close the read-only connections
+                    synchronized(readers){
+                        for (LinkDatabaseConnection temp : readers){
+                            try{
+                                temp.close();
+                            } catch (SQLException ex){
+                                getLogger().log(Level.FINE, 
+                                        "Failed to close read-only connection", 
+                                        ex);
+                            }
+                        }
+                    }
+                }
+                getLogger().log(Level.FINE, 
+                        "Loaded {0} lists using {1} threads", 
+                        new Object[]{models.size(), threads});
+                return models;
+            }
+        }   // Go through the lists to be loaded
+        for (Map.Entry<Integer,ListContents> listData:loadData.entrySet()){
+                // Get a model version of the current list
+            models.put(listData.getKey(), loadListModel(listData.getValue(), 
+                    listData.getValue().size(), source, progressObserver));
+        }
+        return models;
+    }
+    /**
+     * This loads the given list from the database into a model. If a contents 
+     * source is given and the list is at least {@link 
+     * #MINIMUM_VIRTUAL_LIST_SIZE} links long, then the list will be loaded 
+     * into a {@link LinksListModel#isVirtual() virtual} model.
+     * @param list The list to load.
+     * @param size The size of the list.
+     * @param source The source for virtual models to read their links from, 
+     * or null.
+     * @param observer The progress observer to update, or null.
+     * @return The model for the list.
+     */
+    private LinksListModel loadListModel(ListContents list, int size, 
+            LinksListContentsSource source, ProgressObserver observer){
+            // If the list is large enough to be worth loading virtually
+        if (source != null && size >= MINIMUM_VIRTUAL_LIST_SIZE)
+            return list.toVirtualModel(source, observer);
+        return list.toModel(observer);
+    }
     /**
      * 
      * @param conn
      * @param loadAll
+     * @param file The file for the database being loaded. If this is the 
+     * program's database file, then large lists will be loaded into virtual 
+     * models that read their links from the database as they are needed.
      * @return
      * @throws SQLException 
      */
     private Map<LinksListTabsPanel, List<LinksListModel>> loadDatabase(LinkDatabaseConnection conn,
-            boolean loadAll) throws SQLException{
+            boolean loadAll, File file) throws SQLException{
         getLogger().entering(this.getClass().getName(), "loadDatabase", loadAll);
             // Disable all the lists
         setTabsPanelListsEnabled(false);
@@ -6428,17 +6960,18 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         }   // Set the progress maximum to the amount of links that will be 
         progressBar.setMaximum(total);  // loaded
         progressBar.setIndeterminate(false);
-            // Go through the lists to be loaded
-        for (Map.Entry<Integer,ListContents> listData:loadData.entrySet()){
-                // Get the listID of the list being loaded
-            Integer listID = listData.getKey();
-                // Get a model version of the current list
-            LinksListModel model = listData.getValue().toModel(progressObserver);
+            // Go through the models loaded from the database
+        for (Map.Entry<Integer,LinksListModel> entry : 
+                loadListModels(conn,loadData,
+                        // Only lists in the program's database file can be 
+                        // read later, since any other file may be removed
+                    (getDatabaseFile().equals(file)) ? 
+                            getDatabaseContentsSource(file) : null).entrySet()){
                 // Get the old version of the model (the one that this model 
                 // is replacing), and copy the selection from the old model
-            model.setSelectionFrom(oldModelsMap.get(listID));
+            entry.getValue().setSelectionFrom(oldModelsMap.get(entry.getKey()));
                 // Put the model in the map containing the loaded models
-            models.put(listID, model);
+            models.put(entry.getKey(), entry.getValue());
         }
         progressBar.setIndeterminate(true);
             // This gets a map mapping the tabs panels to the list of 
@@ -6532,29 +7065,125 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
      * @param archive
      * @param targetPath
      * @param level
+     * @param threads
      * @throws SevenZipException
      * @throws IOException 
      */
-    private void compressFile(File source, File archive, String targetPath, int level) 
-            throws SevenZipException, IOException{
+    private void compressFile(File source, File archive, String targetPath, 
+            int level, int threads) throws SevenZipException, IOException{
         getLogger().entering(this.getClass().getName(), "compressFile", 
-                new Object[]{source,archive,targetPath,level});
-        getLogger().log(Level.FINER, "Using compression level {0}", level);
-        try (RandomAccessFile raf = new RandomAccessFile(archive, "rw");
-                IOutCreateArchive7z outArchive = SevenZip.openOutArchive7z()){
+                new Object[]{source,archive,targetPath,level,threads});
+        try (RandomAccessFile raf = new RandomAccessFile(archive, "rw")){
+            compressFile(source,new RandomAccessFileOutStream(raf),targetPath,
+                    level,threads);
+        }
+        getLogger().exiting(this.getClass().getName(), "compressFile");
+    }
+    /**
+     * This compresses the given source file into a 7z archive that is written 
+     * to the given output stream.
+     * @param source The file to compress.
+     * @param out The stream to write the archive to.
+     * @param targetPath The path for the file in the archive, or null to use 
+     * the file's name.
+     * @param level The compression level.
+     * @param threads The amount of threads to use to compress the file. LZMA2 
+     * splits the file into blocks that are compressed in parallel, so more 
+     * threads reduces the time it takes to compress a large file at the cost 
+     * of more memory.
+     * @throws SevenZipException If an error occurs while compressing the file.
+     * @throws IOException If an I/O error occurs.
+     * @see ChunkedOutStream
+     */
+    private void compressFile(File source, IOutStream out, String targetPath, 
+            int level, int threads) throws SevenZipException, IOException{
+        getLogger().entering(this.getClass().getName(), "compressFile", 
+                new Object[]{source,out,targetPath,level,threads});
+        getLogger().log(Level.FINER, "Using compression level {0} with {1} threads", 
+                new Object[]{level,threads});
+        try (IOutCreateArchive7z outArchive = SevenZip.openOutArchive7z()){
                 // Configure archive
             outArchive.setLevel(level);
             outArchive.setSolid(true);
+            outArchive.setThreadCount(Math.max(threads, 1));
             progressObserver.setValue(0);
             progressObserver.setIndeterminate(false);
             FileCreateCallback7z callback = new FileCreateCallback7z(progressObserver,source);
             if (targetPath != null)
                 callback.getFilePathMap().put(source, targetPath);
                 // Create the archive
-            outArchive.createArchive(new RandomAccessFileOutStream(raf),1,callback);
+            outArchive.createArchive(out,1,callback);
         }
         getLogger().exiting(this.getClass().getName(), "compressFile");
     }
+    /**
+     * This computes the Dropbox content hash of the given file.
+     * @param file The file to get the content hash of.
+     * @return The content hash of the file, or null if the file does not 
+     * exist or could not be read.
+     * @see DropboxUtilities#getContentHash(File) 
+     */
+    private String getContentHash(File file){
+        getLogger().entering(this.getClass().getName(), "getContentHash", file);
+        String hash = null;
+            // If the file exists
+        if (file != null && file.exists()){
+            try{
+                hash = DropboxUtilities.getContentHash(file);
+            } catch (IOException ex){
+                getLogger().log(Level.WARNING, "Failed to compute content hash", 
+                        ex);
+            }
+        }
+        getLogger().exiting(this.getClass().getName(), "getContentHash", hash);
+        return hash;
+    }
+    /**
+     * This returns whether the remote file with the given content hash is the 
+     * same as the local database file with the given content hash. This is 
+     * the case if either the remote file is an exact copy of the local file, 
+     * or if neither file has changed since the last time the database was 
+     * synced with the given sync mode.
+     * @param mode The sync mode for the remote file.
+     * @param remoteHash The content hash of the remote file.
+     * @param localHash The content hash of the local database file.
+     * @return Whether the remote file and local file are already in sync.
+     * @see #setSyncedContentHashes(SyncMode, String, String) 
+     */
+    private boolean isSyncedFileUnchanged(SyncMode mode, String remoteHash, 
+            String localHash){
+            // If either hash is not known
+        if (remoteHash == null || localHash == null)
+            return false;
+            // If the remote file is an exact copy of the local file
+        if (remoteHash.equals(localHash))
+            return true;
+        SyncLocationSettings settings = config.getSyncLocationSettings(mode);
+        return remoteHash.equals(settings.getSyncedContentHash()) && 
+                localHash.equals(settings.getSyncedDatabaseHash());
+    }
+    /**
+     * This records the content hashes of the remote file and local database 
+     * file after the database has been synced with the given sync mode.
+     * @param mode The sync mode the database was synced with.
+     * @param remoteHash The content hash of the remote file, or null.
+     * @param localHash The content hash of the local database file, or null.
+     * @see #isSyncedFileUnchanged(SyncMode, String, String) 
+     */
+    private void setSyncedContentHashes(SyncMode mode, String remoteHash, 
+            String localHash){
+        getLogger().entering(this.getClass().getName(), "setSyncedContentHashes", 
+                new Object[]{mode,remoteHash,localHash});
+        SyncLocationSettings settings = config.getSyncLocationSettings(mode);
+            // If either hash is not known, then forget both of them
+        if (remoteHash == null || localHash == null){
+            remoteHash = null;
+            localHash = null;
+        }
+        settings.setSyncedContentHash(remoteHash);
+        settings.setSyncedDatabaseHash(localHash);
+        getLogger().exiting(this.getClass().getName(), "setSyncedContentHashes");
+    }
     /**
      * 
      * @param archive
@@ -7281,6 +7910,262 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             }
         }
     }
+    /**
+     * This searches every list for the links that contain a given String, 
+     * adding the matches to the {@link #searchResultsTable search results 
+     * table} as each list is searched. The lists are searched in parallel 
+     * using a {@code ForkJoinPool}, with each loaded list being searched in 
+     * its own task. The lists that are not loaded, along with the virtual 
+     * lists, are searched using a query on the database instead, since their 
+     * contents are the same as in the database. This can be cancelled from the 
+     * progress display menu.
+     */
+    private class SearchAllLinks extends LinkManagerWorker<Integer>{
+        /**
+         * The amount of matches found in the database that are added to the 
+         * search results table at a time.
+         */
+        private static final int DATABASE_RESULTS_BATCH_SIZE = 256;
+        /**
+         * The String to search for, formatted based off the settings for the 
+         * search.
+         */
+        private final String text;
+        /**
+         * Whether the search is case sensitive.
+         */
+        private final boolean matchCase;
+        /**
+         * The setting for whether white spaces are checked.
+         */
+        private final boolean matchSpaces;
+        /**
+         * The table model that the search results are added to.
+         */
+        private final CustomTableModel tableModel;
+        /**
+         * The models for the lists to search in memory.
+         */
+        private final List<LinksListModel> models = new ArrayList<>();
+        /**
+         * The listIDs of the lists that are not searched in the database, 
+         * either because they are searched in memory or because they have 
+         * been removed.
+         */
+        private final Set<Integer> skippedListIDs = new HashSet<>();
+        /**
+         * The database file to search, or null if the database is not 
+         * searched.
+         */
+        private final File file;
+        /**
+         * The amount of matches found so far.
+         */
+        private final AtomicInteger matchCount = new AtomicInteger();
+        /**
+         * This constructs a SearchAllLinks that will search all the lists for 
+         * the given text. This must be constructed on the event dispatch 
+         * thread.
+         * @param text The text to search for.
+         */
+        SearchAllLinks(String text){
+            matchSpaces = searchPanel.getMatchSpaces();
+            matchCase = searchPanel.getMatchCase();
+            if (!matchSpaces)       // If white spaces are not being checked
+                text = text.trim();
+            this.text = text;
+            tableModel = new CustomTableModel("ListID", "List Name", "Index", 
+                    "Link");
+            tableModel.setColumnClass(0, Integer.class);
+            tableModel.setColumnClass(1, String.class);
+            tableModel.setColumnClass(2, Integer.class);
+            tableModel.setColumnClass(3, String.class);
+            searchResultsTable.setModel(tableModel);
+            skippedListIDs.addAll(allListsTabsPanel.getRemovedListIDs());
+                // Go through the lists that are loaded
+            for (LinksListModel model : allListsTabsPanel.getModels()){
+                    // If the model's links are still only in the database
+                if (model.isVirtual() && model.getListID() != null)
+                    continue;
+                models.add(model);
+                if (model.getListID() != null)
+                    skippedListIDs.add(model.getListID());
+            }
+            File dbFile = getDatabaseFile();
+            file = (dbFile.exists()) ? dbFile : null;
+        }
+        @Override
+        public String getProgressString() {
+            return "Searching All Lists";
+        }
+        /**
+         * This returns whether the given link contains the text being 
+         * searched for.
+         * @param link The link to check.
+         * @return Whether the link matches the search.
+         */
+        private boolean matches(String link){
+            if (link == null)
+                return false;
+            else if (matchCase)
+                return link.contains(text);
+            return link.toLowerCase().contains(text.toLowerCase());
+        }
+        /**
+         * This adds the given search results to the search results table on 
+         * the event dispatch thread.
+         * @param rows The rows for the search results.
+         * @param finished Whether a list or the database has finished being 
+         * searched.
+         */
+        private void addResults(List<Object[]> rows, boolean finished){
+            matchCount.addAndGet(rows.size());
+            SwingUtilities.invokeLater(() -> {
+                for (Object[] row : rows)
+                    tableModel.addRow(row);
+                if (finished)
+                    progressBar.setValue(progressBar.getValue()+1);
+            });
+        }
+        @Override
+        protected Integer backgroundAction() throws Exception {
+                // This gets the tasks to search the lists
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (LinksListModel model : models)
+                tasks.add(new SearchListTask(model));
+            if (file != null)   // If there is a database to search
+                tasks.add(new SearchDatabaseTask());
+            progressBar.setMaximum(tasks.size());
+            progressBar.setIndeterminate(false);
+            ForkJoinPool pool = new ForkJoinPool();
+            try{
+                for (ForkJoinTask<?> task : tasks)
+                    pool.execute(task);
+                    // Wait for the lists to be searched. This uses get 
+                    // instead of join so that cancelling this interrupts it
+                for (ForkJoinTask<?> task : tasks)
+                    task.get();
+            } catch (InterruptedException ex){
+                getLogger().log(Level.FINER, "Search was interrupted", ex);
+            } catch (ExecutionException ex){
+                    // If the search failed due to an exception
+                if (ex.getCause() instanceof Exception)
+                    throw (Exception) ex.getCause();
+                throw ex;
+            } finally {
+                    // Stop any lists that have not been searched yet
+                pool.shutdownNow();
+            }
+            return matchCount.get();
+        }
+        @Override
+        protected void done(){
+            cancelSearchItem.setEnabled(false);
+            searchAllWorker = null;
+            super.done();
+            if (isCancelled())  // If the search was cancelled
+                return;
+            try{    // If no link was found
+                if (get() == 0){
+                    beep();
+                    JOptionPane.showMessageDialog(LinkManager.this, 
+                            "Could not find \""+text+"\"", "Search Results", 
+                            JOptionPane.INFORMATION_MESSAGE);
+                }
+            } catch (InterruptedException ex){
+                getLogger().log(Level.FINE, "Search was interrupted", ex);
+            } catch (ExecutionException ex){
+                    // If the search failed due to a database error
+                if (ex.getCause() instanceof SQLException || 
+                        ex.getCause() instanceof UncheckedSQLException)
+                    processDatabaseError("Could Not Search The Lists",
+                            "Error searching the lists",(Exception)ex.getCause());
+                else
+                    getLogger().log(Level.WARNING, "Error searching the lists", 
+                            ex.getCause());
+            }
+        }
+        /**
+         * This is a task that searches a list in memory.
+         */
+        private class SearchListTask extends RecursiveAction{
+            /**
+             * The model for the list to search.
+             */
+            private final LinksListModel model;
+            /**
+             * This constructs a SearchListTask that will search the given 
+             * model.
+             * @param model The model for the list to search.
+             */
+            SearchListTask(LinksListModel model){
+                this.model = model;
+            }
+            @Override
+            protected void compute() {
+                    // If the search was cancelled
+                if (SearchAllLinks.this.isCancelled())
+                    return;
+                    // Get the indexes of the matching links in the list
+                List<Integer> indexes = model.getMatchingIndexes(text, 
+                        matchSpaces, matchCase);
+                List<Object[]> rows = new ArrayList<>(indexes.size());
+                for (Integer index : indexes){
+                    rows.add(new Object[]{
+                        model.getListID(),
+                        model.getListName(),
+                        index,
+                        model.get(index)
+                    });
+                }
+                addResults(rows,true);
+            }
+        }
+        /**
+         * This is a task that searches the lists in the database that are not 
+         * searched in memory.
+         */
+        private class SearchDatabaseTask extends RecursiveAction{
+            @Override
+            protected void compute() {
+                    // If the search was cancelled
+                if (SearchAllLinks.this.isCancelled())
+                    return;
+                try(LinkDatabaseConnection conn = connectReadOnly(file);
+                        PreparedStatement pstmt = prepareListContentsSearch(
+                                conn,text,null);
+                        ResultSet rs = pstmt.executeQuery()){
+                    Map<Integer, String> listNames = new HashMap<>(
+                            conn.getListNameMap());
+                    List<Object[]> rows = new ArrayList<>();
+                        // Go through the links that were found until the 
+                        // search is cancelled
+                    while (rs.next() && !SearchAllLinks.this.isCancelled()){
+                        int listID = rs.getInt(LIST_ID_COLUMN_NAME);
+                        String link = rs.getString(LINK_URL_COLUMN_NAME);
+                            // If the list was searched in memory or the link 
+                            // does not match (LIKE ignores case)
+                        if (skippedListIDs.contains(listID) || !matches(link))
+                            continue;
+                        rows.add(new Object[]{
+                            listID,
+                            listNames.get(listID),
+                            rs.getInt(LINK_INDEX_COLUMN_NAME),
+                            link
+                        });
+                            // If enough matches have been found to show them
+                        if (rows.size() >= DATABASE_RESULTS_BATCH_SIZE){
+                            addResults(rows,false);
+                            rows = new ArrayList<>();
+                        }
+                    }
+                    addResults(rows,true);
+                } catch (SQLException ex){
+                    throw new UncheckedSQLException(ex);
+                }
+            }
+        }
+    }
     
     private class AddFromTextWorker extends LinksListWorker<Void>{
         
@@ -7981,6 +8866,15 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         protected boolean loadSuccess = true;
         
         protected boolean exitIfCancelled = false;
+        /**
+         * Whether the download was skipped because the local file is already 
+         * the same as the remote file.
+         */
+        protected boolean downloadSkipped = false;
+        /**
+         * The content hash of the downloaded file, if known.
+         */
+        protected String downloadedContentHash = null;
         /**
          * 
          * @param file
@@ -8186,6 +9080,28 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         protected File getDownloadFile(File file, String path){
             return file;
         }
+        /**
+         * This returns whether the file will not be downloaded if the file 
+         * being loaded is already the same as the remote file, as determined 
+         * by their content hashes. If so, then the file being loaded will be 
+         * loaded as is. This is false by default.
+         * @return Whether unchanged files are not downloaded.
+         * @see LinkManager#isSyncedFileUnchanged(SyncMode, String, String) 
+         */
+        protected boolean isUnchangedDownloadSkipped(){
+            return false;
+        }
+        /**
+         * This records the content hash of the downloaded file along with the 
+         * content hash of the given local file, so that the file will not be 
+         * downloaded again unless either of them change.
+         * @param file The local file that the downloaded file was loaded into.
+         */
+        protected void setSyncedContentHashes(File file){
+            if (syncMode != null && downloadedContentHash != null)
+                LinkManager.this.setSyncedContentHashes(syncMode, 
+                        downloadedContentHash, getContentHash(file));
+        }
         /**
          * 
          * @param file
@@ -8201,14 +9117,34 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             getLogger().log(Level.FINER, "Downloading file at path \"{0}\"",path);
             exc = null;
             fileFound = true;
+            downloadSkipped = false;
+            downloadedContentHash = null;
             ((JByteProgressDisplayMenu)progressDisplay).setUseByteFormat(true);
             try{    
                 SyncMethod method = syncMethods.get(mode);
                     // Determine how to download the file
                 switch(mode){
                     case DROPBOX:   // Try to download the file to Dropbox
-                        FileMetadata data = ((DropboxSyncMethod)method).download(file, path, progressObserver);
+                        DropboxSyncMethod dbxMethod = (DropboxSyncMethod)method;
+                            // Get the metadata for the file to download
+                        FileMetadata data = dbxMethod.getFileMetadata(path);
                         fileFound = data != null;
+                        if (fileFound){
+                            downloadedContentHash = data.getContentHash();
+                                // If the local file is already the same as 
+                                // the file on Dropbox
+                            if (isUnchangedDownloadSkipped() && 
+                                    isSyncedFileUnchanged(mode,
+                                            downloadedContentHash,
+                                            getContentHash(this.file))){
+                                getLogger().finer("File is unchanged, skipping download");
+                                downloadSkipped = true;
+                            } else {
+                                data = dbxMethod.download(file, path, data, 
+                                        progressObserver);
+                                downloadedContentHash = data.getContentHash();
+                            }
+                        }
                         File temp = (fileFound) ? file : null;
                         getLogger().exiting("AbstractFileDownloader","downloadFile",temp);
                         return temp;
@@ -8323,13 +9259,16 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                     downloadedFile = downloadFile;
                     progressBar.setValue(0);
                     progressBar.setIndeterminate(true);
-                }
-                if (isDownloadedFileCompressed(downloadedFile))
+                }   // If the download was skipped, then there is nothing to 
+                if (downloadSkipped)    // extract
+                    setStage(LoadingStage.LOADING_FILE);
+                else if (isDownloadedFileCompressed(downloadedFile))
                     setStage(LoadingStage.EXTRACTING_FILE);
                 else
                     setStage(LoadingStage.LOADING_FILE);
             }
-            File loadFile = downloadedFile;
+                // If the download was skipped, then load the file as is
+            File loadFile = (downloadSkipped) ? null : downloadedFile;
             if (LoadingStage.EXTRACTING_FILE.equals(stage) && downloadedFile != null &&
                     downloadedFile.exists()){
                 String archivePath = getArchiveFilePath();
@@ -8427,6 +9366,44 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             getLogger().exiting("AbstractFileDownloader", 
                     "deleteFile");
         }
+        /**
+         * This returns the file in the temporary directory to download the 
+         * file at the given path to. The same file is returned each time for 
+         * the same path and sync mode, which allows an interrupted download to 
+         * be resumed the next time the file is downloaded, even after the 
+         * program has been restarted. Incomplete downloads that have not been 
+         * worked on for {@link #STALE_DOWNLOAD_AGE} are deleted.
+         * @param path The path of the file being downloaded.
+         * @param suffix The suffix for the downloaded file.
+         * @return The file to download to.
+         * @see RangedFileDownloader
+         */
+        protected File getResumableDownloadFile(String path, String suffix){
+            File tempDir = new File(System.getProperty("java.io.tmpdir"));
+                // The name is derived from a hash of the name of the sync mode 
+                // and the path, since these stay the same between runs
+            String name;
+            try{
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(
+                        (syncMode.name()+"\n"+path).getBytes(
+                                java.nio.charset.StandardCharsets.UTF_8));
+                StringBuilder builder = new StringBuilder();
+                    // Only the first half of the hash is used to keep the 
+                    // name short
+                for (int i = 0; i < hash.length / 2; i++)
+                    builder.append(String.format("%02x", hash[i]));
+                name = builder.toString();
+            } catch (NoSuchAlgorithmException ex){
+                    // Every Java platform is required to support SHA-256
+                throw new IllegalStateException(ex);
+            }
+            File file = new File(tempDir,INTERNAL_PROGRAM_NAME+"-"+name+suffix);
+                // Remove any incomplete downloads that have been abandoned, 
+                // such as those for files that are no longer downloaded
+            RangedFileDownloader.deleteStaleDownloads(tempDir, 
+                    INTERNAL_PROGRAM_NAME+"-", STALE_DOWNLOAD_AGE, file);
+            return file;
+        }
         /**
          * 
          * @param ifSuccessful 
@@ -8434,6 +9411,15 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         protected void deleteDownloadedFile(boolean ifSuccessful){
             getLogger().entering("AbstractFileDownloader", 
                     "deleteDownloadedFile", ifSuccessful);
+                // If the file was only partially downloaded, then keep it so 
+                // that the download can be resumed
+            if (RangedFileDownloader.isIncomplete(downloadedFile)){
+                getLogger().log(Level.FINER, 
+                        "Keeping incomplete download \"{0}\"", downloadedFile);
+                getLogger().exiting("AbstractFileDownloader", 
+                        "deleteDownloadedFile");
+                return;
+            }
             deleteFile(ifSuccessful,downloadedFile);
             getLogger().exiting("AbstractFileDownloader", 
                     "deleteDownloadedFile");
@@ -8609,6 +9595,8 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 // Update the program configuration
             updateProgramConfig();
             getLogger().finer("Exiting program normally");
+                // Close the connections to the database
+            connManager.close();
             System.exit(0);         // Exit the program
         }
         @Override
@@ -8922,6 +9910,8 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 // Update the program configuration
             updateProgramConfig();
             getLogger().finer("Exiting program normally");
+                // Close the connections to the database
+            connManager.close();
             System.exit(0);         // Exit the program
         }
         @Override
@@ -9310,18 +10300,21 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             int index = path.lastIndexOf(".");
             if (index >= 0 && index > path.lastIndexOf("/") && index > path.lastIndexOf("\\"))
                 suffix = path.substring(index);
-            try {
-                return File.createTempFile(INTERNAL_PROGRAM_NAME, suffix);
-            } catch (IOException ex) {
-                getLogger().log(Level.WARNING, "Failed to create temporary download file",
-                        ex);
-            }
-            return file;
+            return getResumableDownloadFile(path,suffix);
+        }
+        @Override
+        protected boolean isUnchangedDownloadSkipped(){
+            return true;
         }
         @Override
         protected boolean loadFile(File file, File downloadedFile) {
             getLogger().entering("DatabaseDownloader", "loadFile", 
                     new Object[]{file,downloadedFile});
+                // If the database file is already the same as the remote file
+            if (downloadSkipped){
+                getLogger().exiting("DatabaseDownloader", "loadFile", true);
+                return true;
+            }
             if (downloadedFile == null){
                 getLogger().warning("Database failed to download");
                 loadSuccess = false;
@@ -9329,10 +10322,22 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 return false;
             }
             exc = null;
+            try{    // Load the virtual lists, since they read from the file 
+                loadVirtualModels();    // that is about to be replaced
+            } catch (UncheckedSQLException ex){
+                getLogger().log(Level.WARNING, 
+                        "Failed to load virtual lists before replacing database file",
+                        ex);
+                exc = ex;
+                getLogger().exiting("DatabaseDownloader", "loadFile", false);
+                return false;
+            }   // Close the idle read-only connections, since they keep the 
+            connManager.closeIdleConnections();     // database file open
             try {
                 Path path = Files.move(downloadedFile.toPath(), file.toPath(),
                         StandardCopyOption.REPLACE_EXISTING);
                 this.file = path.toFile();
+                setSyncedContentHashes(this.file);
                 getLogger().exiting("DatabaseDownloader", "loadFile", true);
                 return true;
             } catch (IOException ex) {
@@ -9480,6 +10485,10 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             return true;
         }
         @Override
+        protected boolean isUnchangedDownloadSkipped(){
+            return true;
+        }
+        @Override
         protected String getExtractionArchiveFileForFailureMessage(File file){
             return "downloaded file";
         }
@@ -9504,13 +10513,7 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             int index = path.lastIndexOf(".");
             if (index >= 0 && index > path.lastIndexOf("/") && index > path.lastIndexOf("\\"))
                 suffix = path.substring(index);
-            try {
-                return File.createTempFile(INTERNAL_PROGRAM_NAME, suffix);
-            } catch (IOException ex) {
-                getLogger().log(Level.WARNING, "Failed to create temporary download file",
-                        ex);
-            }
-            return file;
+            return getResumableDownloadFile(path,suffix);
         }
         @Override
         protected boolean loadFile(File file, File downloadedFile) {
@@ -9570,13 +10573,24 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             }
             boolean value;
                 // Connect to the database and create an SQL statement
-            try(LinkDatabaseConnection conn = connect(file);
+            try(LinkDatabaseConnection conn = openConnection(file);
                     Statement stmt = conn.createStatement()){
                 value = loadDatabase(conn,stmt); // Load from the database
             }
             getLogger().exiting("AbstractDatabaseLoader", "loadDatabase", value);
             return value;
         }
+        /**
+         * This opens the connection used to load from the given database file. 
+         * By default, this opens a connection that can change the database.
+         * @param file The database file to connect to.
+         * @return The connection to the database.
+         * @throws SQLException If a database error occurs.
+         */
+        protected LinkDatabaseConnection openConnection(File file) 
+                throws SQLException{
+            return connect(file);
+        }
         @Override
         protected String getFailureTitle(File file){
             return "ERROR - Database Failed To Load";
@@ -9792,8 +10806,10 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 }
                 if (result == null)
                     file = downloadedFile;
-                else
+                else {
                     file = result;
+                    setSyncedContentHashes(file);
+                }
                 this.file = file;
             }
             boolean value = super.loadFile(file, downloadedFile);
@@ -9847,7 +10863,8 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 getLogger().exiting(this.getClass().getName(), "loadDatabase", false);
                 return false;
             }
-            tabsModels = LinkManager.this.loadDatabase(conn, getLoadsAll());
+            tabsModels = LinkManager.this.loadDatabase(conn, getLoadsAll(), 
+                    file);
             getLogger().exiting(this.getClass().getName(), "loadDatabase", true);
             return true;
         }
@@ -9864,6 +10881,12 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             getLogger().entering(this.getClass().getName(), "renameFile", 
                     new Object[]{file1,file2,replace});
             Path path;
+            try{    // Load the virtual lists, since they read from the file 
+                loadVirtualModels();    // that is about to be replaced
+            } catch (UncheckedSQLException ex){
+                throw new IOException("Failed to load the virtual lists", ex);
+            }   // Close the idle read-only connections, since they keep the 
+            connManager.closeIdleConnections();     // database file open
             if (replace)
                 path = Files.move(file2.toPath(), file1.toPath(),
                         StandardCopyOption.REPLACE_EXISTING);
@@ -10230,6 +11253,15 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 dbFileSize = file.length();
             return super.loadFile(file, downloadedFile);
         }
+        /**
+         * {@inheritDoc } This uses a read-only connection from the pool, so 
+         * that the database can be viewed while it is being saved.
+         */
+        @Override
+        protected LinkDatabaseConnection openConnection(File file) 
+                throws SQLException{
+            return connectReadOnly(file);
+        }
         @Override
         protected boolean loadDatabase(LinkDatabaseConnection conn, Statement stmt) throws SQLException {
             getLogger().entering(this.getClass().getName(), "loadDatabase", 
@@ -10244,8 +11276,9 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             prefixTableModel.setColumnClass(1, String.class);
                 // This gets the prefix map from the database
             PrefixMap prefixMap = conn.getPrefixMap();
-                // Make sure the prefix map contains the empty prefix
-            prefixMap.getEmptyPrefixID();
+                // Get the prefixID of the empty prefix. This cannot add the 
+                // empty prefix if it is missing, since the connection is 
+            Integer emptyPrefixID = prefixMap.firstKeyFor("");  // read-only
             usedPrefixComboModel = new ArrayComboBoxModel<>();
             progressBar.setValue(0);
             progressBar.setMaximum(prefixMap.size());
@@ -10266,8 +11299,10 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             }
             
             progressBar.setIndeterminate(true);
-                // Search for the empty prefix
-            searchUsedPrefixes(conn,prefixMap.getEmptyPrefixID());
+                // If there is an empty prefix
+            if (emptyPrefixID != null)
+                    // Search for the empty prefix
+                searchUsedPrefixes(conn,emptyPrefixID);
             dbLinkSearchTable.setModel(getListSearchTableModel());
             
                 // Get the database properties
@@ -10552,6 +11587,10 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         protected File compressedFile = null;
         
         protected File configFile;
+        /**
+         * The content hash of the database file being uploaded, if known.
+         */
+        protected String localContentHash = null;
         
         protected boolean saveSuccess = true;
         /**
@@ -10793,6 +11832,17 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             }
             return false;
         }
+        /**
+         * This returns whether the compressed file for the given sync mode is 
+         * uploaded while it is being compressed instead of being written to a 
+         * temporary file first.
+         * @param mode The sync mode the file is being uploaded with.
+         * @return Whether the compressed file is streamed to the upload.
+         * @see #compressAndUploadFile(File, String, int, int, String, SyncMode) 
+         */
+        protected boolean isCompressedFileStreamed(SyncMode mode){
+            return mode == SyncMode.DROPBOX;
+        }
         /**
          * 
          * @param mode
@@ -10807,6 +11857,21 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             }
             return 5;
         }
+        /**
+         * This returns the amount of threads to use to compress the file that 
+         * will be uploaded using the given sync mode.
+         * @param mode The sync mode the file will be uploaded with.
+         * @return The amount of threads to use for compression.
+         */
+        protected int getCompressionThreadCount(SyncMode mode){
+            if (mode != null){
+                switch(mode){
+                    case DROPBOX:
+                        return dbxLocationPanel.getFileCompressionThreadCount();
+                }
+            }
+            return Runtime.getRuntime().availableProcessors();
+        }
         /**
          * 
          * @return 
@@ -10874,7 +11939,12 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                         if (!conn.getAutoCommit()){
                             progressBar.setIndeterminate(true);
                             conn.commit();       // Commit the changes to the database
-                        }
+                        }   // Write the write-ahead log back into the database 
+                            // file, if there is one, so that the database file 
+                            // is complete before it gets backed up or uploaded
+                        if (!conn.checkpoint())
+                            getLogger().log(Level.WARNING, 
+                                    "Database checkpoint was blocked by another connection");
                     } else {
                         getLogger().log(Level.WARNING,"Failed to prepare database");
                     }
@@ -10927,7 +11997,10 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                         // Determine how to upload the file
                     switch(mode){
                         case DROPBOX:   // Try to upload the file to Dropbox
-                            ((DropboxSyncMethod)method).upload(file, path, progressObserver);
+                            FileMetadata data = ((DropboxSyncMethod)method)
+                                    .upload(file, path, progressObserver);
+                            setSyncedContentHashes(mode,data.getContentHash(),
+                                    localContentHash);
                     }
                     getLogger().exiting("AbstractDatabaseSaver", 
                             "uploadDatabase", true);
@@ -10959,6 +12032,146 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                     false);
             return false;
         }
+        /**
+         * This compresses the given file and uploads the archive while it is 
+         * still being compressed. The archive is split into chunks that are 
+         * uploaded on a background thread as they are produced, so that the 
+         * archive never has to be written to a temporary file.
+         * @param file The file to compress and upload.
+         * @param archivePath The path for the file in the archive.
+         * @param level The compression level.
+         * @param threads The amount of threads to use for compression.
+         * @param path The path to upload the archive to.
+         * @param mode The sync mode to use to upload the archive.
+         * @return Whether the archive was successfully uploaded.
+         * @see ChunkedOutStream
+         * @see DropboxUploadSession
+         */
+        protected boolean compressAndUploadFile(File file, String archivePath, 
+                int level, int threads, String path, SyncMode mode){
+            getLogger().entering("AbstractDatabaseSaver", "compressAndUploadFile", 
+                    new Object[]{file,archivePath,level,threads,path,mode});
+                // Whether the user wants this to try processing the file again 
+            boolean retry;  // if unsuccessful
+                // Format the file path
+            path = LinkManagerUtilities.formatExternalFilePath(mode, path);
+            getLogger().log(Level.FINER, "Streaming compressed file to path \"{0}\"",
+                    path);
+            ((JByteProgressDisplayMenu)progressDisplay).setUseByteFormat(true);
+            do{     // The exception that was thrown, if any
+                Exception exc;
+                progressBar.setValue(0);
+                progressBar.setIndeterminate(true);
+                try{
+                    SevenZipUtilities.initializeSevenZip();
+                    SyncMethod method = syncMethods.get(mode);
+                        // Determine how to upload the file
+                    switch(mode){
+                        case DROPBOX:
+                            DropboxSyncMethod dbxMethod = (DropboxSyncMethod)method;
+                            DropboxUploadSession session = 
+                                    dbxMethod.createUploadSession(path);
+                            try(ChunkedOutStream out = new ChunkedOutStream(
+                                    session,(int)dbxMethod.getChunkSize())){
+                                    // Compress the file into the stream, 
+                                    // uploading the chunks as they are made
+                                LinkManager.this.compressFile(file, out, 
+                                        archivePath, level, threads);
+                                progressBar.setIndeterminate(true);
+                                    // Wait for the rest of the chunks to upload
+                                out.finish();
+                                FileMetadata data = session.finish(out.getSize());
+                                setSyncedContentHashes(mode,
+                                        data.getContentHash(),localContentHash);
+                            }
+                    }
+                    getLogger().exiting("AbstractDatabaseSaver", 
+                            "compressAndUploadFile", true);
+                    return true;
+                } catch (SevenZipNativeInitializationException ex){
+                    getLogger().log(Level.WARNING, "Failed to initialize 7-Zip bindings", ex);
+                    exc = ex;
+                } catch (IOException | DbxException ex){
+                    getLogger().log(Level.WARNING, 
+                            "Failed to compress and upload file", ex);
+                    exc = ex;
+                        // Look for a Dropbox error that caused the failure
+                    for (Throwable cause = ex.getCause(); cause != null; 
+                            cause = cause.getCause()){
+                        if (cause instanceof DbxException){
+                            exc = (DbxException) cause;
+                            break;
+                        }
+                    }
+                    if (exc instanceof NetworkIOException)
+                        getLogger().log(Level.WARNING, "Network Exception", 
+                                exc.getCause());
+                }
+                    // If the failure was caused by the upload
+                if (exc instanceof DbxException)
+                    retry = showFailurePrompt("ERROR - File Failed To Upload",
+                            getSyncFailureMessage(file,path,mode,
+                                    "The file failed to upload to %s.",
+                                    showDBErrorDetailsToggle.isSelected(),exc),
+                            true);
+                else
+                    retry = showFailurePrompt("ERROR - Database Failed To Compress",
+                            get7ZipFailureMessage("The database file failed to be compressed.",
+                                    showDBErrorDetailsToggle.isSelected(),exc),
+                            true);
+            }   // While the file failed to be processed and the user wants to 
+            while(retry);   // try again
+            getLogger().exiting("AbstractDatabaseSaver", "compressAndUploadFile", 
+                    false);
+            return false;
+        }
+        /**
+         * This returns whether the remote file at the given path is already 
+         * the same as the given database file, in which case the database file 
+         * does not need to be uploaded. This compares the content hash of the 
+         * remote file with the {@link #localContentHash content hash} of the 
+         * database file, which must be computed beforehand. This only requires 
+         * retrieving the metadata for the remote file.
+         * @param file The database file to upload.
+         * @param path The path to upload the file to.
+         * @param mode The sync mode to use to upload the file.
+         * @return Whether the remote file is already the same as the database 
+         * file.
+         * @see LinkManager#isSyncedFileUnchanged(SyncMode, String, String) 
+         */
+        protected boolean isRemoteFileUnchanged(File file, String path, 
+                SyncMode mode){
+            getLogger().entering("AbstractDatabaseSaver", "isRemoteFileUnchanged", 
+                    new Object[]{file,path,mode});
+                // If the content hash of the file is not known
+            if (localContentHash == null){
+                getLogger().exiting("AbstractDatabaseSaver", 
+                        "isRemoteFileUnchanged", false);
+                return false;
+            }   // Format the file path
+            path = LinkManagerUtilities.formatExternalFilePath(mode, path);
+                // The content hash of the remote file
+            String remoteHash = null;
+            try{
+                SyncMethod method = syncMethods.get(mode);
+                    // Determine how to get the content hash
+                switch(mode){
+                    case DROPBOX:
+                        FileMetadata data = ((DropboxSyncMethod)method)
+                                .getFileMetadata(path);
+                        if (data != null)
+                            remoteHash = data.getContentHash();
+                }
+            } catch (DbxException ex){
+                getLogger().log(Level.WARNING, 
+                        "Failed to get metadata for remote file", ex);
+            }
+            boolean value = isSyncedFileUnchanged(mode,remoteHash,
+                    localContentHash);
+            getLogger().exiting("AbstractDatabaseSaver", "isRemoteFileUnchanged", 
+                    value);
+            return value;
+        }
         /**
          * 
          * @param file
@@ -10997,12 +12210,13 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
          * @param path
          * @param archiveFile
          * @param level
+         * @param threads
          * @return 
          */
         protected boolean compressFile(File file, File archiveFile, String path,
-                int level){
+                int level, int threads){
             getLogger().entering("AbstractDatabaseSaver", "compressFile", 
-                    new Object[]{file,archiveFile,path,level});
+                    new Object[]{file,archiveFile,path,level,threads});
             boolean retry;
             ((JByteProgressDisplayMenu)progressDisplay).setUseByteFormat(true);
             do{
@@ -11011,7 +12225,8 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 Exception exc;
                 try{
                     SevenZipUtilities.initializeSevenZip();
-                    LinkManager.this.compressFile(file, archiveFile, path, level);
+                    LinkManager.this.compressFile(file, archiveFile, path, level,
+                            threads);
                     getLogger().exiting("AbstractDatabaseSaver", "compressFile", true);
                     return true;
                 } catch (SevenZipNativeInitializationException ex){
@@ -11035,8 +12250,12 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         protected boolean saveFile(File file){
             getLogger().entering("AbstractDatabaseSaver", "saveFile", file);
             
+                // Whether the database was saved, which always changes the 
+            boolean saved = false;  // database file
+            
             if (SavingStage.SAVE_DATABASE.equals(stage)){
                 saveSuccess = saveDatabase(file);
+                saved = saveSuccess;
                     // Set the program to be indeterminate
                 progressBar.setIndeterminate(true);
                 if (saveSuccess && syncDBToggle.isSelected())
@@ -11045,18 +12264,44 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             
             boolean willUpload = syncMode != null && filePath != null;
             File uploadFile = file;
+                // Whether the file was uploaded while it was being compressed, 
+            boolean uploaded = false;   // or does not need to be uploaded
+            
+            if (saveSuccess && willUpload && (SavingStage.COMPRESS_FILE.equals(stage) 
+                    || SavingStage.UPLOAD_FILE.equals(stage))){
+                    // Get the content hash of the database file, so that it can 
+                    // be recorded once the file is uploaded
+                localContentHash = getContentHash(file);
+                    // If the database was not just saved and the remote file 
+                    // is already the same as the database file
+                if (!saved && isRemoteFileUnchanged(file,filePath,syncMode)){
+                    getLogger().finer("Remote file is unchanged, skipping upload");
+                    uploaded = true;
+                    setStage(SavingStage.UPLOAD_FILE);
+                }
+            }
             
             if (SavingStage.COMPRESS_FILE.equals(stage)){
                 if (saveSuccess && willUpload && isUploadedFileCompressed(syncMode)){
                     progressDisplay.setString(getProgressString());
                     String archivePath = getArchiveFilePath();
-                    compressedFile = getCompressedFile(file,archivePath);
-                    saveSuccess = compressFile(file,compressedFile,archivePath,
-                            getCompressionLevel(syncMode));
-                        // Set the program to be indeterminate
+                        // If the compressed file can be uploaded while it's 
+                        // being compressed
+                    if (isCompressedFileStreamed(syncMode)){
+                        saveSuccess = compressAndUploadFile(file,archivePath,
+                                getCompressionLevel(syncMode),
+                                getCompressionThreadCount(syncMode),filePath,
+                                syncMode);
+                        uploaded = saveSuccess;
+                    } else {
+                        compressedFile = getCompressedFile(file,archivePath);
+                        saveSuccess = compressFile(file,compressedFile,
+                                archivePath,getCompressionLevel(syncMode),
+                                getCompressionThreadCount(syncMode));
+                        if (saveSuccess)
+                            uploadFile = compressedFile;
+                    }   // Set the program to be indeterminate
                     progressBar.setIndeterminate(true);
-                    if (saveSuccess)
-                        uploadFile = compressedFile;
                 }
                 setStage(SavingStage.UPLOAD_FILE);
             }
@@ -11064,7 +12309,9 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
             if (saveSuccess && SavingStage.UPLOAD_FILE.equals(stage) && 
                     willUpload){
                 progressDisplay.setString(getProgressString());
-                saveSuccess = uploadFile(uploadFile,filePath,syncMode);
+                    // If the file was not already uploaded
+                if (!uploaded)
+                    saveSuccess = uploadFile(uploadFile,filePath,syncMode);
                 if (saveSuccess && showSuccess){
                     LinkManager.this.showSuccessPrompt(
                             "File Uploaded Successfully",
@@ -11455,15 +12702,11 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
                 // Get a copy of the links map to compare with after the 
                 // prefixes have been updated
             Map<Long,String> storedLinks = new LinkedHashMap<>(links);
-            
-            progressBar.setMaximum(links.size());
-            progressBar.setIndeterminate(false);
-                // Update the prefixes for the links in the database
-            conn.updateLinkPrefix(links.navigableKeySet(),progressObserver);
+                // Update the prefixes for all the links in the database in a 
+                // single statement
+            conn.updateAllLinkPrefixes();
             conn.commit();       // Commit the changes to the database
             
-            progressBar.setIndeterminate(true);
-            
                 // Check to make sure everything is effectively the same, just 
                 // updated
             setStage(SavingStage.VERIFY_DATABASE);
@@ -11658,6 +12901,18 @@ public class LinkManager extends JFrame implements DisableGUIInput,DebugCapable{
         @Override
         protected boolean saveFile(File file) {
             getLogger().entering(this.getClass().getName(), "saveFile",file);
+            try{    // Load the virtual lists, since they read from the 
+                    // database file that is being changed
+                loadVirtualModels();
+            } catch (UncheckedSQLException ex){
+                getLogger().log(Level.WARNING, 
+                        "Failed to load virtual lists before changing database file",
+                        ex);
+                exc = ex;
+                getLogger().exiting(this.getClass().getName(), "saveFile",false);
+                return false;
+            }   // Close the idle read-only connections, since they keep the 
+            connManager.closeIdleConnections();     // database file open
             try{
                 Path path = file.toPath();
                 switch(mode){
@@ -19,6 +19,8 @@ import javax.crypto.spec.*;
 import javax.swing.JFileChooser;
 import manager.config.*;
 import manager.database.CacheSetIterator;
+import manager.database.DatabasePerformanceProfile;
+import manager.database.LinkDatabaseConnection;
 import manager.dropbox.DropboxLinkUtils;
 import manager.dropbox.JDropboxFileChooser;
 import manager.links.*;
@@ -110,6 +112,19 @@ public class LinkManagerConfig implements LinksListSettings{
      */
     public static final String SHOW_DETAILED_DATABASE_ERRORS = 
             "ShowDetailedDatabaseErrors";
+    /**
+     * This is the configuration key for the name of the {@link 
+     * DatabasePerformanceProfile performance profile} to use for the 
+     * connections to the database.
+     */
+    public static final String DATABASE_PERFORMANCE_PROFILE_KEY = 
+            "DatabasePerformanceProfile";
+    /**
+     * This is the configuration key for whether new prefixes are found in 
+     * parallel when creating prefixes from the links in the database.
+     */
+    public static final String PARALLEL_PREFIX_GENERATION_KEY = 
+            "ParallelPrefixGeneration";
     /**
      * This is the configuration key for whether lists set to hidden should be 
      * made visible or not.
@@ -228,6 +243,22 @@ public class LinkManagerConfig implements LinksListSettings{
      * 
      */
     public static final String FILE_COMPRESSION_LEVEL_KEY = "FileCompressionLevel";
+    /**
+     * This is the configuration key for the amount of threads used to compress 
+     * a file.
+     */
+    public static final String FILE_COMPRESSION_THREAD_COUNT_KEY = 
+            "FileCompressionThreadCount";
+    /**
+     * This is the configuration key for the content hash of the remote 
+     * database file when it was last synced.
+     */
+    public static final String SYNCED_CONTENT_HASH_KEY = "SyncedContentHash";
+    /**
+     * This is the configuration key for the content hash of the local database 
+     * file when it was last synced.
+     */
+    public static final String SYNCED_DATABASE_HASH_KEY = "SyncedDatabaseHash";
     /**
      * This is the suffix for the configuration keys for the size of a 
      * component.
@@ -1309,6 +1340,21 @@ public class LinkManagerConfig implements LinksListSettings{
         if (b != null)
                 // Set whether database error details are shown from the 
             setDatabaseErrorDetailsAreShown(b);     // properties
+            // Get the value for the database performance profile from the 
+            // properties
+        str = cProp.getProperty(DATABASE_PERFORMANCE_PROFILE_KEY);
+            // If the properties has the database performance profile
+        if (str != null)
+                // Set the database performance profile from the properties
+            setDatabasePerformanceProfile(DatabasePerformanceProfile.valueOf(
+                    str, null));
+            // Get the value for the parallel prefix generation setting from 
+            // the properties
+        b = cProp.getBooleanProperty(PARALLEL_PREFIX_GENERATION_KEY);
+            // If the properties has the parallel prefix generation setting
+        if (b != null)
+                // Set whether prefixes are generated in parallel from the 
+            setParallelPrefixGenerationEnabled(b);  // properties
             // Get the value for the database sync setting from the properties
         b = cProp.getBooleanProperty(SYNC_DATABASE_KEY);
             // If the properties has the database sync setting
@@ -1836,6 +1882,75 @@ public class LinkManagerConfig implements LinksListSettings{
         return getPreferences().getBoolean(SHOW_DETAILED_DATABASE_ERRORS,
                 defaultValue);
     }
+    /**
+     * This sets the performance profile to use for the connections to the 
+     * database and applies it to the {@link #getSQLiteConfig() SQLite 
+     * configuration}.
+     * @param value The performance profile to use, or null to use the 
+     * default profile.
+     * @see #getDatabasePerformanceProfile() 
+     */
+    public void setDatabasePerformanceProfile(DatabasePerformanceProfile value){
+        getPreferences().put(DATABASE_PERFORMANCE_PROFILE_KEY, 
+                (value != null) ? value.name() : null);
+        getDatabasePerformanceProfile().applyTo(sqlConfig);
+    }
+    /**
+     * This returns the performance profile to use for the connections to the 
+     * database.
+     * @param defaultValue The profile to return if no profile is set.
+     * @return The performance profile for the database.
+     * @see #setDatabasePerformanceProfile(DatabasePerformanceProfile) 
+     */
+    public DatabasePerformanceProfile getDatabasePerformanceProfile(
+            DatabasePerformanceProfile defaultValue){
+        return DatabasePerformanceProfile.valueOf(getPreferences().get(
+                DATABASE_PERFORMANCE_PROFILE_KEY, null), defaultValue);
+    }
+    /**
+     * This returns the performance profile to use for the connections to the 
+     * database. If no profile is set, then this returns the {@link 
+     * DatabasePerformanceProfile#WAL WAL} profile, which allows the database 
+     * to be read while it is being saved.
+     * @return The performance profile for the database.
+     * @see #setDatabasePerformanceProfile(DatabasePerformanceProfile) 
+     */
+    public DatabasePerformanceProfile getDatabasePerformanceProfile(){
+        return getDatabasePerformanceProfile(DatabasePerformanceProfile.WAL);
+    }
+    /**
+     * This sets whether new prefixes are found in parallel when creating 
+     * prefixes from the links in the database.
+     * @param value Whether prefixes should be generated in parallel, or null 
+     * to use the default.
+     * @see #isParallelPrefixGenerationEnabled() 
+     */
+    public void setParallelPrefixGenerationEnabled(Boolean value){
+        getPreferences().putObject(PARALLEL_PREFIX_GENERATION_KEY, value);
+    }
+    /**
+     * This returns whether new prefixes are found in parallel when creating 
+     * prefixes from the links in the database.
+     * @param defaultValue The value to return if this is not set.
+     * @return Whether prefixes are generated in parallel.
+     * @see #setParallelPrefixGenerationEnabled(Boolean) 
+     */
+    public boolean isParallelPrefixGenerationEnabled(boolean defaultValue){
+        return getPreferences().getBoolean(PARALLEL_PREFIX_GENERATION_KEY,
+                defaultValue);
+    }
+    /**
+     * This returns whether new prefixes are found in parallel when creating 
+     * prefixes from the links in the database. If this is not set, then this 
+     * defaults to whether there are more than two processors available.
+     * @return Whether prefixes are generated in parallel.
+     * @see #setParallelPrefixGenerationEnabled(Boolean) 
+     * @see LinkDatabaseConnection#DEFAULT_PARALLEL_PREFIX_GENERATION
+     */
+    public boolean isParallelPrefixGenerationEnabled(){
+        return isParallelPrefixGenerationEnabled(
+                LinkDatabaseConnection.DEFAULT_PARALLEL_PREFIX_GENERATION);
+    }
     /**
      * 
      * @param value 
@@ -3330,6 +3445,33 @@ public class LinkManagerConfig implements LinksListSettings{
             getNode().putInt(FILE_COMPRESSION_LEVEL_KEY, level);
         }
         @Override
+        public int getFileCompressionThreadCount(int defaultValue) {
+            return getNode().getInt(FILE_COMPRESSION_THREAD_COUNT_KEY, 
+                    defaultValue);
+        }
+        @Override
+        public void setFileCompressionThreadCount(int threads) {
+            getNode().putInt(FILE_COMPRESSION_THREAD_COUNT_KEY, threads);
+        }
+            // The synced content hashes describe the files on this computer, 
+            // and so are not imported or exported with the other settings
+        @Override
+        public String getSyncedContentHash() {
+            return getNode().get(SYNCED_CONTENT_HASH_KEY, null);
+        }
+        @Override
+        public void setSyncedContentHash(String hash) {
+            getNode().put(SYNCED_CONTENT_HASH_KEY, hash);
+        }
+        @Override
+        public String getSyncedDatabaseHash() {
+            return getNode().get(SYNCED_DATABASE_HASH_KEY, null);
+        }
+        @Override
+        public void setSyncedDatabaseHash(String hash) {
+            getNode().put(SYNCED_DATABASE_HASH_KEY, hash);
+        }
+        @Override
         public void importProperties(Properties prop) {
                 // This will get a ConfigProperties version of the given 
                 // Properties object
@@ -3352,6 +3494,12 @@ public class LinkManagerConfig implements LinksListSettings{
             if (i != null)
                     // Set the compression level
                 setFileCompressionLevel(i);
+                // Get the compression thread count from the properties
+            i = cProp.getIntProperty(getPropertiesPrefix()+FILE_COMPRESSION_THREAD_COUNT_KEY);
+                // If the properties has the compression thread count
+            if (i != null)
+                    // Set the compression thread count
+                setFileCompressionThreadCount(i);
         }
         @Override
         public void exportProperties(ConfigProperties prop) {
@@ -3364,6 +3512,9 @@ public class LinkManagerConfig implements LinksListSettings{
                 // Set the compression level
             prop.setProperty(getPropertiesPrefix()+FILE_COMPRESSION_LEVEL_KEY, 
                     getFileCompressionLevel());
+                // Set the compression thread count
+            prop.setProperty(getPropertiesPrefix()+FILE_COMPRESSION_THREAD_COUNT_KEY, 
+                    getFileCompressionThreadCount());
         }
     }
 }
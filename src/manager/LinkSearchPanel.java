@@ -5,7 +5,6 @@
 package manager;
 
 import java.awt.event.*;
-import java.util.Objects;
 import javax.swing.*;
 import javax.swing.event.*;
 import javax.swing.text.Position;
@@ -20,6 +19,8 @@ public class LinkSearchPanel extends JPanel {
     
     public static final String SEARCH_FIND_PREVIOUS_COMMAND = "FindPrevious";
     
+    public static final String SEARCH_FIND_ALL_COMMAND = "FindAll";
+    
     public static final String SEARCH_CANCEL_COMMAND = "FindCancel";
     
     public static final String MATCH_SPACES_PROPERTY_CHANGED = "MatchSpacesPropertyChanged";
@@ -34,6 +35,7 @@ public class LinkSearchPanel extends JPanel {
     public LinkSearchPanel() {
         findNextAction = new FindAction(Position.Bias.Forward);
         findPrevAction = new FindAction(Position.Bias.Backward);
+        findAllAction = new FindAction(null);
         initComponents();
         Handler handler = new Handler();
         searchField.getDocument().addDocumentListener(handler);
@@ -66,6 +68,7 @@ public class LinkSearchPanel extends JPanel {
         findButtonPanel = new javax.swing.JPanel();
         findNextButton = new javax.swing.JButton();
         findPreviousButton = new javax.swing.JButton();
+        findAllButton = new javax.swing.JButton();
         findCancelButton = new javax.swing.JButton();
         settingPanel = new javax.swing.JPanel();
         matchCaseOption = new javax.swing.JCheckBox();
@@ -82,7 +85,7 @@ public class LinkSearchPanel extends JPanel {
 
         jLabel2.setText("Find:");
 
-        findButtonPanel.setLayout(new java.awt.GridLayout(3, 1, 0, 7));
+        findButtonPanel.setLayout(new java.awt.GridLayout(4, 1, 0, 7));
 
         findNextButton.setAction(findNextAction);
         findButtonPanel.add(findNextButton);
@@ -90,6 +93,9 @@ public class LinkSearchPanel extends JPanel {
         findPreviousButton.setAction(findPrevAction);
         findButtonPanel.add(findPreviousButton);
 
+        findAllButton.setAction(findAllAction);
+        findButtonPanel.add(findAllButton);
+
         findCancelButton.setText("Cancel");
         findCancelButton.setActionCommand(SEARCH_CANCEL_COMMAND);
         findCancelButton.addActionListener(new java.awt.event.ActionListener() {
@@ -203,6 +209,7 @@ public class LinkSearchPanel extends JPanel {
             enabled &= !searchText.isBlank();
         findNextAction.setEnabled(enabled);
         findPrevAction.setEnabled(enabled);
+        findAllAction.setEnabled(enabled);
     }
     
     public boolean getMatchSpaces(){
@@ -316,9 +323,15 @@ public class LinkSearchPanel extends JPanel {
         return findPrevAction;
     }
     
+    public Action getFindAllAction(){
+        return findAllAction;
+    }
+    
     private final FindAction findNextAction;
     private final FindAction findPrevAction;
+    private final FindAction findAllAction;
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JButton findAllButton;
     private javax.swing.JPanel findButtonPanel;
     private javax.swing.JButton findCancelButton;
     private javax.swing.JButton findNextButton;
@@ -363,11 +376,24 @@ public class LinkSearchPanel extends JPanel {
         
         private final Position.Bias direction;
         
+        /**
+         * This constructs a FindAction that searches in the given direction. 
+         * If the direction is null, then this searches every list for all 
+         * the matches.
+         * @param direction The direction to search in, or null to find all 
+         * the matches.
+         */
         public FindAction(Position.Bias direction){
-            super("Find "+((direction == Position.Bias.Backward) ? "Previous":"Next"));
-            this.direction = Objects.requireNonNull(direction);
+            super("Find "+((direction == null) ? "All" : 
+                    ((direction == Position.Bias.Backward) ? "Previous":"Next")));
+            this.direction = direction;
             int accMod = 0;
-            if (direction == Position.Bias.Backward){
+            if (direction == null){
+                accMod = InputEvent.CTRL_DOWN_MASK;
+                super.putValue(MNEMONIC_KEY, KeyEvent.VK_A);
+                super.putValue(ACTION_COMMAND_KEY, SEARCH_FIND_ALL_COMMAND);
+            }
+            else if (direction == Position.Bias.Backward){
                 accMod = InputEvent.SHIFT_DOWN_MASK;
                 super.putValue(MNEMONIC_KEY, KeyEvent.VK_V);
                 super.putValue(ACTION_COMMAND_KEY, SEARCH_FIND_PREVIOUS_COMMAND);
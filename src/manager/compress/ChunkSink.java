@@ -0,0 +1,30 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package manager.compress;
+
+/**
+ * This is an interface for a destination that receives a file as a series of
+ * fixed-size chunks, such as an upload session for a remote file. Chunks are
+ * written by a {@link ChunkedOutStream} while the file is still being created,
+ * and so may not be written in order. Every chunk other than the last one is
+ * the full chunk size, and the last chunk is always written after all the
+ * other chunks.
+ * @author Milo Steier
+ * @see ChunkedOutStream
+ */
+public interface ChunkSink {
+    /**
+     * This writes the chunk starting at the given offset into the file. The
+     * given array may be reused once this returns, and so should be copied if
+     * it is needed afterwards.
+     * @param offset The offset of the chunk in the file.
+     * @param data The array containing the data for the chunk.
+     * @param length The amount of bytes in the chunk.
+     * @param last Whether this is the last chunk to be written.
+     * @throws Exception If an error occurs while writing the chunk.
+     */
+    public void writeChunk(long offset, byte[] data, int length, boolean last)
+            throws Exception;
+}
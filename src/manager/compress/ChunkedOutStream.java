@@ -0,0 +1,390 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.compress;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.*;
+import net.sf.sevenzipjbinding.*;
+
+/**
+ * This is an output stream for 7-Zip that splits the data written to it into
+ * fixed-size chunks and passes them to a {@link ChunkSink} on a background
+ * thread while the data is still being written. This allows an archive to be
+ * uploaded while it is still being compressed, without first writing the
+ * archive to a temporary file. <p>
+ *
+ * The 7z format writes a placeholder for its start header at the beginning of
+ * the archive and then seeks back to overwrite it once the rest of the archive
+ * has been written. As such, this keeps the first chunk in memory until this
+ * stream is {@link #finish() finished}, while every other chunk is passed to
+ * the sink as soon as the writer moves past it. Attempting to seek back and
+ * write to a chunk that has already been passed to the sink will throw an
+ * exception. Once finished, the first chunk is written followed by the last
+ * chunk, so that the last chunk is always written last. <p>
+ *
+ * The chunks waiting to be written are kept in a bounded queue. When the queue
+ * is full, writing to this stream will block until the sink has caught up, so
+ * that the amount of memory used by this stream stays bounded regardless of
+ * the size of the data written to it. If the sink fails to write a chunk, then
+ * the next attempt to write to this stream will throw an exception with the
+ * sink's error as its cause.
+ * @author Milo Steier
+ * @see ChunkSink
+ */
+public class ChunkedOutStream implements IOutStream, Closeable{
+    /**
+     * This is the default maximum amount of chunks that can be waiting to be
+     * written to the sink before writing to this stream blocks.
+     */
+    public static final int DEFAULT_MAXIMUM_PENDING_CHUNKS = 2;
+    /**
+     * This is the chunk used to tell the writer thread to stop.
+     */
+    private static final Chunk END_OF_CHUNKS = new Chunk(null, -1, 0, true);
+    /**
+     * The sink to write the chunks to.
+     */
+    private final ChunkSink sink;
+    /**
+     * The size of each chunk.
+     */
+    private final int chunkSize;
+    /**
+     * The queue of chunks waiting to be written to the sink.
+     */
+    private final BlockingQueue<Chunk> pending;
+    /**
+     * The buffers for chunks that have been written and can be reused.
+     */
+    private final BlockingQueue<byte[]> freeBuffers;
+    /**
+     * The first chunk, which is kept until this stream is finished.
+     */
+    private final byte[] head;
+    /**
+     * The chunk currently being written to, or null if no chunk after the
+     * first has been written to yet.
+     */
+    private byte[] current = null;
+    /**
+     * The index of the current chunk.
+     */
+    private long currentIndex = 0;
+    /**
+     * The current position in this stream.
+     */
+    private long position = 0;
+    /**
+     * The size of the data written to this stream.
+     */
+    private long size = 0;
+    /**
+     * The thread that writes the chunks to the sink.
+     */
+    private final Thread writer;
+    /**
+     * The error thrown by the sink, or null if the sink has not failed.
+     */
+    private volatile Throwable failure = null;
+    /**
+     * Whether this stream has been finished.
+     */
+    private boolean finished = false;
+    /**
+     * Whether this stream has been closed.
+     */
+    private boolean closed = false;
+    /**
+     * This constructs a ChunkedOutStream that writes chunks of the given size
+     * to the given sink.
+     * @param sink The sink to write the chunks to.
+     * @param chunkSize The size of each chunk.
+     * @param maxPending The maximum amount of chunks that can be waiting to be
+     * written to the sink before writing to this stream blocks.
+     * @throws NullPointerException If the sink is null.
+     * @throws IllegalArgumentException If the chunk size or maximum amount of
+     * pending chunks is not positive.
+     */
+    public ChunkedOutStream(ChunkSink sink, int chunkSize, int maxPending){
+        this.sink = Objects.requireNonNull(sink);
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive ("+
+                    chunkSize+")");
+        if (maxPending <= 0)
+            throw new IllegalArgumentException("Maximum pending chunks must be "
+                    + "positive ("+maxPending+")");
+        this.chunkSize = chunkSize;
+        head = new byte[chunkSize];
+            // Leave room for the first and last chunks and the end marker
+        pending = new ArrayBlockingQueue<>(maxPending+2);
+        freeBuffers = new ArrayBlockingQueue<>(maxPending+2);
+        writer = new Thread(this::writeChunks, "ChunkedOutStream-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    /**
+     * This constructs a ChunkedOutStream that writes chunks of the given size
+     * to the given sink, with up to {@value #DEFAULT_MAXIMUM_PENDING_CHUNKS}
+     * chunks waiting to be written.
+     * @param sink The sink to write the chunks to.
+     * @param chunkSize The size of each chunk.
+     * @throws NullPointerException If the sink is null.
+     * @throws IllegalArgumentException If the chunk size is not positive.
+     */
+    public ChunkedOutStream(ChunkSink sink, int chunkSize){
+        this(sink,chunkSize,DEFAULT_MAXIMUM_PENDING_CHUNKS);
+    }
+    /**
+     * This returns the sink the chunks are written to.
+     * @return The sink for this stream.
+     */
+    public ChunkSink getSink(){
+        return sink;
+    }
+    /**
+     * This returns the size of each chunk.
+     * @return The chunk size.
+     */
+    public int getChunkSize(){
+        return chunkSize;
+    }
+    /**
+     * This returns the size of the data written to this stream.
+     * @return The size of this stream.
+     */
+    public synchronized long getSize(){
+        return size;
+    }
+    /**
+     * This is run by the writer thread to write the chunks in the queue to the
+     * sink until the end marker is reached or the sink fails.
+     */
+    private void writeChunks(){
+        try{
+            while (true){
+                Chunk chunk = pending.take();
+                    // If this is the end of the chunks
+                if (chunk == END_OF_CHUNKS)
+                    return;
+                sink.writeChunk(chunk.offset, chunk.data, chunk.length,
+                        chunk.last);
+                    // If the chunk's buffer can be reused
+                if (chunk.data != head)
+                    freeBuffers.offer(chunk.data);
+            }
+        } catch (InterruptedException ex){
+        } catch (Throwable ex){
+            failure = ex;
+            pending.clear();
+        }
+    }
+    /**
+     * This throws an exception if this stream has been closed or finished.
+     * @throws SevenZipException If this stream is closed or finished.
+     */
+    private void checkOpen() throws SevenZipException{
+        if (closed)
+            throw new SevenZipException("Stream is closed");
+        if (finished)
+            throw new SevenZipException("Stream is already finished");
+    }
+    /**
+     * This throws an exception if the sink has failed to write a chunk.
+     * @throws SevenZipException If the sink has failed.
+     */
+    private void checkFailure() throws SevenZipException{
+        Throwable ex = failure;
+        if (ex != null)
+            throw new SevenZipException("Failed to write chunk", ex);
+    }
+    /**
+     * This adds the given chunk to the queue of chunks to write, waiting for
+     * room in the queue if need be.
+     * @param chunk The chunk to add.
+     * @throws SevenZipException If the sink fails or the thread is
+     * interrupted while waiting.
+     */
+    private void submit(Chunk chunk) throws SevenZipException{
+        try{    // While the queue is full
+            while (!pending.offer(chunk, 100, TimeUnit.MILLISECONDS)){
+                checkFailure();
+                    // If the writer has stopped without failing
+                if (!writer.isAlive())
+                    throw new SevenZipException("Chunk writer has stopped");
+            }
+        } catch (InterruptedException ex){
+            throw new SevenZipException("Interrupted while waiting to write "
+                    + "chunk", ex);
+        }
+    }
+    /**
+     * This returns the buffer for the chunk with the given index, submitting
+     * the current chunk if the given chunk is after it.
+     * @param index The index of the chunk.
+     * @return The buffer for the chunk.
+     * @throws SevenZipException If the chunk has already been written to the
+     * sink, or if the sink has failed.
+     */
+    private byte[] getBuffer(long index) throws SevenZipException{
+            // If this is the first chunk
+        if (index == 0)
+            return head;
+            // If the chunk has already been submitted
+        if (index < currentIndex)
+            throw new SevenZipException("Cannot write to data that has already "
+                    + "been written (position "+position+")");
+            // While the current chunk is before the requested chunk
+        while (currentIndex < index){
+                // If there is a current chunk to submit
+            if (current != null)
+                submit(new Chunk(current,currentIndex*chunkSize,chunkSize,false));
+            current = freeBuffers.poll();
+                // If there are no buffers to reuse
+            if (current == null)
+                current = new byte[chunkSize];
+            else
+                Arrays.fill(current, (byte)0);
+            currentIndex++;
+        }
+        return current;
+    }
+    @Override
+    public synchronized int write(byte[] data) throws SevenZipException {
+        checkOpen();
+        checkFailure();
+        int off = 0;
+            // While there is still data to write
+        while (off < data.length){
+            int chunkOffset = (int)(position % chunkSize);
+            byte[] buffer = getBuffer(position / chunkSize);
+            int len = Math.min(data.length - off, chunkSize - chunkOffset);
+            System.arraycopy(data, off, buffer, chunkOffset, len);
+            off += len;
+            position += len;
+            size = Math.max(size, position);
+        }
+        return data.length;
+    }
+    @Override
+    public synchronized long seek(long offset, int seekOrigin)
+            throws SevenZipException {
+        checkOpen();
+        long pos;
+        switch(seekOrigin){
+            case SEEK_SET:
+                pos = offset;
+                break;
+            case SEEK_CUR:
+                pos = position + offset;
+                break;
+            case SEEK_END:
+                pos = size + offset;
+                break;
+            default:
+                throw new SevenZipException("Invalid seek origin: "+seekOrigin);
+        }
+        if (pos < 0)
+            throw new SevenZipException("Cannot seek to a negative position ("+
+                    pos+")");
+        position = pos;
+        return pos;
+    }
+    @Override
+    public synchronized void setSize(long newSize) throws SevenZipException {
+        checkOpen();
+            // If this would remove data that has already been submitted
+        if (currentIndex > 1 && newSize < currentIndex*chunkSize)
+            throw new SevenZipException("Cannot truncate data that has already "
+                    + "been written (size "+newSize+")");
+        size = newSize;
+    }
+    /**
+     * This finishes writing to this stream and waits for all the chunks to be
+     * written to the sink. This writes the first chunk followed by the last
+     * chunk, unless all the data fits in the first chunk. Once this returns,
+     * all the data written to this stream has been written to the sink.
+     * @throws IOException If the sink fails to write a chunk or the thread is
+     * interrupted while waiting for the chunks to be written.
+     */
+    public synchronized void finish() throws IOException{
+        checkOpen();
+        checkFailure();
+        finished = true;
+            // Get the index of the last chunk
+        long lastIndex = (size == 0) ? 0 : (size-1) / chunkSize;
+            // If all the data fits in the first chunk
+        if (lastIndex == 0)
+            submit(new Chunk(head,0,(int)size,true));
+        else{
+            byte[] last = getBuffer(lastIndex);
+            submit(new Chunk(head,0,chunkSize,false));
+            submit(new Chunk(last,lastIndex*chunkSize,
+                    (int)(size-lastIndex*chunkSize),true));
+        }
+        submit(END_OF_CHUNKS);
+        try{
+            writer.join();
+        } catch (InterruptedException ex){
+            throw new InterruptedIOException("Interrupted while waiting for "
+                    + "chunks to be written");
+        }
+        checkFailure();
+    }
+    /**
+     * This closes this stream. If this stream has not been {@link #finish()
+     * finished}, then any chunks that have not been written to the sink yet
+     * are discarded and the writer thread is interrupted.
+     * @throws IOException This does not throw an IOException.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+            // If this was not finished
+        if (!finished || writer.isAlive()){
+            pending.clear();
+            writer.interrupt();
+        }
+        current = null;
+        freeBuffers.clear();
+    }
+    /**
+     * This is a chunk waiting to be written to the sink.
+     */
+    private static class Chunk{
+        /**
+         * The array containing the data for the chunk.
+         */
+        final byte[] data;
+        /**
+         * The offset of the chunk.
+         */
+        final long offset;
+        /**
+         * The amount of bytes in the chunk.
+         */
+        final int length;
+        /**
+         * Whether this is the last chunk.
+         */
+        final boolean last;
+        /**
+         * This constructs a Chunk.
+         * @param data The array containing the data for the chunk.
+         * @param offset The offset of the chunk.
+         * @param length The amount of bytes in the chunk.
+         * @param last Whether this is the last chunk.
+         */
+        Chunk(byte[] data, long offset, int length, boolean last){
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+            this.last = last;
+        }
+    }
+}
@@ -72,6 +72,58 @@ public interface SyncLocationSettings {
      * @param level 
      */
     public void setFileCompressionLevel(int level);
+    /**
+     * This returns the amount of threads to use when compressing the file.
+     * @param defaultValue The value to return if the thread count is not set.
+     * @return The amount of threads to use for compression.
+     */
+    public int getFileCompressionThreadCount(int defaultValue);
+    /**
+     * This returns the amount of threads to use when compressing the file. 
+     * This defaults to the amount of processors available to the program.
+     * @return The amount of threads to use for compression.
+     */
+    public default int getFileCompressionThreadCount(){
+        return getFileCompressionThreadCount(
+                Runtime.getRuntime().availableProcessors());
+    }
+    /**
+     * This sets the amount of threads to use when compressing the file.
+     * @param threads The amount of threads to use for compression.
+     */
+    public void setFileCompressionThreadCount(int threads);
+    /**
+     * This returns the content hash of the remote file as of the last time the 
+     * database was uploaded to or downloaded from this sync location. 
+     * @return The content hash of the remote file when it was last synced, or 
+     * null if not known.
+     * @see #getSyncedDatabaseHash() 
+     * @see manager.dropbox.DropboxContentHasher
+     */
+    public String getSyncedContentHash();
+    /**
+     * This sets the content hash of the remote file as of the last time the 
+     * database was uploaded to or downloaded from this sync location.
+     * @param hash The content hash of the remote file, or null.
+     */
+    public void setSyncedContentHash(String hash);
+    /**
+     * This returns the content hash of the local database file as of the last 
+     * time the database was uploaded to or downloaded from this sync location. 
+     * If both this and the {@link #getSyncedContentHash() remote content hash} 
+     * still match their files, then the local and remote copies of the 
+     * database are the same and do not need to be transferred.
+     * @return The content hash of the local database file when it was last 
+     * synced, or null if not known.
+     * @see #getSyncedContentHash() 
+     */
+    public String getSyncedDatabaseHash();
+    /**
+     * This sets the content hash of the local database file as of the last 
+     * time the database was uploaded to or downloaded from this sync location.
+     * @param hash The content hash of the local database file, or null.
+     */
+    public void setSyncedDatabaseHash(String hash);
     /**
      * 
      * @param prop 
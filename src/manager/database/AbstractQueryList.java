@@ -15,10 +15,77 @@ import sql.util.*;
  * @param <E> The type of elements stored in this list.
  */
 abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
+    /**
+     * This is an enum of the SQL queries used by this list. The text for 
+     * these queries is generated the first time each query is used and is 
+     * then reused, since the names of the tables and columns used by a list 
+     * do not change.
+     * @see #getQuery(ListQuery) 
+     */
+    private enum ListQuery{
+        /**
+         * The query used to check if the table contains an index.
+         */
+        CONTAINS_INDEX,
+        /**
+         * The query used to replace the element at an index.
+         */
+        UPDATE_INDEX,
+        /**
+         * The query used to insert an element at an index.
+         */
+        INSERT_INDEX,
+        /**
+         * The query used to delete an index.
+         */
+        DELETE_INDEX,
+        /**
+         * The query used to delete a range of indexes.
+         */
+        DELETE_INDEXES,
+        /**
+         * The query used to offset a range of indexes.
+         */
+        OFFSET_INDEXES,
+        /**
+         * The query used to get the element at an index.
+         */
+        GET_INDEX,
+        /**
+         * The query used to get the size of the list.
+         */
+        SIZE,
+        /**
+         * The query used to remove all the elements in the list.
+         */
+        CLEAR,
+        /**
+         * The query used to get the first index of a non-null element.
+         */
+        INDEX_OF,
+        /**
+         * The query used to get the first index of a null element.
+         */
+        INDEX_OF_NULL,
+        /**
+         * The query used to get the last index of a non-null element.
+         */
+        LAST_INDEX_OF,
+        /**
+         * The query used to get the last index of a null element.
+         */
+        LAST_INDEX_OF_NULL
+    }
     /**
      * The connection to the database.
      */
     private final LinkDatabaseConnection conn;
+    /**
+     * This stores the text of the queries used by this list, in the order of 
+     * the {@link ListQuery ListQuery} constants. Each query is null until it 
+     * is first used.
+     */
+    private final String[] queries = new String[ListQuery.values().length];
     /**
      * This constructs an AbstractQueryList with the given connection to the 
      * database
@@ -34,44 +101,134 @@ abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
     public LinkDatabaseConnection getConnection() throws SQLException{
         return conn;
     }
+    /**
+     * This returns the text of the given query for this list, generating it 
+     * if this is the first time the query has been used.
+     * @param query The query to get.
+     * @return The text of the query.
+     */
+    private String getQuery(ListQuery query){
+        String sql = queries[query.ordinal()];
+            // If the query has not been generated yet
+        if (sql == null){
+            sql = createQuery(query);
+            queries[query.ordinal()] = sql;
+        }
+        return sql;
+    }
+    /**
+     * This generates the text of the given query for this list.
+     * @param query The query to generate.
+     * @return The text of the query.
+     */
+    private String createQuery(ListQuery query){
+        switch(query){
+            case CONTAINS_INDEX:
+                return String.format(TABLE_CONTAINS_QUERY_TEMPLATE+" AND %s = ?", 
+                        getElementColumn(),
+                        getTableName(),
+                        getTypeIDColumn(),
+                        getIndexColumn());
+            case UPDATE_INDEX:
+                return String.format("UPDATE %s SET %s = ? WHERE %s = ? AND %s = ?", 
+                        getTableName(),
+                        getElementColumn(),
+                        getTypeIDColumn(),
+                        getIndexColumn());
+            case INSERT_INDEX:
+                return String.format("INSERT INTO %s(%s, %s, %s) VALUES (?, ?, ?)", 
+                        getTableName(),
+                        getElementColumn(),
+                        getTypeIDColumn(),
+                        getIndexColumn());
+            case DELETE_INDEX:
+                return String.format("DELETE FROM %s WHERE %s = ? AND %s = ?", 
+                        getTableName(),
+                        getTypeIDColumn(),
+                        getIndexColumn());
+            case DELETE_INDEXES:
+                return String.format(
+                        "DELETE FROM %s WHERE %s = ? AND %s >= ? AND %s < ?",
+                            getTableName(),
+                            getTypeIDColumn(),
+                            getIndexColumn(),
+                            getIndexColumn());
+            case OFFSET_INDEXES:
+                return String.format(
+                        "UPDATE %s SET %s = %s + ? WHERE %s = ? AND %s >= ?", 
+                            getTableName(),
+                            getIndexColumn(),
+                            getIndexColumn(),
+                            getTypeIDColumn(),
+                            getIndexColumn());
+            case GET_INDEX:
+                return String.format("SELECT %s FROM %s WHERE %s = ? AND %s = ?", 
+                        getDataElementColumn(),
+                        getDataViewName(),
+                        getTypeIDColumn(),
+                        getIndexColumn());
+            case SIZE:
+                return String.format("SELECT MAX(%s) AS %s FROM %s WHERE %s = ?", 
+                        getIndexColumn(),
+                        LAST_INDEX_COLUMN_NAME,
+                        getTableName(),
+                        getTypeIDColumn());
+            case CLEAR:
+                return String.format("DELETE FROM %s WHERE %s = ?", 
+                        getTableName(),
+                        getTypeIDColumn());
+            case INDEX_OF:
+            case INDEX_OF_NULL:
+            case LAST_INDEX_OF:
+            case LAST_INDEX_OF_NULL:
+                boolean isNull = query == ListQuery.INDEX_OF_NULL || 
+                        query == ListQuery.LAST_INDEX_OF_NULL;
+                return getSortedQuery(
+                        getIndexColumn(),
+                        getDataViewName(),
+                        getTypeIDColumn()+" = ? AND "+getDataElementColumn()+
+                                ((isNull)?" IS NULL":" = ?"),
+                        getIndexColumn(),
+                        query == ListQuery.LAST_INDEX_OF || 
+                                query == ListQuery.LAST_INDEX_OF_NULL,1);
+        }
+        throw new AssertionError("Unknown query: " + query);
+    }
     /**
      * {@inheritDoc }
      */
     @Override
     protected boolean addAllSQL(int index, Collection<? extends E> c)
             throws SQLException{
+        Objects.checkIndex(index, size()+1);
+            // If there is nothing to add
+        if (c.isEmpty())
+            return false;
+            // Check all the elements before making any changes
+        for (E element : c)
+            checkElement(element);
             // Get the current state of the auto-commit
         boolean autoCommit = getConnection().getAutoCommit();
             // Turn off the auto-commit in order to group the following 
             // database transactions to improve performance
         getConnection().setAutoCommit(false);
-            // Add all the elements in the given collection to this list at 
-            // the given index and get if this list was modified as a result
-        boolean modified = super.addAllSQL(index, c);
+            // Make room for all the elements at once, instead of shifting the 
+        rotateIndexes(index,c.size());  // indexes once for every element
+            // Insert the elements into the gap
+        insertIndexes(index,c);
             // Commit the changes to the database
         getConnection().commit();
             // Restore the auto-commit back to what it was set to before
         getConnection().setAutoCommit(autoCommit);
-        return modified;
+        return true;
     }
     /**
      * {@inheritDoc }
      */
     @Override
     protected boolean addAllSQL(Collection<? extends E> c)throws SQLException{
-            // Get the current state of the auto-commit
-        boolean autoCommit = getConnection().getAutoCommit();
-            // Turn off the auto-commit in order to group the following 
-            // database transactions to improve performance
-        getConnection().setAutoCommit(false);
-            // Add all the elements in the given collection to this list and 
-            // get if this list was modified as a result
-        boolean modified = super.addAllSQL(c);
-            // Commit the changes to the database
-        getConnection().commit();
-            // Restore the auto-commit back to what it was set to before
-        getConnection().setAutoCommit(autoCommit);
-        return modified;
+            // Add all the elements in the given collection to the end of this 
+        return addAllSQL(size(),c); // list
     }
     /**
      * {@inheritDoc }
@@ -219,11 +376,7 @@ abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
     protected boolean containsIndex(int index) throws SQLException{
             // Prepare a statement to check if the table contains the given 
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                String.format(TABLE_CONTAINS_QUERY_TEMPLATE+" AND %s = ?", 
-                        getElementColumn(),
-                        getTableName(),
-                        getTypeIDColumn(),
-                        getIndexColumn()))){
+                getQuery(ListQuery.CONTAINS_INDEX))){
             setPreparedTypeID(pstmt,1);
             pstmt.setInt(2, index);
             return containsCountResult(pstmt.executeQuery());
@@ -236,17 +389,13 @@ abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
      * @throws SQLException 
      */
     protected void replaceIndex(int index, E element) throws SQLException{
-        String query;
+        ListQuery query;
         if (containsIndex(index))
-            query = "UPDATE %s SET %s = ? WHERE %s = ? AND %s = ?";
+            query = ListQuery.UPDATE_INDEX;
         else
-            query = "INSERT INTO %s(%s, %s, %s) VALUES (?, ?, ?)";
+            query = ListQuery.INSERT_INDEX;
         try (PreparedStatement pstmt = getConnection().prepareStatement(
-                String.format(query, 
-                        getTableName(),
-                        getElementColumn(),
-                        getTypeIDColumn(),
-                        getIndexColumn()))){
+                getQuery(query))){
             setReplaceIndexElement(pstmt,1,element);
             setPreparedTypeID(pstmt,2);
             pstmt.setInt(3, index);
@@ -260,10 +409,7 @@ abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
      */
     protected void deleteIndex(int index) throws SQLException{
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                String.format("DELETE FROM %s WHERE %s = ? AND %s = ?", 
-                        getTableName(),
-                        getTypeIDColumn(),
-                        getIndexColumn()))){
+                getQuery(ListQuery.DELETE_INDEX))){
             setPreparedTypeID(pstmt,1);
             pstmt.setInt(2, index);
             pstmt.executeUpdate();
@@ -277,14 +423,15 @@ abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
      * @throws SQLException 
      */
     protected int indexOfElement(E element, boolean descending) throws SQLException{
+        ListQuery query;
+        if (descending)
+            query = (element == null) ? ListQuery.LAST_INDEX_OF_NULL : 
+                    ListQuery.LAST_INDEX_OF;
+        else
+            query = (element == null) ? ListQuery.INDEX_OF_NULL : 
+                    ListQuery.INDEX_OF;
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                getSortedQuery(
-                        getIndexColumn(),
-                        getDataViewName(),
-                        getTypeIDColumn()+" = ? AND "+getDataElementColumn()+
-                                ((element==null)?" IS NULL":" = ?"),
-                        getIndexColumn(),
-                        descending,1))){
+                getQuery(query))){
             setPreparedTypeID(pstmt,1);
             if (element != null)
                 setPreparedElement(pstmt,2,element);
@@ -303,76 +450,96 @@ abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
      */
     protected abstract int indexOfSQL(Object o, boolean descending) 
             throws SQLException;
+    /**
+     * This adds the given offset to all the indexes greater than or equal to 
+     * {@code fromIndex}. This is used by {@link #rotateIndexes rotateIndexes} 
+     * to shift a range of indexes with a single statement.
+     * @param fromIndex The index of the first element to offset.
+     * @param offset The amount to add to the indexes.
+     * @throws SQLException If a database error occurs.
+     * @see #rotateIndexes(int, int) 
+     */
+    private void offsetIndexes(int fromIndex, int offset) throws SQLException{
+        try(PreparedStatement pstmt = getConnection().prepareStatement(
+                getQuery(ListQuery.OFFSET_INDEXES))){
+            pstmt.setInt(1, offset);
+            setPreparedTypeID(pstmt,2);
+            pstmt.setInt(3, fromIndex);
+            pstmt.executeUpdate();
+        }
+    }
     /**
      * This shifts all the indexes over by {@code distance}, starting at 
-     * {@code startIndex}, inclusive. 
+     * {@code startIndex}, inclusive. This takes two statements regardless of 
+     * how many indexes are being shifted. The indexes being shifted are first 
+     * moved past the end of this list so that they cannot collide with any 
+     * existing indexes (indexes must be unique and cannot be negative), and 
+     * are then moved back to their final position. When shifting to the 
+     * left, the rows that the shifted indexes move over must have already 
+     * been removed, and so the first shifted row is at {@code startIndex - 
+     * distance} or later.
      * @param startIndex
      * @param distance
      * @throws SQLException 
      */
     protected void rotateIndexes(int startIndex, int distance) throws SQLException{
-        if (distance > 0){
-            if (startIndex >= size())
-                return;
-                // Get the current state of the auto-commit
-            boolean autoCommit = getConnection().getAutoCommit();
-                // Turn off the auto-commit in order to group the following 
-                // database transactions to improve performance
-            getConnection().setAutoCommit(false);
-            // "UPDATE table SET index = index + distance WHERE index >= startIndex"
-            ArrayList<Integer> indexes = new ArrayList<>();
-            try(PreparedStatement pstmt = getConnection().prepareStatement(
-                    String.format(
-                            "SELECT %s FROM %s WHERE %s = ? AND %s >= ? ORDER BY %s DESC", 
-                                getIndexColumn(),
-                                getTableName(),
-                                getTypeIDColumn(),
-                                getIndexColumn(),
-                                getIndexColumn()))){
-                setPreparedTypeID(pstmt,1);
-                pstmt.setInt(2, startIndex);
-                ResultSet rs = pstmt.executeQuery();
-                while (rs.next())
-                    indexes.add(rs.getInt(getIndexColumn()));
-            }
-            for (int temp : indexes){
-                try(PreparedStatement pstmt = getConnection().prepareStatement(
-                        String.format(
-                                "UPDATE %s SET %s = ? WHERE %s = ? AND %s = ?",
-                                    getTableName(),
-                                    getIndexColumn(),
-                                    getTypeIDColumn(),
-                                    getIndexColumn()))){
-                    pstmt.setInt(1, temp+1);
-                    setPreparedTypeID(pstmt,2);
-                    pstmt.setInt(3, temp);
-                    pstmt.executeUpdate();
+            // If the indexes are not being shifted or the start index is 
+        if (distance == 0 || startIndex < 0)    // negative
+            return;
+            // Get the size of this list
+        int size = sizeSQL();
+            // If there are no indexes to shift
+        if (startIndex >= size)
+            return;
+            // Get the current state of the auto-commit
+        boolean autoCommit = getConnection().getAutoCommit();
+            // Turn off the auto-commit in order to group the following 
+            // database transactions to improve performance
+        getConnection().setAutoCommit(false);
+            // Move the indexes to be shifted past the end of this list, 
+            // including the shift if it's to the right. This ensures that the 
+        offsetIndexes(startIndex, size + Math.max(distance, 0));    // indexes 
+            // will not collide with any of the indexes that are not shifted
+            // Move the indexes back, including the shift if it's to the left
+        offsetIndexes(startIndex + size + Math.max(distance, 0), 
+                -size + Math.min(distance, 0));
+            // Commit the changes to the database
+        getConnection().commit();       
+            // Restore the auto-commit back to what it was set to before
+        getConnection().setAutoCommit(autoCommit);
+    }
+    /**
+     * This inserts the elements in the given collection into the table 
+     * starting at the given index. This assumes that the indexes that will be 
+     * used are not currently in use.
+     * @param index The index at which to insert the first element.
+     * @param c The collection containing the elements to insert.
+     * @throws SQLException If a database error occurs.
+     * @see #addAllSQL(int, Collection) 
+     */
+    protected void insertIndexes(int index, Collection<? extends E> c) 
+            throws SQLException{
+            // Get the amount of rows to send to the database at a time
+        int batchSize = Math.max(getConnection().getBatchSize(), 1);
+            // This gets the amount of rows in the current batch
+        int pending = 0;
+        try (PreparedStatement pstmt = getConnection().prepareStatement(
+                getQuery(ListQuery.INSERT_INDEX))){
+            setPreparedTypeID(pstmt,2);
+                // Go through the elements to insert
+            for (E element : c){
+                setReplaceIndexElement(pstmt,1,element);
+                pstmt.setInt(3, index++);
+                pstmt.addBatch();
+                pending++;
+                    // If the current batch is full
+                if (pending >= batchSize){
+                    pstmt.executeBatch();
+                    pending = 0;
                 }
-            }
-//            while (index < size()){
-//                element = setSQL(index,element);
-//                index++;
-//            }
-                // Commit the changes to the database
-            getConnection().commit();       
-                // Restore the auto-commit back to what it was set to before
-            getConnection().setAutoCommit(autoCommit);
-        } else if (distance < 0){
-            if (startIndex < 0)
-                return;
-            try(PreparedStatement pstmt = getConnection().prepareStatement(
-                    String.format(
-                            "UPDATE %s SET %s = %s - ? WHERE %s = ? AND %s >= ?", 
-                                getTableName(),
-                                getIndexColumn(),
-                                getIndexColumn(),
-                                getTypeIDColumn(),
-                                getIndexColumn()))){
-                pstmt.setInt(1, Math.abs(distance));
-                setPreparedTypeID(pstmt,2);
-                pstmt.setInt(3, startIndex);
-                pstmt.executeUpdate();
-            }
+            }   // If there are any rows left in the current batch
+            if (pending > 0)
+                pstmt.executeBatch();
         }
     }
     /**
@@ -388,11 +555,7 @@ abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
     protected E getSQL(int index) throws SQLException{
         Objects.checkIndex(index, size());
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                String.format("SELECT %s FROM %s WHERE %s = ? AND %s = ?", 
-                        getDataElementColumn(),
-                        getDataViewName(),
-                        getTypeIDColumn(),
-                        getIndexColumn()))){
+                getQuery(ListQuery.GET_INDEX))){
             setPreparedTypeID(pstmt,1);
             pstmt.setInt(2, index);
             ResultSet rs = pstmt.executeQuery();
@@ -407,11 +570,7 @@ abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
     @Override
     protected int sizeSQL() throws SQLException{
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                String.format("SELECT MAX(%s) AS %s FROM %s WHERE %s = ?", 
-                        getIndexColumn(),
-                        LAST_INDEX_COLUMN_NAME,
-                        getTableName(),
-                        getTypeIDColumn()))){
+                getQuery(ListQuery.SIZE))){
             setPreparedTypeID(pstmt,1);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()){
@@ -428,9 +587,7 @@ abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
     @Override
     protected void clearSQL()throws SQLException{
         try (PreparedStatement pstmt = getConnection().prepareStatement(
-                String.format("DELETE FROM %s WHERE %s = ?", 
-                        getTableName(),
-                        getTypeIDColumn()))) {
+                getQuery(ListQuery.CLEAR))) {
             setPreparedTypeID(pstmt,1);
             pstmt.executeUpdate();
         }
@@ -483,21 +640,32 @@ abstract class AbstractQueryList <E> extends AbstractSQLList<E>{
      */
     @Override
     protected void removeRangeSQL(int fromIndex, int toIndex)throws SQLException{
+        if (fromIndex == toIndex)
+            return;
+        deleteIndexes(fromIndex, toIndex);
+        rotateIndexes(Math.min(fromIndex, toIndex),fromIndex-toIndex);
+    }
+    /**
+     * This deletes the rows with indexes between {@code fromIndex}, inclusive, 
+     * and {@code toIndex}, exclusive, without shifting the indexes that come 
+     * after them. This leaves a gap in the indexes that must either be filled 
+     * or closed with {@link #rotateIndexes rotateIndexes}.
+     * @param fromIndex The index of the first row to delete.
+     * @param toIndex The index after the last row to delete.
+     * @throws SQLException If a database error occurs.
+     * @see #removeRangeSQL(int, int) 
+     * @see #rotateIndexes(int, int) 
+     */
+    protected void deleteIndexes(int fromIndex, int toIndex)throws SQLException{
         if (fromIndex == toIndex)
             return;
         try (PreparedStatement pstmt = getConnection().prepareStatement(
-                String.format(
-                        "DELETE FROM %s WHERE %s = ? AND %s >= ? AND %s < ?",
-                            getTableName(),
-                            getTypeIDColumn(),
-                            getIndexColumn(),
-                            getIndexColumn()))){
+                getQuery(ListQuery.DELETE_INDEXES))){
             setPreparedTypeID(pstmt,1);
             pstmt.setInt(2, Math.min(fromIndex, toIndex));
             pstmt.setInt(3, Math.max(fromIndex, toIndex));
             pstmt.executeUpdate();
         }
-        rotateIndexes(Math.min(fromIndex, toIndex),fromIndex-toIndex);
     }
     /**
      * {@inheritDoc }
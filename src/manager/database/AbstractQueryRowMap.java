@@ -17,10 +17,103 @@ import static manager.database.LinkDatabaseConnection.*;
  * @param <V> The type of mapped values.
  */
 abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
+    /**
+     * This is an enum of the SQL queries used by this map. The text for these 
+     * queries only depends on the flags for the range and value being used, 
+     * so the text for each combination of flags is generated the first time 
+     * it is used and is then reused.
+     * @see #getQuery(RowMapQuery, int, Object) 
+     */
+    private enum RowMapQuery{
+        /**
+         * The query used to get the first or last entry.
+         */
+        END_ENTRY,
+        /**
+         * The query used to get the entry higher or lower than a key.
+         */
+        NAVIGABLE_ENTRY,
+        /**
+         * The query used to get the first or last key mapped to a value.
+         */
+        END_KEY_FOR_VALUE,
+        /**
+         * The query used to get the key mapped to a value that is higher or 
+         * lower than a key.
+         */
+        NAVIGABLE_KEY_FOR_VALUE,
+        /**
+         * The query used to get the entries in a range.
+         */
+        ENTRY_RANGE,
+        /**
+         * The query used to get the keys in a range that are mapped to a 
+         * value.
+         */
+        VALUE_KEY_RANGE,
+        /**
+         * The query used to count the keys mapped to a value.
+         */
+        VALUE_SIZE,
+        /**
+         * The query used to count the entries in a range.
+         */
+        RANGE_SIZE,
+        /**
+         * The query used to remove the entries in a range.
+         */
+        REMOVE_RANGE
+    }
+    /**
+     * This is the flag for a range that starts at the start of this map.
+     */
+    private static final int FROM_START_FLAG = 0x01;
+    /**
+     * This is the flag for a range that is inclusive of its starting key, or 
+     * for a navigable query that is inclusive of the given key.
+     */
+    private static final int FROM_INCLUSIVE_FLAG = 0x02;
+    /**
+     * This is the flag for a range that ends at the end of this map.
+     */
+    private static final int TO_END_FLAG = 0x04;
+    /**
+     * This is the flag for a range that is inclusive of its ending key.
+     */
+    private static final int TO_INCLUSIVE_FLAG = 0x08;
+    /**
+     * This is the flag for a query that only uses the keys mapped to a value.
+     */
+    private static final int USE_VALUE_FLAG = 0x10;
+    /**
+     * This is the flag for a query that uses a null value.
+     */
+    private static final int NULL_VALUE_FLAG = 0x20;
+    /**
+     * This is the flag for a query that is in descending order, or for a 
+     * navigable query for keys lower than the given key.
+     */
+    private static final int DESCENDING_FLAG = 0x40;
+    /**
+     * This is the flag for a navigable query for keys higher than the given 
+     * key.
+     */
+    private static final int GREATER_FLAG = 0x80;
+    /**
+     * This is the number of combinations of the query flags.
+     */
+    private static final int QUERY_FLAG_COMBINATIONS = 0x100;
     /**
      * The connection to the database.
      */
     private final LinkDatabaseConnection conn;
+    /**
+     * This stores the text of the queries used by this map, in the order of 
+     * the {@link RowMapQuery RowMapQuery} constants and then indexed by the 
+     * query flags. Each array is null until its query is first used, and each 
+     * query is null until it is first used with its flags.
+     */
+    private final String[][] queries = new String[RowMapQuery.values().length][];
     /**
      * This constructs an AbstractQueryRowMap with the given connection to the 
      * database
@@ -36,6 +129,130 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
     public LinkDatabaseConnection getConnection() throws SQLException{
         return conn;
     }
+    /**
+     * This returns the query flags for the given range and value.
+     * @param fromStart Whether the range starts at the start of this map.
+     * @param fromInclusive Whether the range is inclusive of the starting key.
+     * @param toEnd Whether the range ends at the end of this map.
+     * @param toInclusive Whether the range is inclusive of the ending key.
+     * @param useValue Whether the range only contains keys mapped to the 
+     * value.
+     * @param value The value to filter the range.
+     * @return The query flags for the range and value.
+     */
+    private static int getRangeFlags(boolean fromStart, boolean fromInclusive, 
+            boolean toEnd, boolean toInclusive, boolean useValue, Object value){
+        int flags = 0;
+        if (fromStart)
+            flags |= FROM_START_FLAG;
+        if (fromInclusive)
+            flags |= FROM_INCLUSIVE_FLAG;
+        if (toEnd)
+            flags |= TO_END_FLAG;
+        if (toInclusive)
+            flags |= TO_INCLUSIVE_FLAG;
+        if (useValue){
+            flags |= USE_VALUE_FLAG;
+            if (value == null)
+                flags |= NULL_VALUE_FLAG;
+        }
+        return flags;
+    }
+    /**
+     * This returns the query flags for a navigable query with the given 
+     * comparison.
+     * @param comparison The comparison to use (negative for {@code keys < 
+     * key}, 0 for {@code keys = key}, positive for {@code keys > key}) 
+     * @param inclusive Whether the query is inclusive.
+     * @return The query flags for the navigable query.
+     */
+    private static int getNavigableFlags(int comparison, boolean inclusive){
+        int flags = (inclusive) ? FROM_INCLUSIVE_FLAG : 0;
+        if (comparison < 0)
+            flags |= DESCENDING_FLAG;
+        else if (comparison > 0)
+            flags |= GREATER_FLAG;
+        return flags;
+    }
+    /**
+     * This returns the text of the given query for this map with the given 
+     * flags, generating it if this is the first time the query has been used 
+     * with those flags.
+     * @param query The query to get.
+     * @param flags The query flags.
+     * @param value The value used by the query, if any. This is only used to 
+     * generate the query, and only whether it is null affects the query.
+     * @return The text of the query.
+     */
+    private String getQuery(RowMapQuery query, int flags, V value){
+        String[] arr = queries[query.ordinal()];
+            // If this query has not been used yet
+        if (arr == null){
+            arr = new String[QUERY_FLAG_COMBINATIONS];
+            queries[query.ordinal()] = arr;
+        }
+        String sql = arr[flags];
+            // If the query has not been generated for these flags yet
+        if (sql == null){
+            sql = createQuery(query, flags, value);
+            arr[flags] = sql;
+        }
+        return sql;
+    }
+    /**
+     * This generates the text of the given query for this map with the given 
+     * flags.
+     * @param query The query to generate.
+     * @param flags The query flags.
+     * @param value The value used by the query, if any.
+     * @return The text of the query.
+     */
+    private String createQuery(RowMapQuery query, int flags, V value){
+        boolean fromStart = (flags & FROM_START_FLAG) != 0;
+        boolean fromInclusive = (flags & FROM_INCLUSIVE_FLAG) != 0;
+        boolean toEnd = (flags & TO_END_FLAG) != 0;
+        boolean toInclusive = (flags & TO_INCLUSIVE_FLAG) != 0;
+        boolean useValue = (flags & USE_VALUE_FLAG) != 0;
+        boolean descending = (flags & DESCENDING_FLAG) != 0;
+            // Get the comparison for the navigable queries
+        int comparison = (descending) ? -1 : 
+                (((flags & GREATER_FLAG) != 0) ? 1 : 0);
+        switch(query){
+            case END_ENTRY:
+                return getSortedQuery(null,descending,1);
+            case NAVIGABLE_ENTRY:
+                return getNavigableQuery(comparison,fromInclusive);
+            case END_KEY_FOR_VALUE:
+                return getSortedQuery(getValueCondition(value),descending,1);
+            case NAVIGABLE_KEY_FOR_VALUE:
+                return getNavigableQuery(comparison,fromInclusive,
+                        getValueCondition(value));
+            case ENTRY_RANGE:
+                return getSortedQuery(getRangeConditions(fromStart,
+                        fromInclusive,toEnd,toInclusive),descending,null);
+            case VALUE_KEY_RANGE:
+                return getSortedQuery(getRangeConditions(fromStart,
+                        fromInclusive,toEnd,toInclusive,true,value),
+                        descending,null);
+            case VALUE_SIZE:
+                return String.format(TABLE_SIZE_QUERY_TEMPLATE+" WHERE %s", 
+                        getKeyColumn(),
+                        getDataViewName(),
+                        getValueCondition(value));
+            case RANGE_SIZE:
+                return String.format(TABLE_SIZE_QUERY_TEMPLATE+" WHERE %s",
+                        getKeyColumn(),
+                        getDataViewName(),
+                        getRangeConditions(fromStart,fromInclusive,
+                                toEnd,toInclusive,useValue,value));
+            case REMOVE_RANGE:
+                return "DELETE FROM "+getTableName()+" WHERE "+
+                        getRemoveRangeConditions(fromStart,fromInclusive,
+                                toEnd,toInclusive,useValue,value);
+            default:
+                throw new AssertionError("Unknown query: "+query);
+        }
+    }
     /**
      * {@inheritDoc }
      */
@@ -378,10 +595,11 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
      * @throws SQLException 
      */
     protected Entry<K, V> getEndEntry(boolean last) throws SQLException{
-            // Create a statement to get the entry
-        try(Statement stmt = getConnection().createStatement()){
+            // Prepare a statement to get the entry
+        try(PreparedStatement pstmt = getConnection().prepareStatement(
+                getQuery(RowMapQuery.END_ENTRY,(last)?DESCENDING_FLAG:0,null))){
                 // Query the database to get the entry
-            ResultSet rs = stmt.executeQuery(getSortedQuery(null,last,1));
+            ResultSet rs = pstmt.executeQuery();
                 // If there are any results from the query
             if (rs.next())
                 return getEntryFromResults(rs);
@@ -405,7 +623,8 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
             // Prepare a statement to get the entry higher or lower than the 
             // given key
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                getNavigableQuery(comparison,inclusive))){
+                getQuery(RowMapQuery.NAVIGABLE_ENTRY,
+                        getNavigableFlags(comparison,inclusive),null))){
                 // Set the key
             setPreparedKey(pstmt,1,key);
                 // Get the results of the query
@@ -442,7 +661,9 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
             // Prepare a statement to get the first or last key for the 
             // given value
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                getSortedQuery(getValueCondition(value),last,1))){
+                getQuery(RowMapQuery.END_KEY_FOR_VALUE,
+                        getRangeFlags(true,false,true,false,true,value) | 
+                                ((last)?DESCENDING_FLAG:0),value))){
                 // If the given value is not null
             if (value != null)
                     // Set the value to search for
@@ -475,7 +696,9 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
             // Prepare a statement to get the key mapped to the given value 
             // and that is either higher or lower than the given key
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                getNavigableQuery(comparison,inclusive,getValueCondition(value)))){
+                getQuery(RowMapQuery.NAVIGABLE_KEY_FOR_VALUE,
+                        getNavigableFlags(comparison,inclusive) | 
+                                ((value == null)?NULL_VALUE_FLAG:0),value))){
                 // Set the key
             setPreparedKey(pstmt,1,key);
                 // If the value is not null
@@ -510,9 +733,10 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
             // Prepare a statement to go through the entries in this map, 
             // sorted and using the given range conditions
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                getSortedQuery(
-                        getRangeConditions(fromStart,fromInclusive,toEnd,toInclusive),
-                        descending,null))){
+                getQuery(RowMapQuery.ENTRY_RANGE,
+                        getRangeFlags(fromStart,fromInclusive,toEnd,toInclusive,
+                                false,null) | ((descending)?DESCENDING_FLAG:0),
+                        null))){
                 // Populate the range conditions
             populateValueAndRange(pstmt,1,fromStart,fromKey,toEnd,toKey,false,null);
                 // Get the results of the query
@@ -552,9 +776,10 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
             // Prepare a statement to go through the entries in this map, 
             // sorted and using the given range conditions
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                getSortedQuery(
-                        getRangeConditions(fromStart,fromInclusive,toEnd,toInclusive,true,value),
-                        descending,null))){
+                getQuery(RowMapQuery.VALUE_KEY_RANGE,
+                        getRangeFlags(fromStart,fromInclusive,toEnd,toInclusive,
+                                true,value) | ((descending)?DESCENDING_FLAG:0),
+                        value))){
                 // Populate the range and value conditions
             populateValueAndRange(pstmt,1,fromStart,fromKey,toEnd,toKey,true,value);
                 // Get the results of the query
@@ -620,10 +845,8 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
                     // Prepare a statement to get the number of times the 
                     // given value appears in the map
                 try(PreparedStatement pstmt = getConnection().prepareStatement(
-                        String.format(TABLE_SIZE_QUERY_TEMPLATE+" WHERE %s", 
-                                getKeyColumn(),
-                                getDataViewName(),
-                                getValueCondition(value)))){
+                        getQuery(RowMapQuery.VALUE_SIZE,getRangeFlags(true,
+                                false,true,false,true,value),value))){
                         // If the value is not null
                     if (value != null)
                             // Set the given value
@@ -640,11 +863,8 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
         }   // Prepare a statement to count the number of rows that match 
             // the given conditions
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                String.format(TABLE_SIZE_QUERY_TEMPLATE+" WHERE %s",
-                    getKeyColumn(),
-                    getDataViewName(),
-                    getRangeConditions(fromStart,fromInclusive,
-                            toEnd,toInclusive,useValue,value)))){
+                getQuery(RowMapQuery.RANGE_SIZE,getRangeFlags(fromStart,
+                        fromInclusive,toEnd,toInclusive,useValue,value),value))){
                 // Populate the range and value conditions
             populateValueAndRange(pstmt,1,fromStart,fromKey,toEnd,toKey,
                     useValue,value);
@@ -658,6 +878,9 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
     }
     /**
      * 
+     * The text of the queries using the returned conditions is reused for 
+     * other values, so the conditions may only depend on whether the value 
+     * is null and not on the value itself.
      * @param fromStart
      * @param fromInclusive
      * @param toEnd
@@ -693,18 +916,16 @@ abstract class AbstractQueryRowMap <K,V> extends AbstractSQLRowMap<K,V> {
             getConnection().clearTable(getTableName());
         else{
             try(PreparedStatement pstmt = getConnection().prepareStatement(
-                    "DELETE FROM "+getTableName()+" WHERE "+getRemoveRangeConditions(
-                            fromStart,fromInclusive,toEnd,toInclusive,useValue,value))){
+                    getQuery(RowMapQuery.REMOVE_RANGE,getRangeFlags(fromStart,
+                            fromInclusive,toEnd,toInclusive,useValue,value),
+                            value))){
                 populateValueAndRange(pstmt,1,fromStart,fromKey,toEnd,toKey,useValue,value);
                 pstmt.executeUpdate();
             }
         }
-//        if (useValue)
-//            removeFromCache(fromStart,fromKey,fromInclusive,
-//                    toEnd,toKey,toInclusive,value);
-//        else
-//            removeFromCache(fromStart,fromKey,fromInclusive,
-//                    toEnd,toKey,toInclusive);
+            // Remove the removed range from the cache
+        removeFromCache(fromStart,fromKey,fromInclusive,
+                toEnd,toKey,toInclusive,useValue,value);
     }
     /**
      * 
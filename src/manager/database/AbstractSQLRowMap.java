@@ -18,53 +18,226 @@ import sql.util.*;
 public abstract class AbstractSQLRowMap<K,V> extends AbstractNavigableSQLMap<K, V> 
         implements SQLRowMap<K,V>{
     
-//    protected final TreeMap<K,V> cache;
-//    
-//    protected AbstractSQLRowMap(Comparator<? super K> comparator){
-//        cache = new TreeMap<>(comparator);
-//    }
-//    
-//    protected AbstractSQLRowMap(){
-//        this(null);
-//    }
+    /**
+     * This is the default maximum number of entries stored in the cache for 
+     * each map.
+     * @see #getMaximumCacheSize() 
+     * @see #setMaximumCacheSize(int) 
+     */
+    public static final int DEFAULT_MAXIMUM_CACHE_SIZE = 4096;
+    /**
+     * This is the cache mapping keys to the values they were last known to be 
+     * mapped to in the database. This is ordered by access so that the least 
+     * recently used entry is evicted first when the cache exceeds its maximum 
+     * size. All access to this map must be synchronized on it.
+     */
+    private final LinkedHashMap<K,V> cache = new LinkedHashMap<>(16,0.75f,true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K,V> eldest){
+            return size() > maxCacheSize;
+        }
+    };
+    /**
+     * This is the cache mapping values to the first (lowest) key they were 
+     * last known to be mapped to in the database. This is ordered by access so 
+     * that the least recently used entry is evicted first when the cache 
+     * exceeds its maximum size. All access to this map must be synchronized on 
+     * {@link #cache}.
+     */
+    private final LinkedHashMap<V,K> firstKeyCache = new LinkedHashMap<>(16,0.75f,true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<V,K> eldest){
+            return size() > maxCacheSize;
+        }
+    };
+    /**
+     * This is the maximum number of entries to store in each of the caches. 
+     * If this is zero, then caching is disabled.
+     */
+    private volatile int maxCacheSize = DEFAULT_MAXIMUM_CACHE_SIZE;
+    /**
+     * This is the number of lookups that were answered by the cache.
+     */
+    private long cacheHits = 0;
+    /**
+     * This is the number of lookups that had to go to the database.
+     */
+    private long cacheMisses = 0;
     /**
      * 
      * @return 
      */
     @Override
     public Comparator<? super K> comparator() {
-        return null;//cache.comparator();
-    }
-//    @Override
-//    public boolean containsKey(Object key){
-//        try{
-//            if (cache.containsKey(key))
-//                return true;
-//        } catch(ClassCastException | NullPointerException ex){}
-//        return super.containsKey(key);
-//    }
-//    @Override
-//    public boolean containsValue(Object value){
-//        try{
-//            if (cache.containsValue(value))
-//                return true;
-//        } catch(ClassCastException | NullPointerException ex){}
-//        return super.containsValue(value);
-//    }
-//    @Override
-//    public V get(Object key){
-//        try{
-//            if (cache.containsKey(key))
-//                return cache.get(key);
-//        } catch(ClassCastException | NullPointerException ex){}
-//        return super.get(key);
-//    }
-//    
-//    protected void putIntoCache(K key, V value){
-//        try{
-//            cache.put(key, value);
-//        } catch(ClassCastException | NullPointerException ex){}
-//    }
+        return null;
+    }
+    /**
+     * This returns the maximum number of entries that will be cached by this 
+     * map. Both the cached values and the cached first keys for values are 
+     * limited to this many entries, with the least recently used entries being 
+     * evicted first.
+     * @return The maximum number of cached entries, or zero if caching is 
+     * disabled.
+     * @see #setMaximumCacheSize(int) 
+     * @see #DEFAULT_MAXIMUM_CACHE_SIZE
+     */
+    public int getMaximumCacheSize(){
+        return maxCacheSize;
+    }
+    /**
+     * This sets the maximum number of entries that will be cached by this map. 
+     * If the caches currently hold more entries than this, then the least 
+     * recently used entries will be evicted. 
+     * @param size The maximum number of cached entries, or zero to disable 
+     * caching.
+     * @throws IllegalArgumentException If the given size is negative.
+     * @see #getMaximumCacheSize() 
+     * @see #DEFAULT_MAXIMUM_CACHE_SIZE
+     */
+    public void setMaximumCacheSize(int size){
+            // If the size is negative
+        if (size < 0)
+            throw new IllegalArgumentException("Cache size cannot be negative ("
+                    + size+")");
+        synchronized(cache){
+            maxCacheSize = size;
+                // Trim the caches down to the new size
+            trimCache(cache);
+            trimCache(firstKeyCache);
+        }
+    }
+    /**
+     * This removes the least recently used entries from the given cache until 
+     * it is no larger than the maximum cache size.
+     * @param map The cache to trim.
+     */
+    private void trimCache(LinkedHashMap<?,?> map){
+            // Get an iterator to go through the entries from the least to the 
+        Iterator<?> itr = map.keySet().iterator();  // most recently used
+        while (map.size() > maxCacheSize && itr.hasNext()){
+            itr.next();
+            itr.remove();
+        }
+    }
+    /**
+     * This returns the number of lookups that have been answered from the 
+     * cache since this map was created or the counters were last reset.
+     * @return The number of cache hits.
+     * @see #getCacheMissCount() 
+     * @see #resetCacheCounters() 
+     */
+    public long getCacheHitCount(){
+        synchronized(cache){
+            return cacheHits;
+        }
+    }
+    /**
+     * This returns the number of lookups that had to query the database since 
+     * this map was created or the counters were last reset.
+     * @return The number of cache misses.
+     * @see #getCacheHitCount() 
+     * @see #resetCacheCounters() 
+     */
+    public long getCacheMissCount(){
+        synchronized(cache){
+            return cacheMisses;
+        }
+    }
+    /**
+     * This resets the cache hit and miss counters to zero.
+     * @see #getCacheHitCount() 
+     * @see #getCacheMissCount() 
+     */
+    public void resetCacheCounters(){
+        synchronized(cache){
+            cacheHits = cacheMisses = 0;
+        }
+    }
+    /**
+     * This returns whether the given key is currently cached, updating the hit 
+     * and miss counters accordingly.
+     * @param key The key to look for.
+     * @return Whether the key is in the cache.
+     */
+    private boolean isCached(Object key){
+        synchronized(cache){
+            boolean cached = cache.containsKey(key);
+            if (cached)
+                cacheHits++;
+            else
+                cacheMisses++;
+            return cached;
+        }
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean containsKey(Object key){
+            // If the key is in the cache
+        if (isCached(key))
+            return true;
+        return super.containsKey(key);
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean containsValue(Object value){
+        synchronized(cache){
+                // If the value is known to have a key
+            if (firstKeyCache.containsKey(value)){
+                cacheHits++;
+                return true;
+            }
+            cacheMisses++;
+        }
+        return super.containsValue(value);
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key){
+        synchronized(cache){
+                // If the key is in the cache
+            if (isCached(key))
+                return cache.get(key);
+        }   // Get the value from the database
+        V value = super.get(key);
+            // If there is a value for the key
+        if (value != null)
+            putIntoCache((K)key,value);
+        return value;
+    }
+    /**
+     * This stores the given key and value in the cache.
+     * @param key The key to cache.
+     * @param value The value mapped to the key.
+     */
+    protected void putIntoCache(K key, V value){
+            // If caching is disabled or the key is null
+        if (maxCacheSize == 0 || key == null)
+            return;
+        synchronized(cache){
+            cache.put(key, value);
+        }
+    }
+    /**
+     * This removes the given key from the cache, along with the cached first 
+     * key for the given value.
+     * @param key The key to remove.
+     * @param value The value that was mapped to the key, or null.
+     */
+    protected void removeFromCache(Object key, Object value){
+        synchronized(cache){
+            cache.remove(key);
+                // If the value is not null
+            if (value != null)
+                firstKeyCache.remove(value);
+        }
+    }
     /**
      * 
      * @param key
@@ -74,19 +247,37 @@ public abstract class AbstractSQLRowMap<K,V> extends AbstractNavigableSQLMap<K,
     @Override
     public V put(K key, V value){
         checkKeyAndValue(key,value);
-        return super.put(key, value);
-//        V old = super.put(key, value);
-//        putIntoCache(key,value);
-//        return old;
+        V old = super.put(key, value);
+            // The first key for both the old and new values may have changed
+        removeFromCache(key, old);
+        removeFromCache(key, value);
+        putIntoCache(key,value);
+        return old;
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m){
+        try{
+            super.putAll(m);
+        } finally { // Remove the keys that were (or may have been) changed 
+            clearCache();   // from the cache
+        }
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public V remove(Object key){
+        V value = null;
+        try{
+            value = super.remove(key);
+        } finally {
+            removeFromCache(key,value);
+        }
+        return value;
     }
-//    @Override
-//    public V remove(Object key){
-//        V value = super.remove(key);
-//        try{
-//            cache.remove(key,value);
-//        } catch(ClassCastException | NullPointerException ex){}
-//        return value;
-//    }
     /**
      * 
      * @param value
@@ -117,7 +308,7 @@ public abstract class AbstractSQLRowMap<K,V> extends AbstractNavigableSQLMap<K,
         checkValue(value);
         try {   // Add the value to the map
             K key = addSQL(value);
-//            putIntoCache(key,value);
+            putIntoCache(key,value);
             return key;
         } catch (SQLException ex) {
             ConnectionBased.throwConstraintException(ex);
@@ -161,7 +352,7 @@ public abstract class AbstractSQLRowMap<K,V> extends AbstractNavigableSQLMap<K,
         checkValue(value);
         try {
             K key = addIfAbsentSQL(value);
-//            putIntoCache(key,value);
+            putIntoCache(key,value);
             return key;
         } catch (SQLException ex) {
             ConnectionBased.throwConstraintException(ex);
@@ -322,11 +513,26 @@ public abstract class AbstractSQLRowMap<K,V> extends AbstractNavigableSQLMap<K,
      */
     @Override
     public K firstKeyFor(V value) {
+        synchronized(cache){
+                // If the first key for the value is in the cache
+            if (firstKeyCache.containsKey(value)){
+                cacheHits++;
+                return firstKeyCache.get(value);
+            }
+            cacheMisses++;
+        }
         if (isEmpty())
             return null;
         checkValue(value);
         try {
-            return firstKeyForSQL(value);
+            K key = firstKeyForSQL(value);
+                // If there is a key for the value and caching is enabled
+            if (key != null && maxCacheSize > 0){
+                synchronized(cache){
+                    firstKeyCache.put(value, key);
+                }
+            }
+            return key;
         } catch (SQLException ex) {
             appendWarning(ex);
             throw new UncheckedSQLException(ex);
@@ -530,38 +736,80 @@ public abstract class AbstractSQLRowMap<K,V> extends AbstractNavigableSQLMap<K,
             throw new UncheckedSQLException(ex);
         }
     }
-//    @Override
-//    public void clearCache(){
-//        cache.clear();
-//    }
-//    
-//    protected void removeFromCache(boolean fromStart, K fromKey, boolean fromInclusive, 
-//            boolean toEnd, K toKey, boolean toInclusive){
-//        try{
-//            NavigableUtilities.getSubMap(cache, fromStart, fromKey, fromInclusive, 
-//                    toEnd, toKey, toInclusive).clear();
-//        } catch(ClassCastException | NullPointerException ex){}
-//    }
-//    
-//    protected void removeFromCache(boolean fromStart, K fromKey, boolean fromInclusive, 
-//            boolean toEnd, K toKey, boolean toInclusive, V value){
-//        try{
-//            NavigableMap<K,V> temp = NavigableUtilities.getSubMap(cache, 
-//                    fromStart, fromKey, fromInclusive, 
-//                    toEnd, toKey, toInclusive);
-//            while(temp.containsValue(value))
-//                temp.values().remove(value);
-//        } catch(ClassCastException | NullPointerException ex){}
-//    }
-//    
-//    @Override
-//    protected void removeSQL(boolean fromStart, K fromKey, boolean fromInclusive, 
-//            boolean toEnd, K toKey, boolean toInclusive)throws SQLException{
-//        super.removeSQL(fromStart,fromKey,fromInclusive,
-//                toEnd,toKey,toInclusive);
-//        removeFromCache(fromStart,fromKey,fromInclusive,
-//            toEnd,toKey,toInclusive);
-//    }
+    /**
+     * This removes all the entries from the cache. This should be called if 
+     * the table this map is a view of may have been changed without going 
+     * through this map.
+     */
+    @Override
+    public void clearCache(){
+        synchronized(cache){
+            cache.clear();
+            firstKeyCache.clear();
+        }
+    }
+    /**
+     * This returns whether the given key is within the given range.
+     * @param key The key to check.
+     * @param fromStart Whether the range starts at the start of the map.
+     * @param fromKey The low endpoint of the range.
+     * @param fromInclusive Whether the low endpoint is included in the range.
+     * @param toEnd Whether the range ends at the end of the map.
+     * @param toKey The high endpoint of the range.
+     * @param toInclusive Whether the high endpoint is included in the range.
+     * @return Whether the key is in the range.
+     */
+    private boolean inRange(K key, boolean fromStart, K fromKey, 
+            boolean fromInclusive, boolean toEnd, K toKey, boolean toInclusive){
+            // If the range has a low endpoint
+        if (!fromStart){
+            int c = compareKeys(key, fromKey);
+            if (c < 0 || (c == 0 && !fromInclusive))
+                return false;
+        }   // If the range has a high endpoint
+        if (!toEnd){
+            int c = compareKeys(key, toKey);
+            if (c > 0 || (c == 0 && !toInclusive))
+                return false;
+        }
+        return true;
+    }
+    /**
+     * This removes the cached entries within the given range from the cache. 
+     * If {@code useValue} is true, then only the entries mapped to the given 
+     * value will be removed.
+     * @param fromStart Whether the range starts at the start of the map.
+     * @param fromKey The low endpoint of the range.
+     * @param fromInclusive Whether the low endpoint is included in the range.
+     * @param toEnd Whether the range ends at the end of the map.
+     * @param toKey The high endpoint of the range.
+     * @param toInclusive Whether the high endpoint is included in the range.
+     * @param useValue Whether only entries with the given value are removed.
+     * @param value The value for the entries to remove.
+     */
+    protected void removeFromCache(boolean fromStart, K fromKey, 
+            boolean fromInclusive, boolean toEnd, K toKey, boolean toInclusive, 
+            boolean useValue, V value){
+        synchronized(cache){
+                // If the whole map was cleared
+            if (fromStart && toEnd && !useValue){
+                clearCache();
+                return;
+            }   // Go through the cached entries
+            Iterator<Map.Entry<K,V>> itr = cache.entrySet().iterator();
+            while (itr.hasNext()){
+                Map.Entry<K,V> entry = itr.next();
+                    // If the entry is within the range and has the value if 
+                    // the value matters
+                if ((!useValue || Objects.equals(value, entry.getValue())) && 
+                        inRange(entry.getKey(),fromStart,fromKey,fromInclusive,
+                                toEnd,toKey,toInclusive))
+                    itr.remove();
+            }   // Remove any cached first keys within the range
+            firstKeyCache.values().removeIf((K key) -> inRange(key,fromStart,
+                    fromKey,fromInclusive,toEnd,toKey,toInclusive));
+        }
+    }
     /**
      * 
      * @param fromStart
@@ -603,8 +851,8 @@ public abstract class AbstractSQLRowMap<K,V> extends AbstractNavigableSQLMap<K,
             itr.next();
             itr.remove();
         }
-//        removeFromCache(fromStart,fromKey,fromInclusive,
-//                toEnd,toKey,toInclusive,value);
+        removeFromCache(fromStart,fromKey,fromInclusive,
+                toEnd,toKey,toInclusive,true,value);
     }
     /**
      * 
@@ -694,6 +942,8 @@ public abstract class AbstractSQLRowMap<K,V> extends AbstractNavigableSQLMap<K,
         } catch(SQLException ex){
             appendWarning(ex);
             throw new UncheckedSQLException(ex);
+        } finally { // Rows may have been removed without going through the 
+            clearCache();   // cache
         }
     }
     /**
@@ -723,6 +973,8 @@ public abstract class AbstractSQLRowMap<K,V> extends AbstractNavigableSQLMap<K,
         } catch(SQLException ex){
             appendWarning(ex);
             throw new UncheckedSQLException(ex);
+        } finally { // Rows may have been removed without going through the 
+            clearCache();   // cache
         }
     }
     /**
@@ -43,6 +43,73 @@ class DatabaseLinksListSettingsImpl implements DatabaseLinksListSettings{
      */
     private static final String CLEAR_KEYS_TEMPLATE = 
             "DELETE FROM %s WHERE %s = ?";
+    /**
+     * This is the query for getting the visible rectangle for a list.
+     */
+    private static final String GET_VISIBLE_RECT_QUERY = String.format(
+            SELECT_VALUE_TEMPLATE,
+                VISIBLE_RECTANGLE_COLUMN_NAME,
+                LIST_SETTINGS_TABLE_NAME,
+                PROGRAM_ID_COLUMN_NAME,
+                LIST_ID_COLUMN_NAME);
+    /**
+     * This is the query for updating the visible section of a list.
+     */
+    private static final String UPDATE_VISIBLE_SECTION_QUERY = String.format(
+            "UPDATE %s SET %s = ?, %s = ?, %s = ?, %s = ? WHERE %s = ? AND %s = ?",
+                LIST_SETTINGS_TABLE_NAME,
+                SELECTION_IS_VISIBLE_COLUMN_NAME,
+                FIRST_VISIBLE_INDEX_COLUMN_NAME,
+                LAST_VISIBLE_INDEX_COLUMN_NAME,
+                VISIBLE_RECTANGLE_COLUMN_NAME,
+                PROGRAM_ID_COLUMN_NAME,
+                LIST_ID_COLUMN_NAME);
+    /**
+     * This is the query for inserting the visible section of a list.
+     */
+    private static final String INSERT_VISIBLE_SECTION_QUERY = String.format(
+            "INSERT INTO %s(%s, %s, %s, %s, %s, %s) VALUES (?, ?, ?, ?, ?, ?)",
+                LIST_SETTINGS_TABLE_NAME,
+                SELECTION_IS_VISIBLE_COLUMN_NAME,
+                FIRST_VISIBLE_INDEX_COLUMN_NAME,
+                LAST_VISIBLE_INDEX_COLUMN_NAME,
+                VISIBLE_RECTANGLE_COLUMN_NAME,
+                PROGRAM_ID_COLUMN_NAME,
+                LIST_ID_COLUMN_NAME);
+    /**
+     * This is the query for updating all the settings for a list.
+     */
+    private static final String UPDATE_LIST_SETTINGS_QUERY = String.format(
+            "UPDATE %s SET %s = ?, %s = ?, %s = ?, %s = ?, %s = ? WHERE %s = ? AND %s = ?",
+                LIST_SETTINGS_TABLE_NAME,
+                LINK_ID_COLUMN_NAME,
+                SELECTION_IS_VISIBLE_COLUMN_NAME,
+                FIRST_VISIBLE_INDEX_COLUMN_NAME,
+                LAST_VISIBLE_INDEX_COLUMN_NAME,
+                VISIBLE_RECTANGLE_COLUMN_NAME,
+                PROGRAM_ID_COLUMN_NAME,
+                LIST_ID_COLUMN_NAME);
+    /**
+     * This is the query for inserting all the settings for a list.
+     */
+    private static final String INSERT_LIST_SETTINGS_QUERY = String.format(
+            "INSERT INTO %s(%s, %s, %s, %s, %s, %s, %s) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                LIST_SETTINGS_TABLE_NAME,
+                LINK_ID_COLUMN_NAME,
+                SELECTION_IS_VISIBLE_COLUMN_NAME,
+                FIRST_VISIBLE_INDEX_COLUMN_NAME,
+                LAST_VISIBLE_INDEX_COLUMN_NAME,
+                VISIBLE_RECTANGLE_COLUMN_NAME,
+                PROGRAM_ID_COLUMN_NAME,
+                LIST_ID_COLUMN_NAME);
+    /**
+     * This is the query for removing the selected list for a list type.
+     */
+    private static final String DELETE_SELECTED_LIST_ID_QUERY = String.format(
+            DELETE_KEY_TEMPLATE, 
+                LIST_TYPE_SETTINGS_TABLE_NAME,
+                PROGRAM_ID_COLUMN_NAME,
+                LIST_TYPE_COLUMN_NAME);
     /**
      * The connection to the database.
      */
@@ -506,12 +573,8 @@ class DatabaseLinksListSettingsImpl implements DatabaseLinksListSettings{
     }
     @Override
     public Rectangle getVisibleRect(int listID, Rectangle defaultValue) {
-        try(PreparedStatement pstmt = conn.prepareStatement(String.format(
-                "SELECT %s FROM %s WHERE %s = ? AND %s = ?",
-                    VISIBLE_RECTANGLE_COLUMN_NAME,
-                    LIST_SETTINGS_TABLE_NAME,
-                    PROGRAM_ID_COLUMN_NAME,
-                    LIST_ID_COLUMN_NAME))){
+        try(PreparedStatement pstmt = conn.prepareStatement(
+                GET_VISIBLE_RECT_QUERY)){
             pstmt.setInt(1, programID);
             pstmt.setInt(2, listID);
                 // Get the results of the query
@@ -571,16 +634,8 @@ class DatabaseLinksListSettingsImpl implements DatabaseLinksListSettings{
             boolean contains = getListIDs().contains(listID);
             if (contains || isVisible != null || firstIndex != null || 
                     lastIndex != null || visibleRect != null){
-                try(PreparedStatement pstmt = conn.prepareStatement(String.format((contains)?
-                                "UPDATE %s SET %s = ?, %s = ?, %s = ?, %s = ? WHERE %s = ? AND %s = ?":
-                                "INSERT INTO %s(%s, %s, %s, %s, %s, %s) VALUES (?, ?, ?, ?, ?, ?, ?)",
-                            LIST_SETTINGS_TABLE_NAME,
-                            SELECTION_IS_VISIBLE_COLUMN_NAME,
-                            FIRST_VISIBLE_INDEX_COLUMN_NAME,
-                            LAST_VISIBLE_INDEX_COLUMN_NAME,
-                            VISIBLE_RECTANGLE_COLUMN_NAME,
-                            PROGRAM_ID_COLUMN_NAME,
-                            LIST_ID_COLUMN_NAME))){
+                try(PreparedStatement pstmt = conn.prepareStatement((contains)?
+                        UPDATE_VISIBLE_SECTION_QUERY:INSERT_VISIBLE_SECTION_QUERY)){
                     pstmt.setBoolean(1, isVisible);
                     setParameter(pstmt,2,firstIndex);
                     setParameter(pstmt,3,lastIndex);
@@ -612,17 +667,8 @@ class DatabaseLinksListSettingsImpl implements DatabaseLinksListSettings{
             boolean contains = getListIDs().contains(listID);
             if (contains || linkID != null || isVisible != null || 
                     firstIndex != null || lastIndex != null || visibleRect != null){
-                try(PreparedStatement pstmt = conn.prepareStatement(String.format((contains)?
-                                "UPDATE %s SET %s = ?, %s = ?, %s = ?, %s = ?, %s = ? WHERE %s = ? AND %s = ?":
-                                "INSERT INTO %s(%s, %s, %s, %s, %s, %s, %s) VALUES (?, ?, ?, ?, ?, ?, ?)",
-                            LIST_SETTINGS_TABLE_NAME,
-                            LINK_ID_COLUMN_NAME,
-                            SELECTION_IS_VISIBLE_COLUMN_NAME,
-                            FIRST_VISIBLE_INDEX_COLUMN_NAME,
-                            LAST_VISIBLE_INDEX_COLUMN_NAME,
-                            VISIBLE_RECTANGLE_COLUMN_NAME,
-                            PROGRAM_ID_COLUMN_NAME,
-                            LIST_ID_COLUMN_NAME))){
+                try(PreparedStatement pstmt = conn.prepareStatement((contains)?
+                        UPDATE_LIST_SETTINGS_QUERY:INSERT_LIST_SETTINGS_QUERY)){
                     setParameter(pstmt,1,linkID);
                     setParameter(pstmt,2,isVisible);
                     setParameter(pstmt,3,firstIndex);
@@ -655,11 +701,8 @@ class DatabaseLinksListSettingsImpl implements DatabaseLinksListSettings{
     public void setSelectedListID(int listType, Integer listID) {
         try{
             if (listID == null){
-                try(PreparedStatement pstmt = conn.prepareStatement(String.format(
-                        "DELETE FROM %s WHERE %s = ? AND %s = ?", 
-                            LIST_TYPE_SETTINGS_TABLE_NAME,
-                            PROGRAM_ID_COLUMN_NAME,
-                            LIST_TYPE_COLUMN_NAME))){
+                try(PreparedStatement pstmt = conn.prepareStatement(
+                        DELETE_SELECTED_LIST_ID_QUERY)){
                     pstmt.setInt(1, programID);
                     pstmt.setInt(2, listType);
                     pstmt.executeUpdate();
@@ -0,0 +1,262 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package manager.database;
+
+import java.sql.SQLException;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.core.Codes;
+
+/**
+ * This is an enum of the named SQLite performance profiles that can be used
+ * for the connections to the database. Each profile sets the journal mode,
+ * synchronous level, page cache size, memory-mapped I/O size, and temporary
+ * storage location for the connection, along with how often the write-ahead
+ * log is checkpointed when the database is in WAL journal mode. <p>
+ *
+ * The profile is applied to the {@code SQLiteConfig} used to open the
+ * connections via {@link #applyTo(SQLiteConfig)}, and the journal mode and the
+ * settings that are not part of {@code SQLiteConfig} are applied to each
+ * connection after it opens via {@link #applyTo(LinkDatabaseConnection)}. The
+ * journal mode can only be changed while no other connection is using the
+ * database, and so it is left as is if the database is busy. Since the WAL
+ * journal mode is stored in the database file, a database that was opened
+ * with a WAL profile will remain in WAL mode until it is opened with a profile
+ * that uses a different journal mode.
+ * @author Milo Steier
+ * @see LinkDatabaseConnection#checkpoint()
+ */
+public enum DatabasePerformanceProfile {
+    /**
+     * This is the profile that uses SQLite's default settings. This uses a
+     * rollback journal that is deleted after each transaction, fully syncs the
+     * database file to disk, and uses SQLite's default page cache of roughly 2
+     * MiB without memory-mapped I/O.
+     */
+    DEFAULT(SQLiteConfig.JournalMode.DELETE, SQLiteConfig.SynchronousMode.FULL,
+            -2000, 0, SQLiteConfig.TempStore.DEFAULT, 1000),
+    /**
+     * This is the profile that uses a write-ahead log. This allows reads to
+     * continue while the database is being saved, only syncs the database file
+     * to disk when the log is checkpointed, and uses a 64 MiB page cache with
+     * 256 MiB of memory-mapped I/O. Changes are only lost on a power failure,
+     * and only those since the last checkpoint.
+     */
+    WAL("Write-Ahead Log", SQLiteConfig.JournalMode.WAL,
+            SQLiteConfig.SynchronousMode.NORMAL, -65536, 268435456L,
+            SQLiteConfig.TempStore.MEMORY, 1000),
+    /**
+     * This is the profile for loading a large amount of data into the
+     * database, such as when the database is first created. This uses a
+     * write-ahead log that is never automatically checkpointed and never
+     * syncs to disk, along with a 256 MiB page cache and 256 MiB of
+     * memory-mapped I/O. The log is written back to the database file when it
+     * is {@link LinkDatabaseConnection#checkpoint() checkpointed} or when the
+     * last connection to the database closes. As the database is not synced
+     * to disk, a power failure or crash of the operating system during a save
+     * may corrupt the database.
+     */
+    BULK_IMPORT(SQLiteConfig.JournalMode.WAL, SQLiteConfig.SynchronousMode.OFF,
+            -262144, 268435456L, SQLiteConfig.TempStore.MEMORY, 0);
+    /**
+     * This is the name of this profile to display.
+     */
+    private String name;
+    /**
+     * This is the journal mode for this profile.
+     */
+    private final SQLiteConfig.JournalMode journalMode;
+    /**
+     * This is the synchronous level for this profile.
+     */
+    private final SQLiteConfig.SynchronousMode synchronous;
+    /**
+     * This is the page cache size for this profile. A negative value is the
+     * size in KiB, while a positive value is the number of pages.
+     */
+    private final int cacheSize;
+    /**
+     * This is the maximum number of bytes of the database file to access
+     * using memory-mapped I/O.
+     */
+    private final long mmapSize;
+    /**
+     * This is where temporary tables and indexes are stored for this profile.
+     */
+    private final SQLiteConfig.TempStore tempStore;
+    /**
+     * This is the number of pages the write-ahead log can reach before it is
+     * automatically checkpointed, or zero if it is never automatically
+     * checkpointed.
+     */
+    private final int walAutoCheckpoint;
+    /**
+     * This constructs a DatabasePerformanceProfile with the given name and
+     * settings.
+     * @param name The name to display for the profile, or null to generate
+     * the name from the name of the constant.
+     * @param journalMode The journal mode.
+     * @param synchronous The synchronous level.
+     * @param cacheSize The page cache size.
+     * @param mmapSize The memory-mapped I/O size in bytes.
+     * @param tempStore Where temporary tables and indexes are stored.
+     * @param walAutoCheckpoint The automatic checkpoint threshold in pages.
+     */
+    private DatabasePerformanceProfile(String name,
+            SQLiteConfig.JournalMode journalMode,
+            SQLiteConfig.SynchronousMode synchronous, int cacheSize,
+            long mmapSize, SQLiteConfig.TempStore tempStore,
+            int walAutoCheckpoint){
+        this.name = name;
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = tempStore;
+        this.walAutoCheckpoint = walAutoCheckpoint;
+    }
+    /**
+     * This constructs a DatabasePerformanceProfile with the given settings.
+     * @param journalMode The journal mode.
+     * @param synchronous The synchronous level.
+     * @param cacheSize The page cache size.
+     * @param mmapSize The memory-mapped I/O size in bytes.
+     * @param tempStore Where temporary tables and indexes are stored.
+     * @param walAutoCheckpoint The automatic checkpoint threshold in pages.
+     */
+    private DatabasePerformanceProfile(SQLiteConfig.JournalMode journalMode,
+            SQLiteConfig.SynchronousMode synchronous, int cacheSize,
+            long mmapSize, SQLiteConfig.TempStore tempStore,
+            int walAutoCheckpoint){
+        this(null,journalMode,synchronous,cacheSize,mmapSize,tempStore,
+                walAutoCheckpoint);
+    }
+    /**
+     * This returns the journal mode used by this profile.
+     * @return The journal mode.
+     */
+    public SQLiteConfig.JournalMode getJournalMode(){
+        return journalMode;
+    }
+    /**
+     * This returns the synchronous level used by this profile.
+     * @return The synchronous level.
+     */
+    public SQLiteConfig.SynchronousMode getSynchronous(){
+        return synchronous;
+    }
+    /**
+     * This returns the page cache size used by this profile. A negative value
+     * is the size of the cache in KiB, while a positive value is the number
+     * of pages in the cache.
+     * @return The page cache size.
+     */
+    public int getCacheSize(){
+        return cacheSize;
+    }
+    /**
+     * This returns the maximum number of bytes of the database file that will
+     * be accessed using memory-mapped I/O with this profile. If this is zero,
+     * then memory-mapped I/O is disabled.
+     * @return The memory-mapped I/O size in bytes.
+     */
+    public long getMmapSize(){
+        return mmapSize;
+    }
+    /**
+     * This returns where temporary tables and indexes are stored with this
+     * profile.
+     * @return Where temporary tables and indexes are stored.
+     */
+    public SQLiteConfig.TempStore getTempStore(){
+        return tempStore;
+    }
+    /**
+     * This returns the number of pages the write-ahead log can reach before it
+     * is automatically checkpointed with this profile. If this is zero, then
+     * the log is only checkpointed when {@link
+     * LinkDatabaseConnection#checkpoint() checkpoint} is called or when the
+     * last connection to the database is closed.
+     * @return The automatic checkpoint threshold in pages.
+     */
+    public int getWALAutoCheckpoint(){
+        return walAutoCheckpoint;
+    }
+    /**
+     * This returns whether this profile uses a write-ahead log.
+     * @return Whether this profile uses the WAL journal mode.
+     */
+    public boolean isWAL(){
+        return journalMode == SQLiteConfig.JournalMode.WAL;
+    }
+    /**
+     * This applies the settings for this profile to the given SQLite
+     * configuration. This should be done before the configuration is used to
+     * open a connection. This does not set the journal mode, since a
+     * connection would fail to open if the journal mode could not be changed.
+     * @param config The SQLite configuration to update.
+     * @return The given SQLite configuration.
+     */
+    public SQLiteConfig applyTo(SQLiteConfig config){
+        config.setSynchronous(synchronous);
+        config.setCacheSize(cacheSize);
+        config.setTempStore(tempStore);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, Long.toString(mmapSize));
+        return config;
+    }
+    /**
+     * This applies the journal mode and the settings for this profile that are
+     * not part of the SQLite configuration to the given connection. This
+     * should be done right after the connection is opened. If the journal mode
+     * cannot be changed because another connection is using the database, then
+     * the database will remain in its current journal mode.
+     * @param conn The connection to update.
+     * @throws SQLException If a database error occurs.
+     */
+    public void applyTo(LinkDatabaseConnection conn) throws SQLException{
+        try{
+            conn.setJournalMode(journalMode.name());
+        } catch (SQLException ex){
+                // If the error is not that the database is busy or locked
+            if (ex.getErrorCode() != Codes.SQLITE_BUSY && 
+                    ex.getErrorCode() != Codes.SQLITE_LOCKED)
+                throw ex;
+        }
+        conn.setWALAutoCheckpoint(walAutoCheckpoint);
+    }
+    /**
+     * This returns the profile with the given name, ignoring case. If there is
+     * no profile with the given name, then this returns the given default
+     * profile.
+     * @param name The name of the constant for the profile, or null.
+     * @param defaultValue The profile to return if there is no profile with
+     * the given name.
+     * @return The profile with the given name, or the default profile.
+     */
+    public static DatabasePerformanceProfile valueOf(String name,
+            DatabasePerformanceProfile defaultValue){
+            // If there is a name to look for
+        if (name != null){
+                // Go through the profiles
+            for (DatabasePerformanceProfile profile : values()){
+                if (profile.name().equalsIgnoreCase(name))
+                    return profile;
+            }
+        }
+        return defaultValue;
+    }
+    @Override
+    public String toString(){
+        if (name != null)
+            return name;
+        name = name().replace('_', ' ').toLowerCase();
+        int index = 0;
+        do{
+            name = name.substring(0, index)+name.substring(index, index+1).toUpperCase()+name.substring(index+1);
+            index = name.indexOf(" ", index)+1;
+        }
+        while (index > 0);
+        return name;
+    }
+}
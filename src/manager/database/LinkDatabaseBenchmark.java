@@ -0,0 +1,449 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.database;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.sql.*;
+import java.util.*;
+import manager.links.LinksListModel;
+import org.sqlite.SQLiteConfig;
+
+/**
+ * This is a benchmark for the database layer. This generates synthetic
+ * databases of links in temporary SQLite files and measures the throughput
+ * and allocation rate of the operations that are used when loading and saving
+ * the lists. The operations measured are:
+ *
+ * <ul>
+ *  <li>{@link LinkMap#addAll(Collection) LinkMap.addAll}</li>
+ *  <li>{@link PrefixMap#createPrefixesFrom(Collection)
+ *      PrefixMap.createPrefixesFrom}</li>
+ *  <li>{@link ListContents#updateContents(LinksListModel,
+ *      manager.ProgressObserver, Map) ListContents.updateContents}</li>
+ *  <li>{@link ListContents#toModel() ListContents.toModel}</li>
+ *  <li>{@link AbstractQueryList#rotateIndexes(int, int)
+ *      AbstractQueryList.rotateIndexes}</li>
+ * </ul>
+ *
+ * The benchmark also compares the {@link DatabasePerformanceProfile
+ * performance profiles} by saving a list of the links to a new database in a
+ * single transaction, in the same way as the program does, and then loading
+ * the list back from the database using a new connection. <p>
+ *
+ * Each operation is run for a number of warmup iterations that are not
+ * recorded, followed by a number of measured iterations. The throughput is
+ * reported in links (or rows) per second, and the allocation rate is reported
+ * both in bytes per link and in megabytes per second. The allocations are
+ * those made by the Java heap on the benchmark thread, and do not include
+ * any memory allocated by SQLite itself. <p>
+ *
+ * This can be run using the {@code LinkDatabaseBenchmark} configuration. The
+ * arguments are a comma separated list of the amounts of links to generate
+ * (10000, 100000, and 1000000 by default), followed by the amount of measured
+ * iterations to run for each operation (5 by default), followed by a comma
+ * separated list of the names of the performance profiles to compare (all the
+ * profiles by default). The operations other than the profile comparison use
+ * the {@link DatabasePerformanceProfile#DEFAULT default} profile.
+ *
+ * @author Milo Steier
+ */
+public class LinkDatabaseBenchmark implements LinkDatabaseTester{
+    /**
+     * These are the default amounts of links to generate.
+     */
+    private static final int[] DEFAULT_SIZES = {10000, 100000, 1000000};
+    /**
+     * This is the default amount of measured iterations for each operation.
+     */
+    private static final int DEFAULT_ITERATIONS = 5;
+    /**
+     * This is the amount of warmup iterations for each operation.
+     */
+    private static final int WARMUP_ITERATIONS = 2;
+    /**
+     * This is the seed used to generate the links, so that every run uses the
+     * same links.
+     */
+    private static final long RANDOM_SEED = 0x4c696e6b4d67724cL;
+    /**
+     * These are the schemes and hosts that the generated links start with.
+     * These are meant to resemble the prefixes of real links, and so a few
+     * hosts are used far more often than the rest.
+     */
+    private static final String[] LINK_HOSTS = {
+        "https://www.youtube.com/watch?v=",
+        "https://www.reddit.com/r/",
+        "https://github.com/",
+        "https://en.wikipedia.org/wiki/",
+        "https://www.example.com/",
+        "http://www.example.org/",
+        "https://docs.oracle.com/en/java/javase/11/docs/api/",
+        "https://stackoverflow.com/questions/",
+        "https://twitter.com/",
+        "http://archive.org/details/"
+    };
+    /**
+     * These are the words used to generate the paths of the links.
+     */
+    private static final String[] PATH_WORDS = {
+        "java", "sqlite", "links", "manager", "swing", "database", "list",
+        "prefix", "index", "search", "cache", "thread", "archive", "sync",
+        "dropbox", "settings", "model", "panel", "tree", "benchmark"
+    };
+    /**
+     * The characters used to generate IDs in the links.
+     */
+    private static final String ID_CHARACTERS =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    /**
+     * This is the thread MXBean used to get the amount of memory allocated by
+     * the benchmark thread, or null if this is not supported.
+     */
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            getThreadBean();
+    /**
+     * This returns the thread MXBean used to measure allocations.
+     * @return The thread MXBean, or null if allocations cannot be measured.
+     */
+    private static com.sun.management.ThreadMXBean getThreadBean(){
+        java.lang.management.ThreadMXBean bean =
+                ManagementFactory.getThreadMXBean();
+            // If the bean cannot measure allocations
+        if (!(bean instanceof com.sun.management.ThreadMXBean))
+            return null;
+        com.sun.management.ThreadMXBean temp =
+                (com.sun.management.ThreadMXBean) bean;
+            // If allocation measuring is not supported
+        if (!temp.isThreadAllocatedMemorySupported())
+            return null;
+        temp.setThreadAllocatedMemoryEnabled(true);
+        return temp;
+    }
+    /**
+     * This returns the amount of memory, in bytes, allocated by the current
+     * thread so far.
+     * @return The amount of memory allocated by the current thread, or -1 if
+     * this cannot be measured.
+     */
+    private static long getAllocatedBytes(){
+        return (THREAD_BEAN == null) ? -1 :
+                THREAD_BEAN.getThreadAllocatedBytes(
+                        Thread.currentThread().getId());
+    }
+    /**
+     * This generates the given amount of links. The links generated will
+     * always be the same for a given amount.
+     * @param size The amount of links to generate.
+     * @return The list of generated links.
+     */
+    public static List<String> generateLinks(int size){
+        Random random = new Random(RANDOM_SEED);
+            // Use a set to make sure the links are distinct
+        Set<String> links = new LinkedHashSet<>(size*4/3+1);
+        StringBuilder builder = new StringBuilder();
+            // While not enough links have been generated
+        while (links.size() < size){
+            builder.setLength(0);
+                // Pick a host, favoring the first few hosts
+            int host = Math.min(LINK_HOSTS.length-1,
+                    (int)Math.abs(random.nextGaussian() * 3));
+            builder.append(LINK_HOSTS[host]);
+                // Add a few words to the path
+            int words = 1 + random.nextInt(3);
+            for (int i = 0; i < words; i++){
+                builder.append(PATH_WORDS[random.nextInt(PATH_WORDS.length)]);
+                builder.append((i+1 < words) ? '/' : '-');
+            }   // Add an ID to make the link unique
+            int length = 6 + random.nextInt(6);
+            for (int i = 0; i < length; i++)
+                builder.append(ID_CHARACTERS.charAt(
+                        random.nextInt(ID_CHARACTERS.length())));
+                // Occasionally add a query to the end
+            if (random.nextInt(4) == 0)
+                builder.append("?page=").append(random.nextInt(100));
+            links.add(builder.toString());
+        }
+        return new ArrayList<>(links);
+    }
+    /**
+     * This is an operation being benchmarked.
+     */
+    @FunctionalInterface
+    private interface BenchmarkTask{
+        /**
+         * This runs the task.
+         * @throws SQLException If a database error occurs.
+         */
+        public void run() throws SQLException;
+    }
+    /**
+     * The SQLite configuration to use for the connections.
+     */
+    private final SQLiteConfig sqlConfig;
+    /**
+     * The performance profile to use for the connections.
+     */
+    private final DatabasePerformanceProfile profile;
+    /**
+     * The amount of measured iterations for each operation.
+     */
+    private final int iterations;
+    /**
+     * This constructs a LinkDatabaseBenchmark that uses the given performance
+     * profile.
+     * @param iterations The amount of measured iterations for each operation.
+     * @param profile The performance profile to use for the connections.
+     */
+    public LinkDatabaseBenchmark(int iterations,
+            DatabasePerformanceProfile profile){
+        this.profile = Objects.requireNonNull(profile);
+        sqlConfig = profile.applyTo(createSQLConfig());
+        this.iterations = iterations;
+    }
+    /**
+     * This constructs a LinkDatabaseBenchmark that uses the default
+     * performance profile.
+     * @param iterations The amount of measured iterations for each operation.
+     */
+    public LinkDatabaseBenchmark(int iterations){
+        this(iterations, DatabasePerformanceProfile.DEFAULT);
+    }
+    @Override
+    public SQLiteConfig getSQLConfig() {
+        return sqlConfig;
+    }
+    @Override
+    public LinkDatabaseConnection connect(String file) throws SQLException{
+        LinkDatabaseConnection conn = LinkDatabaseTester.super.connect(file);
+        try{    // Apply the rest of the performance profile to the connection
+            profile.applyTo(conn);
+        } catch (SQLException ex){
+            conn.close();
+            throw ex;
+        }
+        return conn;
+    }
+    /**
+     * This creates a new temporary database file with all the tables created.
+     * @return The connection to the new database.
+     * @throws SQLException If a database error occurs.
+     * @throws IOException If the temporary file could not be created.
+     */
+    private LinkDatabaseConnection createTempDatabase() throws SQLException,
+            IOException{
+        File file = Files.createTempFile("LinkManagerBenchmark", ".db").toFile();
+        file.deleteOnExit();
+        LinkDatabaseConnection conn = connect(file);
+        conn.createTables();
+        return conn;
+    }
+    /**
+     * This closes the given connection and deletes its database file.
+     * @param conn The connection to close, or null.
+     * @throws SQLException If a database error occurs.
+     */
+    private static void deleteTempDatabase(LinkDatabaseConnection conn)
+            throws SQLException{
+            // If there is no connection
+        if (conn == null)
+            return;
+        String url = conn.getMetaData().getURL();
+        conn.close();
+            // Delete the file for the database
+        String file = url.substring("jdbc:sqlite:".length());
+        new File(file).delete();
+            // Delete the write-ahead log and shared memory files, if any
+        new File(file+"-wal").delete();
+        new File(file+"-shm").delete();
+    }
+    /**
+     * This runs the given task for the warmup and measured iterations, and
+     * prints the results.
+     * @param name The name of the operation.
+     * @param size The amount of links being used.
+     * @param ops The amount of links or rows processed by each run of the
+     * task.
+     * @param setup The task to run before each run of the task, or null. This
+     * is not measured.
+     * @param task The task to measure.
+     * @throws SQLException If a database error occurs.
+     */
+    private void measure(String name, int size, long ops, BenchmarkTask setup,
+            BenchmarkTask task) throws SQLException{
+            // Go through the warmup iterations
+        for (int i = 0; i < WARMUP_ITERATIONS; i++){
+            if (setup != null)
+                setup.run();
+            task.run();
+        }   // The total time spent in the measured iterations
+        long totalTime = 0;
+            // The total memory allocated in the measured iterations
+        long totalAlloc = 0;
+            // Go through the measured iterations
+        for (int i = 0; i < iterations; i++){
+            if (setup != null)
+                setup.run();
+            long alloc = getAllocatedBytes();
+            long start = System.nanoTime();
+            task.run();
+            totalTime += System.nanoTime() - start;
+            totalAlloc += getAllocatedBytes() - alloc;
+        }
+        double seconds = totalTime / 1e9;
+        double totalOps = (double) ops * iterations;
+        System.out.printf("%-32s %9d %14.1f ops/s %10.3f ms/op", name, size,
+                totalOps / seconds, (totalTime / 1e6) / iterations);
+            // If allocations can be measured
+        if (THREAD_BEAN != null)
+            System.out.printf(" %12.1f B/op %10.1f MB/s", totalAlloc / totalOps,
+                    (totalAlloc / (1024.0 * 1024.0)) / seconds);
+        System.out.println();
+    }
+    /**
+     * This runs all the benchmarks using the given amount of links.
+     * @param size The amount of links to use.
+     * @throws SQLException If a database error occurs.
+     * @throws IOException If a temporary file could not be created.
+     */
+    public void run(int size) throws SQLException, IOException{
+        List<String> links = generateLinks(size);
+            // This will get the connection to the database for the current
+            // iteration of the operations that need a new database each time
+        LinkDatabaseConnection[] temp = new LinkDatabaseConnection[1];
+        BenchmarkTask newDatabase = () -> {
+            deleteTempDatabase(temp[0]);
+            try{
+                temp[0] = createTempDatabase();
+            } catch (IOException ex){
+                throw new SQLException(ex);
+            }
+        };
+        try{
+            measure("LinkMap.addAll", size, size, newDatabase, () ->
+                    temp[0].getLinkMap().addAll(links));
+            measure("PrefixMap.createPrefixesFrom", size, size, newDatabase,
+                    () -> temp[0].getPrefixMap().createPrefixesFrom(links));
+        } finally {
+            deleteTempDatabase(temp[0]);
+        }
+        LinkDatabaseConnection conn = createTempDatabase();
+        try{    // Populate the database with the links and a list
+            conn.getPrefixMap().createPrefixesFrom(links);
+            conn.getLinkMap().addAll(links);
+            int listID = conn.getListNameMap().add("Benchmark");
+            ListContentsImpl list = new ListContentsImpl(conn, listID);
+                // Save the entire list every time
+            conn.setIncrementalSaveEnabled(false);
+            LinksListModel model = new LinksListModel("Benchmark", listID);
+            model.loadContents(links);
+            measure("ListContents.updateContents", size, size, null, () ->
+                    list.updateContents(model, null, null));
+            measure("ListContents.toModel", size, size, null, list::toModel);
+                // Each run shifts every row right and then back left
+            measure("AbstractQueryList.rotateIndexes", size, size*2L, null,
+                    () -> {
+                        list.rotateIndexes(0, 1);
+                        list.rotateIndexes(1, -1);
+                    });
+        } finally {
+            deleteTempDatabase(conn);
+        }
+    }
+    /**
+     * This runs the benchmarks that compare the performance profiles using the 
+     * given amount of links. This measures saving a list of the links to a new 
+     * database in a single transaction followed by a checkpoint, and then 
+     * loading the list back using a new connection.
+     * @param size The amount of links to use.
+     * @throws SQLException If a database error occurs.
+     * @throws IOException If a temporary file could not be created.
+     */
+    public void runProfile(int size) throws SQLException, IOException{
+        List<String> links = generateLinks(size);
+        LinksListModel model = new LinksListModel("Benchmark");
+        model.loadContents(links);
+            // This will get the connection to the database for the current
+            // iteration, along with the listID of the saved list
+        LinkDatabaseConnection[] temp = new LinkDatabaseConnection[1];
+        int[] listID = new int[1];
+        BenchmarkTask newDatabase = () -> {
+            deleteTempDatabase(temp[0]);
+            try{
+                temp[0] = createTempDatabase();
+            } catch (IOException ex){
+                throw new SQLException(ex);
+            }
+        };
+        try{    // Save the list the same way the program saves the lists
+            measure("Save ("+profile+")", size, size, newDatabase, () -> {
+                temp[0].setAutoCommit(false);
+                temp[0].getPrefixMap().createPrefixesFrom(links);
+                temp[0].getLinkMap().addAll(links);
+                listID[0] = temp[0].getListNameMap().add("Benchmark");
+                new ListContentsImpl(temp[0], listID[0]).updateContents(model,
+                        null, null);
+                temp[0].commit();
+                temp[0].checkpoint();
+                temp[0].setAutoCommit(true);
+            });
+                // Get the file for the last saved database
+            String file = temp[0].getMetaData().getURL().substring(
+                    "jdbc:sqlite:".length());
+                // Load the list using a new connection each time
+            measure("Load ("+profile+")", size, size, null, () -> {
+                try (LinkDatabaseConnection conn = connect(file)){
+                    new ListContentsImpl(conn, listID[0]).toModel();
+                }
+            });
+        } finally {
+            deleteTempDatabase(temp[0]);
+        }
+    }
+    /**
+     * @param args The command line arguments. The first argument is a comma
+     * separated list of the amounts of links to generate, and the second is
+     * the amount of measured iterations for each operation, and the third is a
+     * comma separated list of the performance profiles to compare.
+     * @throws java.lang.Exception If an error occurs while running the
+     * benchmarks.
+     */
+    public static void main(String[] args) throws Exception{
+        int[] sizes = DEFAULT_SIZES;
+        int iterations = DEFAULT_ITERATIONS;
+            // If the amounts of links were provided
+        if (args.length > 0)
+            sizes = Arrays.stream(args[0].split(",")).map(String::trim)
+                    .mapToInt(Integer::parseInt).toArray();
+            // If the amount of iterations was provided
+        if (args.length > 1)
+            iterations = Integer.parseInt(args[1]);
+        DatabasePerformanceProfile[] profiles = DatabasePerformanceProfile.values();
+            // If the performance profiles were provided
+        if (args.length > 2)
+            profiles = Arrays.stream(args[2].split(",")).map(String::trim)
+                    .map(DatabasePerformanceProfile::valueOf)
+                    .toArray(DatabasePerformanceProfile[]::new);
+        LinkDatabaseBenchmark benchmark = new LinkDatabaseBenchmark(iterations);
+        System.out.printf("%-32s %9s %20s %13s", "Operation", "Links",
+                "Throughput", "Time");
+        if (THREAD_BEAN != null)
+            System.out.printf(" %17s %16s", "Allocated", "Alloc. Rate");
+        System.out.println();
+            // Go through the amounts of links to benchmark
+        for (int size : sizes)
+            benchmark.run(size);
+            // Go through the performance profiles to compare
+        for (DatabasePerformanceProfile profile : profiles){
+            LinkDatabaseBenchmark profileBenchmark = 
+                    new LinkDatabaseBenchmark(iterations, profile);
+                // Go through the amounts of links to benchmark
+            for (int size : sizes)
+                profileBenchmark.runProfile(size);
+        }
+    }
+}
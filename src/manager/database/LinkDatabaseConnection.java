@@ -396,6 +396,22 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
      * @see #LINK_ID_COLUMN_NAME
      */
     public static final String LINK_URL_COLUMN_NAME = "link";
+    /**
+     * This is the name of the column in the {@link LINK_TABLE_NAME link table} 
+     * which stores a 64-bit hash of the full URL for the links. This is 
+     * indexed by the {@link #LINK_HASH_INDEX_NAME link hash index}, which 
+     * allows a link to be looked up by its full URL without having to build 
+     * the full URL for every link in the {@link #FULL_LINK_VIEW_NAME full links 
+     * view}. Since different links may share the same hash, the full URL must 
+     * still be compared when looking up a link. The hash is the same as the 
+     * one returned by the {@link #LINK_HASH_FUNCTION_NAME link hash function}. 
+     * This is null for links whose hash has not been calculated yet.
+     * @see #LINK_TABLE_NAME
+     * @see #LINK_HASH_INDEX_NAME
+     * @see #LINK_HASH_FUNCTION_NAME
+     * @see #LINK_URL_COLUMN_NAME
+     */
+    public static final String LINK_HASH_COLUMN_NAME = "linkHash";
     /**
      * This is an array containing the names for the columns in the {@link 
      * LINK_TABLE_NAME link table}.
@@ -403,11 +419,13 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
      * @see LINK_ID_COLUMN_NAME
      * @see PREFIX_ID_COLUMN_NAME
      * @see LINK_URL_COLUMN_NAME
+     * @see LINK_HASH_COLUMN_NAME
      */
     public static final String[] LINK_TABLE_COLUMN_NAMES = {
         LINK_ID_COLUMN_NAME,        // linkID
         PREFIX_ID_COLUMN_NAME,      // prefixID
-        LINK_URL_COLUMN_NAME        // link
+        LINK_URL_COLUMN_NAME,       // link
+        LINK_HASH_COLUMN_NAME       // linkHash
     };
     /**
      * This is the query used to create the {@link LINK_TABLE_NAME link table} 
@@ -416,6 +434,7 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
      * @see LINK_ID_COLUMN_NAME
      * @see PREFIX_ID_COLUMN_NAME
      * @see LINK_URL_COLUMN_NAME
+     * @see LINK_HASH_COLUMN_NAME
      * @see LINK_TABLE_COLUMN_NAMES
      */
     public static final String LINK_TABLE_CREATION_QUERY = String.format(
@@ -427,12 +446,16 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
                     "%s integer NOT NULL,"+
                         // Link URL column defintion. Cannot be null.
                     "%s text NOT NULL, "+ 
+                        // Link hash column definition. This is null until 
+                        // the hash has been calculated
+                    "%s integer, "+ 
                         // Foreign key constraint for the prefix ID
                     FOREIGN_KEY_TEMPLATE+");",
             LINK_TABLE_NAME,
             LINK_ID_COLUMN_NAME,
             PREFIX_ID_COLUMN_NAME,
             LINK_URL_COLUMN_NAME,
+            LINK_HASH_COLUMN_NAME,
                 // Foreign key constraint for the prefix ID
             PREFIX_ID_COLUMN_NAME,PREFIX_TABLE_NAME, PREFIX_ID_COLUMN_NAME);
     /**
@@ -550,6 +573,296 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
             LINK_URL_COLUMN_NAME,
                 // Sort by the linkID
             LINK_ID_COLUMN_NAME);
+    /**
+     * This is the index applied to the {@link #LINK_TABLE_NAME link table} 
+     * used to look up links by their {@link #LINK_HASH_COLUMN_NAME hash}. This 
+     * is not a unique index, since the link table allows duplicate links and 
+     * different links may share the same hash. Since databases prior to 
+     * version 4.2.0 do not have the link hash column, this index is not 
+     * created with the other tables and is instead created by {@link 
+     * #createLinkHashIndex(Statement) createLinkHashIndex}.
+     * @see #LINK_TABLE_NAME
+     * @see #LINK_HASH_COLUMN_NAME
+     * @see #LINK_HASH_INDEX_CREATION_QUERY
+     */
+    public static final String LINK_HASH_INDEX_NAME = "linkHashIndex";
+    /**
+     * This is the query used to create the {@link #LINK_HASH_INDEX_NAME link 
+     * hash index} in the database if it did not previously exist.
+     * @see #LINK_HASH_INDEX_NAME
+     * @see #LINK_TABLE_NAME
+     * @see #LINK_HASH_COLUMN_NAME
+     */
+    public static final String LINK_HASH_INDEX_CREATION_QUERY = String.format(
+            "CREATE INDEX IF NOT EXISTS %s ON %s(%s);",
+                LINK_HASH_INDEX_NAME,
+                    // Applied on the link table
+                LINK_TABLE_NAME,
+                    // Only column is the link hash
+                LINK_HASH_COLUMN_NAME);
+    /**
+     * This is the name of the SQL function registered on each connection that 
+     * returns the 64-bit hash stored in the {@link #LINK_HASH_COLUMN_NAME link 
+     * hash column} for a full URL. This allows the hashes to be calculated in 
+     * a single statement when the full URLs for the links change, such as when 
+     * the prefix for a set of links is changed. This function is only 
+     * available to connections made by this program, and as such is not used 
+     * in any of the tables, views, or triggers stored in the database.
+     * @see #LINK_HASH_COLUMN_NAME
+     * @see #getLinkHash(String) 
+     */
+    public static final String LINK_HASH_FUNCTION_NAME = "hashLink";
+    /**
+     * This is the query used to calculate the {@link #LINK_HASH_COLUMN_NAME 
+     * link hash} for any links in the {@link #LINK_TABLE_NAME link table} that 
+     * do not have a hash yet.
+     * @see #LINK_HASH_COLUMN_NAME
+     * @see #LINK_HASH_FUNCTION_NAME
+     * @see #createLinkHashIndex(Statement) 
+     */
+    private static final String LINK_HASH_POPULATE_QUERY = String.format(
+            "UPDATE %s SET %s = %s((SELECT %s FROM %s WHERE %s.%s = %s.%s) || %s)"
+                    + " WHERE %s IS NULL",
+                LINK_TABLE_NAME,
+                LINK_HASH_COLUMN_NAME,
+                    // Hash the prefix for the link followed by its suffix
+                LINK_HASH_FUNCTION_NAME,
+                PREFIX_COLUMN_NAME,
+                PREFIX_TABLE_NAME,
+                PREFIX_TABLE_NAME,PREFIX_ID_COLUMN_NAME,
+                LINK_TABLE_NAME,PREFIX_ID_COLUMN_NAME,
+                LINK_URL_COLUMN_NAME,
+                    // Only for the links without a hash
+                LINK_HASH_COLUMN_NAME);
+    /**
+     * This is the name of the SQL function registered on each connection that 
+     * returns the prefixID of the longest prefix in the {@link 
+     * #PREFIX_TABLE_NAME prefix table} for a full URL. This is backed by the 
+     * in-memory prefix trie for the {@link #getPrefixMap() prefix map}, which 
+     * allows the prefixes for many links to be updated in a single statement. 
+     * As with the {@link #LINK_HASH_FUNCTION_NAME link hash function}, this is 
+     * only available to connections made by this program.
+     * @see #UPDATE_LINK_PREFIX_QUERY_TEMPLATE
+     * @see PrefixMap#getLongestPrefixIDFor(String) 
+     */
+    public static final String LONGEST_PREFIX_FUNCTION_NAME = "longestPrefixID";
+    /**
+     * This is the template for the query used to update the prefixes for the 
+     * links in the {@link #LINK_TABLE_NAME link table} to use their longest 
+     * prefix. The full URL for each link is matched against the prefixes using 
+     * the {@link #LONGEST_PREFIX_FUNCTION_NAME longest prefix function}, and 
+     * only the links whose prefix changes are updated. This takes in a single 
+     * String parameter via the {@code String.format} function, which is the 
+     * filter to apply to the {@link #FULL_LINK_VIEW_NAME full links view} to 
+     * select the links to update, and may be empty to update every link.
+     * @see #LONGEST_PREFIX_FUNCTION_NAME
+     * @see #updateLinkPrefix(Collection, ProgressObserver) 
+     */
+    private static final String UPDATE_LINK_PREFIX_QUERY_TEMPLATE = String.format(
+            "UPDATE %s SET %s = newPrefix.%s, "
+                        // The new suffix is the part of the full URL after the 
+                        // new prefix
+                    + "%s = substr(fullLink.%s, length(newPrefix.%s)+1) "
+                + "FROM (SELECT %s, %s, %s(%s) AS newPrefixID FROM %s %%s) "
+                    + "AS fullLink "
+                + "JOIN %s AS newPrefix ON newPrefix.%s = fullLink.newPrefixID "
+                + "WHERE %s.%s = fullLink.%s AND %s.%s != newPrefix.%s",
+                LINK_TABLE_NAME,
+                PREFIX_ID_COLUMN_NAME, PREFIX_ID_COLUMN_NAME,
+                LINK_URL_COLUMN_NAME, LINK_URL_COLUMN_NAME, PREFIX_COLUMN_NAME,
+                    // Get the full URLs and their longest prefixes
+                LINK_ID_COLUMN_NAME, LINK_URL_COLUMN_NAME,
+                LONGEST_PREFIX_FUNCTION_NAME, LINK_URL_COLUMN_NAME,
+                FULL_LINK_VIEW_NAME,
+                PREFIX_TABLE_NAME, PREFIX_ID_COLUMN_NAME,
+                    // Only update the links whose prefix has changed
+                LINK_TABLE_NAME, LINK_ID_COLUMN_NAME, LINK_ID_COLUMN_NAME,
+                LINK_TABLE_NAME, PREFIX_ID_COLUMN_NAME, PREFIX_ID_COLUMN_NAME);
+    /**
+     * This is the maximum number of linkIDs to update in a single statement 
+     * when updating the prefixes for a collection of links.
+     * @see #updateLinkPrefix(Collection, ProgressObserver) 
+     */
+    protected static final int LINK_PREFIX_UPDATE_SPLIT = 1000;
+    /**
+     * This is the name of the optional full-text search table in the database 
+     * that indexes the full URLs of the links. This is an SQLite FTS5 virtual 
+     * table using the trigram tokenizer, which allows searching for links 
+     * containing a given String without scanning every link in the {@link 
+     * #FULL_LINK_VIEW_NAME full links view}. The rowid of each row in this 
+     * table is the linkID of the link, and the table is kept in sync with the 
+     * {@link #LINK_TABLE_NAME link table} and {@link #PREFIX_TABLE_NAME prefix 
+     * table} by triggers. This table is only created if the version of SQLite 
+     * being used supports FTS5. The trigram tokenizer is case insensitive, and 
+     * can only match Strings that are at least {@link 
+     * #LINK_SEARCH_MINIMUM_LENGTH three characters} long.
+     * @see #LINK_URL_COLUMN_NAME
+     * @see LINK_SEARCH_TABLE_CREATION_QUERY
+     * @see LINK_SEARCH_TRIGGER_CREATION_QUERIES
+     * @see #isLinkSearchEnabled() 
+     * @see #createLinkSearchTable(Statement) 
+     */
+    public static final String LINK_SEARCH_TABLE_NAME = "linkSearch";
+    /**
+     * This is the query used to create the {@link LINK_SEARCH_TABLE_NAME link 
+     * search table} in the database if it did not previously exist. This 
+     * requires FTS5 support.
+     * @see LINK_SEARCH_TABLE_NAME
+     * @see LINK_URL_COLUMN_NAME
+     */
+    public static final String LINK_SEARCH_TABLE_CREATION_QUERY = String.format(
+            "CREATE VIRTUAL TABLE IF NOT EXISTS %s USING fts5(%s, "+
+                    "tokenize = 'trigram');",
+            LINK_SEARCH_TABLE_NAME,
+            LINK_URL_COLUMN_NAME);
+    /**
+     * This is the query used to populate the {@link LINK_SEARCH_TABLE_NAME link 
+     * search table} with the links in the {@link #FULL_LINK_VIEW_NAME full 
+     * links view}. This should only be used when the table is empty.
+     * @see LINK_SEARCH_TABLE_NAME
+     * @see FULL_LINK_VIEW_NAME
+     */
+    protected static final String LINK_SEARCH_TABLE_POPULATE_QUERY = 
+            String.format("INSERT INTO %s(rowid, %s) SELECT %s, %s FROM %s;", 
+                    LINK_SEARCH_TABLE_NAME,
+                    LINK_URL_COLUMN_NAME,
+                    LINK_ID_COLUMN_NAME,
+                    LINK_URL_COLUMN_NAME,
+                    FULL_LINK_VIEW_NAME);
+    /**
+     * This is an array containing the names of the triggers that keep the 
+     * {@link LINK_SEARCH_TABLE_NAME link search table} in sync with the {@link 
+     * #LINK_TABLE_NAME link table} and the {@link #PREFIX_TABLE_NAME prefix 
+     * table}. These are in the same order as their {@link 
+     * LINK_SEARCH_TRIGGER_CREATION_QUERIES creation queries}.
+     * @see LINK_SEARCH_TABLE_NAME
+     * @see LINK_SEARCH_TRIGGER_CREATION_QUERIES
+     */
+    protected static final String[] LINK_SEARCH_TRIGGER_NAMES = {
+        "linkSearchInsert",         // Links added
+        "linkSearchDelete",         // Links removed
+        "linkSearchUpdate",         // Links changed
+        "linkSearchPrefixUpdate"    // Prefixes changed
+    };
+    /**
+     * This is the template for the statement used to add a link to the {@link 
+     * LINK_SEARCH_TABLE_NAME link search table} from within a trigger. This 
+     * takes in a single String parameter via the {@code String.format} 
+     * function, which is the reference to the row in the link table to add 
+     * ({@code NEW}).
+     */
+    private static final String LINK_SEARCH_INSERT_TEMPLATE = String.format(
+            "INSERT INTO %s(rowid, %s) SELECT %%1$s.%s, %s || %%1$s.%s FROM %s "+
+                    "WHERE %s = %%1$s.%s;",
+            LINK_SEARCH_TABLE_NAME,
+            LINK_URL_COLUMN_NAME,
+            LINK_ID_COLUMN_NAME,
+            PREFIX_COLUMN_NAME, LINK_URL_COLUMN_NAME,
+            PREFIX_TABLE_NAME,
+            PREFIX_ID_COLUMN_NAME, PREFIX_ID_COLUMN_NAME);
+    /**
+     * This is an array containing the queries used to create the triggers that 
+     * keep the {@link LINK_SEARCH_TABLE_NAME link search table} in sync with 
+     * the {@link #LINK_TABLE_NAME link table} and the {@link 
+     * #PREFIX_TABLE_NAME prefix table}. 
+     * @see LINK_SEARCH_TABLE_NAME
+     * @see LINK_SEARCH_TRIGGER_NAMES
+     */
+    public static final String[] LINK_SEARCH_TRIGGER_CREATION_QUERIES = {
+            // When a link is added, add it to the search table
+        String.format("CREATE TRIGGER IF NOT EXISTS %s AFTER INSERT ON %s "+
+                "BEGIN %s END;", 
+                LINK_SEARCH_TRIGGER_NAMES[0],
+                LINK_TABLE_NAME,
+                String.format(LINK_SEARCH_INSERT_TEMPLATE, "NEW")),
+            // When a link is removed, remove it from the search table
+        String.format("CREATE TRIGGER IF NOT EXISTS %s AFTER DELETE ON %s "+
+                "BEGIN DELETE FROM %s WHERE rowid = OLD.%s; END;", 
+                LINK_SEARCH_TRIGGER_NAMES[1],
+                LINK_TABLE_NAME,
+                LINK_SEARCH_TABLE_NAME,
+                LINK_ID_COLUMN_NAME),
+            // When a link is changed, replace it in the search table. This only 
+            // applies to changes to the prefix and suffix, since the other 
+            // columns do not affect the full URL
+        String.format("CREATE TRIGGER IF NOT EXISTS %s AFTER UPDATE OF %s, %s "+
+                "ON %s BEGIN DELETE FROM %s WHERE rowid = OLD.%s; %s END;", 
+                LINK_SEARCH_TRIGGER_NAMES[2],
+                PREFIX_ID_COLUMN_NAME, LINK_URL_COLUMN_NAME,
+                LINK_TABLE_NAME,
+                LINK_SEARCH_TABLE_NAME,
+                LINK_ID_COLUMN_NAME,
+                String.format(LINK_SEARCH_INSERT_TEMPLATE, "NEW")),
+            // When a prefix is changed, replace all the links using it in the 
+            // search table
+        String.format("CREATE TRIGGER IF NOT EXISTS %s AFTER UPDATE ON %s "+
+                "BEGIN DELETE FROM %s WHERE rowid IN "+
+                        "(SELECT %s FROM %s WHERE %s = OLD.%s); "+
+                    "INSERT INTO %s(rowid, %s) SELECT %s, NEW.%s || %s FROM %s "+
+                        "WHERE %s = NEW.%s; END;", 
+                LINK_SEARCH_TRIGGER_NAMES[3],
+                PREFIX_TABLE_NAME,
+                LINK_SEARCH_TABLE_NAME,
+                LINK_ID_COLUMN_NAME, LINK_TABLE_NAME, 
+                PREFIX_ID_COLUMN_NAME, PREFIX_ID_COLUMN_NAME,
+                LINK_SEARCH_TABLE_NAME,
+                LINK_URL_COLUMN_NAME,
+                LINK_ID_COLUMN_NAME,
+                PREFIX_COLUMN_NAME, LINK_URL_COLUMN_NAME,
+                LINK_TABLE_NAME,
+                PREFIX_ID_COLUMN_NAME, PREFIX_ID_COLUMN_NAME)
+    };
+    /**
+     * This is the minimum length a String must be for it to be searched for 
+     * using the {@link LINK_SEARCH_TABLE_NAME link search table}. The trigram 
+     * tokenizer cannot match Strings shorter than this.
+     * @see LINK_SEARCH_TABLE_NAME
+     * @see #canUseLinkSearch(String) 
+     */
+    public static final int LINK_SEARCH_MINIMUM_LENGTH = 3;
+    /**
+     * This is the condition used to limit the linkIDs in a search to those 
+     * whose links contain a given String, using the {@link 
+     * LINK_SEARCH_TABLE_NAME link search table}. This takes a single parameter 
+     * in a prepared statement, which is the String formatted by {@link 
+     * #formatLinkSearchMatchPattern formatLinkSearchMatchPattern}. Since the 
+     * search table is case insensitive, this should be used alongside a 
+     * condition that matches the links exactly.
+     * @see LINK_SEARCH_TABLE_NAME
+     * @see #formatLinkSearchMatchPattern(String) 
+     */
+    public static final String LINK_SEARCH_CONDITION = String.format(
+            "%s IN (SELECT rowid FROM %s WHERE %s MATCH ?)", 
+                LINK_ID_COLUMN_NAME,
+                LINK_SEARCH_TABLE_NAME,
+                LINK_SEARCH_TABLE_NAME);
+    /**
+     * This returns whether the given String can be searched for using the 
+     * {@link LINK_SEARCH_TABLE_NAME link search table}. That is to say, this 
+     * returns whether the String is at least {@link LINK_SEARCH_MINIMUM_LENGTH 
+     * three characters} long.
+     * @param str The String to check.
+     * @return Whether the String can be searched for using the link search 
+     * table.
+     * @see LINK_SEARCH_MINIMUM_LENGTH
+     */
+    public static boolean canUseLinkSearch(String str){
+        return str != null && str.codePointCount(0, str.length()) >= 
+                LINK_SEARCH_MINIMUM_LENGTH;
+    }
+    /**
+     * This formats the given String into an FTS5 query that will match any 
+     * link in the {@link LINK_SEARCH_TABLE_NAME link search table} containing 
+     * the String. This quotes the String as an FTS5 phrase, so that none of 
+     * its characters are treated as FTS5 operators.
+     * @param str The String to format (cannot be null).
+     * @return The FTS5 query for the String.
+     * @throws NullPointerException If the string is null.
+     * @see LINK_SEARCH_CONDITION
+     */
+    public static String formatLinkSearchMatchPattern(String str){
+        return "\""+str.replace("\"", "\"\"")+"\"";
+    }
     /**
      * This is the name of the view in the database that shows how many links in 
      * the {@link #LINK_TABLE_NAME link table} are using any given prefix in the 
@@ -1783,7 +2096,7 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
     
     public static final int DATABASE_MAJOR_VERSION = 4;
     
-    public static final int DATABASE_MINOR_VERSION = 1;
+    public static final int DATABASE_MINOR_VERSION = 2;
     
     public static final int DATABASE_PATCH_VERSION = 0;
     
@@ -1810,6 +2123,30 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
         {DATABASE_VERSION_CONFIG_KEY,DEFAULT_DATABASE_VERSION, DATABASE_VERSION},
         {DATABASE_LAST_MODIFIED_CONFIG_KEY, DATABASE_LAST_MODIFIED_CONFIG_DEFAULT, null}
     };
+    /**
+     * This is the default amount of rows that are sent to the database at a 
+     * time when rows are written in batches.
+     * @see #getBatchSize() 
+     * @see #setBatchSize(int) 
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    /**
+     * This is the default maximum amount of prepared statements that are kept 
+     * open by a connection so that they can be reused.
+     * @see #getStatementCacheSize() 
+     * @see #setStatementCacheSize(int) 
+     */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    /**
+     * This is whether new prefixes are found in parallel by default. This is 
+     * only enabled by default when there are more than two processors 
+     * available, since otherwise the overhead of splitting up the work would 
+     * outweigh the benefit.
+     * @see #isParallelPrefixGenerationEnabled() 
+     * @see #setParallelPrefixGenerationEnabled(boolean) 
+     */
+    public static final boolean DEFAULT_PARALLEL_PREFIX_GENERATION = 
+            Runtime.getRuntime().availableProcessors() > 2;
     
     protected static final String TABLE_SIZE_QUERY_TEMPLATE = 
             "SELECT COUNT(%s) AS "+COUNT_COLUMN_NAME+" FROM %s";
@@ -1870,6 +2207,32 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
             LINK_TABLE_LIST_CONTENTS_SEARCH_QUERY_TEMPLATE,
                 PREFIX_ID_COLUMN_NAME+" = ?");
     
+    /**
+     * This returns the query used to search the contents of the lists. If 
+     * {@code linkSearch} is {@code true} and this is a text search that is not 
+     * limited to a prefix, then the query will use the {@link 
+     * LINK_SEARCH_TABLE_NAME link search table} to narrow down the links to 
+     * search through, and will take the {@link #formatLinkSearchMatchPattern 
+     * FTS5 query} for the text as an additional parameter after the text 
+     * pattern. When a prefix is being searched for, the text is matched 
+     * against the link suffixes, and so the link search table is not used.
+     * @param textSearch Whether the links are being searched for text.
+     * @param prefixSearch Whether the links are being limited to a prefix.
+     * @param linkSearch Whether the link search table should be used.
+     * @return The query to use to search the lists.
+     * @see #isLinkSearchEnabled() 
+     * @see #canUseLinkSearch(String) 
+     */
+    public static String getListContentsSearchQuery(boolean textSearch, 
+            boolean prefixSearch, boolean linkSearch){
+            // If the link search table can be used
+        if (linkSearch && textSearch && !prefixSearch)
+            return String.format(LIST_CONTENTS_SEARCH_QUERY_TEMPLATE, 
+                    String.format(TEXT_SEARCH_TEMPLATE,LINK_URL_COLUMN_NAME,"?")+
+                            " AND "+LINK_SEARCH_CONDITION);
+        return getListContentsSearchQuery(textSearch,prefixSearch);
+    }
+    
     public static String getListContentsSearchQuery(boolean textSearch, 
             boolean prefixSearch){
         if (prefixSearch){
@@ -1893,9 +2256,18 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
     }
     
     private static final String REPLACE_PREFIX_ID_QUERY = String.format(
-            "UPDATE %s SET %s = ? WHERE %s = ?",
+            "UPDATE %s SET %s = ?, %s = %s((SELECT %s FROM %s WHERE %s = ?) || %s)"
+                    + " WHERE %s = ?",
                 LINK_TABLE_NAME,
                 PREFIX_ID_COLUMN_NAME,
+                    // The full URLs change with the prefix, so recalculate the 
+                    // link hashes using the new prefix
+                LINK_HASH_COLUMN_NAME,
+                LINK_HASH_FUNCTION_NAME,
+                PREFIX_COLUMN_NAME,
+                PREFIX_TABLE_NAME,
+                PREFIX_ID_COLUMN_NAME,
+                LINK_URL_COLUMN_NAME,
                 PREFIX_ID_COLUMN_NAME);
     
     private static final String REPLACE_PREFIX_ID_IN_LIST_QUERY = String.format(
@@ -2186,14 +2558,114 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
      * provided.
      */
     private SQLiteConfig config;
+    /**
+     * This is the amount of rows to send to the database at a time when rows 
+     * are written in batches. If this is less than or equal to 1, then rows 
+     * are written one at a time.
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    /**
+     * This is the cache of the prepared statements for this connection, which 
+     * allows statements that are used repeatedly to skip being prepared each 
+     * time.
+     */
+    private final PreparedStatementCache statementCache;
+    /**
+     * This is whether list contents should be saved incrementally, writing 
+     * only the range of a list that was edited, when the edits made to the 
+     * list are known.
+     */
+    private volatile boolean incrementalSave = true;
+    /**
+     * This is whether new prefixes should be found in parallel when creating 
+     * prefixes from a collection of links.
+     */
+    private volatile boolean parallelPrefixes = 
+            DEFAULT_PARALLEL_PREFIX_GENERATION;
+    /**
+     * This stores whether the version of SQLite being used supports FTS5, and 
+     * by extension the {@link #LINK_SEARCH_TABLE_NAME link search table}. This 
+     * is initially null and is initialized the first time it is requested.
+     */
+    private Boolean linkSearchSupported = null;
+    /**
+     * This stores whether the {@link #LINK_SEARCH_TABLE_NAME link search table} 
+     * is present and can be used for searches. This is initially null and is 
+     * initialized the first time it is requested.
+     */
+    private Boolean linkSearchEnabled = null;
+    /**
+     * This is the total amount of rows that have been written to the list 
+     * data table since the row write counter was last reset.
+     */
+    private long rowsWritten = 0;
+    /**
+     * This is the total amount of time, in nanoseconds, spent writing rows to 
+     * the list data table since the row write counter was last reset.
+     */
+    private long rowWriteTime = 0;
     /**
      * This constructs a LinkDatabaseConnection that wraps the given connection.
      * @param conn The connection to wrap (cannot be null)
+     * @throws SQLException If the SQL functions used by this program could not 
+     * be registered with the connection.
+     * @throws NullPointerException If the connection is null.
+     */
+    protected LinkDatabaseConnection(Connection conn) throws SQLException{
+        this(conn, null);
+    }
+    /**
+     * This constructs a LinkDatabaseConnection that wraps the given connection 
+     * which was opened using the given SQLite configuration.
+     * @param conn The connection to wrap (cannot be null)
+     * @param config The SQLiteConfig used to open the connection, or null.
+     * @throws SQLException If the SQL functions used by this program could not 
+     * be registered with the connection.
      * @throws NullPointerException If the connection is null.
      */
-    protected LinkDatabaseConnection(Connection conn){
+    protected LinkDatabaseConnection(Connection conn, SQLiteConfig config) 
+            throws SQLException{
+        this(conn,config,new PreparedStatementCache(
+                DEFAULT_STATEMENT_CACHE_SIZE));
+    }
+    /**
+     * This constructs a LinkDatabaseConnection that wraps the given connection 
+     * which was opened using the given SQLite configuration, and which caches 
+     * its prepared statements in the given cache. This is used for 
+     * connections that are reused, so that the statements prepared by an 
+     * earlier use of the connection can be reused as well.
+     * @param conn The connection to wrap (cannot be null)
+     * @param config The SQLiteConfig used to open the connection, or null.
+     * @param statementCache The cache for the prepared statements for the 
+     * connection (cannot be null).
+     * @throws SQLException If the SQL functions used by this program could not 
+     * be registered with the connection.
+     * @throws NullPointerException If the connection or statement cache is 
+     * null.
+     */
+    LinkDatabaseConnection(Connection conn, SQLiteConfig config, 
+            PreparedStatementCache statementCache) throws SQLException{
         super(conn);
-        config = null;
+        this.config = config;
+        this.statementCache = Objects.requireNonNull(statementCache);
+        registerFunctions(conn);
+    }
+    /**
+     * This registers the SQL functions used by this program with the given 
+     * connection. 
+     * @param conn The connection to register the functions with.
+     * @throws SQLException If the functions could not be registered.
+     * @see #LINK_HASH_FUNCTION_NAME
+     * @see #LONGEST_PREFIX_FUNCTION_NAME
+     */
+    private void registerFunctions(Connection conn) throws SQLException{
+            // Register the function to calculate the link hashes
+        org.sqlite.Function.create(conn, LINK_HASH_FUNCTION_NAME, 
+                new LinkHashFunction(), 1, org.sqlite.Function.FLAG_DETERMINISTIC);
+            // Register the function to get the longest prefixes. This is not 
+            // deterministic, since the prefixes can change
+        org.sqlite.Function.create(conn, LONGEST_PREFIX_FUNCTION_NAME, 
+                new LongestPrefixFunction(), 1, 0);
     }
     /**
      * This constructs a LinkDatabaseConnection that connects to the SQL 
@@ -2273,6 +2745,51 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
             throws SQLException{
         this(file.toString(),config);
     }
+    /**
+     * This opens and returns a new read-only connection to the same database 
+     * file as this connection, using the same SQLite configuration as this 
+     * connection if there is one. The returned connection is independent of 
+     * this connection, and can be used to read from the database on another 
+     * thread at the same time as this connection. It is the responsibility of 
+     * the caller to close the returned connection. Since the returned 
+     * connection will not see any uncommitted changes made by this connection, 
+     * any changes should be committed beforehand.
+     * @return A new read-only connection to the same database.
+     * @throws SQLException If a database error occurs or if this connection 
+     * is to an in-memory database.
+     */
+    public LinkDatabaseConnection openReadOnlyConnection() throws SQLException{
+            // Get the URL for the database this is connected to
+        String url = getMetaData().getURL();
+            // If this is connected to an in-memory database (which another 
+            // connection would not share)
+        if (url == null || url.equals("jdbc:sqlite:") || 
+                url.contains(":memory:") || url.contains("mode=memory"))
+            throw new SQLException("Cannot open another connection to an "+
+                    "in-memory database");
+            // Copy the configuration for this connection, if there is one
+        SQLiteConfig readConfig = getReadOnlyConfig(config);
+        return new LinkDatabaseConnection(DriverManager.getConnection(url, 
+                readConfig.toProperties()), readConfig);
+    }
+    /**
+     * This returns a copy of the given SQLite configuration that opens 
+     * read-only connections. The journal mode is removed from the returned 
+     * configuration, since a read-only connection cannot change it and would 
+     * fail to open if it tried to.
+     * @param config The SQLite configuration to copy, or null.
+     * @return The SQLite configuration for read-only connections.
+     * @see #openReadOnlyConnection() 
+     * @see LinkDatabaseConnectionManager#connectReadOnly(String) 
+     */
+    public static SQLiteConfig getReadOnlyConfig(SQLiteConfig config){
+        Properties readProp = (config != null) ? config.toProperties() : 
+                new Properties();
+        readProp.remove(SQLiteConfig.Pragma.JOURNAL_MODE.pragmaName);
+        SQLiteConfig readConfig = new SQLiteConfig(readProp);
+        readConfig.setReadOnly(true);
+        return readConfig;
+    }
     /**
      * This constructs a TableModel based off the given ResultSet.
      * @param results The ResultSet to turn into a TableModel.
@@ -2362,6 +2879,248 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
     public SQLiteConfig getConfig(){
         return config;
     }
+    /**
+     * This returns the amount of rows that are sent to the database at a time 
+     * when rows are written in batches. If this is less than or equal to 1, 
+     * then batching is disabled and rows are written one at a time.
+     * @return The batch size for this connection.
+     * @see #DEFAULT_BATCH_SIZE
+     * @see #setBatchSize(int) 
+     * @see #isBatchWriteEnabled() 
+     */
+    public int getBatchSize(){
+        return batchSize;
+    }
+    /**
+     * This sets the amount of rows that are sent to the database at a time 
+     * when rows are written in batches. Setting this to 0 or 1 will disable 
+     * batching, causing rows to be written one at a time.
+     * @param size The new batch size for this connection.
+     * @throws IllegalArgumentException If the given size is negative.
+     * @see #DEFAULT_BATCH_SIZE
+     * @see #getBatchSize() 
+     * @see #isBatchWriteEnabled() 
+     */
+    public void setBatchSize(int size){
+            // If the given batch size is negative
+        if (size < 0)
+            throw new IllegalArgumentException("Batch size cannot be negative ("+
+                    size+")");
+        this.batchSize = size;
+    }
+    /**
+     * This returns whether rows will be written to the database in batches.
+     * @return Whether batching is enabled.
+     * @see #getBatchSize() 
+     * @see #setBatchSize(int) 
+     */
+    public boolean isBatchWriteEnabled(){
+        return batchSize > 1;
+    }
+    /**
+     * This returns the maximum amount of prepared statements that are kept 
+     * open by this connection so that they can be reused. If this is 0, then 
+     * prepared statements are not reused.
+     * @return The maximum amount of prepared statements to cache.
+     * @see #DEFAULT_STATEMENT_CACHE_SIZE
+     * @see #setStatementCacheSize(int) 
+     * @see #prepareStatement(String) 
+     */
+    public int getStatementCacheSize(){
+        return statementCache.getMaximumSize();
+    }
+    /**
+     * This sets the maximum amount of prepared statements that are kept open 
+     * by this connection so that they can be reused. If there are more 
+     * statements cached than the new size, then the least recently used 
+     * statements are closed. Setting this to 0 will disable the reuse of 
+     * prepared statements.
+     * @param size The maximum amount of prepared statements to cache.
+     * @throws IllegalArgumentException If the given size is negative.
+     * @see #DEFAULT_STATEMENT_CACHE_SIZE
+     * @see #getStatementCacheSize() 
+     * @see #prepareStatement(String) 
+     */
+    public void setStatementCacheSize(int size){
+        statementCache.setMaximumSize(size);
+    }
+    /**
+     * {@inheritDoc }
+     * 
+     * The prepared statements returned by this are cached by this connection 
+     * using the SQL text of the statement. Closing the returned statement 
+     * will return it to the cache instead of closing it, clearing its 
+     * parameters and closing any result sets it returned. The next request 
+     * for a statement with the same SQL will then reuse the cached statement 
+     * instead of preparing it again. The least recently used statements are 
+     * closed once there are more than the {@link #getStatementCacheSize() 
+     * maximum amount} cached, and all the cached statements are closed when 
+     * this connection is closed.
+     * 
+     * @see #getStatementCacheSize() 
+     * @see #setStatementCacheSize(int) 
+     * @see #clearStatementCache() 
+     */
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException{
+            // If the statement cache has not been initialized yet (i.e. this 
+        if (statementCache == null) // is being called during construction)
+            return super.prepareStatement(sql);
+            // Get the cached statement for the SQL, if there is one
+        PreparedStatement pstmt = statementCache.take(sql);
+            // If there is no cached statement for the SQL
+        if (pstmt == null)
+            pstmt = super.prepareStatement(sql);
+        return statementCache.wrap(sql, pstmt);
+    }
+    /**
+     * This closes all the prepared statements cached by this connection that 
+     * are not currently in use. This should be called before the file for 
+     * the database is replaced or when the connection will be idle for a 
+     * while.
+     * @throws SQLException If a database error occurs.
+     * @see #prepareStatement(String) 
+     */
+    public void clearStatementCache() throws SQLException{
+        statementCache.clear();
+    }
+    /**
+     * This closes the statement cache for this connection, closing all the 
+     * cached prepared statements. Any statements that are in use will be 
+     * closed when they are closed by the caller instead of being cached. 
+     * This is called when this connection is closed.
+     * @throws SQLException If a database error occurs.
+     * @see #close() 
+     */
+    protected void closeStatementCache() throws SQLException{
+        statementCache.close();
+    }
+    /**
+     * {@inheritDoc }
+     * 
+     * This closes all the prepared statements cached by this connection before 
+     * closing the connection.
+     */
+    @Override
+    public void close() throws SQLException{
+        try{
+            closeStatementCache();
+        } finally {
+            super.close();
+        }
+    }
+    /**
+     * This returns whether list contents are saved incrementally. When this is 
+     * enabled, saving a list whose edits are known will only rewrite the range 
+     * of the list that was edited instead of the entire list.
+     * @return Whether incremental saving is enabled.
+     * @see #setIncrementalSaveEnabled(boolean) 
+     * @see ListContents#updateContents(LinksListModel, ProgressObserver, Map) 
+     * @see LinksListModel#getEditedRange() 
+     */
+    public boolean isIncrementalSaveEnabled(){
+        return incrementalSave;
+    }
+    /**
+     * This sets whether list contents are saved incrementally. When this is 
+     * enabled, saving a list whose edits are known will only rewrite the range 
+     * of the list that was edited instead of the entire list.
+     * @param enabled Whether incremental saving should be enabled.
+     * @see #isIncrementalSaveEnabled() 
+     */
+    public void setIncrementalSaveEnabled(boolean enabled){
+        this.incrementalSave = enabled;
+    }
+    /**
+     * This returns whether new prefixes are found in parallel when creating 
+     * prefixes from a collection of links. When this is enabled, the links are 
+     * split up by their longest existing prefix and by the first separator 
+     * after that prefix, and each group is searched for new prefixes using the 
+     * fork-join framework. The prefixes that are found are the same, and are 
+     * added in the same order, as when this is disabled.
+     * @return Whether new prefixes are found in parallel.
+     * @see #setParallelPrefixGenerationEnabled(boolean) 
+     * @see #DEFAULT_PARALLEL_PREFIX_GENERATION
+     * @see PrefixMap#createPrefixesFrom(Collection) 
+     */
+    public boolean isParallelPrefixGenerationEnabled(){
+        return parallelPrefixes;
+    }
+    /**
+     * This sets whether new prefixes are found in parallel when creating 
+     * prefixes from a collection of links. The prefixes that are found are the 
+     * same regardless of whether this is enabled.
+     * @param enabled Whether new prefixes should be found in parallel.
+     * @see #isParallelPrefixGenerationEnabled() 
+     * @see #DEFAULT_PARALLEL_PREFIX_GENERATION
+     */
+    public void setParallelPrefixGenerationEnabled(boolean enabled){
+        this.parallelPrefixes = enabled;
+    }
+    /**
+     * This adds the given amount of rows and time to the row write counter. 
+     * This is used to keep track of the rate at which rows are written to the 
+     * list data table.
+     * @param rows The amount of rows that were written.
+     * @param nanos The time, in nanoseconds, it took to write those rows.
+     * @see #getRowsWritten() 
+     * @see #getRowWriteTime() 
+     * @see #getRowsWrittenPerSecond() 
+     * @see #resetRowWriteCounter() 
+     */
+    protected synchronized void addToRowWriteCounter(long rows, long nanos){
+        rowsWritten += rows;
+        rowWriteTime += nanos;
+    }
+    /**
+     * This returns the amount of rows that have been written to the list data 
+     * table since the row write counter was last reset.
+     * @return The amount of rows written.
+     * @see #getRowWriteTime() 
+     * @see #getRowsWrittenPerSecond() 
+     * @see #resetRowWriteCounter() 
+     */
+    public synchronized long getRowsWritten(){
+        return rowsWritten;
+    }
+    /**
+     * This returns the amount of time, in nanoseconds, spent writing rows to 
+     * the list data table since the row write counter was last reset.
+     * @return The time spent writing rows, in nanoseconds.
+     * @see #getRowsWritten() 
+     * @see #getRowsWrittenPerSecond() 
+     * @see #resetRowWriteCounter() 
+     */
+    public synchronized long getRowWriteTime(){
+        return rowWriteTime;
+    }
+    /**
+     * This returns the average amount of rows written to the list data table 
+     * per second since the row write counter was last reset. This can be used 
+     * to compare the performance of different {@link #getBatchSize() batch 
+     * sizes}.
+     * @return The amount of rows written per second, or 0 if no rows have 
+     * been written.
+     * @see #getRowsWritten() 
+     * @see #getRowWriteTime() 
+     * @see #resetRowWriteCounter() 
+     */
+    public synchronized double getRowsWrittenPerSecond(){
+            // If no time has been spent writing rows
+        if (rowWriteTime <= 0)
+            return 0;
+        return rowsWritten / (rowWriteTime / 1000000000.0);
+    }
+    /**
+     * This resets the row write counter.
+     * @see #getRowsWritten() 
+     * @see #getRowWriteTime() 
+     * @see #getRowsWrittenPerSecond() 
+     */
+    public synchronized void resetRowWriteCounter(){
+        rowsWritten = 0;
+        rowWriteTime = 0;
+    }
     /**
      * 
      * @return
@@ -2519,6 +3278,139 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
             setForeignKeysEnabled(value,stmt);
         }
     }
+    /**
+     * This returns the journal mode currently used by the database, such as 
+     * {@code "delete"} or {@code "wal"}.
+     * @param stmt The statement to use to query the database.
+     * @return The journal mode for the database.
+     * @throws SQLException If a database error occurs.
+     * @see DatabasePerformanceProfile#getJournalMode() 
+     */
+    public String getJournalMode(Statement stmt) throws SQLException{
+        String value = null;
+        ResultSet results = stmt.executeQuery("PRAGMA journal_mode");
+        if (results.next())
+            value = results.getString(1);
+        return value;
+    }
+    /**
+     * This returns the journal mode currently used by the database, such as 
+     * {@code "delete"} or {@code "wal"}.
+     * @return The journal mode for the database.
+     * @throws SQLException If a database error occurs.
+     * @see DatabasePerformanceProfile#getJournalMode() 
+     */
+    public String getJournalMode() throws SQLException{
+        String value;
+        try (Statement stmt = createStatement()) {
+            value = getJournalMode(stmt);
+        }
+        return value;
+    }
+    /**
+     * This sets the journal mode used by the database, such as {@code "DELETE"} 
+     * or {@code "WAL"}. The journal mode can only be changed while no other 
+     * connection is using the database.
+     * @param mode The journal mode to use.
+     * @param stmt The statement to use to update the database.
+     * @return The journal mode for the database after the change.
+     * @throws SQLException If a database error occurs, such as if the 
+     * database is busy.
+     * @see DatabasePerformanceProfile#getJournalMode() 
+     */
+    public String setJournalMode(String mode, Statement stmt) 
+            throws SQLException{
+        String value = null;
+        ResultSet results = stmt.executeQuery("PRAGMA journal_mode = " + mode);
+        if (results.next())
+            value = results.getString(1);
+        return value;
+    }
+    /**
+     * This sets the journal mode used by the database, such as {@code "DELETE"} 
+     * or {@code "WAL"}. The journal mode can only be changed while no other 
+     * connection is using the database.
+     * @param mode The journal mode to use.
+     * @return The journal mode for the database after the change.
+     * @throws SQLException If a database error occurs, such as if the 
+     * database is busy.
+     * @see DatabasePerformanceProfile#getJournalMode() 
+     */
+    public String setJournalMode(String mode) throws SQLException{
+        String value;
+        try (Statement stmt = createStatement()) {
+            value = setJournalMode(mode,stmt);
+        }
+        return value;
+    }
+    /**
+     * This sets the number of pages that the write-ahead log can reach before 
+     * SQLite automatically checkpoints it into the database file. A value of 
+     * zero or less disables automatic checkpoints, in which case the log will 
+     * only be written back to the database file when {@link #checkpoint() 
+     * checkpoint} is called or when the last connection to the database is 
+     * closed. This only affects databases that are in WAL journal mode.
+     * @param pages The number of pages for the automatic checkpoint threshold.
+     * @param stmt The statement to use to update the database.
+     * @throws SQLException If a database error occurs.
+     * @see DatabasePerformanceProfile#getWALAutoCheckpoint() 
+     */
+    public void setWALAutoCheckpoint(int pages, Statement stmt) 
+            throws SQLException{
+        stmt.execute("PRAGMA wal_autocheckpoint = " + Math.max(pages, 0));
+    }
+    /**
+     * This sets the number of pages that the write-ahead log can reach before 
+     * SQLite automatically checkpoints it into the database file. A value of 
+     * zero or less disables automatic checkpoints, in which case the log will 
+     * only be written back to the database file when {@link #checkpoint() 
+     * checkpoint} is called or when the last connection to the database is 
+     * closed. This only affects databases that are in WAL journal mode.
+     * @param pages The number of pages for the automatic checkpoint threshold.
+     * @throws SQLException If a database error occurs.
+     * @see DatabasePerformanceProfile#getWALAutoCheckpoint() 
+     */
+    public void setWALAutoCheckpoint(int pages) throws SQLException{
+        try (Statement stmt = createStatement()) {
+            setWALAutoCheckpoint(pages,stmt);
+        }
+    }
+    /**
+     * This writes the contents of the write-ahead log back into the database 
+     * file and truncates the log, so that the database file on its own 
+     * contains all the committed changes. This should be called before the 
+     * database file is copied, compressed, or uploaded while the database is 
+     * in WAL journal mode. If the database is not in WAL journal mode, then 
+     * this does nothing.
+     * @param stmt The statement to use to update the database.
+     * @return Whether the whole log was checkpointed. This will be false if 
+     * another connection prevented the log from being fully checkpointed.
+     * @throws SQLException If a database error occurs.
+     */
+    public boolean checkpoint(Statement stmt) throws SQLException{
+            // Checkpoint the log and get the results. The first column is 
+            // whether the checkpoint was blocked by another connection
+        ResultSet results = stmt.executeQuery("PRAGMA wal_checkpoint(TRUNCATE)");
+        return !results.next() || results.getInt(1) == 0;
+    }
+    /**
+     * This writes the contents of the write-ahead log back into the database 
+     * file and truncates the log, so that the database file on its own 
+     * contains all the committed changes. This should be called before the 
+     * database file is copied, compressed, or uploaded while the database is 
+     * in WAL journal mode. If the database is not in WAL journal mode, then 
+     * this does nothing.
+     * @return Whether the whole log was checkpointed. This will be false if 
+     * another connection prevented the log from being fully checkpointed.
+     * @throws SQLException If a database error occurs.
+     */
+    public boolean checkpoint() throws SQLException{
+        boolean value;
+        try (Statement stmt = createStatement()) {
+            value = checkpoint(stmt);
+        }
+        return value;
+    }
     /**
      * This renames the link column 
      * @param stmt
@@ -3712,6 +4604,37 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
         }
         return true;
     }
+    /**
+     * This updates the database to version 4.2.0. This adds the {@link 
+     * #LINK_HASH_COLUMN_NAME link hash column} to the {@link #LINK_TABLE_NAME 
+     * link table} and calculates the hashes for the existing links.
+     * @param stmt The statement to use to update the database.
+     * @param l The progress observer to use, or null.
+     * @return Whether the update was successful.
+     * @throws SQLException If a database error occurs.
+     */
+    protected boolean updateToVersion4_2_0(Statement stmt, ProgressObserver l) 
+            throws SQLException{
+            // If the progress observer has been provided
+        if (l != null)
+            l.setIndeterminate(true);
+            // Get whether the link search table is in use, since the trigger 
+            // for updated links needs to be replaced so that it ignores the 
+        boolean linkSearch = isLinkSearchEnabled();  // link hash column
+            // Delete the trigger for updated links, so that calculating the 
+            // hashes does not rewrite the link search table
+        deleteSQLData(LINK_SEARCH_TRIGGER_NAMES[2], "TRIGGER", true, stmt);
+            // If the link table does not have the link hash column yet
+        if (!hasLinkHashColumn(stmt))
+            addColumn(LINK_TABLE_NAME,LINK_HASH_COLUMN_NAME,"integer",stmt);
+            // Create the index and calculate the hashes for the links
+        createLinkHashIndex(stmt);
+            // If the link search table is in use
+        if (linkSearch)
+                // Recreate the trigger for updated links
+            stmt.execute(LINK_SEARCH_TRIGGER_CREATION_QUERIES[2]);
+        return true;
+    }
     /**
      * 
      * @param stmt
@@ -3875,7 +4798,14 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
                     // If the update was not successful
                 if (!updateSuccess)
                     break;
-//            case("4.1.0"):      // If version 4.1.0
+            case("4.1.0"):      // If version 4.1.0
+                LinkManager.getLogger().finer("Updating to version 4.2.0");
+                    // Update the database to version 4.2.0
+                updateSuccess = updateToVersion4_2_0(stmt,l);
+                    // If the update was not successful
+                if (!updateSuccess)
+                    break;
+//            case("4.2.0"):      // If version 4.2.0
         }
             // If foreign keys are supported
         if (foreignKeys != null)
@@ -4182,6 +5112,10 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
                     value, defaultValues[1]);
         }   // Set the database's UUID if not present
         setDatabaseUUIDIfAbsent();
+            // Create the link hash index if the link table has the link hash 
+        createLinkHashIndex(stmt);  // column
+            // Create the link search table if it is supported
+        createLinkSearchTable(stmt);
     }
     /**
      * 
@@ -4193,6 +5127,262 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
             createTables(stmt);
         }
     }
+    /**
+     * This returns the 64-bit hash for the given full URL that is stored in 
+     * the {@link #LINK_HASH_COLUMN_NAME link hash column}. This is the same as 
+     * the hash returned by the {@link #LINK_HASH_FUNCTION_NAME link hash 
+     * function}.
+     * @param link The full URL to get the hash for (cannot be null).
+     * @return The hash for the link.
+     * @see #LINK_HASH_COLUMN_NAME
+     * @see LinkIDIndex
+     */
+    public static long getLinkHash(String link){
+        return LinkIDIndex.hash(link);
+    }
+    /**
+     * This returns whether the {@link #LINK_TABLE_NAME link table} has the 
+     * {@link #LINK_HASH_COLUMN_NAME link hash column}. This will only be false 
+     * for databases prior to version 4.2.0 that have not been updated yet.
+     * @param stmt The statement to use to check for the column.
+     * @return Whether the link table has the link hash column.
+     * @throws SQLException If a database error occurs.
+     */
+    private boolean hasLinkHashColumn(Statement stmt) throws SQLException{
+        ResultSet rs = stmt.executeQuery(String.format(
+                "SELECT COUNT(*) FROM pragma_table_info('%s') WHERE name = '%s'", 
+                    LINK_TABLE_NAME,
+                    LINK_HASH_COLUMN_NAME));
+        return rs.next() && rs.getInt(1) > 0;
+    }
+    /**
+     * This creates the {@link #LINK_HASH_INDEX_NAME link hash index} if it 
+     * does not already exist and calculates the {@link #LINK_HASH_COLUMN_NAME 
+     * hashes} for any links that do not have one. If the {@link 
+     * #LINK_TABLE_NAME link table} does not have the link hash column (i.e. 
+     * the database has not been updated to version 4.2.0 yet), then this does 
+     * nothing.
+     * @param stmt The statement to use to create the index.
+     * @throws SQLException If a database error occurs.
+     * @see #LINK_HASH_INDEX_CREATION_QUERY
+     */
+    protected void createLinkHashIndex(Statement stmt) throws SQLException{
+            // If the link table does not have the link hash column
+        if (!hasLinkHashColumn(stmt))
+            return;
+        stmt.execute(LINK_HASH_INDEX_CREATION_QUERY);
+            // Calculate the hashes for any links that are missing them
+        stmt.executeUpdate(LINK_HASH_POPULATE_QUERY);
+    }
+    /**
+     * This recalculates the {@link #LINK_HASH_COLUMN_NAME hashes} for the 
+     * links that use the prefix with the given prefixID. This should be called 
+     * whenever the prefix is changed, since the full URLs for the links using 
+     * the prefix change with it.
+     * @param prefixID The prefixID of the prefix that was changed.
+     * @throws SQLException If a database error occurs.
+     */
+    protected void updateLinkHashes(int prefixID) throws SQLException{
+            // Prepare a statement to recalculate the hashes for the links 
+            // using the prefix
+        try (PreparedStatement pstmt = prepareStatement(String.format(
+                "UPDATE %s SET %s = %s((SELECT %s FROM %s WHERE %s = ?) || %s) "
+                        + "WHERE %s = ?",
+                    LINK_TABLE_NAME,
+                    LINK_HASH_COLUMN_NAME,
+                    LINK_HASH_FUNCTION_NAME,
+                    PREFIX_COLUMN_NAME,
+                    PREFIX_TABLE_NAME,
+                    PREFIX_ID_COLUMN_NAME,
+                    LINK_URL_COLUMN_NAME,
+                    PREFIX_ID_COLUMN_NAME))){
+                // Set the prefixID to get the prefix for
+            pstmt.setInt(1, prefixID);
+                // Set the prefixID for the links to update
+            pstmt.setInt(2, prefixID);
+                // Update the database
+            pstmt.executeUpdate();
+        }
+    }
+    /**
+     * This is the SQL function used to get the longest prefix for a full URL 
+     * within the database. This takes the full URL for a link and returns the 
+     * prefixID of its longest prefix, or null if the URL is null. The prefix 
+     * trie should be loaded before this is used in a statement, so that this 
+     * does not need to query the database while the statement is running.
+     * @see #LONGEST_PREFIX_FUNCTION_NAME
+     * @see PrefixMap#getLongestPrefixIDFor(String) 
+     */
+    private class LongestPrefixFunction extends org.sqlite.Function{
+        @Override
+        protected void xFunc() throws SQLException {
+                // If this was not given exactly one argument
+            if (args() != 1)
+                throw new SQLException(LONGEST_PREFIX_FUNCTION_NAME+
+                        " requires exactly one argument");
+                // Get the full URL to get the prefix for
+            String link = value_text(0);
+                // If the URL is null
+            if (link == null)
+                result();
+            else
+                result(getPrefixMap().getLongestPrefixIDFor(link));
+        }
+    }
+    /**
+     * This is the SQL function used to calculate the {@link 
+     * #LINK_HASH_COLUMN_NAME link hashes} within the database. This takes the 
+     * full URL for a link and returns its hash, or null if the URL is null.
+     * @see #LINK_HASH_FUNCTION_NAME
+     * @see #getLinkHash(String) 
+     */
+    private static class LinkHashFunction extends org.sqlite.Function{
+        @Override
+        protected void xFunc() throws SQLException {
+                // If this was not given exactly one argument
+            if (args() != 1)
+                throw new SQLException(LINK_HASH_FUNCTION_NAME+
+                        " requires exactly one argument");
+                // Get the full URL to hash
+            String link = value_text(0);
+                // If the URL is null
+            if (link == null)
+                result();
+            else
+                result(getLinkHash(link));
+        }
+    }
+    /**
+     * This returns whether the version of SQLite being used supports FTS5, 
+     * which is required for the {@link #LINK_SEARCH_TABLE_NAME link search 
+     * table}.
+     * @return Whether the link search table is supported.
+     * @throws SQLException If a database error occurs.
+     * @see #isLinkSearchEnabled() 
+     * @see #createLinkSearchTable(Statement) 
+     */
+    public boolean isLinkSearchSupported() throws SQLException{
+            // If whether FTS5 is supported has not been checked yet
+        if (linkSearchSupported == null){
+            try(Statement stmt = createStatement();
+                    ResultSet rs = stmt.executeQuery(
+                            "SELECT sqlite_compileoption_used('ENABLE_FTS5')")){
+                linkSearchSupported = rs.next() && rs.getBoolean(1);
+            }
+        }
+        return linkSearchSupported;
+    }
+    /**
+     * This returns whether the {@link #LINK_SEARCH_TABLE_NAME link search 
+     * table} is present in the database and can be used to search for links. 
+     * If this returns {@code false}, then searches should fall back to 
+     * searching the {@link #FULL_LINK_VIEW_NAME full links view} directly.
+     * @return Whether the link search table can be used.
+     * @throws SQLException If a database error occurs.
+     * @see #isLinkSearchSupported() 
+     * @see #createLinkSearchTable(Statement) 
+     */
+    public boolean isLinkSearchEnabled() throws SQLException{
+            // If whether the link search table can be used has not been 
+        if (linkSearchEnabled == null)  // checked yet
+            linkSearchEnabled = isLinkSearchSupported() && 
+                    showTables().contains(LINK_SEARCH_TABLE_NAME) && 
+                    hasLinkSearchTriggers();
+        return linkSearchEnabled;
+    }
+    /**
+     * This returns whether all the triggers that keep the {@link 
+     * #LINK_SEARCH_TABLE_NAME link search table} in sync with the links are 
+     * present in the database.
+     * @return Whether the link search triggers are present.
+     * @throws SQLException If a database error occurs.
+     */
+    private boolean hasLinkSearchTriggers() throws SQLException{
+        try(PreparedStatement pstmt = prepareStatement(String.format(
+                "SELECT COUNT(*) AS %s FROM %s WHERE %s = 'trigger' AND %s = ?", 
+                    COUNT_COLUMN_NAME,
+                    SCHEMA_TABLE_NAME,
+                    TABLES_TYPE_COLUMN_NAME,
+                    TABLES_NAME_COLUMN_NAME))){
+                // Go through the names of the triggers
+            for (String name : LINK_SEARCH_TRIGGER_NAMES){
+                pstmt.setString(1, name);
+                try(ResultSet rs = pstmt.executeQuery()){
+                        // If the trigger is not present
+                    if (!rs.next() || rs.getInt(COUNT_COLUMN_NAME) == 0)
+                        return false;
+                }
+            }
+        }
+        return true;
+    }
+    /**
+     * This creates the {@link #LINK_SEARCH_TABLE_NAME link search table} and 
+     * the triggers that keep it in sync with the links if the version of 
+     * SQLite being used supports FTS5. If the table exists but its triggers 
+     * do not (such as if the database was last opened using a version of 
+     * SQLite without FTS5), then the table will be repopulated. If FTS5 is not 
+     * supported, then this will instead remove any triggers for the link 
+     * search table, since they would otherwise prevent the links from being 
+     * changed. 
+     * @param stmt The statement to use to create the table.
+     * @return Whether the link search table can be used.
+     * @throws SQLException If a database error occurs.
+     * @see #isLinkSearchEnabled() 
+     * @see #deleteLinkSearchTable(Statement) 
+     */
+    public boolean createLinkSearchTable(Statement stmt) throws SQLException{
+            // If FTS5 is supported
+        if (isLinkSearchSupported()){
+            try{    // Get whether the table and its triggers already exist
+                boolean exists = showTables().contains(LINK_SEARCH_TABLE_NAME);
+                boolean synced = exists && hasLinkSearchTriggers();
+                    // If the table and its triggers do not already exist
+                if (!synced){
+                    LinkManager.getLogger().fine("Creating link search table");
+                    stmt.execute(LINK_SEARCH_TABLE_CREATION_QUERY);
+                        // If the table existed, then it may be out of date
+                    if (exists)
+                        stmt.execute("DELETE FROM "+LINK_SEARCH_TABLE_NAME);
+                        // Add the current links to the table
+                    stmt.execute(LINK_SEARCH_TABLE_POPULATE_QUERY);
+                        // Go through the trigger creation queries
+                    for (String query : LINK_SEARCH_TRIGGER_CREATION_QUERIES)
+                        stmt.execute(query);
+                }
+                linkSearchEnabled = true;
+                return true;
+            } catch (SQLException ex){
+                LinkManager.getLogger().log(Level.WARNING, 
+                        "Failed to create link search table", ex);
+                    // Treat FTS5 as being unsupported
+                linkSearchSupported = false;
+            }
+        }   // Remove any triggers for the link search table, since they would 
+            // fail without FTS5 support
+        for (String name : LINK_SEARCH_TRIGGER_NAMES)
+            deleteSQLData(name, "TRIGGER", true, stmt);
+        linkSearchEnabled = false;
+        return false;
+    }
+    /**
+     * This removes the {@link #LINK_SEARCH_TABLE_NAME link search table} and 
+     * its triggers from the database. Searches will fall back to searching the 
+     * {@link #FULL_LINK_VIEW_NAME full links view} directly until the table is 
+     * {@link #createLinkSearchTable(Statement) created} again.
+     * @param stmt The statement to use to remove the table.
+     * @throws SQLException If a database error occurs.
+     * @see #createLinkSearchTable(Statement) 
+     */
+    public void deleteLinkSearchTable(Statement stmt) throws SQLException{
+            // Go through the trigger names and delete the triggers
+        for (String name : LINK_SEARCH_TRIGGER_NAMES)
+            deleteSQLData(name, "TRIGGER", true, stmt);
+            // If FTS5 is supported (the table cannot be removed otherwise)
+        if (isLinkSearchSupported())
+            deleteTable(LINK_SEARCH_TABLE_NAME, true, stmt);
+        linkSearchEnabled = false;
+    }
     
 //    public boolean createTable(String tableCreationQuery, boolean ifNotExists, 
 //            boolean withoutRowID){
@@ -4813,8 +6003,42 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
      * @param linkID
      * @param prefixID
      * @param value
+     * @param linkHash
      * @throws SQLException 
      */
+    protected void updateLink(long linkID, int prefixID, String value, 
+            long linkHash) throws SQLException {
+            // Prepare a statement to update the link with the given linkID
+        try (PreparedStatement pstmt = prepareStatement(
+                String.format("UPDATE %s SET %s = ?, %s = ?, %s = ? WHERE %s = ?", 
+                        LINK_TABLE_NAME,
+                        PREFIX_ID_COLUMN_NAME,
+                        LINK_URL_COLUMN_NAME,
+                        LINK_HASH_COLUMN_NAME,
+                        LINK_ID_COLUMN_NAME))){
+                // Set the prefixID for the prefix for the link
+            pstmt.setInt(1, prefixID);
+                // Set the suffix for the link
+            pstmt.setString(2, value);
+                // Set the hash for the full link
+            pstmt.setLong(3, linkHash);
+                // Set the linkID of the link to update
+            pstmt.setLong(4, linkID);
+                // Update the database
+            pstmt.executeUpdate();
+        }
+    }
+    /**
+     * This updates the prefix and suffix for the link with the given linkID 
+     * without changing its hash. This should only be used when the full URL 
+     * for the link stays the same, such as when only the prefix used for the 
+     * link is changing.
+     * @param linkID
+     * @param prefixID
+     * @param value
+     * @throws SQLException 
+     * @see #updateLink(long, int, String, long) 
+     */
     protected void updateLink(long linkID, int prefixID, String value) 
             throws SQLException {
             // Prepare a statement to update the link with the given linkID
@@ -5119,6 +6343,44 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
         checkListID(listID);
         return getListDataMap().get(listID);
     }
+    /**
+     * This returns the links in the list with the given listID between the 
+     * given {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. 
+     * Unlike {@link ListContents#getLinks(int, int) getting the links} from 
+     * the list's {@link #getListContents(int) contents}, this only runs the 
+     * query for the range. It does not check whether the list exists or 
+     * whether the range is within the list, so it is meant for callers that 
+     * already know the size of the list, such as {@link 
+     * LinksListModel#isVirtual() virtual} models reading their pages. If the 
+     * range goes past the end of the list, then fewer links are returned.
+     * @param listID The listID of the list.
+     * @param fromIndex The index of the first link to get.
+     * @param toIndex The index after the last link to get.
+     * @return A list of the links in the given range.
+     * @throws SQLException If a database error occurs.
+     * @see #getListContents(int) 
+     * @see ListContents#getLinks(int, int) 
+     */
+    public List<String> getListLinks(int listID, int fromIndex, int toIndex) 
+            throws SQLException{
+        return ListContentsImpl.getLinksUnchecked(this, listID, fromIndex, 
+                toIndex);
+    }
+    /**
+     * This returns the index of the first occurrence of the given link in the 
+     * list with the given listID, or -1 if the list does not contain the link 
+     * or does not exist. This is found with a single query, without reading 
+     * the links in the list.
+     * @param listID The listID of the list.
+     * @param link The link to search for.
+     * @return The index of the first occurrence of the link, or -1 if the 
+     * list does not contain the link.
+     * @throws SQLException If a database error occurs.
+     * @see #getListContents(int) 
+     */
+    public int getListLinkIndex(int listID, String link) throws SQLException{
+        return ListContentsImpl.indexOfLinkUnchecked(this, listID, link);
+    }
     /**
      * 
      * @return
@@ -5218,38 +6480,114 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
         updateLinkPrefix(linkID,getLinkMap(),getPrefixMap());
     }
     /**
-     * 
-     * @param linkIDs
-     * @param l 
-     * @throws SQLException 
+     * This updates the prefixes for the links with the given linkIDs so that 
+     * they use their longest prefix. Rather than updating each link 
+     * individually, this uses the {@link #LONGEST_PREFIX_FUNCTION_NAME longest 
+     * prefix function} to update the links in groups of up to {@value 
+     * #LINK_PREFIX_UPDATE_SPLIT} links per statement. Any linkIDs that are not 
+     * in the database are ignored.
+     * @param linkIDs The linkIDs of the links to update.
+     * @param l The progress observer to use, or null.
+     * @throws SQLException If a database error occurs.
+     * @see #updateAllLinkPrefixes() 
+     * @see #updateLinkPrefixForList(int) 
      */
     public void updateLinkPrefix(Collection<Long> linkIDs, ProgressObserver l) 
             throws SQLException{
-            // Get the link map
-        LinkMap linkMap = getLinkMap();
-            // Get the prefix map
-        PrefixMap prefixMap = getPrefixMap();
-            // Create a copy of the linkIDs that is a set
-        linkIDs = new LinkedHashSet<>(linkIDs);
+            // Create a copy of the linkIDs that is a list without duplicates
+        List<Long> idList = new ArrayList<>(new LinkedHashSet<>(linkIDs));
+            // If there are no links to update
+        if (idList.isEmpty())
+            return;
+            // Load the prefixes before the update, so that the longest prefix 
+            // function does not need to query the database during the update
+        getPrefixMap().getLongestPrefixEntryFor("");
             // Get the current state of the auto-commit
         boolean autoCommit = getAutoCommit();
             // Turn off the auto-commit in order to group the following 
             // database transactions to improve performance
         setAutoCommit(false);
-        try{    // Go through the linkIDs of the links to be updated
-            for (Long linkID : linkIDs){
-                updateLinkPrefix(linkID,linkMap,prefixMap);
+        try{    // Go through the linkIDs in groups
+            for (int index = 0; index < idList.size(); 
+                    index += LINK_PREFIX_UPDATE_SPLIT){
+                    // Get the linkIDs in the current group
+                List<Long> group = idList.subList(index, 
+                        Math.min(idList.size(), index+LINK_PREFIX_UPDATE_SPLIT));
+                String idStr = "?, ".repeat(group.size());
+                    // Prepare a statement to update the prefixes for the links 
+                    // in the current group
+                try(PreparedStatement pstmt = prepareStatement(String.format(
+                        UPDATE_LINK_PREFIX_QUERY_TEMPLATE, String.format(
+                                "WHERE %s IN (%s)", 
+                                    LINK_ID_COLUMN_NAME,
+                                    idStr.substring(0, idStr.length()-2))))){
+                        // Go through the linkIDs in the current group
+                    for (int i = 0; i < group.size(); i++)
+                        pstmt.setLong(i+1, group.get(i));
+                        // Update the database
+                    pstmt.executeUpdate();
+                }
                 if (l != null)
-                    l.incrementValue();
+                    l.incrementValue(group.size());
             }
-        } catch (SQLException | UncheckedSQLException | IllegalArgumentException ex){
-            throw ex;
         } finally {
             commit();       // Commit the changes to the database
                 // Restore the auto-commit back to what it was set to before
             setAutoCommit(autoCommit);
         }
     }
+    /**
+     * This updates the prefixes for every link in the database so that they 
+     * use their longest prefix. This is done using a single statement.
+     * @return Whether any links were updated.
+     * @throws SQLException If a database error occurs.
+     * @see #updateLinkPrefix(Collection, ProgressObserver) 
+     * @see #updateLinkPrefixForList(int) 
+     */
+    public boolean updateAllLinkPrefixes() throws SQLException{
+            // Load the prefixes before the update, so that the longest prefix 
+            // function does not need to query the database during the update
+        getPrefixMap().getLongestPrefixEntryFor("");
+            // Prepare a statement to update the prefixes for every link
+        try(PreparedStatement pstmt = prepareStatement(String.format(
+                UPDATE_LINK_PREFIX_QUERY_TEMPLATE, ""))){
+                // Update the database
+            pstmt.executeUpdate();
+                // Return whether any rows were updated
+            return pstmt.getUpdateCount() > 0;
+        }
+    }
+    /**
+     * This updates the prefixes for the links in the list with the given 
+     * listID so that they use their longest prefix. This is done using a 
+     * single statement.
+     * @param listID The listID of the list with the links to update.
+     * @return Whether any links were updated.
+     * @throws SQLException If a database error occurs.
+     * @see #updateLinkPrefix(Collection, ProgressObserver) 
+     * @see #updateAllLinkPrefixes() 
+     */
+    public boolean updateLinkPrefixForList(int listID) throws SQLException{
+            // Load the prefixes before the update, so that the longest prefix 
+            // function does not need to query the database during the update
+        getPrefixMap().getLongestPrefixEntryFor("");
+            // Prepare a statement to update the prefixes for the links in the 
+            // list
+        try(PreparedStatement pstmt = prepareStatement(String.format(
+                UPDATE_LINK_PREFIX_QUERY_TEMPLATE, String.format(
+                        "WHERE %s IN (SELECT %s FROM %s WHERE %s = ?)", 
+                            LINK_ID_COLUMN_NAME,
+                            LINK_ID_COLUMN_NAME,
+                            LIST_DATA_TABLE_NAME,
+                            LIST_ID_COLUMN_NAME)))){
+                // Set the listID of the list
+            pstmt.setInt(1, listID);
+                // Update the database
+            pstmt.executeUpdate();
+                // Return whether any rows were updated
+            return pstmt.getUpdateCount() > 0;
+        }
+    }
     /**
      * 
      * @param linkIDs
@@ -5301,8 +6639,10 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
         try(PreparedStatement pstmt = prepareStatement(REPLACE_PREFIX_ID_QUERY)){
                 // Set the prefixID for the replacement prefix
             pstmt.setInt(1, newPrefixID);
+                // Set the prefixID for the prefix to use for the link hashes
+            pstmt.setInt(2, newPrefixID);
                 // Set the prefixID for the prefix to replace
-            pstmt.setInt(2, oldPrefixID);
+            pstmt.setInt(3, oldPrefixID);
                 // Update the database
             pstmt.executeUpdate();
                 // Return whether any rows were updated
@@ -5331,10 +6671,12 @@ public class LinkDatabaseConnection extends AbstractDatabaseConnection{
         try(PreparedStatement pstmt = prepareStatement(REPLACE_PREFIX_ID_IN_LIST_QUERY)){
                 // Set the prefixID for the replacement prefix
             pstmt.setInt(1, newPrefixID);
+                // Set the prefixID for the prefix to use for the link hashes
+            pstmt.setInt(2, newPrefixID);
                 // Set the prefixID for the prefix to replace
-            pstmt.setInt(2, oldPrefixID);
+            pstmt.setInt(3, oldPrefixID);
                 // Set the listID for the list containing the links to alter
-            pstmt.setInt(3, listID);
+            pstmt.setInt(4, listID);
                 // Update the database
             pstmt.executeUpdate();
                 // If no rows were updated
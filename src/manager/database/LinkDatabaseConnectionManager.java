@@ -0,0 +1,462 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.database;
+
+import java.io.File;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Level;
+import manager.LinkManager;
+import org.sqlite.SQLiteConfig;
+
+/**
+ * This is used to open the connections to the database file. Connections that
+ * can change the database are opened on demand using the {@link
+ * #getSQLiteConfig() SQLite configuration} and the {@link
+ * #getPerformanceProfile() performance profile} for this manager. Read-only
+ * connections are taken from a small pool of connections that are kept open
+ * between uses, so that the database viewer and searches can read from the
+ * database without having to open a new connection each time. <p>
+ *
+ * When the database is in WAL journal mode, such as when it is opened using
+ * the {@link DatabasePerformanceProfile#WAL WAL} profile, the read-only
+ * connections can read from the database while another connection is writing
+ * to it. They will see the database as it was at the start of their current
+ * read, and will not wait for the write to finish. When the database is not
+ * in WAL journal mode, the read-only connections will still work, but may
+ * have to wait for a write in progress to be committed. <p>
+ *
+ * Closing a read-only connection returned by this manager returns it to the
+ * pool instead of closing it. A new {@code LinkDatabaseConnection} is created
+ * for each use of a pooled connection, so that the cached data in the maps
+ * and lists of a previous use are never reused. The prepared statements of a
+ * pooled connection are kept with it while it is in the pool, so that each
+ * use can reuse the statements prepared by earlier uses. As the pooled
+ * connections keep the database file open, they should be {@link
+ * #closeIdleConnections() closed} before the database file is moved or
+ * replaced.
+ *
+ * @author Milo Steier
+ * @see LinkDatabaseConnection#openReadOnlyConnection()
+ */
+public class LinkDatabaseConnectionManager implements AutoCloseable{
+    /**
+     * This is the default maximum amount of idle read-only connections that
+     * are kept open.
+     */
+    public static final int DEFAULT_MAXIMUM_IDLE_CONNECTIONS = 4;
+    /**
+     * This is the prefix for the URLs used to connect to the database files.
+     */
+    private static final String DATABASE_URL_PREFIX = "jdbc:sqlite:";
+    /**
+     * This is the SQLite configuration used to open the connections.
+     */
+    private final SQLiteConfig config;
+    /**
+     * This is the maximum amount of idle read-only connections to keep open.
+     */
+    private final int maxIdle;
+    /**
+     * This is the performance profile applied to the connections that can
+     * change the database.
+     */
+    private volatile DatabasePerformanceProfile profile =
+            DatabasePerformanceProfile.DEFAULT;
+    /**
+     * This is whether the connections that can change the database find new 
+     * prefixes in parallel.
+     */
+    private volatile boolean parallelPrefixes = 
+            LinkDatabaseConnection.DEFAULT_PARALLEL_PREFIX_GENERATION;
+    /**
+     * This contains the idle read-only connections, with the most recently
+     * used connection first.
+     */
+    private final Deque<PoolEntry> idle = new ArrayDeque<>();
+    /**
+     * This is the URL of the database that the pooled read-only connections
+     * are connected to, or null if there are none.
+     */
+    private String poolURL = null;
+    /**
+     * This is incremented whenever the pool is cleared, so that the read-only
+     * connections that were in use at the time are closed instead of being
+     * returned to the pool.
+     */
+    private int generation = 0;
+    /**
+     * This is whether this manager has been closed.
+     */
+    private boolean closed = false;
+    /**
+     * This constructs a LinkDatabaseConnectionManager that uses the given
+     * SQLite configuration and keeps up to the given amount of idle read-only
+     * connections open.
+     * @param config The SQLite configuration to use for the connections
+     * (cannot be null).
+     * @param maxIdle The maximum amount of idle read-only connections to keep
+     * open.
+     * @throws NullPointerException If the SQLite configuration is null.
+     * @throws IllegalArgumentException If the maximum amount of idle
+     * connections is negative.
+     */
+    public LinkDatabaseConnectionManager(SQLiteConfig config, int maxIdle){
+        this.config = Objects.requireNonNull(config);
+        if (maxIdle < 0)
+            throw new IllegalArgumentException("Maximum idle connections cannot "
+                    + "be negative ("+maxIdle+")");
+        this.maxIdle = maxIdle;
+    }
+    /**
+     * This constructs a LinkDatabaseConnectionManager that uses the given
+     * SQLite configuration and keeps up to {@value
+     * #DEFAULT_MAXIMUM_IDLE_CONNECTIONS} idle read-only connections open.
+     * @param config The SQLite configuration to use for the connections
+     * (cannot be null).
+     * @throws NullPointerException If the SQLite configuration is null.
+     */
+    public LinkDatabaseConnectionManager(SQLiteConfig config){
+        this(config,DEFAULT_MAXIMUM_IDLE_CONNECTIONS);
+    }
+    /**
+     * This returns the SQLite configuration used to open the connections.
+     * @return The SQLite configuration.
+     */
+    public SQLiteConfig getSQLiteConfig(){
+        return config;
+    }
+    /**
+     * This returns the maximum amount of idle read-only connections that are
+     * kept open.
+     * @return The maximum amount of idle read-only connections.
+     */
+    public int getMaximumIdleConnections(){
+        return maxIdle;
+    }
+    /**
+     * This returns the amount of idle read-only connections that are
+     * currently open.
+     * @return The amount of idle read-only connections.
+     */
+    public synchronized int getIdleConnectionCount(){
+        return idle.size();
+    }
+    /**
+     * This returns the performance profile applied to the connections that
+     * can change the database.
+     * @return The performance profile.
+     */
+    public DatabasePerformanceProfile getPerformanceProfile(){
+        return profile;
+    }
+    /**
+     * This sets the performance profile applied to the connections that can
+     * change the database. This also closes the idle read-only connections,
+     * since the journal mode cannot be changed while they are open. Note that
+     * this does not apply the profile to the SQLite configuration.
+     * @param profile The performance profile (cannot be null).
+     * @throws NullPointerException If the profile is null.
+     * @see DatabasePerformanceProfile#applyTo(SQLiteConfig)
+     */
+    public void setPerformanceProfile(DatabasePerformanceProfile profile){
+        this.profile = Objects.requireNonNull(profile);
+        closeIdleConnections();
+    }
+    /**
+     * This returns whether the connections that can change the database find 
+     * new prefixes in parallel.
+     * @return Whether new prefixes are found in parallel.
+     * @see LinkDatabaseConnection#isParallelPrefixGenerationEnabled() 
+     */
+    public boolean isParallelPrefixGenerationEnabled(){
+        return parallelPrefixes;
+    }
+    /**
+     * This sets whether the connections that can change the database find new 
+     * prefixes in parallel. This only affects connections created after this 
+     * is called.
+     * @param enabled Whether new prefixes should be found in parallel.
+     * @see LinkDatabaseConnection#setParallelPrefixGenerationEnabled(boolean) 
+     */
+    public void setParallelPrefixGenerationEnabled(boolean enabled){
+        this.parallelPrefixes = enabled;
+    }
+    /**
+     * This returns the URL used to connect to the database with the given
+     * file path.
+     * @param fileName The file path for the database.
+     * @return The URL for the database.
+     */
+    private static String getDatabaseURL(String fileName){
+        return DATABASE_URL_PREFIX+Objects.requireNonNull(fileName);
+    }
+    /**
+     * This creates and returns a connection to the database file located at
+     * the given file path that can change the database. The performance
+     * profile for this manager is applied to the connection.
+     * @param fileName The file path for the database to connect to.
+     * @return The connection to the database.
+     * @throws SQLException If a database error occurs.
+     * @throws NullPointerException If the file name is null.
+     * @throws IllegalStateException If this manager has been closed.
+     */
+    public LinkDatabaseConnection connect(String fileName) throws SQLException{
+        checkClosed();
+        LinkDatabaseConnection conn = new LinkDatabaseConnection(fileName,
+                config);
+        try{    // Apply the rest of the performance profile to the connection
+            profile.applyTo(conn);
+        } catch (SQLException ex){
+            conn.close();
+            throw ex;
+        }
+        conn.setParallelPrefixGenerationEnabled(parallelPrefixes);
+        return conn;
+    }
+    /**
+     * This creates and returns a connection to the database file located at
+     * the given file that can change the database. The performance profile
+     * for this manager is applied to the connection.
+     * @param file The file for the database to connect to.
+     * @return The connection to the database.
+     * @throws SQLException If a database error occurs.
+     * @throws NullPointerException If the file is null.
+     * @throws IllegalStateException If this manager has been closed.
+     */
+    public LinkDatabaseConnection connect(File file) throws SQLException{
+        return connect(file.toString());
+    }
+    /**
+     * This returns a read-only connection to the database file located at the
+     * given file path, taking it from the pool if there is one available.
+     * Closing the returned connection will return it to the pool. If the pool
+     * is currently for a different database file, then the idle connections
+     * will be closed and the pool will be used for the given file.
+     * @param fileName The file path for the database to connect to.
+     * @return A read-only connection to the database.
+     * @throws SQLException If a database error occurs.
+     * @throws NullPointerException If the file name is null.
+     * @throws IllegalStateException If this manager has been closed.
+     */
+    public LinkDatabaseConnection connectReadOnly(String fileName)
+            throws SQLException{
+        String url = getDatabaseURL(fileName);
+        PoolEntry entry;
+        int gen;
+        synchronized (this){
+            checkClosed();
+                // If the pool is for a different database file
+            if (!url.equals(poolURL)){
+                closeIdleConnections();
+                poolURL = url;
+            }
+            entry = idle.pollFirst();
+            gen = generation;
+        }   // Get the configuration for the read-only connection
+        SQLiteConfig readConfig = LinkDatabaseConnection.getReadOnlyConfig(
+                config);
+            // If there was no idle connection in the pool
+        if (entry == null)
+            entry = new PoolEntry(DriverManager.getConnection(url, 
+                    readConfig.toProperties()));
+        try{
+            return new PooledConnection(entry, readConfig, gen);
+        } catch (SQLException ex){
+            entry.close();
+            throw ex;
+        }
+    }
+    /**
+     * This returns a read-only connection to the database file located at the
+     * given file, taking it from the pool if there is one available. Closing
+     * the returned connection will return it to the pool. If the pool is
+     * currently for a different database file, then the idle connections will
+     * be closed and the pool will be used for the given file.
+     * @param file The file for the database to connect to.
+     * @return A read-only connection to the database.
+     * @throws SQLException If a database error occurs.
+     * @throws NullPointerException If the file is null.
+     * @throws IllegalStateException If this manager has been closed.
+     */
+    public LinkDatabaseConnection connectReadOnly(File file)
+            throws SQLException{
+        return connectReadOnly(file.toString());
+    }
+    /**
+     * This returns the given read-only connection to the pool. If the pool is
+     * full, this manager has been closed, or the pool was cleared since the
+     * connection was taken from it, then the connection will be closed
+     * instead along with its cached statements.
+     * @param entry The connection to return to the pool.
+     * @param gen The generation of the pool when the connection was taken.
+     * @throws SQLException If a database error occurs while closing the
+     * connection.
+     */
+    private void release(PoolEntry entry, int gen) throws SQLException{
+        Connection conn = entry.conn;
+            // If the connection has already been closed
+        if (conn.isClosed()){
+            entry.close();
+            return;
+        }
+        try{    // If the connection was left in a transaction
+            if (!conn.getAutoCommit()){
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException ex){
+            entry.close();
+            throw ex;
+        }
+        synchronized (this){
+                // If the connection can be returned to the pool
+            if (!closed && gen == generation && idle.size() < maxIdle){
+                idle.addFirst(entry);
+                return;
+            }
+        }
+        entry.close();
+    }
+    /**
+     * This closes all the idle read-only connections in the pool. Any
+     * read-only connections that are currently in use will be closed when
+     * they are closed by their user instead of being returned to the pool.
+     * This should be called before the database file is moved or replaced.
+     */
+    public void closeIdleConnections(){
+            // This will get the connections to close
+        List<PoolEntry> conns;
+        synchronized (this){
+            conns = new ArrayList<>(idle);
+            idle.clear();
+            poolURL = null;
+            generation++;
+        }   // Go through the connections to close
+        for (PoolEntry entry : conns){
+            try{
+                entry.close();
+            } catch (SQLException ex){
+                LinkManager.getLogger().log(Level.WARNING,
+                        "Failed to close read-only connection", ex);
+            }
+        }
+    }
+    /**
+     * This throws an IllegalStateException if this manager has been closed.
+     * @throws IllegalStateException If this manager has been closed.
+     */
+    private synchronized void checkClosed(){
+        if (closed)
+            throw new IllegalStateException("Connection manager is closed");
+    }
+    /**
+     * This returns whether this manager has been closed.
+     * @return Whether this manager is closed.
+     */
+    public synchronized boolean isClosed(){
+        return closed;
+    }
+    /**
+     * This closes this manager and all the idle read-only connections in the
+     * pool. Any read-only connections that are currently in use will be
+     * closed when they are closed by their user. No new connections can be
+     * opened once this manager is closed.
+     */
+    @Override
+    public void close(){
+        synchronized (this){
+            closed = true;
+        }
+        closeIdleConnections();
+    }
+    /**
+     * This is a read-only connection in the pool along with the cache of the 
+     * prepared statements for it. The statement cache is kept with the 
+     * connection between uses, and is only closed when the connection itself 
+     * is closed.
+     */
+    private static class PoolEntry implements AutoCloseable{
+        /**
+         * The underlying connection.
+         */
+        private final Connection conn;
+        /**
+         * The cache of the prepared statements for the connection.
+         */
+        private final PreparedStatementCache statementCache = 
+                new PreparedStatementCache(
+                        LinkDatabaseConnection.DEFAULT_STATEMENT_CACHE_SIZE);
+        /**
+         * This constructs a PoolEntry for the given connection.
+         * @param conn The underlying connection.
+         */
+        PoolEntry(Connection conn){
+            this.conn = conn;
+        }
+        /**
+         * This closes the cached statements for the connection and then 
+         * closes the connection.
+         * @throws SQLException If a database error occurs.
+         */
+        @Override
+        public void close() throws SQLException{
+            try{
+                statementCache.close();
+            } finally {
+                conn.close();
+            }
+        }
+    }
+    /**
+     * This is a read-only connection taken from the pool. Closing this returns
+     * the underlying connection to the pool instead of closing it. The 
+     * prepared statements of this connection are cached in the pool entry for 
+     * the connection, so that they can be reused the next time the connection 
+     * is taken from the pool.
+     */
+    private class PooledConnection extends LinkDatabaseConnection{
+        /**
+         * The underlying connection and its statement cache.
+         */
+        private final PoolEntry entry;
+        /**
+         * The generation of the pool when the connection was taken.
+         */
+        private final int gen;
+        /**
+         * Whether this has been closed and the connection returned.
+         */
+        private boolean released = false;
+        /**
+         * This constructs a PooledConnection for the given connection.
+         * @param entry The underlying connection and its statement cache.
+         * @param config The SQLite configuration for the connection.
+         * @param gen The generation of the pool when the connection was taken.
+         * @throws SQLException If the SQL functions used by this program could
+         * not be registered with the connection.
+         */
+        PooledConnection(PoolEntry entry, SQLiteConfig config, int gen)
+                throws SQLException{
+            super(entry.conn, config, entry.statementCache);
+            this.entry = entry;
+            this.gen = gen;
+        }
+        @Override
+        public synchronized void close() throws SQLException{
+                // If this has already been closed
+            if (released)
+                return;
+            released = true;
+                // The cached statements are kept with the connection, so that 
+                // the next use of the connection can reuse them
+            release(entry, gen);
+        }
+        @Override
+        public synchronized boolean isClosed() throws SQLException{
+            return released || super.isClosed();
+        }
+    }
+}
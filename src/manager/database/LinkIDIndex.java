@@ -0,0 +1,435 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.database;
+
+import java.security.SecureRandom;
+import java.util.*;
+
+/**
+ * This is a compact, in-memory index that maps links to their linkIDs. Unlike
+ * a {@code HashMap<String,Long>} copy of the {@link LinkMap#inverse() inverse
+ * link map}, this does not store the links themselves. Instead, this stores a
+ * 64-bit hash of each link alongside its linkID in primitive arrays using 
+ * open addressing, which takes a small fraction of the memory. <p>
+ *
+ * Since the 64-bit hash is the same hash stored in the database, links could 
+ * be crafted to share it. As such, each slot also stores a second 64-bit 
+ * check hash of its link, which is keyed with a random seed chosen when the 
+ * index is created, and a lookup only matches a slot if both hashes match. A 
+ * link whose hash matches a slot but whose check hash does not is treated as 
+ * not being in this index, and is looked up in the database. <p>
+ *
+ * If two links in the index share the same hash, then the database is checked
+ * to resolve which linkID belongs to which link, and those links are stored
+ * separately so that lookups for them remain exact. Links that are not in this
+ * index are looked up in the database through the {@code LinkMap} that this
+ * index was created from, and are then added to this index. <p>
+ *
+ * This index is a snapshot of the link map at the time it was created, and
+ * does not reflect links that are removed from or changed in the database
+ * afterwards. As such, it should only be kept for the duration of a single
+ * operation, such as saving the lists to the database.
+ *
+ * @author Milo Steier
+ * @see LinkMap#createLinkIDIndex()
+ */
+public class LinkIDIndex extends AbstractMap<String, Long>{
+    /**
+     * This is the hash used to mark an empty slot in the hash array. The hash
+     * function never returns this value.
+     */
+    private static final long EMPTY_SLOT = 0L;
+    /**
+     * This is the linkID used to mark a slot whose hash is shared by more than
+     * one link. The links for these slots are stored in the {@link #collisions
+     * collision map}.
+     */
+    private static final long COLLIDED_SLOT = Long.MIN_VALUE;
+    /**
+     * This is the maximum fraction of the slots that may be used before the
+     * arrays are grown.
+     */
+    private static final float LOAD_FACTOR = 0.7f;
+    /**
+     * This is the minimum capacity for the arrays.
+     */
+    private static final int MINIMUM_CAPACITY = 16;
+    /**
+     * This is used to generate the seeds for the check hashes.
+     */
+    private static final SecureRandom SEED_GENERATOR = new SecureRandom();
+    /**
+     * The link map that this index was created from. This is used to look up
+     * links that are not in this index and to resolve hash collisions.
+     */
+    private final LinkMap linkMap;
+    /**
+     * The hashes of the links in this index.
+     */
+    private long[] hashes;
+    /**
+     * The linkIDs of the links in this index, in the same slots as their
+     * hashes.
+     */
+    private long[] ids;
+    /**
+     * The check hashes of the links in this index, in the same slots as their 
+     * hashes. These are used to confirm that a link matching a slot's hash is 
+     * the link stored in that slot.
+     */
+    private long[] checks;
+    /**
+     * The seed for the check hashes of the links in this index.
+     */
+    private final long seed = SEED_GENERATOR.nextLong();
+    /**
+     * The number of slots in use.
+     */
+    private int used = 0;
+    /**
+     * This maps links whose hashes collide with another link to their linkIDs.
+     * This is initially null and is created when the first collision is found.
+     */
+    private Map<String, Long> collisions = null;
+    /**
+     * The set containing the entries for this map. This is initially null and
+     * is initialized the first time it is requested.
+     */
+    private Set<Entry<String, Long>> entries = null;
+    /**
+     * This constructs an empty LinkIDIndex for the given link map with enough
+     * room for the given number of links.
+     * @param linkMap The link map this index is for (cannot be null).
+     * @param expectedSize The number of links expected to be added.
+     */
+    LinkIDIndex(LinkMap linkMap, int expectedSize){
+        this.linkMap = Objects.requireNonNull(linkMap);
+            // Get the capacity needed to store the expected amount of links
+        int capacity = MINIMUM_CAPACITY;    // without growing
+        while (capacity < (1 << 30) && capacity * LOAD_FACTOR < expectedSize)
+            capacity <<= 1;
+        hashes = new long[capacity];
+        ids = new long[capacity];
+        checks = new long[capacity];
+    }
+    /**
+     * This returns the 64-bit hash for the given link. This is a 64-bit FNV-1a
+     * hash of the link's characters that is then mixed with the finalizer from
+     * MurmurHash3 so that the low bits are usable as a slot index. This never
+     * returns {@link #EMPTY_SLOT}.
+     * @param link The link to get the hash for.
+     * @return The hash for the link.
+     */
+    static long hash(String link){
+        long h = 0xcbf29ce484222325L;
+            // Go through the characters in the link
+        for (int i = 0; i < link.length(); i++){
+            h ^= link.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+            // If the hash would be mistaken for an empty slot
+        return (h == EMPTY_SLOT) ? 1L : h;
+    }
+    /**
+     * This returns the check hash for the given link, which is used to 
+     * confirm that a link with the same {@link #hash(String) hash} as a slot 
+     * is the link in that slot. This is keyed with this index's seed, so that 
+     * links cannot be crafted to share both hashes without knowing the seed.
+     * @param link The link to get the check hash for.
+     * @return The check hash for the link.
+     */
+    private long checkHash(String link){
+        long h = seed ^ link.length();
+            // Go through the characters in the link
+        for (int i = 0; i < link.length(); i++){
+            h = Long.rotateLeft(h ^ link.charAt(i), 27) * 0x9e3779b97f4a7c15L;
+            h ^= seed;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+    /**
+     * This returns the slot for the given hash. This will either be the slot
+     * containing the hash or the empty slot where the hash would be stored.
+     * @param hashArr The array of hashes to search.
+     * @param hash The hash to look for.
+     * @return The slot for the hash.
+     */
+    private static int findSlot(long[] hashArr, long hash){
+        int mask = hashArr.length - 1;
+        int slot = (int)hash & mask;
+            // Probe linearly until either the hash or an empty slot is found
+        while (hashArr[slot] != EMPTY_SLOT && hashArr[slot] != hash)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+    /**
+     * This doubles the size of the arrays, rehashing the slots into the new
+     * arrays. This does not need the links themselves, since the hashes are
+     * stored.
+     */
+    private void grow(){
+        long[] oldHashes = hashes;
+        long[] oldIDs = ids;
+        long[] oldChecks = checks;
+        hashes = new long[oldHashes.length << 1];
+        ids = new long[oldIDs.length << 1];
+        checks = new long[oldChecks.length << 1];
+            // Go through the old slots
+        for (int i = 0; i < oldHashes.length; i++){
+                // If the current slot is in use
+            if (oldHashes[i] != EMPTY_SLOT){
+                int slot = findSlot(hashes, oldHashes[i]);
+                hashes[slot] = oldHashes[i];
+                ids[slot] = oldIDs[i];
+                checks[slot] = oldChecks[i];
+            }
+        }
+    }
+    /**
+     * This returns the linkID for the given link using only the data in this
+     * index, without querying the database.
+     * @param link The link to get the linkID for.
+     * @return The linkID for the link, or null if the link is not in this
+     * index.
+     */
+    public synchronized Long getIndexed(String link){
+        long hash = hash(link);
+        int slot = findSlot(hashes, hash);
+            // If the hash is not in the index
+        if (hashes[slot] == EMPTY_SLOT)
+            return null;
+            // If the hash is shared by more than one link
+        if (ids[slot] == COLLIDED_SLOT)
+            return collisions.get(link);
+            // Only return the linkID if the link is the link in the slot. 
+            // Otherwise, this is a different link with the same hash
+        return (checks[slot] == checkHash(link)) ? ids[slot] : null;
+    }
+    /**
+     * This returns whether the given link is in this index, without querying
+     * the database.
+     * @param link The link to look for.
+     * @return Whether the link is in this index.
+     */
+    public boolean containsIndexed(String link){
+        return getIndexed(link) != null;
+    }
+    /**
+     * This adds the given link and linkID to this index. If another link with
+     * the same hash is already in this index, then the database is used to get
+     * that link so that both can be stored exactly.
+     * @param link The link to add.
+     * @param linkID The linkID for the link.
+     * @return The linkID previously stored for the link, or null.
+     */
+    synchronized Long index(String link, long linkID){
+            // If adding this link would put the index over its load factor
+        if (used + 1 > hashes.length * LOAD_FACTOR)
+            grow();
+        long hash = hash(link);
+        long check = checkHash(link);
+        int slot = findSlot(hashes, hash);
+            // If the slot is empty
+        if (hashes[slot] == EMPTY_SLOT){
+            hashes[slot] = hash;
+            ids[slot] = linkID;
+            checks[slot] = check;
+            used++;
+            return null;
+        }   // If the hash is already shared by more than one link
+        if (ids[slot] == COLLIDED_SLOT)
+            return collisions.put(link, linkID);
+            // If the linkID and link are the same as the ones already stored
+        if (ids[slot] == linkID && checks[slot] == check)
+            return linkID;
+            // Get the link for the linkID already in the slot, so as to check
+            // whether this is the same link or a different link with the same
+        String other = linkMap.get(ids[slot]);   // hash
+            // If this is the same link or the other link no longer exists
+        if (other == null || other.equals(link)){
+            Long old = ids[slot];
+            ids[slot] = linkID;
+            checks[slot] = check;
+            return (other == null) ? null : old;
+        }   // If the collision map has not been created yet
+        if (collisions == null)
+            collisions = new HashMap<>();
+            // Move both links into the collision map
+        collisions.put(other, ids[slot]);
+        collisions.put(link, linkID);
+        ids[slot] = COLLIDED_SLOT;
+        return null;
+    }
+    /**
+     * {@inheritDoc }
+     *
+     * If the given link is not in this index, then this will look it up in the
+     * database and add it to this index if it is found.
+     */
+    @Override
+    public Long get(Object key){
+            // If the key is not a String
+        if (!(key instanceof String))
+            return null;
+        String link = (String) key;
+            // Get the linkID from the index
+        Long linkID = getIndexed(link);
+            // If the link was not in the index
+        if (linkID == null){
+                // Look the link up in the database
+            linkID = linkMap.firstKeyFor(link);
+                // If the link is in the database
+            if (linkID != null)
+                index(link, linkID);
+        }
+        return linkID;
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean containsKey(Object key){
+        return get(key) != null;
+    }
+    /**
+     * {@inheritDoc }
+     *
+     * This only changes this index and does not alter the database.
+     */
+    @Override
+    public Long put(String key, Long value){
+        return index(Objects.requireNonNull(key), Objects.requireNonNull(value));
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public synchronized int size(){
+            // Get the amount of slots that hold a single link
+        int size = used;
+            // If there have been any collisions
+        if (collisions != null){
+                // Go through the slots
+            for (long id : ids){
+                    // If the slot holds more than one link
+                if (id == COLLIDED_SLOT)
+                    size--;
+            }
+            size += collisions.size();
+        }
+        return size;
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public synchronized void clear(){
+        Arrays.fill(hashes, EMPTY_SLOT);
+        Arrays.fill(ids, 0L);
+        Arrays.fill(checks, 0L);
+        used = 0;
+        collisions = null;
+    }
+    /**
+     * {@inheritDoc }
+     *
+     * Since this index does not store the links, the links are retrieved from
+     * the database as the entries are iterated through.
+     */
+    @Override
+    public Set<Entry<String, Long>> entrySet(){
+            // If the entry set has not been initialized yet
+        if (entries == null){
+            entries = new AbstractSet<>(){
+                @Override
+                public Iterator<Entry<String, Long>> iterator() {
+                    return new EntryIterator();
+                }
+                @Override
+                public int size() {
+                    return LinkIDIndex.this.size();
+                }
+            };
+        }
+        return entries;
+    }
+    /**
+     * This is an iterator over the entries in this index. The links for the
+     * slots are retrieved from the database as they are reached.
+     */
+    private class EntryIterator implements Iterator<Entry<String, Long>>{
+        /**
+         * A snapshot of the linkIDs in the index when this iterator was
+         * created.
+         */
+        private final long[] slotIDs;
+        /**
+         * An iterator over a snapshot of the links with colliding hashes.
+         */
+        private final Iterator<Entry<String, Long>> collisionItr;
+        /**
+         * The slot that will be checked next.
+         */
+        private int slot = 0;
+        /**
+         * The next entry to return, or null if it has not been found yet.
+         */
+        private Entry<String, Long> next = null;
+        /**
+         * This constructs an EntryIterator.
+         */
+        EntryIterator(){
+            synchronized(LinkIDIndex.this){
+                long[] temp = ids.clone();
+                    // Go through the slots and mark the empty ones
+                for (int i = 0; i < temp.length; i++){
+                    if (hashes[i] == EMPTY_SLOT)
+                        temp[i] = COLLIDED_SLOT;
+                }
+                slotIDs = temp;
+                collisionItr = (collisions == null) ?
+                        Collections.emptyIterator() :
+                        new ArrayList<>(collisions.entrySet()).iterator();
+            }
+        }
+        @Override
+        public boolean hasNext() {
+                // While the next entry has not been found and there are still
+            while (next == null && slot < slotIDs.length){   // slots left
+                long linkID = slotIDs[slot++];
+                    // If this slot holds a single link
+                if (linkID != COLLIDED_SLOT){
+                    String link = linkMap.get(linkID);
+                        // If the link still exists
+                    if (link != null)
+                        next = new AbstractMap.SimpleImmutableEntry<>(link,
+                                linkID);
+                }
+            }   // If no entry was found in the slots but there are collisions
+            if (next == null && collisionItr.hasNext())
+                next = collisionItr.next();
+            return next != null;
+        }
+        @Override
+        public Entry<String, Long> next() {
+                // If there are no more entries
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Entry<String, Long> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
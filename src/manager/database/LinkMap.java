@@ -81,6 +81,21 @@ public interface LinkMap extends SQLRowMap<Long, String>{
      * to, throw this if a database error occurs.
      */
     public Map <String, Long> inverse();
+    /**
+     * This creates and returns a compact index that maps the links in this map 
+     * to their {@link #firstKeyFor first (lowest) keys}. The returned index is 
+     * a snapshot of this map that stores hashes of the links rather than the 
+     * links themselves, and is intended to be used in place of a {@code 
+     * HashMap} copy of the {@link #inverse() inverse} of this map when many 
+     * links need to be resolved to their linkIDs at once. Links that are not 
+     * in the index when it is created are looked up in this map as needed. 
+     * @return A compact index mapping the links in this map to their linkIDs.
+     * @throws UncheckedSQLException Implementations may, but are not required 
+     * to, throw this if a database error occurs.
+     * @see #inverse() 
+     * @see LinkIDIndex
+     */
+    public LinkIDIndex createLinkIDIndex();
     /**
      * This returns a {@code NavigableMap} containing all the links with 
      * substrings beginning at the given index that start with the given prefix. 
@@ -38,6 +38,27 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
                 FULL_LINK_VIEW_NAME,
                 LINK_URL_COLUMN_NAME,
                 LINK_ID_COLUMN_NAME);
+    /**
+     * This is the query used to get the linkIDs for a given link using the 
+     * {@link LINK_HASH_INDEX_NAME link hash index}, sorted in ascending order. 
+     * This only needs to build the full URL for the links that share the 
+     * link's hash. The parameters for a prepared statement are as follows:
+     * <ol>
+     *  <li>(Long) The {@link LinkDatabaseConnection#getLinkHash(String) hash} 
+     *      for the link.</li>
+     *  <li>(String) The link to get the linkIDs for.</li>
+     * </ol>
+     */
+    private static final String LINK_ID_FOR_HASH_QUERY = String.format(
+            "SELECT %s FROM %s NATURAL JOIN %s WHERE %s = ? AND %s || %s = ? "
+                    + "ORDER BY %s",
+                LINK_ID_COLUMN_NAME,
+                LINK_TABLE_NAME,
+                PREFIX_TABLE_NAME,
+                LINK_HASH_COLUMN_NAME,
+                PREFIX_COLUMN_NAME,
+                LINK_URL_COLUMN_NAME,
+                LINK_ID_COLUMN_NAME);
     /**
      * 
      */
@@ -75,14 +96,8 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
             // If the given value is null or not a String
         if (value == null || !(value instanceof String))
             return false;
-            // Prepare a statement to check for the presense of the given value
-        try(PreparedStatement pstmt = getConnection().prepareContainsStatement(
-                getDataViewName(),
-                getKeyColumn(),
-                getValueColumn())){
-            setPreparedValue(pstmt,1,(String)value);
-            return containsCountResult(pstmt.executeQuery());
-        }
+            // Look for the value using the link hash index
+        return firstKeyForSQL((String)value) != null;
     }
 
     private void deleteSQL(Long linkID) throws SQLException {
@@ -118,22 +133,27 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
      * 
      * @param prefixID
      * @param suffix
+     * @param linkHash
      * @return 
      * @throws SQLException
      */
-    private Long insertSQL(int prefixID, String suffix) throws SQLException {
+    private Long insertSQL(int prefixID, String suffix, long linkHash) 
+            throws SQLException {
             // This is the listID of the link that just was added
         Long linkID;
             // Prepare a statement to insert the link into the link table
         try (PreparedStatement pstmt = getConnection().prepareStatement(String.format(
-                "INSERT INTO %s(%s, %s) VALUES (?, ?)", 
+                "INSERT INTO %s(%s, %s, %s) VALUES (?, ?, ?)", 
                         LINK_TABLE_NAME,
                         PREFIX_ID_COLUMN_NAME,
-                        LINK_URL_COLUMN_NAME))) {
+                        LINK_URL_COLUMN_NAME,
+                        LINK_HASH_COLUMN_NAME))) {
                 // Set the prefixID for the link's prefix
             pstmt.setInt(1, prefixID);
                 // Set the link's suffix
             pstmt.setString(2, suffix);
+                // Set the hash for the full link
+            pstmt.setLong(3, linkHash);
                 // Update the database
             pstmt.executeUpdate();
                 // Get the key that was generated
@@ -150,7 +170,8 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
      */
     private Long insertSQL(String value, Map.Entry<Integer, String> prefix) 
             throws SQLException {
-        return insertSQL(prefix.getKey(),value.substring(prefix.getValue().length()));
+        return insertSQL(prefix.getKey(),value.substring(prefix.getValue().length()),
+                getLinkHash(value));
     }
     /**
      * {@inheritDoc }
@@ -164,7 +185,7 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
                 getLongestPrefixEntryFor(value);
             // This gets a set of linkIDs currently in this map for the given 
             // value
-        Set<Long> existingIDs = new TreeSet<>(keySetFor(value));
+        Set<Long> existingIDs = getKeysForSQL(value);
             // Insert the link and get the linkID that was just added
         Long linkID = insertSQL(value,prefixEntry);
             // If the linkID of the added link was found, return it. Otherwise, 
@@ -249,6 +270,14 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
             throw new UncheckedSQLException(ex);
         }
     }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean addAllIfAbsentSQL(Collection<? extends String> c)
+            throws SQLException{
+        return addAllIfAbsentSQL(c,null);
+    }
     /**
      * 
      * @param c
@@ -264,12 +293,15 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
             // This also allows changes to be made to the collection without 
             // altering the original collection.
         c = new LinkedHashSet<>(c);
-            // Create a set copy of the values in this map, so as to reduce 
+            // If the given collection is empty
+        if (c.isEmpty())
+            return false;
+            // Create a compact index of the links in this map, so as to reduce 
             // calls to the underlying database while preparing the collection 
-        Set<String> values = new HashSet<>(values());    // to add
-            // Remove any elements shared between the given collection and this 
-            // map's value set (since these elements would otherwise have been 
-        c.removeAll(values);    // skipped)
+        LinkIDIndex index = createLinkIDIndexSQL();     // to add
+            // Remove any elements that are already in this map (since these 
+            // elements would otherwise have been skipped)
+        c.removeIf((String t) -> t != null && index.containsIndexed(t));
             // If there are no elements remaining in the set to be added (the 
             // given collection was empty or only contained values already 
         if (c.isEmpty())    // present in this map)
@@ -329,6 +361,8 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
             // If the new and old values are the same (there would be no 
         if (Objects.equals(oldValue, value))    // change)
             return oldValue;
+            // Get the hash for the full value
+        long linkHash = getLinkHash(value);
             // Get the prefixID for the longest matching prefix for the value
         int prefixID = getConnection().getPrefixMap().getLongestPrefixIDFor(value);
             // Get the suffix for the value
@@ -337,22 +371,25 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
         if (oldValue == null){
                 // Prepare a statement to insert the link into the database
             try (PreparedStatement pstmt = getConnection().prepareStatement(String.format(
-                    "INSERT INTO %s(%s, %s, %s) VALUES (?, ?, ?)", 
+                    "INSERT INTO %s(%s, %s, %s, %s) VALUES (?, ?, ?, ?)", 
                             LINK_TABLE_NAME,
                             LINK_ID_COLUMN_NAME,
                             PREFIX_ID_COLUMN_NAME,
-                            LINK_URL_COLUMN_NAME))){
+                            LINK_URL_COLUMN_NAME,
+                            LINK_HASH_COLUMN_NAME))){
                     // Set the linkID for the link
                 pstmt.setLong(1, key);
                     // Set the prefixID for the prefix for the link
                 pstmt.setInt(2, prefixID);
                     // Set the suffix for the link
                 pstmt.setString(3, value);
+                    // Set the hash for the full link
+                pstmt.setLong(4, linkHash);
                     // Update the database
                 pstmt.executeUpdate();
             }
         } else // Update the link for the given key
-            getConnection().updateLink(key,prefixID,value);
+            getConnection().updateLink(key,prefixID,value,linkHash);
         return oldValue;
     }
     /**
@@ -620,23 +657,51 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
     @Override
     protected Long firstKeyForSQL(String value) throws SQLException{
         checkValue(value);  // Check the value
-            // Prepare a statement to find the linkID of the given value in the 
-            // distinct links view
+            // Prepare a statement to find the linkIDs of the given value using 
+            // the link hash index
         try(PreparedStatement pstmt = getConnection().prepareStatement(
-                String.format("SELECT %s FROM %s WHERE %s = ?", 
-                        LINK_ID_COLUMN_NAME,
-                        DISTINCT_LINK_VIEW_NAME,
-                        LINK_URL_COLUMN_NAME))){
+                LINK_ID_FOR_HASH_QUERY)){
+                // Set the hash of the value to search for
+            pstmt.setLong(1, getLinkHash(value));
                 // Set the value to search for
-            setPreparedValue(pstmt,1,value);
+            setPreparedValue(pstmt,2,value);
                 // Query the database
             ResultSet rs = pstmt.executeQuery();
-                // If the query had any results
-            if (rs.next())
+                // If the query had any results (the first result will be the 
+            if (rs.next())  // lowest linkID)
                 return getKeyFromResults(rs);
         }
         return null;
     }
+    /**
+     * This returns a set containing all the linkIDs for the given link. This 
+     * uses the {@link LINK_HASH_INDEX_NAME link hash index} to find the 
+     * linkIDs, and as such the returned set is a snapshot of the linkIDs at 
+     * the time this was called.
+     * @param value The link to get the linkIDs for.
+     * @return A sorted set of the linkIDs for the link.
+     * @throws SQLException If a database error occurs.
+     */
+    protected NavigableSet<Long> getKeysForSQL(String value) throws SQLException{
+        checkValue(value);  // Check the value
+            // This will get the linkIDs for the value
+        NavigableSet<Long> keys = new TreeSet<>();
+            // Prepare a statement to find the linkIDs of the given value using 
+            // the link hash index
+        try(PreparedStatement pstmt = getConnection().prepareStatement(
+                LINK_ID_FOR_HASH_QUERY)){
+                // Set the hash of the value to search for
+            pstmt.setLong(1, getLinkHash(value));
+                // Set the value to search for
+            setPreparedValue(pstmt,2,value);
+                // Query the database
+            ResultSet rs = pstmt.executeQuery();
+                // While there are still rows in the results
+            while (rs.next())
+                keys.add(getKeyFromResults(rs));
+        }
+        return keys;
+    }
     /**
      * {@inheritDoc }
      */
@@ -647,12 +712,59 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
             inverseMap = new InverseMap();
         return inverseMap;
     }
+    /**
+     * This creates a {@code LinkIDIndex} containing the links in this map. 
+     * This reads the links from the {@link DISTINCT_LINK_VIEW_NAME distinct 
+     * links view} one row at a time, so that only the index itself is kept in 
+     * memory.
+     * @return The index of the links in this map.
+     * @throws SQLException If a database error occurs.
+     * @see #createLinkIDIndex() 
+     */
+    protected LinkIDIndex createLinkIDIndexSQL() throws SQLException{
+            // Create an index large enough to hold all the links
+        LinkIDIndex index = new LinkIDIndex(this, size());
+            // Prepare a statement to read the linkIDs and links from the 
+            // distinct links view
+        try(PreparedStatement pstmt = getConnection().prepareStatement(
+                String.format("SELECT %s, %s FROM %s",
+                        LINK_ID_COLUMN_NAME,
+                        LINK_URL_COLUMN_NAME,
+                        DISTINCT_LINK_VIEW_NAME))){
+                // Get the results of the query
+            ResultSet rs = pstmt.executeQuery();
+                // While there are still rows in the results
+            while(rs.next())
+                    // Add the current row to the index
+                index.index(rs.getString(LINK_URL_COLUMN_NAME),
+                        rs.getLong(LINK_ID_COLUMN_NAME));
+        }
+        return index;
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public LinkIDIndex createLinkIDIndex(){
+        try{
+            return createLinkIDIndexSQL();
+        } catch (SQLException ex) {
+            appendWarning(ex);
+            throw new UncheckedSQLException(ex);
+        }
+    }
     /**
      * This returns a {@code NavigableMap} containing all the links in the 
      * database that matches the given pattern. This is a helper function for 
      * the {@code getStartsWith}, {@code getEndsWith}, and {@code getContains} 
-     * methods.
+     * methods. If the {@link #LINK_SEARCH_TABLE_NAME link search table} can be 
+     * used and the text being searched for is long enough, then the search 
+     * will be limited to the links in the search table that contain the text. 
+     * Otherwise, every link in the {@link #FULL_LINK_VIEW_NAME full links view} 
+     * will be checked against the pattern.
      * @param pattern The pattern to use to filter the links.
+     * @param text The text being searched for, used to narrow down the search 
+     * using the link search table.
      * @return A {@code NavigableMap} with all the links matching the given 
      * pattern.
      * @throws UncheckedSQLException If a database error occurs.
@@ -661,27 +773,48 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
      * @see #getStartsWith(java.lang.String) 
      * @see #getEndsWith(java.lang.String) 
      * @see #getContains(java.lang.String) 
+     * @see LinkDatabaseConnection#isLinkSearchEnabled() 
      */
-    private NavigableMap<Long, String> getSearchMap(String pattern){
+    private NavigableMap<Long, String> getSearchMap(String pattern, String text){
             // Make sure the pattern is not null
         Objects.requireNonNull(pattern);
             // A TreeMap to get the results of the search
         TreeMap<Long, String> map = new TreeMap<>();
-            // Prepare a statement to search for links matching the pattern
-        try(PreparedStatement pstmt = getConnection().prepareStatement(String.format(
-                "SELECT %s, %s FROM %s WHERE "+TEXT_SEARCH_TEMPLATE, 
-                    LINK_ID_COLUMN_NAME,
-                    LINK_URL_COLUMN_NAME,
-                    FULL_LINK_VIEW_NAME,
-                    LINK_URL_COLUMN_NAME,
-                    "?"))){
-                // Set the pattern to use
-            pstmt.setString(1, pattern);
-                // Get the results of the query
-            ResultSet rs = pstmt.executeQuery();
-                // While there are still rows from the results
-            while(rs.next())
-                map.put(getKeyFromResults(rs), getValueFromResults(rs));
+        try{// Get whether the link search table should be used
+            boolean linkSearch = canUseLinkSearch(text) && 
+                    getConnection().isLinkSearchEnabled();
+                // Prepare a statement to search for links matching the pattern
+            try(PreparedStatement pstmt = getConnection().prepareStatement(
+                    (linkSearch) ? String.format(
+                        "SELECT rowid AS %s, %s FROM %s WHERE %s MATCH ? AND "+
+                                TEXT_SEARCH_TEMPLATE, 
+                            LINK_ID_COLUMN_NAME,
+                            LINK_URL_COLUMN_NAME,
+                            LINK_SEARCH_TABLE_NAME,
+                            LINK_SEARCH_TABLE_NAME,
+                            LINK_URL_COLUMN_NAME,
+                            "?") : 
+                    String.format("SELECT %s, %s FROM %s WHERE "+
+                                TEXT_SEARCH_TEMPLATE, 
+                            LINK_ID_COLUMN_NAME,
+                            LINK_URL_COLUMN_NAME,
+                            FULL_LINK_VIEW_NAME,
+                            LINK_URL_COLUMN_NAME,
+                            "?"))){
+                    // If the link search table is being used
+                if (linkSearch){
+                        // Set the text to match in the search table
+                    pstmt.setString(1, formatLinkSearchMatchPattern(text));
+                        // Set the pattern to use
+                    pstmt.setString(2, pattern);
+                } else  // Set the pattern to use
+                    pstmt.setString(1, pattern);
+                    // Get the results of the query
+                ResultSet rs = pstmt.executeQuery();
+                    // While there are still rows from the results
+                while(rs.next())
+                    map.put(getKeyFromResults(rs), getValueFromResults(rs));
+            }
         } catch (SQLException ex) {
             appendWarning(ex);
             throw new UncheckedSQLException(ex);
@@ -702,7 +835,7 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
             // the links that match the given prefix (offset by the given 
             // offset)
         NavigableMap<Long, String> map = getSearchMap("_".repeat(offset)+
-                formatSearchQueryPattern(prefix)+"%");
+                formatSearchQueryPattern(prefix)+"%", prefix);
             // Remove any values which don't start with the given prefix (the 
             // search was case insensitive, this makes it case sensitive)
         map.values().removeIf((String t) -> {
@@ -718,7 +851,7 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
             // Get a map containing the results of the database search for all 
             // the links that match the given suffix
         NavigableMap<Long, String> map = getSearchMap("%"+
-                formatSearchQueryPattern(suffix));
+                formatSearchQueryPattern(suffix), suffix);
             // Remove any values which don't start with the given prefix (the 
             // search was case insensitive, this makes it case sensitive)
         map.values().removeIf((String t) -> {
@@ -734,7 +867,7 @@ class LinkMapImpl extends AbstractQueryRowMap<Long,String> implements LinkMap {
             // Get a map containing the results of the database search for all 
             // the links that contain the given string
         NavigableMap<Long, String> map = getSearchMap("%"+
-                formatSearchQueryPattern(s)+"%");
+                formatSearchQueryPattern(s)+"%", s);
             // Remove any values which don't start with the given prefix (the 
             // search was case insensitive, this makes it case sensitive)
         map.values().removeIf((String t) -> {
@@ -5,9 +5,9 @@
 package manager.database;
 
 import java.util.*;
-import java.util.logging.Level;
 import manager.LinkManager;
 import manager.ProgressObserver;
+import manager.links.LinksListContentsSource;
 import manager.links.LinksListModel;
 import sql.UncheckedSQLException;
 import sql.util.SQLList;
@@ -204,23 +204,12 @@ public interface ListContents extends SQLList<String>{
         model.setModificationLimitEnabled(false);
             // The size for this list
         int size = size();
-            // Go through the links in this list
-        for (String temp : this){
-                // If the current link is null or blank
-            if (temp == null || temp.isBlank())
-                continue;   // Skip the link
-            try{
-                model.add(temp);        // Add the link to the model
-                if (observer != null)   // If an observer was provided
-                    observer.incrementValue();
-            } catch(IllegalArgumentException | IllegalStateException ex){ 
-                LinkManager.getLogger().log(Level.WARNING, 
-                        "Issue adding value to model", ex);
-            }
-        }   // If the model does not allow duplicates
-        if (!model.getAllowsDuplicates())
-                // Remove any duplicates from the model
-            model.removeDuplicates();
+            // Add the links in this list to the model in bulk. This will skip 
+            // any null or blank links, as well as any duplicates if the model 
+            // doesn't allow them
+        int added = model.loadContents(new ArrayList<>(this));
+        if (observer != null)   // If an observer was provided
+            observer.incrementValue(added);
             // Restore the model's modification limitations back to what it was 
         model.setModificationLimitEnabled(modLimit);    // set to before
             // Set whether the model is hidden
@@ -260,6 +249,94 @@ public interface ListContents extends SQLList<String>{
     public default LinksListModel toModel(){
         return toModel(null, null);
     }
+    /**
+     * This returns the links in this list between the given {@code fromIndex}, 
+     * inclusive, and {@code toIndex}, exclusive, as a list that is not backed 
+     * by the database. 
+     * @param fromIndex The index of the first link to get.
+     * @param toIndex The index after the last link to get.
+     * @return A list of the links in the given range.
+     * @throws IndexOutOfBoundsException If the range is out of bounds.
+     * @throws UncheckedSQLException Implementations may, but are not required 
+     * to, throw this if a database error occurs.
+     */
+    public default List<String> getLinks(int fromIndex, int toIndex){
+        return new ArrayList<>(subList(fromIndex, toIndex));
+    }
+    /**
+     * This returns whether this list contains any link more than once.
+     * @return Whether this list contains any duplicate links.
+     * @throws UncheckedSQLException Implementations may, but are not required 
+     * to, throw this if a database error occurs.
+     */
+    public default boolean containsDuplicates(){
+        return new HashSet<>(this).size() != size();
+    }
+    /**
+     * This returns a {@link LinksListModel#isVirtual() virtual} model for this 
+     * list, which reads its links from the given source as they are needed 
+     * instead of loading all of them into memory. The source is expected to 
+     * read the links from this list. If this list contains duplicate links 
+     * and does not allow duplicates, then this list will be {@link 
+     * #toModel(ProgressObserver) loaded into a model} normally, since the 
+     * duplicates need to be removed. 
+     * @param source The source for the model to read the links from.
+     * @param observer An observer to use to observe the progress of this 
+     * method, or null.
+     * @return The model for this list.
+     * @throws NullPointerException If the source is null.
+     * @throws UncheckedSQLException Implementations may, but are not required 
+     * to, throw this if a database error occurs.
+     * @see LinksListModel#setVirtualContents(int, LinksListContentsSource) 
+     */
+    public default LinksListModel toVirtualModel(LinksListContentsSource source, 
+            ProgressObserver observer){
+            // Check if the source is null
+        Objects.requireNonNull(source);
+            // If this list does not exist in the database
+        if (!exists())
+            throw new IllegalStateException("List does not exist (listID: "+
+                    getListID()+")");
+        LinkManager.getLogger().entering(this.getClass().getName(), 
+                "toVirtualModel",getListID());
+            // Get the flags for this list
+        int flags = getFlags();
+            // If this list does not allow duplicates but has duplicates anyway
+        if (!LinksListModel.getFlag(LinksListModel.ALLOW_DUPLICATES_FLAG, 
+                flags) && containsDuplicates()){
+            LinkManager.getLogger().exiting(this.getClass().getName(), 
+                    "toVirtualModel");
+            return toModel(observer);
+        }
+        LinksListModel model = new LinksListModel(getName(),getListID());
+            // Set the model's flags
+        model.setFlags(flags);
+            // Set the model's last modified time
+        model.setLastModified(getLastModified());
+            // Set the model's creation time
+        model.setCreationTime(getCreationTime());
+            // Set the model's size limit
+        model.setSizeLimit(getSizeLimit());
+            // Get whether the model's modification limitations are enabled
+        boolean modLimit = model.isModificationLimitEnabled();
+            // Disable the model's modification limitations
+        model.setModificationLimitEnabled(false);
+            // The size for this list
+        int size = size();
+            // Have the model read the links in this list from the source
+        model.setVirtualContents(size, source);
+        if (observer != null)   // If an observer was provided
+            observer.incrementValue(size);
+            // Restore the model's modification limitations back to what it was 
+        model.setModificationLimitEnabled(modLimit);    // set to before
+            // Set whether the model is hidden
+        model.setHidden(isHidden());
+            // The model is the same as this list
+        model.setEdited(false);
+        LinkManager.getLogger().exiting(this.getClass().getName(), 
+                "toVirtualModel");
+        return model;
+    }
     /**
      * Returns whether this list is outdated, based off the given model
      * @param model
@@ -35,6 +35,155 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             String.format("UPDATE %s SET %%s = ? WHERE %s = ?", 
                     LIST_TABLE_NAME,
                     LIST_ID_COLUMN_NAME);
+    /**
+     * This is the SQL query for getting the last modified time of a list with a given 
+     * listID.
+     */
+    private static final String GET_LIST_LAST_MODIFIED_QUERY = String.format(
+            GET_LIST_METADATA_QUERY_TEMPLATE, LIST_LAST_MODIFIED_COLUMN_NAME);
+    /**
+     * This is the SQL query for setting the last modified time of a list with a given 
+     * listID.
+     */
+    private static final String SET_LIST_LAST_MODIFIED_QUERY = String.format(
+            SET_LIST_METADATA_QUERY_TEMPLATE, LIST_LAST_MODIFIED_COLUMN_NAME);
+    /**
+     * This is the SQL query for getting the creation time of a list with a given 
+     * listID.
+     */
+    private static final String GET_LIST_CREATED_QUERY = String.format(
+            GET_LIST_METADATA_QUERY_TEMPLATE, LIST_CREATED_COLUMN_NAME);
+    /**
+     * This is the SQL query for setting the creation time of a list with a given 
+     * listID.
+     */
+    private static final String SET_LIST_CREATED_QUERY = String.format(
+            SET_LIST_METADATA_QUERY_TEMPLATE, LIST_CREATED_COLUMN_NAME);
+    /**
+     * This is the SQL query for getting the flags of a list with a given 
+     * listID.
+     */
+    private static final String GET_LIST_FLAGS_QUERY = String.format(
+            GET_LIST_METADATA_QUERY_TEMPLATE, LIST_FLAGS_COLUMN_NAME);
+    /**
+     * This is the SQL query for setting the flags of a list with a given 
+     * listID.
+     */
+    private static final String SET_LIST_FLAGS_QUERY = String.format(
+            SET_LIST_METADATA_QUERY_TEMPLATE, LIST_FLAGS_COLUMN_NAME);
+    /**
+     * This is the SQL query for getting the size limit of a list with a given 
+     * listID.
+     */
+    private static final String GET_LIST_SIZE_LIMIT_QUERY = String.format(
+            GET_LIST_METADATA_QUERY_TEMPLATE, LIST_SIZE_LIMIT_COLUMN_NAME);
+    /**
+     * This is the SQL query for setting the size limit of a list with a given 
+     * listID.
+     */
+    private static final String SET_LIST_SIZE_LIMIT_QUERY = String.format(
+            SET_LIST_METADATA_QUERY_TEMPLATE, LIST_SIZE_LIMIT_COLUMN_NAME);
+    /**
+     * This is the SQL query for getting the name, flags, last modified time, 
+     * creation time, and size limit of a list with a given listID.
+     */
+    private static final String GET_LIST_PROPERTIES_QUERY = String.format(
+            "SELECT %s, %s, %s, %s, %s FROM %s WHERE %s = ?", 
+                LIST_NAME_COLUMN_NAME,
+                LIST_FLAGS_COLUMN_NAME,
+                LIST_LAST_MODIFIED_COLUMN_NAME, 
+                LIST_CREATED_COLUMN_NAME,
+                LIST_SIZE_LIMIT_COLUMN_NAME,
+                LIST_TABLE_NAME,
+                LIST_ID_COLUMN_NAME);
+    /**
+     * This is a template for the SQL query for getting the links in a list 
+     * with a given listID, in order. The format argument is either an empty 
+     * string or {@code "DISTINCT "} to only get the distinct links.
+     */
+    private static final String GET_LIST_CONTENTS_QUERY_TEMPLATE = 
+            String.format("SELECT %%s%s FROM %s WHERE %s = ? ORDER BY %s", 
+                    LINK_URL_COLUMN_NAME,
+                    LIST_CONTENTS_VIEW_NAME,
+                    LIST_ID_COLUMN_NAME,
+                    LINK_INDEX_COLUMN_NAME);
+    /**
+     * This is the SQL query for getting the links in a list with a given 
+     * listID, in order.
+     */
+    private static final String GET_LIST_CONTENTS_QUERY = String.format(
+            GET_LIST_CONTENTS_QUERY_TEMPLATE, "");
+    /**
+     * This is the SQL query for getting the distinct links in a list with a 
+     * given listID, in order.
+     */
+    private static final String GET_DISTINCT_LIST_CONTENTS_QUERY = 
+            String.format(GET_LIST_CONTENTS_QUERY_TEMPLATE, "DISTINCT ");
+    /**
+     * This is the SQL query for getting the links in a range of a list with a 
+     * given listID, in order. The parameters for a prepared statement are as 
+     * follows: 
+     * <ol>
+     *  <li>(Integer) The listID of the list.</li>
+     *  <li>(Integer) The index of the first link to get, inclusive.</li>
+     *  <li>(Integer) The index of the last link to get, exclusive.</li>
+     * </ol>
+     */
+    private static final String GET_LIST_CONTENTS_RANGE_QUERY = String.format(
+            "SELECT %s FROM %s WHERE %s = ? AND %s >= ? AND %s < ? ORDER BY %s", 
+                    LINK_URL_COLUMN_NAME,
+                    LIST_CONTENTS_VIEW_NAME,
+                    LIST_ID_COLUMN_NAME,
+                    LINK_INDEX_COLUMN_NAME,
+                    LINK_INDEX_COLUMN_NAME,
+                    LINK_INDEX_COLUMN_NAME);
+    /**
+     * This is the SQL query for getting the index of the first occurrence of 
+     * a link in a list with a given listID. The parameters for a prepared 
+     * statement are as follows: 
+     * <ol>
+     *  <li>(Integer) The listID of the list.</li>
+     *  <li>(String) The link to search for.</li>
+     * </ol>
+     */
+    private static final String GET_LIST_LINK_INDEX_QUERY = String.format(
+            "SELECT MIN(%s) FROM %s WHERE %s = ? AND %s = ?", 
+                    LINK_INDEX_COLUMN_NAME,
+                    LIST_CONTENTS_VIEW_NAME,
+                    LIST_ID_COLUMN_NAME,
+                    LINK_URL_COLUMN_NAME);
+    /**
+     * This is the SQL query for getting whether a list with a given listID 
+     * contains any duplicate links.
+     */
+    private static final String LIST_CONTAINS_DUPLICATES_QUERY = String.format(
+            "SELECT COUNT(*) > COUNT(DISTINCT %s) FROM %s WHERE %s = ?", 
+                    LINK_ID_COLUMN_NAME,
+                    LIST_DATA_TABLE_NAME,
+                    LIST_ID_COLUMN_NAME);
+    /**
+     * This is the SQL query used to insert a link into a list at a given index 
+     * in the list data table. The parameters for a prepared statement are as 
+     * follows: 
+     * <ol>
+     *  <li>(Integer) The listID of the list to insert into.</li>
+     *  <li>(Integer) The index at which to insert the link.</li>
+     *  <li>(Long) The linkID of the link to insert.</li>
+     * </ol>
+     */
+    private static final String INSERT_LIST_DATA_QUERY = String.format(
+            "INSERT INTO %s(%s, %s, %s) VALUES (?, ?, ?)", 
+                    LIST_DATA_TABLE_NAME,
+                    LIST_ID_COLUMN_NAME,
+                    LINK_INDEX_COLUMN_NAME,
+                    LINK_ID_COLUMN_NAME);
+    /**
+     * This is the minimum size a model must be for {@link #updateContents 
+     * updateContents} to create a {@link LinkIDIndex} of the links in the 
+     * database when no map of links to linkIDs is provided. Smaller models 
+     * look up their links individually instead.
+     */
+    private static final int LINK_ID_INDEX_THRESHOLD = 1000;
     /**
      * The listID of the list
      */
@@ -132,8 +281,7 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             requireListExists();    // Requre the list to exist
                 // Prepare a statement to get the list's last modified time
             try (PreparedStatement pstmt = getConnection().prepareStatement(
-                    String.format(GET_LIST_METADATA_QUERY_TEMPLATE, 
-                            LIST_LAST_MODIFIED_COLUMN_NAME))) {
+                    GET_LIST_LAST_MODIFIED_QUERY)) {
                     // Set the listID of the list to get the last modified time 
                 pstmt.setInt(1, listID);    // for
                     // Query the database
@@ -157,8 +305,7 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             requireListExists();    // Requre the list to exist
                 // Prepare a statement to set the last modified time of the list
             try (PreparedStatement pstmt = getConnection().prepareStatement(
-                    String.format(SET_LIST_METADATA_QUERY_TEMPLATE, 
-                            LIST_LAST_MODIFIED_COLUMN_NAME))) {
+                    SET_LIST_LAST_MODIFIED_QUERY)) {
                     // Set the new last modified time
                 pstmt.setLong(1, lastMod);
                     // Set the listID of the list to alter
@@ -181,8 +328,7 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             requireListExists();    // Requre the list to exist
                 // Prepare a statement to get the list's creation time
             try (PreparedStatement pstmt = getConnection().prepareStatement(
-                    String.format(GET_LIST_METADATA_QUERY_TEMPLATE, 
-                            LIST_CREATED_COLUMN_NAME))) {
+                    GET_LIST_CREATED_QUERY)) {
                     // Set the listID of the list to use
                 pstmt.setInt(1, listID);
                     // Query the database
@@ -206,8 +352,7 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             requireListExists();    // Requre the list to exist
                 // Prepare a statement to set the list's creation time
             try (PreparedStatement pstmt = getConnection().prepareStatement(
-                    String.format(SET_LIST_METADATA_QUERY_TEMPLATE, 
-                            LIST_CREATED_COLUMN_NAME))) {
+                    SET_LIST_CREATED_QUERY)) {
                     // Set the new creation time for the list
                 pstmt.setLong(1, time);
                     // Set the listID of the list to alter
@@ -230,8 +375,7 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             requireListExists();    // Requre the list to exist
                 // Prepare a statement to get the list's flags
             try (PreparedStatement pstmt = getConnection().prepareStatement(
-                    String.format(GET_LIST_METADATA_QUERY_TEMPLATE, 
-                            LIST_FLAGS_COLUMN_NAME))) {
+                    GET_LIST_FLAGS_QUERY)) {
                     // Set the listID of the list to use
                 pstmt.setInt(1, listID);
                     // Query the database
@@ -255,8 +399,7 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             requireListExists();    // Requre the list to exist
                 // Prepare a statement to set the list's flags
             try (PreparedStatement pstmt = getConnection().prepareStatement(
-                    String.format(SET_LIST_METADATA_QUERY_TEMPLATE, 
-                            LIST_FLAGS_COLUMN_NAME))) {
+                    SET_LIST_FLAGS_QUERY)) {
                     // Set the list's new flags
                 pstmt.setInt(1, flags);
                     // Set the listID of the list to alter
@@ -279,8 +422,7 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             requireListExists();    // Requre the list to exist
                 // Prepare a statement to get the list's size limit
             try (PreparedStatement pstmt = getConnection().prepareStatement(
-                    String.format(GET_LIST_METADATA_QUERY_TEMPLATE, 
-                            LIST_SIZE_LIMIT_COLUMN_NAME))) {
+                    GET_LIST_SIZE_LIMIT_QUERY)) {
                     // Set the listID of the list to use
                 pstmt.setInt(1, listID);
                     // Query the database
@@ -309,8 +451,7 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             requireListExists();    // Requre the list to exist
                 // Prepare a statement to set the list's size limit
             try (PreparedStatement pstmt = getConnection().prepareStatement(
-                    String.format(SET_LIST_METADATA_QUERY_TEMPLATE, 
-                            LIST_SIZE_LIMIT_COLUMN_NAME))) {
+                    SET_LIST_SIZE_LIMIT_QUERY)) {
                     // Set the new size limit for the list
                 setParameter(pstmt,1,sizeLimit);
                     // Set the listID of the list to alter
@@ -444,15 +585,8 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             requireListExists();    // Require the list to exist
                 // Prepare a statement to get the properties of this list from 
                 // the database
-            try(PreparedStatement pstmt = getConnection().prepareStatement(String.format(
-                    "SELECT %s, %s, %s, %s, %s FROM %s WHERE %s = ?", 
-                        LIST_NAME_COLUMN_NAME,
-                        LIST_FLAGS_COLUMN_NAME,
-                        LIST_LAST_MODIFIED_COLUMN_NAME, 
-                        LIST_CREATED_COLUMN_NAME,
-                        LIST_SIZE_LIMIT_COLUMN_NAME,
-                        LIST_TABLE_NAME,
-                        LIST_ID_COLUMN_NAME))){
+            try(PreparedStatement pstmt = getConnection().prepareStatement(
+                    GET_LIST_PROPERTIES_QUERY)){
                     // Provide this list's listID
                 pstmt.setInt(1, listID);
                     // Get the results of the query
@@ -489,40 +623,28 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             int size = size();
                 // Prepare a statement to read the contents of this list from 
                 // the database
-            try(PreparedStatement pstmt = getConnection().prepareStatement(String.format(
-                    "SELECT %s%s FROM %s WHERE %s = ? ORDER BY %s", 
-                                // If the model does not allow duplicates, 
-                                // then only get the distict elements
-                            (model.getAllowsDuplicates())?"":"DISTINCT ",
-                            getDataElementColumn(),
-                            getDataViewName(),
-                            getTypeIDColumn(),
-                            getIndexColumn()))){
+            try(PreparedStatement pstmt = getConnection().prepareStatement(
+                        // If the model does not allow duplicates, then only 
+                        // get the distict elements
+                    (model.getAllowsDuplicates()) ? GET_LIST_CONTENTS_QUERY : 
+                            GET_DISTINCT_LIST_CONTENTS_QUERY)){
                     // Provide this list's listID
                 pstmt.setInt(1, listID);
                     // Get the results of the query
                 ResultSet rs = pstmt.executeQuery();
+                    // This will get the links in this list, in order
+                List<String> links = new ArrayList<>(size);
                     // While there are still results
-                while (rs.next()){
-                        // Get the link from the current row
-                    String temp = rs.getString(getDataElementColumn());
-                        // If the link is not null and not blank
-                    if (temp != null && !temp.isBlank()){
-                        try{
-                            model.add(temp);    // Add the link to the model
-                                // If an observer was provided
-                            if (observer != null)
-                                observer.incrementValue();
-                        } catch(IllegalArgumentException | IllegalStateException ex){ 
-                            LinkManager.getLogger().log(Level.WARNING, 
-                                    "Issue adding value to model", ex);
-                        }
-                    }
-                }
-            }   // If the model does not allow duplicates
-            if (!model.getAllowsDuplicates())
-                    // Remove any duplicates from the model
-                model.removeDuplicates();
+                while (rs.next())
+                    links.add(rs.getString(getDataElementColumn()));
+                    // Add the links to the model in bulk. This will skip any 
+                    // null or blank links, as well as any duplicates if the 
+                    // model doesn't allow them
+                int added = model.loadContents(links);
+                    // If an observer was provided
+                if (observer != null)
+                    observer.incrementValue(added);
+            }
                 // Restore the model's modification limitations back to what 
                 // it was set to before
             model.setModificationLimitEnabled(modLimit);
@@ -539,8 +661,237 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
                 "toModel");
         return model;
     }
+    /**
+     * {@inheritDoc } This reads only the links in the given range from the 
+     * database.
+     */
+    @Override
+    public List<String> getLinks(int fromIndex, int toIndex){
+        try{
+            requireListExists();    // Require the list to exist
+                // Check the range
+            Objects.checkFromToIndex(fromIndex, toIndex, size());
+            return getLinksUnchecked(getConnection(),listID,fromIndex,toIndex);
+        } catch (SQLException ex){
+            appendWarning(ex);
+            throw new UncheckedSQLException(ex);
+        }
+    }
+    /**
+     * This reads the links in the list with the given listID between the 
+     * given {@code fromIndex}, inclusive, and {@code toIndex}, exclusive, 
+     * using only a single query. This does not check whether the list exists 
+     * or whether the range is within the list, and as such will return fewer 
+     * links than requested if the range goes past the end of the list.
+     * @param conn The connection to the database.
+     * @param listID The listID of the list.
+     * @param fromIndex The index of the first link to get.
+     * @param toIndex The index after the last link to get.
+     * @return A list of the links in the given range.
+     * @throws SQLException If a database error occurs.
+     * @see #getLinks(int, int) 
+     */
+    static List<String> getLinksUnchecked(LinkDatabaseConnection conn, 
+            int listID, int fromIndex, int toIndex) throws SQLException{
+            // This will get the links in the range, in order
+        List<String> links = new ArrayList<>(Math.max(toIndex - fromIndex, 0));
+            // If the range is empty
+        if (fromIndex >= toIndex)
+            return links;
+            // Prepare a statement to read the range from the database
+        try(PreparedStatement pstmt = conn.prepareStatement(
+                GET_LIST_CONTENTS_RANGE_QUERY)){
+            pstmt.setInt(1, listID);
+            pstmt.setInt(2, fromIndex);
+            pstmt.setInt(3, toIndex);
+                // Get the results of the query
+            ResultSet rs = pstmt.executeQuery();
+                // While there are still results
+            while (rs.next())
+                links.add(rs.getString(LINK_URL_COLUMN_NAME));
+        }
+        return links;
+    }
+    /**
+     * This returns the index of the first occurrence of the given link in the 
+     * list with the given listID using only a single query. This does not 
+     * check whether the list exists.
+     * @param conn The connection to the database.
+     * @param listID The listID of the list.
+     * @param link The link to search for.
+     * @return The index of the first occurrence of the link, or -1 if the 
+     * list does not contain the link.
+     * @throws SQLException If a database error occurs.
+     */
+    static int indexOfLinkUnchecked(LinkDatabaseConnection conn, int listID, 
+            String link) throws SQLException{
+            // If the link is null
+        if (link == null)
+            return -1;
+            // Prepare a statement to get the index of the link
+        try(PreparedStatement pstmt = conn.prepareStatement(
+                GET_LIST_LINK_INDEX_QUERY)){
+            pstmt.setInt(1, listID);
+            pstmt.setString(2, link);
+                // Get the results of the query
+            ResultSet rs = pstmt.executeQuery();
+                // If there are any results
+            if (rs.next()){
+                int index = rs.getInt(1);
+                    // If the link was found in the list
+                if (!rs.wasNull())
+                    return index;
+            }
+        }
+        return -1;
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean containsDuplicates(){
+        try{
+            requireListExists();    // Require the list to exist
+                // Prepare a statement to compare the amount of links in this 
+                // list with the amount of distinct links in this list
+            try(PreparedStatement pstmt = getConnection().prepareStatement(
+                    LIST_CONTAINS_DUPLICATES_QUERY)){
+                pstmt.setInt(1, listID);
+                    // Get the results of the query
+                ResultSet rs = pstmt.executeQuery();
+                return rs.next() && rs.getBoolean(1);
+            }
+        } catch (SQLException ex){
+            appendWarning(ex);
+            throw new UncheckedSQLException(ex);
+        }
+    }
+    /**
+     * This returns the range of the given model that needs to be written to 
+     * this list in order to save it incrementally. This returns null if the 
+     * list must be rewritten in its entirety, such as if incremental saving is 
+     * disabled, if the edits made to the model are not known, or if the model 
+     * was not loaded from or last saved to this list as it currently is.
+     * @param model The model being saved to this list.
+     * @return The range of the model that was edited, or null.
+     * @throws SQLException If a database error occurs.
+     * @see LinksListModel#getEditedRange() 
+     * @see LinkDatabaseConnection#isIncrementalSaveEnabled() 
+     */
+    private LinksListModel.EditedRange getIncrementalRange(LinksListModel model)
+            throws SQLException{
+            // If incremental saving is disabled
+        if (!getConnection().isIncrementalSaveEnabled())
+            return null;
+            // Get the range of the model that was edited
+        LinksListModel.EditedRange range = model.getEditedRange();
+            // If the edited range is unknown or the model's last modified time 
+            // does not match this list's (this list has been changed since the 
+            // model was loaded or last saved)
+        if (range == null || model.getLastModified() != getLastModified())
+            return null;
+            // If the model's original size does not match this list's size
+        if (range.getOriginalSize() != sizeSQL())
+            return null;
+            // Get the start of the edited range
+        int start = range.getStartIndex();
+            // If the element before the edited range does not match this list
+        if (start > 0 && !Objects.equals(model.get(start-1), getSQL(start-1)))
+            return null;
+            // If the element after the edited range does not match this list
+        if (range.getUnchangedTailSize() > 0 && 
+                !Objects.equals(model.get(range.getEndIndex()), 
+                        getSQL(range.getOriginalEndIndex())))
+            return null;
+        return range;
+    }
+    /**
+     * This writes the elements in the given model between {@code startIndex}, 
+     * inclusive, and {@code endIndex}, exclusive, into this list at the same 
+     * indexes. This assumes that the indexes being written to are not 
+     * currently in use.
+     * @param model The model containing the elements to write.
+     * @param startIndex The index of the first element to write.
+     * @param endIndex The index after the last element to write.
+     * @param linkMap The link map for this database.
+     * @param linkIDMap A map used to get the linkIDs for the elements.
+     * @param observer The progress observer to update, or null.
+     * @throws SQLException If a database error occurs.
+     */
+    private void insertRows(LinksListModel model, int startIndex, int endIndex, 
+            LinkMap linkMap, Map<String,Long> linkIDMap, 
+            ProgressObserver observer) throws SQLException{
+            // Get the amount of rows to send to the database at a time
+        int batchSize = getConnection().getBatchSize();
+            // Get whether the rows should be written in batches
+        boolean batched = getConnection().isBatchWriteEnabled();
+            // This gets the amount of rows in the current batch
+        int pending = 0;
+            // Get the time at which we started writing the rows
+        long startTime = System.nanoTime();
+            // Prepare a statement to insert the entries in the list into 
+            // the list data table. This statement is reused for every row
+        try(PreparedStatement pstmt = getConnection().prepareStatement(
+                INSERT_LIST_DATA_QUERY)){
+                // Set the listID of the list to insert into
+            pstmt.setInt(1, listID);
+                // Go through the contents of the model in the range
+            for (int index = startIndex; index < endIndex; index++){
+                    // Get the value at the current index in the model
+                String value = model.get(index);
+                    // Get the linkID for the value
+                Long linkID = linkIDMap.get(value);
+                    // If the map did not provide a linkID for the value
+                if (linkID == null)
+                        // Get the linkID from the link map's inverse map
+                    linkID = linkMap.inverse().get(value);
+                    // If the linkID for the value is still null
+                if (linkID == null)
+                        // Try adding the value to the link map and get its 
+                    linkID = linkMap.addIfAbsent(value);    // new linkID
+                    // Set the index at which to insert at
+                pstmt.setInt(2, index);
+                    // Set the linkID of the link to insert
+                pstmt.setLong(3, linkID);
+                    // If the rows are being written in batches
+                if (batched){
+                        // Add the row to the current batch
+                    pstmt.addBatch();
+                    pending++;
+                        // If the current batch is full
+                    if (pending >= batchSize){
+                            // Send the batch to the database
+                        pstmt.executeBatch();
+                        pending = 0;
+                    }
+                } else  // Update the database
+                    pstmt.executeUpdate();
+                    // If an observer was provided
+                if (observer != null)
+                    observer.incrementValue();
+            }   // If there are any rows left in the current batch
+            if (pending > 0)
+                    // Send the remaining rows to the database
+                pstmt.executeBatch();
+        }   // Get how long it took to write the rows
+        long elapsed = System.nanoTime() - startTime;
+            // Add the rows written to the connection's row write counter
+        getConnection().addToRowWriteCounter(endIndex - startIndex, elapsed);
+        LinkManager.getLogger().log(Level.FINE, 
+                "Wrote {0} rows to list {1} in {2} ms (batch size: {3})", 
+                new Object[]{endIndex - startIndex, listID, elapsed / 1000000L, 
+                    (batched) ? batchSize : 1});
+    }
     /**
      * {@inheritDoc }
+     * 
+     * If the edits made to the model since it was loaded from or last saved 
+     * to this list are known, then only the range of this list that was edited 
+     * will be rewritten. The elements after the edited range are shifted into 
+     * place using set-based updates instead of being rewritten.
+     * 
+     * @see LinksListModel#getEditedRange() 
+     * @see LinkDatabaseConnection#isIncrementalSaveEnabled() 
      */
     @Override
     public void updateContents(LinksListModel model, 
@@ -556,47 +907,48 @@ class ListContentsImpl extends AbstractQueryList<String> implements ListContents
             getConnection().setAutoCommit(false);
                 // Get the link map for this database
             LinkMap linkMap = getConnection().getLinkMap();
+                // Get the range of the model that was edited, if this list can 
+            LinksListModel.EditedRange range = getIncrementalRange(model);
+                // be saved incrementally
+                // This gets the range of the model to write to this list
+            int startIndex = 0;
+            int endIndex = model.size();
+                // If only the edited range of the model needs to be written
+            if (range != null){
+                startIndex = range.getStartIndex();
+                endIndex = range.getEndIndex();
+                LinkManager.getLogger().log(Level.FINE, 
+                        "Saving list {0} incrementally (rows {1} to {2} of {3})", 
+                        new Object[]{listID, startIndex, endIndex, model.size()});
+            }   // Get the elements that will be written to this list
+            List<String> elements = model.subList(startIndex, endIndex);
                 // Add any links from the model that are not already in the link 
-            linkMap.addAllIfAbsent(model); // map.
+            linkMap.addAllIfAbsent(elements);   // map.
                 // If no map of links to linkIDs was provided
             if (linkIDMap == null)
-                    // Get the map from the linkMap
-                linkIDMap = linkMap.inverse();
-            clear();    // Clear this list
-                // Go through the contents of the model
-            for (int index = 0; index < model.size(); index++){
-                    // Get the value at the current index in the model
-                String value = model.get(index);
-                    // Get the linkID for the value
-                Long linkID = linkIDMap.get(value);
-                    // If the map did not provide a linkID for the value
-                if (linkID == null)
-                        // Get the linkID from the link map's inverse map
-                    linkID = linkMap.inverse().get(value);
-                    // If the linkID for the value is still null
-                if (linkID == null)
-                        // Try adding the value to the link map and get its new 
-                    linkID = linkMap.addIfAbsent(value);    // linkID
-                    // Prepare a statement to insert the entry in the list into 
-                    // the list data table
-                try(PreparedStatement pstmt = getConnection().prepareStatement(String.format(
-                        "INSERT INTO %s(%s, %s, %s) VALUES (?, ?, ?)", 
-                                LIST_DATA_TABLE_NAME,
-                                LIST_ID_COLUMN_NAME,
-                                LINK_INDEX_COLUMN_NAME,
-                                LINK_ID_COLUMN_NAME))){
-                        // Set the listID of the list to insert into
-                    pstmt.setInt(1, listID);
-                        // Set the index at which to insert at
-                    pstmt.setInt(2, index);
-                        // Set the linkID of the link to insert
-                    pstmt.setLong(3, linkID);
-                        // Update the database
-                    pstmt.executeUpdate();
-                }   // If an observer was provided
+                    // If the model is large enough that reading all the links 
+                    // at once would be faster than looking them up one at a 
+                    // time, create an index of the links. Otherwise, get the 
+                    // map from the linkMap
+                linkIDMap = (elements.size() >= LINK_ID_INDEX_THRESHOLD) ? 
+                        linkMap.createLinkIDIndex() : linkMap.inverse();
+                // If the list is being saved incrementally
+            if (range != null){
+                    // Remove the rows that were in the edited range
+                deleteIndexes(startIndex, range.getOriginalEndIndex());
+                    // Shift the unchanged rows after the edited range to where 
+                    // they are in the model, leaving room for the edited range
+                rotateIndexes(range.getOriginalEndIndex(), 
+                        endIndex - range.getOriginalEndIndex());
+                    // If an observer was provided
                 if (observer != null)
-                    observer.incrementValue();
-            }   // Commit the changes to the database
+                        // Count the rows that did not need to be written
+                    observer.incrementValue(model.size()-(endIndex-startIndex));
+            } else
+                clear();    // Clear this list
+                // Write the elements into this list
+            insertRows(model, startIndex, endIndex, linkMap, linkIDMap, observer);
+                // Commit the changes to the database
             getConnection().commit();       
                 // Restore the auto-commit back to what it was set to before
             getConnection().setAutoCommit(autoCommit);
@@ -6,6 +6,7 @@ package manager.database;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.*;
 import javax.swing.tree.*;
 import static manager.database.LinkDatabaseConnection.*;
 import sql.*;
@@ -59,6 +60,37 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
      */
     public PrefixMapImpl(LinkDatabaseConnection conn){
         super(conn);
+    }
+    /**
+     * This is an in-memory trie containing the prefixes in this map. This is 
+     * used to find the longest prefix for a String without querying the 
+     * database. This is initially null and is loaded the first time it is 
+     * needed, and is kept in step with the prefixes added to, changed in, and 
+     * removed from this map.
+     */
+    private PrefixTrie prefixTrie = null;
+    /**
+     * This returns the trie containing the prefixes in this map, loading it 
+     * from the database if it has not been loaded yet.
+     * @return The trie containing the prefixes in this map.
+     * @see #invalidatePrefixTrie() 
+     */
+    protected synchronized PrefixTrie getPrefixTrie(){
+            // If the trie has not been loaded yet
+        if (prefixTrie == null)
+                // Load the prefixes from the database into the trie
+            prefixTrie = new PrefixTrie(this);
+        return prefixTrie;
+    }
+    /**
+     * This discards the trie containing the prefixes in this map, so that it 
+     * will be reloaded from the database the next time it is needed. This is 
+     * used when the prefixes are changed in a way that cannot easily be 
+     * mirrored in the trie.
+     * @see #getPrefixTrie() 
+     */
+    protected synchronized void invalidatePrefixTrie(){
+        prefixTrie = null;
     }
         // TODO: Implement caching
 //    /**
@@ -70,6 +102,8 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
      */
     @Override
     public void syncCache(){
+            // Reload the prefix trie the next time it is needed
+        invalidatePrefixTrie();
         // TODO: Implement caching
 //            // Clear the cache
 //        cache.clear();
@@ -196,7 +230,9 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
             pstmt.setInt(1, prefixID);
                 // Update the database
             pstmt.executeUpdate();
-        }
+        }   // If the prefix trie has been loaded
+        if (prefixTrie != null)
+            prefixTrie.remove(prefixID, value);
         return value;
     }
     /**
@@ -225,6 +261,9 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
         if (prefixID == null)
                 // Get the first key for the newly added prefix
             prefixID = firstKeyFor(value);
+            // If the prefix trie has been loaded and the prefixID was found
+        if (prefixTrie != null && prefixID != null)
+            prefixTrie.put(prefixID, value);
         // TODO: Implement caching
 //        cache.put(prefixID, value);
         return prefixID;
@@ -299,6 +338,16 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
             pstmt.setInt(2, key);
                 // Update the database
             pstmt.executeUpdate();
+        }   // If the prefix was changed (the full URLs for the links using 
+        if (oldValue != null)   // it have changed)
+                // Update the hashes for the links using the prefix
+            getConnection().updateLinkHashes(key);
+            // If the prefix trie has been loaded
+        if (prefixTrie != null){
+                // If there was a value for the key already
+            if (oldValue != null)
+                prefixTrie.remove(key, oldValue);
+            prefixTrie.put(key, value);
         }   // TODO: Implement caching
 //        cache.put(key, value);
         return oldValue;
@@ -373,6 +422,8 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
             String value)throws SQLException{
             // Clear the cache
         clearCache();
+            // Reload the prefix trie the next time it is needed
+        invalidatePrefixTrie();
         super.removeSQL(fromStart, fromKey, fromInclusive, 
                 toEnd, toKey, toInclusive, useValue, value);
     }
@@ -380,6 +431,15 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
      * {@inheritDoc }
      */
     @Override
+    protected boolean removeUnusedRowsSQL() throws SQLException{
+            // Reload the prefix trie the next time it is needed
+        invalidatePrefixTrie();
+        return super.removeUnusedRowsSQL();
+    }
+    /**
+     * {@inheritDoc }
+     */
+    @Override
     public int getPrefixCount(int prefixID){
             // Prepare a statement to get the amount of links that use the 
             // given prefixID from the prefix count view
@@ -494,29 +554,12 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
     public Map.Entry<Integer, String> getLongestPrefixEntryFor(String value){
             // Check if the value is null
         Objects.requireNonNull(value);
-            // Create a prepared statement to search for any prefixes that may 
-            // match the given String
-        try(PreparedStatement pstmt = getConnection().prepareStatement(PREFIX_SEARCH_QUERY)){
-                // Set the String to match
-            pstmt.setString(1, value);
-                // Get the results of the query
-            ResultSet rs = pstmt.executeQuery();
-                // While there are still rows from the query
-            while(rs.next()){
-                    // Get the entry from the current row
-                Map.Entry<Integer, String> entry = getEntryFromResults(rs);
-                    // If the given String actually starts with the prefix from 
-                    // the current row (the initial search was case insensitive, 
-                    // this check makes the search case sensitive)
-                if (value.startsWith(entry.getValue()))
-                    return entry;
-            }
-        } catch(SQLException ex){
-            appendWarning(ex);
-            throw new UnsupportedOperationException(ex);
-        }   // Return the entry for the empty prefix, since that matches all 
-            // Strings
-        return getEmptyPrefixEntry();
+            // Get the entry for the longest matching prefix from the trie
+        Map.Entry<Integer, String> entry = getPrefixTrie().
+                getLongestPrefixEntryFor(value);
+            // If a matching prefix was found, return it. Otherwise, return the 
+            // entry for the empty prefix, since that matches all Strings
+        return (entry != null) ? entry : getEmptyPrefixEntry();
     }
     /**
      * {@inheritDoc }
@@ -664,6 +707,7 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
      * @param values
      * @return
      * @throws SQLException 
+     * @see PrefixRadixTree
      */
     protected NavigableMap<Integer,String> createPrefixesFromSQL(Collection<String> values)
             throws SQLException{
@@ -677,74 +721,132 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
         if (values.isEmpty())
                 // Return any prefixes that were added
             return getAddedPrefixes(existingIDs);
-            // Get a sorted set copy of the collection
-        TreeSet<String> sortedValues = new TreeSet<>(values);
             // Create a copy of the values already in this map
         Set<String> prefixes = new HashSet<>(values());
-            // Remove any values that are already prefixes in this map
-        sortedValues.removeAll(prefixes);
+            // Get whether the new prefixes should be found in parallel
+        boolean parallel = getConnection().isParallelPrefixGenerationEnabled();
+            // Get the values that are not already prefixes in this map, sorted 
+            // and without any duplicates
+        String[] sortedValues = getSortedValues(values, prefixes, parallel);
             // If there are no values remaining (all of them were in this map as 
-        if (sortedValues.isEmpty()) // prefixes)
+        if (sortedValues.length == 0)   // prefixes)
                 // Return any prefixes that were added
             return getAddedPrefixes(existingIDs);
             // Get the threshold for adding a prefix
         int threshold = getConnection().getPrefixThreshold();
-            // This gets a tree to use to get the prefixes that will be added to 
-            // this map
-        DefaultMutableTreeNode prefixRoot = createPrefixTree(sortedValues,
-                prefixes,threshold,false);
-            // Go through the nodes in the tree in preorder
-        Iterator<TreeNode> itr = prefixRoot.preorderEnumeration().asIterator();
-            // This maps promising nodes to the amount of links match the prefix 
-            // the node represents
-        Map<DefaultMutableTreeNode, Integer> prefixNodes =new LinkedHashMap<>();
-            // Go through the nodes in the tree
-        while (itr.hasNext()){
-                // Get the current node
-            TreeNode temp = itr.next();
-                // If the current node is a DefaultMutableTreeNode
-            if (temp instanceof DefaultMutableTreeNode){
-                    // Get the current node as a DefaultMutableTreeNode
-                DefaultMutableTreeNode node = (DefaultMutableTreeNode)temp;
-                    // Get how many children the current node has
-                int children = node.getChildCount();
-                    // If the current node is at level 2 or greater (skips the 
-                    // root and any prefixes already in this map) and the 
-                    // current node's child count passes the threshold
-                if (node.getLevel() > 1 && children >= threshold)
-                    prefixNodes.put(node, children);
-            }
-        }   // Remove any nodes that are null, have a null user object, or have 
-            // a prefix that is already in this map
-        prefixNodes.keySet().removeIf((DefaultMutableTreeNode t) -> 
-                t == null || t.getUserObject() == null || prefixes.contains(t.toString()));
-            // Go through the prefix nodes. This uses a copy of the key set 
-            // since the prefix nodes map will be altered by this loop, which 
-            // would create issues if we attempted to modify it while iterating 
-            // through it. Currently the nodes are mapped to their child count, 
-            // which may include nodes that represent other prefixes. We only 
-            // want the number of leaves a node has.
-        for (DefaultMutableTreeNode node : new LinkedHashSet<>(prefixNodes.keySet())){
-                // If the current node's parent is a DefaultMutableTreeNode
-            if (node.getParent() instanceof DefaultMutableTreeNode){
-                    // Get the current node's parent node
-                DefaultMutableTreeNode parent = (DefaultMutableTreeNode) 
-                        node.getParent();
-                    // If the prefix nodes map contains the parent node
-                if (prefixNodes.containsKey(parent))
-                        // This node does not count towards its parent's child 
-                        // count, as this is a prefix and not a link
-                    prefixNodes.put(parent, prefixNodes.get(parent)-1);
-            }
-        }   // Go through the entries in the promising nodes map
-        for (Map.Entry<DefaultMutableTreeNode, Integer> entry : prefixNodes.entrySet()){
-                // If the node still has enough links to hit the prefix 
-            if (entry.getValue() >= threshold)  // threshold
-                    // Add the node's prefix to this map
-                addIfAbsent(entry.getKey().toString());
-        }   // Return any prefixes that were added
+            // Get the separators to split the values at
+        String separators = getConnection().getPrefixSeparators();
+            // Get the existing prefixes, sorted from longest to shortest
+        List<String> prefixList = new ArrayList<>(prefixes);
+        prefixList.sort(LONG_LENGTH_COMPARATOR);
+            // Create a trie to get the longest existing prefix for each value. 
+            // This maps the prefixes to their index in the list of prefixes
+        PrefixTrie trie = new PrefixTrie();
+        for (int i = 0; i < prefixList.size(); i++)
+            trie.put(i, prefixList.get(i));
+            // Get the index of the empty prefix, which matches any value that 
+        int emptyIndex = prefixList.indexOf("");    // no other prefix matches
+            // This gets the index of the longest existing prefix for each value
+        int[] matches = new int[sortedValues.length];
+            // This gets the amount of values that match each existing prefix
+        int[] matchCounts = new int[prefixList.size()];
+            // Go through the values
+        for (int i = 0; i < sortedValues.length; i++){
+                // Get the longest existing prefix for the value
+            Map.Entry<Integer, String> entry = trie.getLongestPrefixEntryFor(
+                    sortedValues[i]);
+            matches[i] = (entry != null) ? entry.getKey() : emptyIndex;
+            matchCounts[matches[i]]++;
+        }   // This gets the values that match each existing prefix, in order
+        String[][] matchValues = new String[prefixList.size()][];
+            // This gets the amount of values added to each array so far
+        int[] added = new int[prefixList.size()];
+            // Go through the values
+        for (int i = 0; i < sortedValues.length; i++){
+            int m = matches[i];
+                // If the array for the value's prefix has not been created yet
+            if (matchValues[m] == null)
+                matchValues[m] = new String[matchCounts[m]];
+            matchValues[m][added[m]++] = sortedValues[i];
+        }   // This gets the trees for the values matching each existing prefix
+        PrefixRadixTree[] trees = new PrefixRadixTree[prefixList.size()];
+            // This gets the tasks to build the trees in parallel
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            // Go through the existing prefixes from longest to shortest
+        for (int i = 0; i < prefixList.size(); i++){
+                // If there are not enough values that match the current prefix 
+                // for them to contain any new prefixes
+            if (matchCounts[i] < threshold || matchValues[i] == null)
+                continue;
+            String[] arr = matchValues[i];
+            String prefix = prefixList.get(i);
+            int index = i;
+                // If the trees are being built in parallel
+            if (parallel)
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    trees[index] = new PrefixRadixTree(arr,prefix,separators,
+                            threshold,true);
+                }));
+            else
+                trees[i] = new PrefixRadixTree(arr,prefix,separators,threshold);
+                // The array of values is no longer needed
+            matchValues[i] = null;
+        }   // If there are trees to build in parallel
+        if (!tasks.isEmpty())
+                // Build the trees in parallel, with each tree splitting the 
+                // values at the first separator into branches built in 
+                // parallel as well
+            ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> 
+                    ForkJoinTask.invokeAll(tasks)));
+            // This gets the prefixes to add, in the order they will be added
+        List<String> newPrefixes = new ArrayList<>();
+            // Go through the trees in the order of the existing prefixes, so 
+            // that the new prefixes are in the same order regardless of 
+            // whether the trees were built in parallel
+        for (PrefixRadixTree tree : trees){
+            if (tree != null)
+                    // Get the prefixes for the values matching the prefix
+                tree.getPrefixes(newPrefixes, prefixes);
+        }   // Go through the prefixes to add
+        for (String prefix : newPrefixes)
+            addIfAbsent(prefix);
+            // Return any prefixes that were added
         return getAddedPrefixes(existingIDs);
     }
+    /**
+     * This returns a sorted array of the values in the given collection, with 
+     * any duplicates and any values in the given set of prefixes removed.
+     * @param values The collection of values.
+     * @param prefixes The set of prefixes already in this map.
+     * @param parallel Whether the values should be sorted in parallel.
+     * @return The sorted array of values that are not already prefixes.
+     * @see #createPrefixesFromSQL(Collection) 
+     */
+    private String[] getSortedValues(Collection<String> values, 
+            Set<String> prefixes, boolean parallel){
+            // Get the values as an array
+        String[] arr = values.toArray(new String[values.size()]);
+            // If the collection is not already a sorted set in natural order
+        if (!(values instanceof SortedSet) || 
+                ((SortedSet<String>)values).comparator() != null){
+            if (parallel)
+                Arrays.parallelSort(arr);
+            else
+                Arrays.sort(arr);
+        }
+            // This gets the amount of values to keep
+        int size = 0;
+            // Go through the values
+        for (int i = 0; i < arr.length; i++){
+                // If the value is a duplicate of the previous value or is 
+                // already a prefix
+            if ((size > 0 && arr[i].equals(arr[size-1])) || 
+                    prefixes.contains(arr[i]))
+                continue;
+            arr[size++] = arr[i];
+        }
+        return (size == arr.length) ? arr : Arrays.copyOf(arr, size);
+    }
     /**
      * {@inheritDoc }
      */
@@ -1013,24 +1115,23 @@ class PrefixMapImpl extends AbstractQueryRowMap<Integer,String> implements Prefi
             // the values
         LinkedHashMap<String, Map.Entry<Integer, String>> prefixes = 
                 new LinkedHashMap<>();
-            // Create a copy of this prefix map
-        TreeMap<Integer,String> prefixMap = new TreeMap<>(this);
+            // Get the prefix trie
+        PrefixTrie trie = getPrefixTrie();
+            // This gets the entry for the empty prefix, which is only retrieved 
+            // if a value does not match any prefix in the trie
+        Map.Entry<Integer, String> emptyPrefix = null;
             // Go through the values in the collection
         for (String value : values){
-                // This will get the longest matching prefix
-            Map.Entry<Integer, String> prefix = null;
-                // Go through the prefixes
-            for (Map.Entry<Integer, String> entry : prefixMap.entrySet()){
-                    // If the current value starts with the current prefix
-                if (value.startsWith(entry.getValue())){
-                        // If the longest prefix is null or shorter than the 
-                        // current prefix
-                    if (prefix == null || prefix.getValue().length() < entry.getValue().length())
-                        prefix = entry;
-                }
-            }   // If there was no longest matchin prefix
-            if (prefix == null)
-                prefix = getEmptyPrefixEntry();
+                // Get the longest matching prefix
+            Map.Entry<Integer, String> prefix = trie.getLongestPrefixEntryFor(
+                    Objects.requireNonNull(value));
+                // If there was no longest matching prefix
+            if (prefix == null){
+                    // If the empty prefix entry has not been retrieved yet
+                if (emptyPrefix == null)
+                    emptyPrefix = getEmptyPrefixEntry();
+                prefix = emptyPrefix;
+            }
             prefixes.put(value, prefix);
         }
         return prefixes;
@@ -0,0 +1,466 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.database;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * This is a compact radix tree over a sorted array of values that all start
+ * with the same prefix. This is used by the {@link PrefixMap prefix map} to
+ * find the prefixes to add when {@link PrefixMap#createPrefixesFrom(Collection)
+ * creating prefixes} from a collection of links. <p>
+ *
+ * Each node in this tree represents a prefix that is shared by a contiguous
+ * range of the sorted values, and is stored as the start and end of that
+ * range along with the length of the prefix, so the prefixes themselves are
+ * only created for the nodes that are returned. The nodes are stored in
+ * parallel arrays in preorder, with the root node representing the prefix
+ * that all the values start with. A value is split at the first separator
+ * character after its parent's prefix, and the values that share the same
+ * split form a child node if there are at least as many of them as the
+ * threshold. Values that do not contain a separator after the parent's
+ * prefix, as well as the values in groups that are too small, are leaves of
+ * the parent. If all the values in a node other than the root share a longer
+ * prefix, then the node's prefix is extended to the longest such prefix. <p>
+ *
+ * This produces the same prefixes as the tree returned by {@link
+ * PrefixMap#createPrefixTree(Collection) createPrefixTree}, without creating
+ * a node for each value or copying the values for each level of the tree. <p>
+ *
+ * If the tree is built in parallel, then the child nodes with at least {@link
+ * #PARALLEL_THRESHOLD} values are built as separate branches using the
+ * fork-join framework, which is only done if the tree is constructed from
+ * within a {@code ForkJoinPool}. Each branch is itself a PrefixRadixTree whose
+ * root takes the place of the child node, and the prefixes found by each
+ * branch are added in the same position in the preorder of the nodes as the
+ * child node. As such, the prefixes returned by a tree built in parallel are
+ * the same, and in the same order, as those returned by a tree built serially.
+ *
+ * @author Milo Steier
+ * @see PrefixMapImpl
+ * @see PrefixMap#createPrefixesFrom(Collection)
+ */
+class PrefixRadixTree {
+    /**
+     * This is the initial capacity for the arrays storing the nodes.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * This is the minimum amount of values a child node must have for it to
+     * be built as a separate branch when the tree is built in parallel.
+     * Smaller nodes are built on the same thread as their parent, since the
+     * cost of forking them would outweigh the work saved.
+     */
+    public static final int PARALLEL_THRESHOLD = 4096;
+    /**
+     * The sorted values in this tree.
+     */
+    private final String[] values;
+    /**
+     * The prefix that all the values start with, or null if this tree is a
+     * branch of another tree. The root of a branch is treated like any other
+     * node, and so may be returned as a prefix.
+     */
+    private final String rootPrefix;
+    /**
+     * The separator characters used to split the values into prefixes.
+     */
+    private final String separators;
+    /**
+     * This is a lookup table for the separator characters that are ASCII
+     * characters, which make up the vast majority of the characters in links.
+     */
+    private final boolean[] asciiSeparators;
+    /**
+     * The minimum amount of values that must share a prefix for it to get its
+     * own node.
+     */
+    private final int threshold;
+    /**
+     * Whether the large child nodes should be built as separate branches in
+     * parallel.
+     */
+    private final boolean parallel;
+    /**
+     * The index of the first value in the range for each node.
+     */
+    private int[] starts;
+    /**
+     * The index after the last value in the range for each node.
+     */
+    private int[] ends;
+    /**
+     * The length of the prefix for each node.
+     */
+    private int[] prefixLengths;
+    /**
+     * The index of the parent of each node, or -1 for the root.
+     */
+    private int[] parents;
+    /**
+     * The amount of children each node has, counting both the child nodes
+     * and the leaves.
+     */
+    private int[] childCounts;
+    /**
+     * The branches for the nodes that were built as separate trees, or null
+     * if no nodes were built as separate trees. This is null for the nodes
+     * that are part of this tree.
+     */
+    private PrefixRadixTree[] subtrees = null;
+    /**
+     * The amount of nodes in this tree.
+     */
+    private int nodeCount = 0;
+    /**
+     * This constructs a PrefixRadixTree for the given sorted values.
+     * @param values The values for the tree. These must be sorted, contain no
+     * duplicates, and all start with the prefix for the root node. This array
+     * is not copied.
+     * @param rootPrefix The prefix that all the values start with.
+     * @param separators The characters at which to split the values into
+     * prefixes.
+     * @param threshold The minimum amount of values that must share a prefix
+     * for it to get its own node.
+     */
+    PrefixRadixTree(String[] values, String rootPrefix, String separators,
+            int threshold){
+        this(values,rootPrefix,separators,threshold,false);
+    }
+    /**
+     * This constructs a PrefixRadixTree for the given sorted values, which 
+     * may be built in parallel. The tree will only be built in parallel if 
+     * this is called from within a {@code ForkJoinPool}.
+     * @param values The values for the tree. These must be sorted, contain no
+     * duplicates, and all start with the prefix for the root node. This array
+     * is not copied.
+     * @param rootPrefix The prefix that all the values start with.
+     * @param separators The characters at which to split the values into
+     * prefixes.
+     * @param threshold The minimum amount of values that must share a prefix
+     * for it to get its own node.
+     * @param parallel Whether the tree should be built in parallel.
+     * @see ForkJoinTask#inForkJoinPool() 
+     */
+    PrefixRadixTree(String[] values, String rootPrefix, String separators,
+            int threshold, boolean parallel){
+        this.values = Objects.requireNonNull(values);
+        this.rootPrefix = Objects.requireNonNull(rootPrefix);
+        this.separators = Objects.requireNonNull(separators);
+        this.threshold = threshold;
+        this.parallel = parallel;
+        asciiSeparators = new boolean[128];
+            // Go through the separator characters
+        for (int i = 0; i < separators.length(); i++){
+            char c = separators.charAt(i);
+                // If the current separator is an ASCII character
+            if (c < asciiSeparators.length)
+                asciiSeparators[c] = true;
+        }
+        initNodes();
+        build(addNode(-1, 0, values.length, rootPrefix.length()));
+    }
+    /**
+     * This constructs a PrefixRadixTree that is a branch of the given tree 
+     * for the given range of its values. The root of the branch is treated 
+     * like any other node.
+     * @param tree The tree this is a branch of.
+     * @param start The index of the first value for the branch.
+     * @param end The index after the last value for the branch.
+     * @param prefixLength The length of the prefix for the root of the branch.
+     */
+    private PrefixRadixTree(PrefixRadixTree tree, int start, int end, 
+            int prefixLength){
+        this.values = tree.values;
+        this.rootPrefix = null;
+        this.separators = tree.separators;
+        this.asciiSeparators = tree.asciiSeparators;
+        this.threshold = tree.threshold;
+        this.parallel = tree.parallel;
+        initNodes();
+        build(addNode(-1, start, end, prefixLength));
+    }
+    /**
+     * This creates the arrays used to store the nodes.
+     */
+    private void initNodes(){
+        starts = new int[INITIAL_CAPACITY];
+        ends = new int[INITIAL_CAPACITY];
+        prefixLengths = new int[INITIAL_CAPACITY];
+        parents = new int[INITIAL_CAPACITY];
+        childCounts = new int[INITIAL_CAPACITY];
+    }
+    /**
+     * This returns whether the given node is the root of this tree and is not
+     * the root of a branch, meaning that its prefix is never returned and 
+     * never extended.
+     * @param node The index of the node.
+     * @return Whether the node is the root of a tree that is not a branch.
+     */
+    private boolean isRoot(int node){
+        return node == 0 && rootPrefix != null;
+    }
+    /**
+     * This returns whether the given character is a separator character.
+     * @param c The character to check.
+     * @return Whether the character is a separator.
+     */
+    private boolean isSeparator(char c){
+        if (c < asciiSeparators.length)
+            return asciiSeparators[c];
+        return separators.indexOf(c) >= 0;
+    }
+    /**
+     * This returns the index of the first separator character in the given
+     * String, starting at the given index.
+     * @param str The String to search through.
+     * @param fromIndex The index to start at.
+     * @return The index of the first separator character, or -1 if there are
+     * none.
+     */
+    private int indexOfSeparator(String str, int fromIndex){
+        for (int i = fromIndex; i < str.length(); i++){
+            if (isSeparator(str.charAt(i)))
+                return i;
+        }
+        return -1;
+    }
+    /**
+     * This adds a node to the end of the arrays, growing them if need be.
+     * @param parent The index of the parent of the node, or -1 for the root.
+     * @param start The index of the first value for the node.
+     * @param end The index after the last value for the node.
+     * @param prefixLength The length of the prefix for the node.
+     * @return The index of the new node.
+     */
+    private int addNode(int parent, int start, int end, int prefixLength){
+            // If the arrays are full
+        if (nodeCount == starts.length){
+            int capacity = starts.length << 1;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            prefixLengths = Arrays.copyOf(prefixLengths, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            childCounts = Arrays.copyOf(childCounts, capacity);
+            if (subtrees != null)
+                subtrees = Arrays.copyOf(subtrees, capacity);
+        }
+        starts[nodeCount] = start;
+        ends[nodeCount] = end;
+        prefixLengths[nodeCount] = prefixLength;
+        parents[nodeCount] = parent;
+        childCounts[nodeCount] = 0;
+        return nodeCount++;
+    }
+    /**
+     * This splits the values for the given node into its leaves and the
+     * groups of values that share a longer prefix, and then adds the nodes
+     * for the groups that are large enough. Since the values are sorted, the
+     * values that share a prefix are always next to each other, so each group
+     * is a range of the values. If this tree is being built in parallel, then
+     * the groups with at least {@link #PARALLEL_THRESHOLD} values are built as
+     * separate branches in parallel.
+     * @param node The index of the node to build.
+     */
+    private void build(int node){
+        int start = starts[node];
+        int end = ends[node];
+            // This gets the start, end, and prefix length of each group, in
+        int[] groups = new int[12];     // that order
+        int groupCount;
+        int leafCount;
+        do{
+            int from = prefixLengths[node];
+            groupCount = 0;
+            leafCount = 0;
+                // Go through the values for the node
+            for (int i = start; i < end; i++){
+                String value = values[i];
+                    // Get the index of the next separator in the value
+                int sep = indexOfSeparator(value, from);
+                    // If there is no separator after the node's prefix
+                if (sep < 0){
+                    leafCount++;
+                    continue;
+                }
+                int length = sep + 1;
+                    // If this value is part of the current group
+                if (groupCount > 0 && groups[groupCount*3-1] == length &&
+                        groups[groupCount*3-2] == i && value.regionMatches(0,
+                                values[groups[groupCount*3-3]], 0, length)){
+                    groups[groupCount*3-2] = i+1;
+                    continue;
+                }   // If the array of groups is full
+                if (groupCount*3 == groups.length)
+                    groups = Arrays.copyOf(groups, groups.length << 1);
+                groups[groupCount*3] = i;
+                groups[groupCount*3+1] = i+1;
+                groups[groupCount*3+2] = length;
+                groupCount++;
+            }   // If this is not the root, there are no leaves, and all the
+                // values share the same longer prefix
+            if (!isRoot(node) && leafCount == 0 && groupCount == 1){
+                    // Extend the node's prefix and split the values again
+                prefixLengths[node] = groups[2];
+                groupCount = -1;
+            }
+        }
+        while (groupCount < 0);
+            // This gets the indexes of the groups that will become nodes
+        List<Integer> branches = new ArrayList<>();
+            // Go through the groups
+        for (int g = 0; g < groupCount; g++){
+            int size = groups[g*3+1] - groups[g*3];
+                // If the group is too small to be its own node
+            if (size < threshold)
+                leafCount += size;
+            else
+                branches.add(g);
+        }
+        childCounts[node] = leafCount + branches.size();
+            // Sort the child nodes so that longer prefixes come first. The
+            // groups are already in order for prefixes of the same length,
+        final int[] temp = groups;  // and this sort is stable
+        branches.sort((Integer o1, Integer o2) ->
+                Integer.compare(temp[o2*3+2], temp[o1*3+2]));
+            // This gets the tasks for the nodes to build as separate branches
+        List<ForkJoinTask<PrefixRadixTree>> tasks = new ArrayList<>();
+            // This gets the indexes of the nodes being built as branches
+        List<Integer> branchNodes = new ArrayList<>();
+            // Go through the groups that will become nodes
+        for (Integer g : branches){
+            int child = addNode(node, groups[g*3], groups[g*3+1], groups[g*3+2]);
+                // If this node should be built as a separate branch
+            if (parallel && groups[g*3+1]-groups[g*3] >= PARALLEL_THRESHOLD && 
+                    ForkJoinTask.inForkJoinPool()){
+                    // If this tree does not have any branches yet
+                if (subtrees == null)
+                    subtrees = new PrefixRadixTree[starts.length];
+                int from = starts[child];
+                int to = ends[child];
+                int prefixLength = prefixLengths[child];
+                tasks.add(ForkJoinTask.adapt(() -> new PrefixRadixTree(this, 
+                        from, to, prefixLength)));
+                branchNodes.add(child);
+            } else
+                build(child);
+        }   // If there are any branches to build
+        if (!tasks.isEmpty()){
+            ForkJoinTask.invokeAll(tasks);
+                // Go through the nodes that were built as branches
+            for (int t = 0; t < tasks.size(); t++){
+                int child = branchNodes.get(t);
+                PrefixRadixTree branch = tasks.get(t).join();
+                subtrees[child] = branch;
+                    // The root of the branch may have extended its prefix
+                prefixLengths[child] = branch.prefixLengths[0];
+                childCounts[child] = branch.childCounts[0];
+            }
+        }
+    }
+    /**
+     * This returns the amount of nodes in this tree.
+     * @return The amount of nodes.
+     */
+    public int getNodeCount(){
+        return nodeCount;
+    }
+    /**
+     * This returns the prefix for the given node.
+     * @param node The index of the node.
+     * @return The prefix for the node.
+     */
+    public String getPrefix(int node){
+        Objects.checkIndex(node, nodeCount);
+            // If this is the root node
+        if (isRoot(node))
+            return rootPrefix;
+        return values[starts[node]].substring(0, prefixLengths[node]);
+    }
+    /**
+     * This returns the index of the parent of the given node.
+     * @param node The index of the node.
+     * @return The index of the parent, or -1 if the node is the root.
+     */
+    public int getParent(int node){
+        Objects.checkIndex(node, nodeCount);
+        return parents[node];
+    }
+    /**
+     * This returns the amount of values that start with the prefix for the
+     * given node.
+     * @param node The index of the node.
+     * @return The amount of values for the node.
+     */
+    public int getValueCount(int node){
+        Objects.checkIndex(node, nodeCount);
+        return ends[node] - starts[node];
+    }
+    /**
+     * This returns the amount of children the given node has, counting both
+     * the child nodes and the leaves.
+     * @param node The index of the node.
+     * @return The amount of children for the node.
+     */
+    public int getChildCount(int node){
+        Objects.checkIndex(node, nodeCount);
+        return childCounts[node];
+    }
+    /**
+     * This adds the prefixes that should be added to the prefix map to the
+     * given list, in the order they should be added. A node's prefix is added
+     * if the node is not the root of a tree that is not a branch, its prefix is not in the given set of
+     * existing prefixes, and it still has at least as many children as the
+     * threshold when its children that are also being added are not counted.
+     * If the threshold is less than 1, then every leaf is treated as a prefix
+     * as well.
+     * @param prefixes The list to add the prefixes to.
+     * @param existingPrefixes The set of prefixes already in the prefix map.
+     * @return The given list.
+     */
+    public List<String> getPrefixes(List<String> prefixes,
+            Set<String> existingPrefixes){
+            // This gets whether each node is a candidate for a prefix
+        boolean[] candidates = new boolean[nodeCount];
+            // This gets the amount of children of each node that are
+        int[] candidateChildren = new int[nodeCount];   // candidates
+            // Go through the nodes backwards, so that every node's children
+            // are checked before the node itself
+        for (int node = nodeCount-1; node >= 0; node--){
+                // If the node is the root, does not have enough children, or 
+                // its prefix is already in the map
+            if (isRoot(node) || childCounts[node] < threshold ||
+                    existingPrefixes.contains(getPrefix(node)))
+                continue;
+            candidates[node] = true;
+                // If the node has a parent in this tree
+            if (parents[node] >= 0)
+                candidateChildren[parents[node]]++;
+        }   // Go through the nodes in preorder
+        for (int node = 0; node < nodeCount; node++){
+                // If the node was built as a separate branch
+            if (subtrees != null && subtrees[node] != null){
+                    // The branch adds the prefixes for its nodes in preorder
+                subtrees[node].getPrefixes(prefixes, existingPrefixes);
+                continue;
+            }   // If the node is a candidate and still has enough links
+                // after removing the children that will be prefixes
+            if (candidates[node] &&
+                    childCounts[node]-candidateChildren[node] >= threshold)
+                prefixes.add(getPrefix(node));
+                // If the leaves should be treated as prefixes too
+            if (threshold < 1){
+                    // Go through the values for the node
+                for (int i = starts[node]; i < ends[node]; i++){
+                        // If this value is a leaf of this node
+                    if (indexOfSeparator(values[i], prefixLengths[node]) < 0)
+                        prefixes.add(values[i]);
+                }
+            }
+        }
+        return prefixes;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.database;
+
+import java.util.*;
+
+/**
+ * This is an in-memory trie that stores the prefixes in a {@link PrefixMap}
+ * along with their prefixIDs. This is used by the prefix map to find the
+ * longest prefix for a String in a single pass over the String, without having
+ * to query the database. Matching is case sensitive.
+ * @author Milo Steier
+ * @see PrefixMapImpl
+ */
+class PrefixTrie {
+    /**
+     * This is the root node of the trie, which represents the empty prefix.
+     */
+    private final Node root = new Node();
+    /**
+     * This is the number of prefixes stored in this trie.
+     */
+    private int size = 0;
+    /**
+     * This constructs an empty PrefixTrie.
+     */
+    PrefixTrie(){ }
+    /**
+     * This constructs a PrefixTrie containing the prefixes in the given map.
+     * @param prefixes The map mapping prefixIDs to prefixes (cannot be null).
+     */
+    PrefixTrie(Map<Integer, String> prefixes){
+            // Go through the entries in the given map
+        for (Map.Entry<Integer, String> entry : prefixes.entrySet())
+            put(entry.getKey(), entry.getValue());
+    }
+    /**
+     * This returns the number of prefixes stored in this trie.
+     * @return The number of prefixes in this trie.
+     */
+    public synchronized int size(){
+        return size;
+    }
+    /**
+     * This returns whether this trie contains no prefixes.
+     * @return Whether this trie is empty.
+     */
+    public synchronized boolean isEmpty(){
+        return size == 0;
+    }
+    /**
+     * This adds the given prefix to this trie with the given prefixID. If the
+     * prefix is already in this trie, then the prefixID stored for it will only
+     * be replaced if the given prefixID is lower, so that duplicate prefixes
+     * resolve to the first prefixID for the prefix.
+     * @param prefixID The prefixID for the prefix.
+     * @param prefix The prefix to add.
+     */
+    public synchronized void put(int prefixID, String prefix){
+            // Get the node for the prefix, creating it if need be
+        Node node = getNode(prefix, true);
+            // If the node does not have a prefix stored in it yet
+        if (node.entry == null)
+            size++;
+            // If the node already has a lower prefixID for the prefix
+        else if (node.entry.getKey() <= prefixID)
+            return;
+        node.entry = new AbstractMap.SimpleImmutableEntry<>(prefixID, prefix);
+    }
+    /**
+     * This removes the given prefix from this trie if it is mapped to the
+     * given prefixID.
+     * @param prefixID The prefixID for the prefix.
+     * @param prefix The prefix to remove.
+     * @return Whether the prefix was removed.
+     */
+    public synchronized boolean remove(int prefixID, String prefix){
+            // Get the node for the prefix, if there is one
+        Node node = getNode(prefix, false);
+            // If there is no node for the prefix or the prefix in the node is
+            // for a different prefixID
+        if (node == null || node.entry == null ||
+                node.entry.getKey() != prefixID)
+            return false;
+        node.entry = null;
+        size--;
+            // Prune the branch for the prefix if it is no longer needed
+        prune(prefix);
+        return true;
+    }
+    /**
+     * This removes all the prefixes from this trie.
+     */
+    public synchronized void clear(){
+        root.entry = null;
+        root.keys = Node.EMPTY_KEYS;
+        root.children = Node.EMPTY_CHILDREN;
+        size = 0;
+    }
+    /**
+     * This returns the entry for the longest prefix in this trie that the
+     * given String starts with. This will return null if no prefix in this
+     * trie matches the given String, which can only happen if this trie does
+     * not contain the empty prefix.
+     * @param value The String to get the longest prefix for.
+     * @return The entry for the longest matching prefix, or null if none is
+     * found.
+     */
+    public synchronized Map.Entry<Integer, String> getLongestPrefixEntryFor(
+            String value){
+            // Start at the root
+        Node node = root;
+            // This will get the longest matching entry found so far
+        Map.Entry<Integer, String> longest = root.entry;
+            // Go through the characters in the String while there are nodes to
+        for (int i = 0; i < value.length() && node != null; i++){ // go through
+                // Get the child for the current character
+            node = node.getChild(value.charAt(i));
+                // If there is a prefix that ends at this node
+            if (node != null && node.entry != null)
+                longest = node.entry;
+        }
+        return longest;
+    }
+    /**
+     * This returns the node for the given prefix, optionally creating any
+     * missing nodes along the way.
+     * @param prefix The prefix to get the node for.
+     * @param create Whether missing nodes should be created.
+     * @return The node for the prefix, or null if there is no node for the
+     * prefix and {@code create} is false.
+     */
+    private Node getNode(String prefix, boolean create){
+            // Start at the root
+        Node node = root;
+            // Go through the characters in the prefix
+        for (int i = 0; i < prefix.length() && node != null; i++){
+            char c = prefix.charAt(i);
+                // Get the child for the current character
+            Node child = node.getChild(c);
+                // If there is no child for the character and it should be made
+            if (child == null && create)
+                child = node.addChild(c);
+            node = child;
+        }
+        return node;
+    }
+    /**
+     * This removes any nodes along the branch for the given prefix that no
+     * longer lead to a prefix.
+     * @param prefix The prefix that was removed.
+     */
+    private void prune(String prefix){
+            // This will get the nodes along the path to the prefix
+        Node[] path = new Node[prefix.length()+1];
+        path[0] = root;
+            // Go through the characters in the prefix
+        for (int i = 0; i < prefix.length(); i++)
+            path[i+1] = path[i].getChild(prefix.charAt(i));
+            // Go backwards through the nodes in the path, stopping at the
+            // first node that is still needed
+        for (int i = prefix.length(); i > 0; i--){
+            Node node = path[i];
+                // If this node still stores a prefix or has children
+            if (node.entry != null || node.keys.length > 0)
+                return;
+            path[i-1].removeChild(prefix.charAt(i-1));
+        }
+    }
+    /**
+     * This is a node in the trie. The children of a node are stored in a
+     * sorted array of characters with a parallel array of child nodes, which
+     * keeps the nodes compact since most nodes only have a few children.
+     */
+    private static class Node{
+        /**
+         * An empty array of keys shared by nodes that have no children.
+         */
+        private static final char[] EMPTY_KEYS = new char[0];
+        /**
+         * An empty array of children shared by nodes that have no children.
+         */
+        private static final Node[] EMPTY_CHILDREN = new Node[0];
+        /**
+         * The sorted characters that lead to this node's children.
+         */
+        char[] keys = EMPTY_KEYS;
+        /**
+         * The children of this node, in the same order as the keys.
+         */
+        Node[] children = EMPTY_CHILDREN;
+        /**
+         * The prefixID and prefix for the prefix that ends at this node, or
+         * null if no prefix ends at this node.
+         */
+        Map.Entry<Integer, String> entry = null;
+        /**
+         * This returns the child for the given character.
+         * @param c The character for the child.
+         * @return The child node, or null if there is none.
+         */
+        Node getChild(char c){
+            int index = Arrays.binarySearch(keys, c);
+            return (index >= 0) ? children[index] : null;
+        }
+        /**
+         * This adds a child for the given character. This assumes there is no
+         * child for the character already.
+         * @param c The character for the child.
+         * @return The newly created child.
+         */
+        Node addChild(char c){
+                // Get where the child should be inserted
+            int index = -(Arrays.binarySearch(keys, c)+1);
+            char[] newKeys = new char[keys.length+1];
+            Node[] newChildren = new Node[children.length+1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index+1, keys.length-index);
+            System.arraycopy(children, index, newChildren, index+1,
+                    children.length-index);
+            Node child = new Node();
+            newKeys[index] = c;
+            newChildren[index] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+        /**
+         * This removes the child for the given character, if there is one.
+         * @param c The character for the child.
+         */
+        void removeChild(char c){
+            int index = Arrays.binarySearch(keys, c);
+                // If there is no child for the character
+            if (index < 0)
+                return;
+                // If this is the only child
+            if (keys.length == 1){
+                keys = EMPTY_KEYS;
+                children = EMPTY_CHILDREN;
+                return;
+            }
+            char[] newKeys = new char[keys.length-1];
+            Node[] newChildren = new Node[children.length-1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index+1, newKeys, index, newKeys.length-index);
+            System.arraycopy(children, index+1, newChildren, index,
+                    newChildren.length-index);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+}
@@ -0,0 +1,957 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.database;
+
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Level;
+import manager.LinkManager;
+
+/**
+ * This is a least recently used cache of prepared statements for a single
+ * connection, keyed by the SQL text of the statements. Statements handed out
+ * by this cache are wrapped so that closing them returns the underlying
+ * statement to the cache instead of closing it, allowing the next request for
+ * the same SQL to skip preparing the statement again. When a statement is
+ * returned to the cache, any result sets it returned are closed and its
+ * parameters and batch are cleared. <p>
+ *
+ * Each statement in the cache is only ever handed out to one caller at a
+ * time. If a statement for the same SQL is requested while the cached
+ * statement is in use, then a new statement is prepared for it, and whichever
+ * of the two is returned last is closed if the other was already returned.
+ * Statements whose settings have been changed (such as the maximum number of
+ * rows or the query timeout) are closed instead of being returned to the
+ * cache. When the cache is full, the statement that was least recently used
+ * is closed to make room. <p>
+ *
+ * This cache is owned by the connection that prepared the statements, and
+ * should be closed before the connection is closed.
+ *
+ * @author Milo Steier
+ * @see LinkDatabaseConnection#prepareStatement(String)
+ */
+class PreparedStatementCache implements AutoCloseable{
+    /**
+     * This maps the SQL text of the statements that are not in use to the
+     * statements. This is in access order, so that the least recently used
+     * statement is first.
+     */
+    private final LinkedHashMap<String, PreparedStatement> idle =
+            new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * The maximum number of statements to keep in the cache.
+     */
+    private int maximumSize;
+    /**
+     * Whether this cache has been closed.
+     */
+    private boolean closed = false;
+    /**
+     * The number of times a statement was found in the cache.
+     */
+    private long hitCount = 0;
+    /**
+     * The number of times a statement was not found in the cache.
+     */
+    private long missCount = 0;
+    /**
+     * This constructs a PreparedStatementCache that will hold at most the
+     * given number of statements.
+     * @param maximumSize The maximum number of statements to cache. If this
+     * is zero, then statements will not be cached.
+     * @throws IllegalArgumentException If the maximum size is negative.
+     */
+    PreparedStatementCache(int maximumSize){
+        setMaximumSize(maximumSize);
+    }
+    /**
+     * This returns the maximum number of statements kept in this cache.
+     * @return The maximum number of statements to cache.
+     */
+    public synchronized int getMaximumSize(){
+        return maximumSize;
+    }
+    /**
+     * This sets the maximum number of statements kept in this cache. If there
+     * are more statements in the cache than the new maximum, then the least
+     * recently used statements are closed.
+     * @param maximumSize The maximum number of statements to cache. If this
+     * is zero, then statements will not be cached.
+     * @throws IllegalArgumentException If the maximum size is negative.
+     */
+    public synchronized void setMaximumSize(int maximumSize){
+        if (maximumSize < 0)
+            throw new IllegalArgumentException("Statement cache size cannot "
+                    + "be negative ("+maximumSize+")");
+        this.maximumSize = maximumSize;
+        trimToSize();
+    }
+    /**
+     * This returns the number of statements currently in this cache that are
+     * not in use.
+     * @return The number of idle statements.
+     */
+    public synchronized int size(){
+        return idle.size();
+    }
+    /**
+     * This returns the number of times a requested statement was found in
+     * this cache.
+     * @return The number of cache hits.
+     */
+    public synchronized long getHitCount(){
+        return hitCount;
+    }
+    /**
+     * This returns the number of times a requested statement was not in this
+     * cache and had to be prepared.
+     * @return The number of cache misses.
+     */
+    public synchronized long getMissCount(){
+        return missCount;
+    }
+    /**
+     * This returns whether this cache has been closed.
+     * @return Whether this cache is closed.
+     */
+    public synchronized boolean isClosed(){
+        return closed;
+    }
+    /**
+     * This removes and returns the idle statement for the given SQL, if there
+     * is one. The returned statement should be passed to {@link #wrap wrap}
+     * before it is handed out.
+     * @param sql The SQL text of the statement.
+     * @return The cached statement for the SQL, or null if there is no idle
+     * statement for the SQL.
+     * @throws SQLException If the cached statement could not be checked.
+     */
+    synchronized PreparedStatement take(String sql) throws SQLException{
+        PreparedStatement pstmt = idle.remove(sql);
+            // If there is a statement for the SQL and it is still open
+        if (pstmt != null && !pstmt.isClosed()){
+            hitCount++;
+            return pstmt;
+        }
+        missCount++;
+        return null;
+    }
+    /**
+     * This wraps the given statement for the given SQL so that closing the
+     * returned statement returns the given statement to this cache.
+     * @param sql The SQL text of the statement.
+     * @param pstmt The statement to wrap.
+     * @return The wrapped statement.
+     */
+    PreparedStatement wrap(String sql, PreparedStatement pstmt){
+        return new CachedPreparedStatement(sql, pstmt);
+    }
+    /**
+     * This attempts to return the given statement to this cache. This will
+     * fail if this cache is closed, if statements are not being cached, or if
+     * there is already an idle statement for the SQL.
+     * @param sql The SQL text of the statement.
+     * @param pstmt The statement to return to the cache.
+     * @return Whether the statement was added to the cache.
+     */
+    private synchronized boolean offer(String sql, PreparedStatement pstmt){
+            // If this is closed, is not caching statements, or already has a
+            // statement for the SQL
+        if (closed || maximumSize <= 0 || idle.containsKey(sql))
+            return false;
+        idle.put(sql, pstmt);
+        trimToSize();
+        return true;
+    }
+    /**
+     * This closes the least recently used statements until this cache is
+     * within its maximum size.
+     */
+    private void trimToSize(){
+            // Get an iterator to go through the statements, starting with the
+        Iterator<PreparedStatement> itr = idle.values().iterator();  // eldest
+        while (idle.size() > maximumSize && itr.hasNext()){
+            PreparedStatement pstmt = itr.next();
+            itr.remove();
+            closeQuietly(pstmt);
+        }
+    }
+    /**
+     * This closes the given statement, logging any error instead of throwing
+     * it.
+     * @param pstmt The statement to close.
+     */
+    private static void closeQuietly(PreparedStatement pstmt){
+        try{
+            pstmt.close();
+        } catch (SQLException ex){
+            LinkManager.getLogger().log(Level.WARNING,
+                    "Failed to close cached statement", ex);
+        }
+    }
+    /**
+     * This closes all the idle statements in this cache. Statements that are
+     * currently in use will be returned to the cache when they are closed.
+     * @throws SQLException If any of the statements failed to close.
+     */
+    public synchronized void clear() throws SQLException{
+        SQLException exc = null;
+            // Go through the idle statements
+        for (PreparedStatement pstmt : idle.values()){
+            try{
+                pstmt.close();
+            } catch (SQLException ex){
+                if (exc == null)
+                    exc = ex;
+                else
+                    exc.setNextException(ex);
+            }
+        }
+        idle.clear();
+        if (exc != null)
+            throw exc;
+    }
+    /**
+     * This closes this cache along with all the idle statements in it. Any
+     * statements that are in use when this is closed will be closed when they
+     * are returned instead of being added back to the cache.
+     * @throws SQLException If any of the statements failed to close.
+     */
+    @Override
+    public synchronized void close() throws SQLException{
+        closed = true;
+        clear();
+    }
+    /**
+     * This is a statement handed out by this cache. This forwards the calls to 
+     * the underlying statement, keeps track of the result sets returned by it, 
+     * and returns the underlying statement to the cache when it is closed.
+     */
+    private class CachedPreparedStatement implements PreparedStatement{
+        /**
+         * The SQL text of the statement.
+         */
+        private final String sql;
+        /**
+         * The underlying statement.
+         */
+        private final PreparedStatement pstmt;
+        /**
+         * The result sets returned by the statement since it was handed out.
+         */
+        private final List<ResultSet> results = new ArrayList<>(1);
+        /**
+         * Whether the statement has been closed by the caller.
+         */
+        private boolean closed = false;
+        /**
+         * Whether the statement produced a result set that the caller has not
+         * requested yet.
+         */
+        private boolean pendingResults = false;
+        /**
+         * Whether the settings of the statement have been changed or the 
+         * underlying statement has been exposed, and so the statement should 
+         * not be returned to the cache.
+         */
+        private boolean modified = false;
+        /**
+         * This constructs a CachedPreparedStatement for the given statement.
+         * @param sql The SQL text of the statement.
+         * @param pstmt The underlying statement.
+         */
+        CachedPreparedStatement(String sql, PreparedStatement pstmt){
+            this.sql = sql;
+            this.pstmt = pstmt;
+        }
+        /**
+         * This throws an SQLException if this statement has been closed.
+         * @throws SQLException If this statement has been closed.
+         */
+        private void checkOpen() throws SQLException{
+            if (closed)
+                throw new SQLException("Statement is closed");
+        }
+        /**
+         * This records the given result set returned by the statement so that 
+         * it can be closed when the statement is returned to the cache.
+         * @param rs The result set returned by the statement, or null.
+         * @return The given result set.
+         */
+        private ResultSet addResults(ResultSet rs){
+            if (rs != null)
+                results.add(rs);
+            return rs;
+        }
+        @Override
+        public void close() throws SQLException{
+                // If the statement has already been closed
+            if (closed)
+                return;
+            closed = true;
+                // If the statement was closed directly or has been modified
+            if (modified || pstmt.isClosed()){
+                pstmt.close();
+                return;
+            }
+            try{    // Close the result sets that were returned, which resets
+                    // the statement so that it no longer holds a read lock
+                for (ResultSet rs : results)
+                    rs.close();
+                    // If there is a result set that was never requested
+                if (pendingResults){
+                    ResultSet rs = pstmt.getResultSet();
+                    if (rs != null)
+                        rs.close();
+                }
+                pstmt.clearParameters();
+                pstmt.clearBatch();
+            } catch (SQLException ex){
+                    // The statement could not be reset, so close it
+                closeQuietly(pstmt);
+                throw ex;
+            } finally{
+                results.clear();
+            }   // If the statement could not be returned to the cache
+            if (!offer(sql, pstmt))
+                pstmt.close();
+        }
+        @Override
+        public boolean isClosed() throws SQLException{
+            return closed || pstmt.isClosed();
+        }
+        @Override
+        public String toString(){
+            return pstmt.toString();
+        }
+        @Override
+        public ResultSet executeQuery() throws SQLException{
+            checkOpen();
+            return addResults(pstmt.executeQuery());
+        }
+        @Override
+        public int executeUpdate() throws SQLException{
+            checkOpen();
+            return pstmt.executeUpdate();
+        }
+        @Override
+        public void setNull(int parameterIndex,
+                int sqlType) throws SQLException{
+            checkOpen();
+            pstmt.setNull(parameterIndex, sqlType);
+        }
+        @Override
+        public void setBoolean(int parameterIndex,
+                boolean x) throws SQLException{
+            checkOpen();
+            pstmt.setBoolean(parameterIndex, x);
+        }
+        @Override
+        public void setByte(int parameterIndex, byte x) throws SQLException{
+            checkOpen();
+            pstmt.setByte(parameterIndex, x);
+        }
+        @Override
+        public void setShort(int parameterIndex, short x) throws SQLException{
+            checkOpen();
+            pstmt.setShort(parameterIndex, x);
+        }
+        @Override
+        public void setInt(int parameterIndex, int x) throws SQLException{
+            checkOpen();
+            pstmt.setInt(parameterIndex, x);
+        }
+        @Override
+        public void setLong(int parameterIndex, long x) throws SQLException{
+            checkOpen();
+            pstmt.setLong(parameterIndex, x);
+        }
+        @Override
+        public void setFloat(int parameterIndex, float x) throws SQLException{
+            checkOpen();
+            pstmt.setFloat(parameterIndex, x);
+        }
+        @Override
+        public void setDouble(int parameterIndex, double x) throws SQLException{
+            checkOpen();
+            pstmt.setDouble(parameterIndex, x);
+        }
+        @Override
+        public void setBigDecimal(int parameterIndex,
+                java.math.BigDecimal x) throws SQLException{
+            checkOpen();
+            pstmt.setBigDecimal(parameterIndex, x);
+        }
+        @Override
+        public void setString(int parameterIndex, String x) throws SQLException{
+            checkOpen();
+            pstmt.setString(parameterIndex, x);
+        }
+        @Override
+        public void setBytes(int parameterIndex, byte[] x) throws SQLException{
+            checkOpen();
+            pstmt.setBytes(parameterIndex, x);
+        }
+        @Override
+        public void setDate(int parameterIndex,
+                java.sql.Date x) throws SQLException{
+            checkOpen();
+            pstmt.setDate(parameterIndex, x);
+        }
+        @Override
+        public void setTime(int parameterIndex,
+                java.sql.Time x) throws SQLException{
+            checkOpen();
+            pstmt.setTime(parameterIndex, x);
+        }
+        @Override
+        public void setTimestamp(int parameterIndex,
+                java.sql.Timestamp x) throws SQLException{
+            checkOpen();
+            pstmt.setTimestamp(parameterIndex, x);
+        }
+        @Override
+        public void setAsciiStream(int parameterIndex, java.io.InputStream x,
+                int length) throws SQLException{
+            checkOpen();
+            pstmt.setAsciiStream(parameterIndex, x, length);
+        }
+        @Deprecated
+        @Override
+        public void setUnicodeStream(int parameterIndex, java.io.InputStream x,
+                int length) throws SQLException{
+            checkOpen();
+            pstmt.setUnicodeStream(parameterIndex, x, length);
+        }
+        @Override
+        public void setBinaryStream(int parameterIndex, java.io.InputStream x,
+                int length) throws SQLException{
+            checkOpen();
+            pstmt.setBinaryStream(parameterIndex, x, length);
+        }
+        @Override
+        public void clearParameters() throws SQLException{
+            checkOpen();
+            pstmt.clearParameters();
+        }
+        @Override
+        public void setObject(int parameterIndex, Object x,
+                int targetSqlType) throws SQLException{
+            checkOpen();
+            pstmt.setObject(parameterIndex, x, targetSqlType);
+        }
+        @Override
+        public void setObject(int parameterIndex, Object x) throws SQLException{
+            checkOpen();
+            pstmt.setObject(parameterIndex, x);
+        }
+        @Override
+        public boolean execute() throws SQLException{
+            checkOpen();
+            pendingResults = pstmt.execute();
+            return pendingResults;
+        }
+        @Override
+        public void addBatch() throws SQLException{
+            checkOpen();
+            pstmt.addBatch();
+        }
+        @Override
+        public void setCharacterStream(int parameterIndex,
+                java.io.Reader reader, int length) throws SQLException{
+            checkOpen();
+            pstmt.setCharacterStream(parameterIndex, reader, length);
+        }
+        @Override
+        public void setRef(int parameterIndex, Ref x) throws SQLException{
+            checkOpen();
+            pstmt.setRef(parameterIndex, x);
+        }
+        @Override
+        public void setBlob(int parameterIndex, Blob x) throws SQLException{
+            checkOpen();
+            pstmt.setBlob(parameterIndex, x);
+        }
+        @Override
+        public void setClob(int parameterIndex, Clob x) throws SQLException{
+            checkOpen();
+            pstmt.setClob(parameterIndex, x);
+        }
+        @Override
+        public void setArray(int parameterIndex, Array x) throws SQLException{
+            checkOpen();
+            pstmt.setArray(parameterIndex, x);
+        }
+        @Override
+        public ResultSetMetaData getMetaData() throws SQLException{
+            checkOpen();
+            return pstmt.getMetaData();
+        }
+        @Override
+        public void setDate(int parameterIndex, java.sql.Date x,
+                Calendar cal) throws SQLException{
+            checkOpen();
+            pstmt.setDate(parameterIndex, x, cal);
+        }
+        @Override
+        public void setTime(int parameterIndex, java.sql.Time x,
+                Calendar cal) throws SQLException{
+            checkOpen();
+            pstmt.setTime(parameterIndex, x, cal);
+        }
+        @Override
+        public void setTimestamp(int parameterIndex, java.sql.Timestamp x,
+                Calendar cal) throws SQLException{
+            checkOpen();
+            pstmt.setTimestamp(parameterIndex, x, cal);
+        }
+        @Override
+        public void setNull(int parameterIndex, int sqlType,
+                String typeName) throws SQLException{
+            checkOpen();
+            pstmt.setNull(parameterIndex, sqlType, typeName);
+        }
+        @Override
+        public void setURL(int parameterIndex,
+                java.net.URL x) throws SQLException{
+            checkOpen();
+            pstmt.setURL(parameterIndex, x);
+        }
+        @Override
+        public ParameterMetaData getParameterMetaData() throws SQLException{
+            checkOpen();
+            return pstmt.getParameterMetaData();
+        }
+        @Override
+        public void setRowId(int parameterIndex, RowId x) throws SQLException{
+            checkOpen();
+            pstmt.setRowId(parameterIndex, x);
+        }
+        @Override
+        public void setNString(int parameterIndex,
+                String value) throws SQLException{
+            checkOpen();
+            pstmt.setNString(parameterIndex, value);
+        }
+        @Override
+        public void setNCharacterStream(int parameterIndex,
+                java.io.Reader value, long length) throws SQLException{
+            checkOpen();
+            pstmt.setNCharacterStream(parameterIndex, value, length);
+        }
+        @Override
+        public void setNClob(int parameterIndex,
+                NClob value) throws SQLException{
+            checkOpen();
+            pstmt.setNClob(parameterIndex, value);
+        }
+        @Override
+        public void setClob(int parameterIndex, java.io.Reader reader,
+                long length) throws SQLException{
+            checkOpen();
+            pstmt.setClob(parameterIndex, reader, length);
+        }
+        @Override
+        public void setBlob(int parameterIndex,
+                java.io.InputStream inputStream,
+                long length) throws SQLException{
+            checkOpen();
+            pstmt.setBlob(parameterIndex, inputStream, length);
+        }
+        @Override
+        public void setNClob(int parameterIndex, java.io.Reader reader,
+                long length) throws SQLException{
+            checkOpen();
+            pstmt.setNClob(parameterIndex, reader, length);
+        }
+        @Override
+        public void setSQLXML(int parameterIndex,
+                SQLXML xmlObject) throws SQLException{
+            checkOpen();
+            pstmt.setSQLXML(parameterIndex, xmlObject);
+        }
+        @Override
+        public void setObject(int parameterIndex, Object x, int targetSqlType,
+                int scaleOrLength) throws SQLException{
+            checkOpen();
+            pstmt.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        }
+        @Override
+        public void setAsciiStream(int parameterIndex, java.io.InputStream x,
+                long length) throws SQLException{
+            checkOpen();
+            pstmt.setAsciiStream(parameterIndex, x, length);
+        }
+        @Override
+        public void setBinaryStream(int parameterIndex, java.io.InputStream x,
+                long length) throws SQLException{
+            checkOpen();
+            pstmt.setBinaryStream(parameterIndex, x, length);
+        }
+        @Override
+        public void setCharacterStream(int parameterIndex,
+                java.io.Reader reader, long length) throws SQLException{
+            checkOpen();
+            pstmt.setCharacterStream(parameterIndex, reader, length);
+        }
+        @Override
+        public void setAsciiStream(int parameterIndex,
+                java.io.InputStream x) throws SQLException{
+            checkOpen();
+            pstmt.setAsciiStream(parameterIndex, x);
+        }
+        @Override
+        public void setBinaryStream(int parameterIndex,
+                java.io.InputStream x) throws SQLException{
+            checkOpen();
+            pstmt.setBinaryStream(parameterIndex, x);
+        }
+        @Override
+        public void setCharacterStream(int parameterIndex,
+                java.io.Reader reader) throws SQLException{
+            checkOpen();
+            pstmt.setCharacterStream(parameterIndex, reader);
+        }
+        @Override
+        public void setNCharacterStream(int parameterIndex,
+                java.io.Reader value) throws SQLException{
+            checkOpen();
+            pstmt.setNCharacterStream(parameterIndex, value);
+        }
+        @Override
+        public void setClob(int parameterIndex,
+                java.io.Reader reader) throws SQLException{
+            checkOpen();
+            pstmt.setClob(parameterIndex, reader);
+        }
+        @Override
+        public void setBlob(int parameterIndex,
+                java.io.InputStream inputStream) throws SQLException{
+            checkOpen();
+            pstmt.setBlob(parameterIndex, inputStream);
+        }
+        @Override
+        public void setNClob(int parameterIndex,
+                java.io.Reader reader) throws SQLException{
+            checkOpen();
+            pstmt.setNClob(parameterIndex, reader);
+        }
+        @Override
+        public void setObject(int parameterIndex, Object x,
+                SQLType targetSqlType, int scaleOrLength) throws SQLException{
+            checkOpen();
+            pstmt.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        }
+        @Override
+        public void setObject(int parameterIndex, Object x,
+                SQLType targetSqlType) throws SQLException{
+            checkOpen();
+            pstmt.setObject(parameterIndex, x, targetSqlType);
+        }
+        @Override
+        public long executeLargeUpdate() throws SQLException{
+            checkOpen();
+            return pstmt.executeLargeUpdate();
+        }
+        @Override
+        public ResultSet executeQuery(String sql) throws SQLException{
+            checkOpen();
+            return addResults(pstmt.executeQuery(sql));
+        }
+        @Override
+        public int executeUpdate(String sql) throws SQLException{
+            checkOpen();
+            return pstmt.executeUpdate(sql);
+        }
+        @Override
+        public int getMaxFieldSize() throws SQLException{
+            checkOpen();
+            return pstmt.getMaxFieldSize();
+        }
+        @Override
+        public void setMaxFieldSize(int max) throws SQLException{
+            checkOpen();
+            modified = true;
+            pstmt.setMaxFieldSize(max);
+        }
+        @Override
+        public int getMaxRows() throws SQLException{
+            checkOpen();
+            return pstmt.getMaxRows();
+        }
+        @Override
+        public void setMaxRows(int max) throws SQLException{
+            checkOpen();
+            modified = true;
+            pstmt.setMaxRows(max);
+        }
+        @Override
+        public void setEscapeProcessing(boolean enable) throws SQLException{
+            checkOpen();
+            modified = true;
+            pstmt.setEscapeProcessing(enable);
+        }
+        @Override
+        public int getQueryTimeout() throws SQLException{
+            checkOpen();
+            return pstmt.getQueryTimeout();
+        }
+        @Override
+        public void setQueryTimeout(int seconds) throws SQLException{
+            checkOpen();
+            modified = true;
+            pstmt.setQueryTimeout(seconds);
+        }
+        @Override
+        public void cancel() throws SQLException{
+            checkOpen();
+            pstmt.cancel();
+        }
+        @Override
+        public SQLWarning getWarnings() throws SQLException{
+            checkOpen();
+            return pstmt.getWarnings();
+        }
+        @Override
+        public void clearWarnings() throws SQLException{
+            checkOpen();
+            pstmt.clearWarnings();
+        }
+        @Override
+        public void setCursorName(String name) throws SQLException{
+            checkOpen();
+            modified = true;
+            pstmt.setCursorName(name);
+        }
+        @Override
+        public boolean execute(String sql) throws SQLException{
+            checkOpen();
+            pendingResults = pstmt.execute(sql);
+            return pendingResults;
+        }
+        @Override
+        public ResultSet getResultSet() throws SQLException{
+            checkOpen();
+            pendingResults = false;
+            return addResults(pstmt.getResultSet());
+        }
+        @Override
+        public int getUpdateCount() throws SQLException{
+            checkOpen();
+            return pstmt.getUpdateCount();
+        }
+        @Override
+        public boolean getMoreResults() throws SQLException{
+            checkOpen();
+            return pstmt.getMoreResults();
+        }
+        @Override
+        public void setFetchDirection(int direction) throws SQLException{
+            checkOpen();
+            modified = true;
+            pstmt.setFetchDirection(direction);
+        }
+        @Override
+        public int getFetchDirection() throws SQLException{
+            checkOpen();
+            return pstmt.getFetchDirection();
+        }
+        @Override
+        public void setFetchSize(int rows) throws SQLException{
+            checkOpen();
+            modified = true;
+            pstmt.setFetchSize(rows);
+        }
+        @Override
+        public int getFetchSize() throws SQLException{
+            checkOpen();
+            return pstmt.getFetchSize();
+        }
+        @Override
+        public int getResultSetConcurrency() throws SQLException{
+            checkOpen();
+            return pstmt.getResultSetConcurrency();
+        }
+        @Override
+        public int getResultSetType() throws SQLException{
+            checkOpen();
+            return pstmt.getResultSetType();
+        }
+        @Override
+        public void addBatch(String sql) throws SQLException{
+            checkOpen();
+            pstmt.addBatch(sql);
+        }
+        @Override
+        public void clearBatch() throws SQLException{
+            checkOpen();
+            pstmt.clearBatch();
+        }
+        @Override
+        public int[] executeBatch() throws SQLException{
+            checkOpen();
+            return pstmt.executeBatch();
+        }
+        @Override
+        public Connection getConnection() throws SQLException{
+            checkOpen();
+            return pstmt.getConnection();
+        }
+        @Override
+        public boolean getMoreResults(int current) throws SQLException{
+            checkOpen();
+            return pstmt.getMoreResults(current);
+        }
+        @Override
+        public ResultSet getGeneratedKeys() throws SQLException{
+            checkOpen();
+            return addResults(pstmt.getGeneratedKeys());
+        }
+        @Override
+        public int executeUpdate(String sql,
+                int autoGeneratedKeys) throws SQLException{
+            checkOpen();
+            return pstmt.executeUpdate(sql, autoGeneratedKeys);
+        }
+        @Override
+        public int executeUpdate(String sql,
+                int[] columnIndexes) throws SQLException{
+            checkOpen();
+            return pstmt.executeUpdate(sql, columnIndexes);
+        }
+        @Override
+        public int executeUpdate(String sql,
+                String[] columnNames) throws SQLException{
+            checkOpen();
+            return pstmt.executeUpdate(sql, columnNames);
+        }
+        @Override
+        public boolean execute(String sql,
+                int autoGeneratedKeys) throws SQLException{
+            checkOpen();
+            pendingResults = pstmt.execute(sql, autoGeneratedKeys);
+            return pendingResults;
+        }
+        @Override
+        public boolean execute(String sql,
+                int[] columnIndexes) throws SQLException{
+            checkOpen();
+            pendingResults = pstmt.execute(sql, columnIndexes);
+            return pendingResults;
+        }
+        @Override
+        public boolean execute(String sql,
+                String[] columnNames) throws SQLException{
+            checkOpen();
+            pendingResults = pstmt.execute(sql, columnNames);
+            return pendingResults;
+        }
+        @Override
+        public int getResultSetHoldability() throws SQLException{
+            checkOpen();
+            return pstmt.getResultSetHoldability();
+        }
+        @Override
+        public void setPoolable(boolean poolable) throws SQLException{
+            checkOpen();
+            modified = true;
+            pstmt.setPoolable(poolable);
+        }
+        @Override
+        public boolean isPoolable() throws SQLException{
+            checkOpen();
+            return pstmt.isPoolable();
+        }
+        @Override
+        public void closeOnCompletion() throws SQLException{
+            checkOpen();
+            modified = true;
+            pstmt.closeOnCompletion();
+        }
+        @Override
+        public boolean isCloseOnCompletion() throws SQLException{
+            checkOpen();
+            return pstmt.isCloseOnCompletion();
+        }
+        @Override
+        public long getLargeUpdateCount() throws SQLException{
+            checkOpen();
+            return pstmt.getLargeUpdateCount();
+        }
+        @Override
+        public void setLargeMaxRows(long max) throws SQLException{
+            checkOpen();
+            modified = true;
+            pstmt.setLargeMaxRows(max);
+        }
+        @Override
+        public long getLargeMaxRows() throws SQLException{
+            checkOpen();
+            return pstmt.getLargeMaxRows();
+        }
+        @Override
+        public long[] executeLargeBatch() throws SQLException{
+            checkOpen();
+            return pstmt.executeLargeBatch();
+        }
+        @Override
+        public long executeLargeUpdate(String sql) throws SQLException{
+            checkOpen();
+            return pstmt.executeLargeUpdate(sql);
+        }
+        @Override
+        public long executeLargeUpdate(String sql,
+                int autoGeneratedKeys) throws SQLException{
+            checkOpen();
+            return pstmt.executeLargeUpdate(sql, autoGeneratedKeys);
+        }
+        @Override
+        public long executeLargeUpdate(String sql,
+                int[] columnIndexes) throws SQLException{
+            checkOpen();
+            return pstmt.executeLargeUpdate(sql, columnIndexes);
+        }
+        @Override
+        public long executeLargeUpdate(String sql,
+                String[] columnNames) throws SQLException{
+            checkOpen();
+            return pstmt.executeLargeUpdate(sql, columnNames);
+        }
+        @Override
+        public String enquoteLiteral(String val) throws SQLException{
+            checkOpen();
+            return pstmt.enquoteLiteral(val);
+        }
+        @Override
+        public String enquoteIdentifier(String identifier,
+                boolean alwaysQuote) throws SQLException{
+            checkOpen();
+            return pstmt.enquoteIdentifier(identifier, alwaysQuote);
+        }
+        @Override
+        public boolean isSimpleIdentifier(
+                String identifier) throws SQLException{
+            checkOpen();
+            return pstmt.isSimpleIdentifier(identifier);
+        }
+        @Override
+        public String enquoteNCharLiteral(String val) throws SQLException{
+            checkOpen();
+            return pstmt.enquoteNCharLiteral(val);
+        }
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException{
+            checkOpen();
+            modified = true;
+            return pstmt.unwrap(iface);
+        }
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException{
+            checkOpen();
+            return pstmt.isWrapperFor(iface);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.dropbox;
+
+import java.security.*;
+
+/**
+ * This is a {@code MessageDigest} that computes the content hash Dropbox uses
+ * for files, which is available from {@link
+ * com.dropbox.core.v2.files.FileMetadata#getContentHash() FileMetadata}. This
+ * allows the program to check whether a local file is the same as a file on
+ * Dropbox without having to download or upload the file. <p>
+ *
+ * Dropbox computes the content hash by splitting the file into 4 MiB blocks,
+ * computing the SHA-256 hash of each block, concatenating the block hashes
+ * together, and then computing the SHA-256 hash of the concatenated hashes.
+ * The resulting hash is given as a lowercase hexadecimal string, which can be
+ * created with {@link #toHexString(byte[]) toHexString}.
+ * @author Milo Steier
+ * @see DropboxUtilities#getContentHash(java.io.File)
+ */
+public class DropboxContentHasher extends MessageDigest implements Cloneable{
+    /**
+     * This is the size of the blocks the file is split into. This is set to 4
+     * MiB.
+     */
+    public static final int BLOCK_SIZE = 0x400000;
+    /**
+     * This is the length of the content hash in bytes.
+     */
+    public static final int HASH_LENGTH = 32;
+    /**
+     * The characters used to convert the hash into a hexadecimal string.
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    /**
+     * This is the hasher used to hash the concatenated block hashes.
+     */
+    private MessageDigest overallHasher;
+    /**
+     * This is the hasher used to hash the current block.
+     */
+    private MessageDigest blockHasher;
+    /**
+     * This is the amount of bytes that have been hashed in the current block.
+     */
+    private int blockPos = 0;
+    /**
+     * This constructs a DropboxContentHasher.
+     */
+    public DropboxContentHasher(){
+        this(newSha256Hasher(), newSha256Hasher(), 0);
+    }
+    /**
+     * This constructs a DropboxContentHasher with the given hashers.
+     * @param overallHasher The hasher for the block hashes.
+     * @param blockHasher The hasher for the current block.
+     * @param blockPos The amount of bytes hashed in the current block.
+     */
+    private DropboxContentHasher(MessageDigest overallHasher,
+            MessageDigest blockHasher, int blockPos){
+        super("Dropbox-Content-Hash");
+        this.overallHasher = overallHasher;
+        this.blockHasher = blockHasher;
+        this.blockPos = blockPos;
+    }
+    /**
+     * This returns a new SHA-256 {@code MessageDigest}.
+     * @return A SHA-256 hasher.
+     */
+    private static MessageDigest newSha256Hasher(){
+        try{
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex){
+                // Every Java platform is required to support SHA-256
+            throw new AssertionError("SHA-256 is not supported", ex);
+        }
+    }
+    /**
+     * This finishes the current block, adding its hash to the overall hash.
+     */
+    private void finishBlock(){
+        overallHasher.update(blockHasher.digest());
+        blockPos = 0;
+    }
+    @Override
+    protected int engineGetDigestLength(){
+        return HASH_LENGTH;
+    }
+    @Override
+    protected void engineUpdate(byte input){
+            // If the current block is full
+        if (blockPos == BLOCK_SIZE)
+            finishBlock();
+        blockHasher.update(input);
+        blockPos++;
+    }
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len){
+        int end = offset + len;
+        while (offset < end){
+                // If the current block is full
+            if (blockPos == BLOCK_SIZE)
+                finishBlock();
+                // Get the amount of bytes that fit in the current block
+            int partLen = Math.min(end - offset, BLOCK_SIZE - blockPos);
+            blockHasher.update(input, offset, partLen);
+            blockPos += partLen;
+            offset += partLen;
+        }
+    }
+    @Override
+    protected byte[] engineDigest(){
+            // If there is a partially filled block
+        if (blockPos > 0)
+            finishBlock();
+        return overallHasher.digest();
+    }
+    @Override
+    protected void engineReset(){
+        blockHasher.reset();
+        overallHasher.reset();
+        blockPos = 0;
+    }
+    @Override
+    public DropboxContentHasher clone() throws CloneNotSupportedException{
+        return new DropboxContentHasher((MessageDigest)overallHasher.clone(),
+                (MessageDigest)blockHasher.clone(),blockPos);
+    }
+    /**
+     * This converts the given hash into a lowercase hexadecimal string, which
+     * is the format Dropbox uses for content hashes.
+     * @param hash The hash to convert.
+     * @return The hash as a hexadecimal string.
+     */
+    public static String toHexString(byte[] hash){
+        char[] arr = new char[hash.length*2];
+        for (int i = 0; i < hash.length; i++){
+            arr[i*2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            arr[i*2+1] = HEX_DIGITS[hash[i] & 0xF];
+        }
+        return new String(arr);
+    }
+}
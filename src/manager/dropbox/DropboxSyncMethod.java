@@ -8,8 +8,7 @@ import com.dropbox.core.*;
 import com.dropbox.core.util.IOUtil.ProgressListener;
 import com.dropbox.core.v2.DbxClientV2;
 import com.dropbox.core.v2.files.*;
-import java.io.File;
-import java.io.IOException;
+import java.io.*;
 import java.util.logging.*;
 import manager.*;
 import manager.sync.*;
@@ -43,6 +42,19 @@ public abstract class DropboxSyncMethod implements SyncMethod<FileMetadata, File
         else
             throw new IllegalStateException();
     }
+    /**
+     * This creates an upload session that can be used to upload a file to the 
+     * given path while the file is still being written. The file will be 
+     * overwritten if it already exists.
+     * @param path The path to upload the file to.
+     * @return The upload session for the file.
+     * @throws DbxException If a Dropbox error occurs.
+     * @see manager.compress.ChunkedOutStream
+     */
+    public DropboxUploadSession createUploadSession(String path) 
+            throws DbxException{
+        return new DropboxUploadSession(getClient().files(), path, true);
+    }
     @Override
     public SyncMode getSyncMode() {
         return SyncMode.DROPBOX;
@@ -62,34 +74,111 @@ public abstract class DropboxSyncMethod implements SyncMethod<FileMetadata, File
     public boolean isLoggedIn() {
         return isUsable() && getDropboxLinkUtils().getAccessToken() != null;
     }
+    /**
+     * This returns the metadata for the file at the given path on Dropbox.
+     * @param path The path to the file.
+     * @return The metadata for the file, or null if the file does not exist.
+     * @throws DbxException If a Dropbox error occurs.
+     * @see DropboxUtilities#getFileMetadata(String, DbxUserFilesRequests) 
+     */
+    public FileMetadata getFileMetadata(String path) throws DbxException{
+        return DropboxUtilities.getFileMetadata(path, getClient().files());
+    }
     @Override
     public FileMetadata download(File file, String path, ProgressObserver l) throws DbxException, IOException {
         LinkManager.getLogger().entering("DropboxSyncMethod", "download", 
                 new Object[]{file, path, l});
             // Get a client to communicate with Dropbox, refreshing the Dropbox 
             // credentials if necessary
+        DbxClientV2 client = getClient();
+            // Get the metadata for the file
+        FileMetadata metadata = DropboxUtilities.getFileMetadata(path, 
+                client.files());
+            // If the file doesn't exist
+        if (metadata == null){
+            LinkManager.getLogger().log(Level.WARNING,
+                    "Failed to download from Dropbox, file not found");
+            LinkManager.getLogger().exiting("DropboxSyncMethod", "download", 
+                    null);
+            return null;
+        }
+        FileMetadata data = download(file,path,metadata,l);
+        LinkManager.getLogger().exiting("DropboxSyncMethod", "download", data);
+        return data;
+    }
+    /**
+     * This returns the maximum number of ranges of a file to download from 
+     * Dropbox at the same time.
+     * @return The maximum number of parallel range downloads.
+     * @see RangedFileDownloader
+     */
+    public int getDownloadParallelism(){
+        return RangedFileDownloader.DEFAULT_PARALLELISM;
+    }
+    /**
+     * This returns a source for the ranges of the given revision of the file 
+     * at the given path.
+     * @param dbxFiles The file namespace for Dropbox.
+     * @param path The path to the file.
+     * @param rev The revision of the file.
+     * @return The source for the ranges of the file.
+     */
+    protected RangedFileDownloader.RangeSource createRangeSource(
+            DbxUserFilesRequests dbxFiles, String path, String rev){
+        return new RangedFileDownloader.RangeSource(){
+            @Override
+            public InputStream openRange(long offset, long length) 
+                    throws DbxException{
+                DbxDownloader<FileMetadata> dbxDown = dbxFiles
+                        .downloadBuilder(path)
+                        .withRev(rev)
+                        .range(offset, length)
+                        .start();
+                return new FilterInputStream(dbxDown.getInputStream()){
+                    @Override
+                    public void close() throws IOException{
+                        dbxDown.close();
+                    }
+                };
+            }
+            @Override
+            public boolean isRetryable(Exception ex){
+                    // Retry if Dropbox asks for it or if there was a network 
+                    // error
+                return ex instanceof RetryException || 
+                        ex instanceof NetworkIOException || 
+                        RangedFileDownloader.RangeSource.super.isRetryable(ex);
+            }
+        };
+    }
+    /**
+     * This downloads the file with the given metadata from Dropbox. This is 
+     * used when the metadata for the file has already been retrieved, such as 
+     * to compare its content hash with a local file. If the metadata is known, 
+     * then the file is downloaded in {@link #getChunkSize() chunk sized} 
+     * ranges in parallel, and a previous download of the same revision of the 
+     * file to the same local file will be resumed.
+     * @param file The file to download to.
+     * @param path The path to the file on Dropbox.
+     * @param metadata The metadata for the file, or null if not known.
+     * @param l The progress observer to update, or null.
+     * @return The metadata for the downloaded file.
+     * @throws DbxException If a Dropbox error occurs.
+     * @throws IOException If an I/O error occurs.
+     * @see #getFileMetadata(String) 
+     */
+    public FileMetadata download(File file, String path, FileMetadata metadata,
+            ProgressObserver l) throws DbxException, IOException {
+        LinkManager.getLogger().entering("DropboxSyncMethod", "download", 
+                new Object[]{file, path, metadata, l});
+            // Get a client to communicate with Dropbox, refreshing the Dropbox 
+            // credentials if necessary
         DbxClientV2 client = getClient();
             // Get the file namespace for Dropbox
         DbxUserFilesRequests dbxFiles = client.files();
             // This gets the size of the file to be downloaded
-        Long size = null;
-        try{    // Get the metadata for the file
-            Metadata metadata = dbxFiles.getMetadataBuilder(path).start();
-                // If the metadata is actually file metadata
-            if (metadata instanceof FileMetadata){
-                    // Get the size of the file
-                size = ((FileMetadata) metadata).getSize();
-            }
-        } catch (GetMetadataErrorException ex){
-            LinkManager.getLogger().log(Level.WARNING,"Failed to download from Dropbox",ex);
-                // If the error because the file doesn't exist
-            if (DropboxUtilities.fileNotFound(ex)){
-                LinkManager.getLogger().exiting("DropboxSyncMethod", 
-                        "download", null);
-                return null;
-            } else 
-                throw ex;
-        }   // This is the progress listener to use to listen to how many bytes 
+        Long size = (metadata != null) ? metadata.getSize() : null;
+            // This is the progress listener to use to listen to how many bytes 
             // have been downloaded so far.
         ProgressListener listener = null;
             // If the file size was loaded
@@ -98,8 +187,30 @@ public abstract class DropboxSyncMethod implements SyncMethod<FileMetadata, File
             listener = DropboxUtilities.setUpProgressListener(size, l);
                 // Set the progress bar to not be indeterminate
             l.setIndeterminate(false);
-        }   // Download the file from Dropbox
-        FileMetadata data = DropboxUtilities.download(file, path, dbxFiles, listener);
+        }
+        FileMetadata data;
+            // If the metadata for the file is known
+        if (metadata != null){
+                // Download the ranges of this revision of the file
+            RangedFileDownloader downloader = new RangedFileDownloader(file,
+                    metadata.getSize(),metadata.getRev(),(int)getChunkSize(),
+                    getDownloadParallelism());
+            try{
+                downloader.download(createRangeSource(dbxFiles,path,
+                        metadata.getRev()), listener);
+            } catch (DbxException | IOException | RuntimeException ex){
+                throw ex;
+            } catch (Exception ex){
+                throw new IOException(ex);
+            }   // Set the last modified time of the file from the server
+            file.setLastModified(metadata.getServerModified().getTime());
+            data = metadata;
+        } else {    // Discard any stale state from an earlier ranged 
+                    // download, since the file will be downloaded in full
+            RangedFileDownloader.deleteState(file);
+                // Download the file from Dropbox
+            data = DropboxUtilities.download(file, path, dbxFiles, listener);
+        }
         LinkManager.getLogger().exiting("DropboxSyncMethod", "download", data);
         return data;
     }
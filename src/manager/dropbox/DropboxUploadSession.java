@@ -0,0 +1,201 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.dropbox;
+
+import com.dropbox.core.*;
+import com.dropbox.core.v2.files.*;
+import java.io.*;
+import java.util.*;
+import java.util.logging.Level;
+import manager.LinkManager;
+import manager.compress.ChunkSink;
+
+/**
+ * This is a {@link ChunkSink} that uploads the chunks it receives to a file on
+ * Dropbox using a concurrent upload session. Concurrent upload sessions allow
+ * the chunks of a file to be uploaded in any order, which allows a file to be
+ * uploaded while it is still being written even if the start of the file is
+ * written last. As such, every chunk other than the last must be a multiple of
+ * {@link DropboxUtilities#MINIMUM_CHUNK_SIZE 4 MiB}. <p>
+ *
+ * If the only chunk written is the entire file, then the file is uploaded in
+ * a single request when this is {@link #finish(long) finished} instead of
+ * using an upload session. Each request is retried up to {@link
+ * DropboxUtilities#CHUNKED_UPLOAD_MAX_ATTEMPTS} times if Dropbox asks for the
+ * request to be retried or a network error occurs.
+ * @author Milo Steier
+ * @see manager.compress.ChunkedOutStream
+ * @see DropboxUtilities#upload(File, String, DbxUserFilesRequests, long,
+ * boolean, com.dropbox.core.util.IOUtil.ProgressListener)
+ */
+public class DropboxUploadSession implements ChunkSink{
+    /**
+     * The file namespace for Dropbox.
+     */
+    private final DbxUserFilesRequests dbxFiles;
+    /**
+     * The path to upload the file to.
+     */
+    private final String path;
+    /**
+     * The write mode to use for the file.
+     */
+    private final WriteMode mode;
+    /**
+     * The session ID of the upload session, or null if the session has not
+     * started yet.
+     */
+    private volatile String sessionID = null;
+    /**
+     * This is the entire file if it was written as a single chunk, or null.
+     */
+    private volatile byte[] singleChunk = null;
+    /**
+     * This constructs a DropboxUploadSession that will upload a file to the
+     * given path.
+     * @param dbxFiles The file namespace for Dropbox.
+     * @param path The path to upload the file to.
+     * @param overwrite Whether the file should be overwritten if it already
+     * exists.
+     */
+    public DropboxUploadSession(DbxUserFilesRequests dbxFiles, String path,
+            boolean overwrite){
+        this.dbxFiles = Objects.requireNonNull(dbxFiles);
+        this.path = Objects.requireNonNull(path);
+        mode = (overwrite)?WriteMode.OVERWRITE:WriteMode.ADD;
+    }
+    /**
+     * This returns the path the file is being uploaded to.
+     * @return The path for the file.
+     */
+    public String getPath(){
+        return path;
+    }
+    /**
+     * This returns the session ID for the upload session.
+     * @return The session ID, or null if the session has not started.
+     */
+    public String getSessionId(){
+        return sessionID;
+    }
+    /**
+     * This is an interface for a request to Dropbox that can be retried.
+     * @param <T> The type of value returned by the request.
+     */
+    private interface DbxRequest<T>{
+        /**
+         * This sends the request.
+         * @return The result of the request.
+         * @throws DbxException If a Dropbox error occurs.
+         * @throws IOException If an I/O error occurs.
+         */
+        T send() throws DbxException, IOException;
+    }
+    /**
+     * This sends the given request, retrying it if Dropbox asks for the request
+     * to be retried or a network error occurs.
+     * @param <T> The type of value returned by the request.
+     * @param request The request to send.
+     * @return The result of the request.
+     * @throws DbxException If a Dropbox error occurs.
+     * @throws IOException If an I/O error occurs.
+     */
+    private <T> T sendWithRetry(DbxRequest<T> request) throws DbxException,
+            IOException{
+            // This is the most recent exception that was thrown
+        DbxException dbxEx = null;
+        for (int i = 0; i < DropboxUtilities.CHUNKED_UPLOAD_MAX_ATTEMPTS; i++){
+            try{
+                return request.send();
+            } catch (RetryException ex){
+                LinkManager.getLogger().log(Level.INFO, "Upload request attempt "+i+" failed", ex);
+                dbxEx = ex;
+                try{    // Wait the amount of time we've been told to before
+                        // retrying
+                    Thread.sleep(ex.getBackoffMillis()+1);
+                } catch (InterruptedException ex1){
+                    throw new InterruptedIOException();
+                }
+            } catch (NetworkIOException ex){
+                LinkManager.getLogger().log(Level.INFO, "Upload request attempt "+i+" failed", ex);
+                    // If the previous error was also a network issue with
+                    // Dropbox
+                if (dbxEx instanceof NetworkIOException){
+                    try{    // Wait a second just in case it was a timeout
+                        Thread.sleep(1000);
+                    } catch (InterruptedException ex1){
+                        throw new InterruptedIOException();
+                    }
+                }
+                dbxEx = ex;
+            }
+        }
+        throw dbxEx;
+    }
+    /**
+     * This starts the concurrent upload session if it has not been started
+     * yet.
+     * @return The session ID.
+     * @throws DbxException If a Dropbox error occurs.
+     * @throws IOException If an I/O error occurs.
+     */
+    private synchronized String startSession() throws DbxException, IOException{
+            // If the session has not been started yet
+        if (sessionID == null){
+            sessionID = sendWithRetry(() -> dbxFiles.uploadSessionStartBuilder()
+                    .withSessionType(UploadSessionType.CONCURRENT)
+                    .uploadAndFinish(new ByteArrayInputStream(new byte[0]))
+                    .getSessionId());
+        }
+        return sessionID;
+    }
+    @Override
+    public void writeChunk(long offset, byte[] data, int length, boolean last)
+            throws DbxException, IOException {
+            // If this is the entire file
+        if (offset == 0 && last && sessionID == null){
+                // Upload it as a single request when finished
+            singleChunk = Arrays.copyOf(data, length);
+            return;
+        }
+        UploadSessionCursor cursor = new UploadSessionCursor(startSession(),
+                offset);
+        sendWithRetry(() -> dbxFiles.uploadSessionAppendV2Builder(cursor)
+                .withClose(last)
+                .uploadAndFinish(new ByteArrayInputStream(data,0,length),length));
+    }
+    /**
+     * This finishes uploading the file, committing it to Dropbox. This should
+     * only be called once all the chunks have been written.
+     * @param size The size of the file.
+     * @return The metadata for the uploaded file.
+     * @throws DbxException If a Dropbox error occurs.
+     * @throws IOException If an I/O error occurs.
+     */
+    public FileMetadata finish(long size) throws DbxException, IOException{
+        LinkManager.getLogger().entering("DropboxUploadSession", "finish", size);
+        FileMetadata metadata;
+        Date modified = new Date();
+            // If the file was written as a single chunk
+        if (singleChunk != null || sessionID == null){
+            byte[] data = (singleChunk != null) ? singleChunk : new byte[0];
+            metadata = sendWithRetry(() -> dbxFiles.uploadBuilder(path)
+                    .withMode(mode)
+                    .withClientModified(modified)
+                    .uploadAndFinish(new ByteArrayInputStream(data)));
+        } else {
+            UploadSessionCursor cursor = new UploadSessionCursor(sessionID,size);
+            CommitInfo info = CommitInfo.newBuilder(path)
+                    .withMode(mode)
+                    .withClientModified(modified)
+                    .build();
+            metadata = sendWithRetry(() -> dbxFiles.uploadSessionFinish(cursor,
+                    info).uploadAndFinish(new ByteArrayInputStream(new byte[0])));
+        }
+        LinkManager.getLogger().exiting("DropboxUploadSession", "finish",
+                metadata);
+        return metadata;
+    }
+}
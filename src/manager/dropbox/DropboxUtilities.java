@@ -179,6 +179,53 @@ public class DropboxUtilities {
             throws DbxException{
         return exists(path,client.files());
     }
+    /**
+     * This returns the metadata for the file at the given path.
+     * @param path The path to the file.
+     * @param dbxFiles The file namespace for Dropbox.
+     * @return The metadata for the file, or null if there is no file at the 
+     * given path.
+     * @throws DbxException If a Dropbox error occurs.
+     * @see #exists(String, DbxUserFilesRequests) 
+     */
+    public static FileMetadata getFileMetadata(String path, 
+            DbxUserFilesRequests dbxFiles) throws DbxException{
+        try{    // Get the metadata for the file
+            Metadata metadata = dbxFiles.getMetadataBuilder(path).start();
+                // If the metadata is actually file metadata
+            if (metadata instanceof FileMetadata)
+                return (FileMetadata) metadata;
+            return null;
+        } catch (GetMetadataErrorException ex){
+                // If the file was not found
+            if (fileNotFound(ex))
+                return null;
+            throw ex;
+        }
+    }
+    /**
+     * This computes the Dropbox content hash for the given file. The file is 
+     * read in a single pass, so this does not need to load the entire file 
+     * into memory. The returned hash can be compared with the {@link 
+     * FileMetadata#getContentHash() content hash} of a file on Dropbox to 
+     * check if the two files are the same.
+     * @param file The file to compute the content hash of.
+     * @return The content hash for the file, as a hexadecimal string.
+     * @throws IOException If an I/O error occurs while reading the file.
+     * @see DropboxContentHasher
+     */
+    public static String getContentHash(File file) throws IOException{
+        DropboxContentHasher hasher = new DropboxContentHasher();
+        try (InputStream in = new FileInputStream(file)){
+                // A buffer to read the file into
+            byte[] buffer = new byte[65536];
+                // The amount of bytes read
+            int len;
+            while ((len = in.read(buffer)) >= 0)
+                hasher.update(buffer, 0, len);
+        }
+        return DropboxContentHasher.toHexString(hasher.digest());
+    }
     /**
      * 
      * @param path
@@ -0,0 +1,67 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package manager.links;
+
+import java.util.List;
+
+/**
+ * This is an interface for a source that provides the links for a {@link 
+ * LinksListModel} on demand. This is used by models that are {@link 
+ * LinksListModel#isVirtual() virtual}, which only keep the pages of links that 
+ * have been read recently in memory and read the rest of their links from 
+ * this source as they are needed, such as when a list is loaded from a 
+ * database.
+ * @author Milo Steier
+ * @see LinksListModel#setVirtualContents(int, LinksListContentsSource) 
+ */
+public interface LinksListContentsSource {
+    /**
+     * This returns the links in the given model's list between the given 
+     * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive. The 
+     * returned list should contain {@code toIndex - fromIndex} links, in 
+     * order. This may be called from any thread that reads from the model.
+     * @param model The model to get the links for.
+     * @param fromIndex The index of the first link to get.
+     * @param toIndex The index after the last link to get.
+     * @return A list of the links in the given range.
+     * @throws RuntimeException If the links could not be read, such as an 
+     * {@code UncheckedSQLException} if a database error occurs.
+     */
+    public List<String> getLinks(LinksListModel model, int fromIndex, 
+            int toIndex);
+    /**
+     * This returns the index of the first occurrence of the given link in the 
+     * given model's list, or -1 if the list does not contain the link. This 
+     * allows a virtual model to find a link without loading all of its links 
+     * into memory. This may be called from any thread that reads from the 
+     * model. 
+     * 
+     * @implSpec The default implementation reads the links from {@link 
+     * #getLinks getLinks} one page at a time until the link is found. 
+     * Sources that can look up a link directly, such as a database, should 
+     * override this.
+     * 
+     * @param model The model to search.
+     * @param link The link to search for.
+     * @return The index of the first occurrence of the link, or -1 if the 
+     * link is not in the list.
+     * @throws RuntimeException If the links could not be read, such as an 
+     * {@code UncheckedSQLException} if a database error occurs.
+     */
+    public default int indexOf(LinksListModel model, String link){
+            // Go through the pages of links in the model
+        for (int start = 0; start < model.size(); 
+                start += LinksListModel.VIRTUAL_PAGE_SIZE){
+                // Get the index of the link in the current page
+            int index = getLinks(model, start, Math.min(
+                    start+LinksListModel.VIRTUAL_PAGE_SIZE, model.size()))
+                    .indexOf(link);
+                // If the link is in the current page
+            if (index >= 0)
+                return start + index;
+        }
+        return -1;
+    }
+}
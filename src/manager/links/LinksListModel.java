@@ -77,6 +77,17 @@ public class LinksListModel extends ArrayListModel<String> implements
      */
     public static final NavigableMap<Integer, String> FLAG_PROPERTY_NAMES_MAP = 
             getFlagPropertyNamesMap();
+    /**
+     * This is the amount of links in each page of links that is read from the 
+     * contents source while this list is {@link #isVirtual() virtual}.
+     */
+    public static final int VIRTUAL_PAGE_SIZE = 256;
+    /**
+     * This is the maximum amount of pages of links that are kept in memory 
+     * while this list is {@link #isVirtual() virtual}. Once this is exceeded, 
+     * the least recently used page is discarded.
+     */
+    public static final int MAXIMUM_CACHED_PAGES = 64;
     /**
      * This is the listID for this list in the database.
      */
@@ -154,6 +165,41 @@ public class LinksListModel extends ArrayListModel<String> implements
      * 
      */
     private final List<ListDataEvent> events = new ArrayList<>();
+    /**
+     * This stores whether the {@link #events list data events} describe all 
+     * the changes made to the contents of this list since it was last loaded 
+     * or saved. 
+     */
+    private boolean editsTracked = true;
+    /**
+     * This is the index used to search through this list. This is kept up to 
+     * date from the list data events fired by this list.
+     */
+    private final LinksListSearchIndex searchIndex = 
+            new LinksListSearchIndex(this);
+    /**
+     * This is the source for the links in this list while this list is 
+     * virtual, or null if all the links in this list are in memory.
+     */
+    private LinksListContentsSource contentsSource = null;
+    /**
+     * This is the size of this list while this list is virtual.
+     */
+    private int virtualSize = 0;
+    /**
+     * This is a cache of the pages of links that have been read from the 
+     * contents source while this list is virtual, mapped to the index of the 
+     * page. This is in access order so that the least recently used page is 
+     * the one that gets removed once the cache is full.
+     */
+    private final Map<Integer, List<String>> pageCache = 
+            new LinkedHashMap<Integer, List<String>>(16, 0.75f, true){
+        @Override
+        protected boolean removeEldestEntry(
+                Map.Entry<Integer, List<String>> eldest){
+            return size() > MAXIMUM_CACHED_PAGES;
+        }
+    };
     /**
      * 
      * @param name
@@ -201,7 +247,7 @@ public class LinksListModel extends ArrayListModel<String> implements
      * @param model 
      */
     public LinksListModel(LinksListModel model){
-        super(model);
+        super(requireContentsLoaded(model));
         this.listID = model.listID;
         this.oldListID = model.oldListID;
         this.name = model.name;
@@ -226,9 +272,21 @@ public class LinksListModel extends ArrayListModel<String> implements
         this.listSelModel.setLeadSelectionIndex(model.listSelModel.getLeadSelectionIndex());
         this.edited = model.edited;
         this.contentsEdited = model.contentsEdited;
+        this.events.addAll(model.events);
+        this.editsTracked = model.editsTracked;
         this.listSelModel.addListSelectionListener(new Handler());
         changeSupport = new PropertyChangeSupport(this);
     }
+    /**
+     * This loads the contents of the given model into memory if it is virtual, 
+     * so that it can be copied.
+     * @param model The model to load the contents of.
+     * @return The given model.
+     */
+    private static LinksListModel requireContentsLoaded(LinksListModel model){
+        model.ensureContentsLoaded();
+        return model;
+    }
     /**
      * This returns whether this list has been edited
      * @return 
@@ -253,6 +311,7 @@ public class LinksListModel extends ArrayListModel<String> implements
             oldSizeLimit = sizeLimit;
             contentsEdited = false;
             events.clear();
+            editsTracked = true;
         }
         fireStateChanged();
     }
@@ -283,6 +342,16 @@ public class LinksListModel extends ArrayListModel<String> implements
      * 
      */
     public void setContentsModified(){
+            // The edits to the contents can no longer be used to determine 
+            // what has changed, since this may have been called without the 
+        editsTracked = false;   // contents being edited
+        markContentsModified();
+    }
+    /**
+     * This flags the contents of this list as modified as the result of an 
+     * edit that was reported by a list data event.
+     */
+    private void markContentsModified(){
         contentsEdited = true;
         setEdited(true);
     }
@@ -301,6 +370,8 @@ public class LinksListModel extends ArrayListModel<String> implements
             // If there would be no change to the listID of this list
         if (Objects.equals(this.listID, listID))
             return;
+            // The contents source reads the links using this list's listID, 
+        ensureContentsLoaded();     // so load them before it changes
             // Get the old listID for this list
         Integer oldID = this.listID;
         this.listID = listID;
@@ -569,6 +640,15 @@ public class LinksListModel extends ArrayListModel<String> implements
     
     
     
+    /**
+     * This returns the normalized form of the given text that is used for 
+     * case insensitive searches. 
+     * @param text The text to normalize.
+     * @return The text in lower case, or null if the text is null.
+     */
+    protected String toSearchKey(String text){
+        return (text != null) ? text.toLowerCase() : null;
+    }
     /**
      * 
      * @param text
@@ -577,9 +657,11 @@ public class LinksListModel extends ArrayListModel<String> implements
      * @return 
      */
     protected boolean matchText(String text, String searchText, boolean matchCase){
+        if (text == null)           // If there is no text to search
+            return false;
         if (!matchCase)             // If the search is case insensitive
-            text = text.toUpperCase();
-        return text != null && text.contains(searchText);
+            text = toSearchKey(text);
+        return text.contains(searchText);
     }
     /**
      * 
@@ -592,7 +674,7 @@ public class LinksListModel extends ArrayListModel<String> implements
         if (!matchSpaces)           // If the search is not matching white spaces
             text = text.trim();
         if (!matchCase)             // If the search is case insensitive
-            text = text.toUpperCase();
+            text = toSearchKey(text);
         return text;
     }
     /**
@@ -611,36 +693,35 @@ public class LinksListModel extends ArrayListModel<String> implements
             return -1;
             // Format the search text based off the given settings
         text = getSearchString(text,matchSpaces,matchCase);
-            // This gets the value to use to iterate through the list. If the 
-            // direction is backwards, this will get a negative value. 
-            // Otherwise, this will be a positive value.
-        int dir = (direction == Position.Bias.Backward) ? -1 : 1;
-        int index;  // This gets the index of the next matching string
-            // If the search does not start in the list and the search is going 
-        if (start < 0 && direction == Position.Bias.Backward)   // backwards
-            index = size();
-        else
-            index = start;
-            // A for loop to search for the next matching string in the list, 
-            // starting at the next/previous index and ending once it has 
-            // reached the end of the list
-        for (index += dir; index >= 0 && index < size(); index += dir){
-                // If the current string contains the given search string
-            if (matchText(get(index),text,matchCase))    
-                return index;
-        }   // If we are to wrap around and did not start at the beginning of the list
-        if (wrapAround && start >= 0){
-                // A for loop to search for the next matching string in the 
-                // list, starting at the other end of the list and ending once 
-                // it has reached where we originally started searching from
-            for (index = (index+size())%size(); index >= 0 && 
-                    index < size() && index != start; index += dir){
-                    // If the current string contains the given search string
-                if (matchText(get(index),text,matchCase))    
-                    return index;
+        synchronized (searchIndex){
+                // Get the indexes of the matching strings from the index
+            LinksListSearchIndex.Matches matches = 
+                    searchIndex.getMatches(text, matchCase);
+            int index;  // This gets the index of the next matching string
+                // If the search is going backwards
+            if (direction == Position.Bias.Backward){
+                    // Get the previous match, starting at the end of the list 
+                    // if the search does not start in the list
+                index = matches.lower((start < 0) ? size() : start);
+                    // If there was no match and we are to wrap around, get 
+                    // the last match if it comes after where we started
+                if (index < 0 && wrapAround && start >= 0){
+                    index = matches.lower(size());
+                    if (index <= start)
+                        index = -1;
+                }
+            } else {
+                index = matches.higher(start);
+                    // If there was no match and we are to wrap around, get 
+                    // the first match if it comes before where we started
+                if (index < 0 && wrapAround && start >= 0){
+                    index = matches.higher(-1);
+                    if (index >= start)
+                        index = -1;
+                }
             }
+            return index;
         }
-        return -1;
     }
     /**
      * 
@@ -652,13 +733,16 @@ public class LinksListModel extends ArrayListModel<String> implements
     public List<String> getMatches(String text, boolean matchSpaces, boolean matchCase){
             // Format the search text based off the given settings
         String searchText = getSearchString(text,matchSpaces,matchCase);
-            // An ArrayList to get a list of matching strings
-        ArrayList<String> arr = new ArrayList<>(this);
-            // Remove the non-matching strings
-        arr.removeIf((String t) -> {
-            return !matchText(t,searchText,matchCase);
-        });
-        return arr;
+        synchronized (searchIndex){
+                // Get the indexes of the matching strings from the index
+            LinksListSearchIndex.Matches matches = 
+                    searchIndex.getMatches(searchText, matchCase);
+                // An ArrayList to get a list of matching strings
+            ArrayList<String> arr = new ArrayList<>(matches.size());
+            for (int i = 0; i < matches.size(); i++)
+                arr.add(get(matches.get(i)));
+            return arr;
+        }
     }
     /**
      * 
@@ -671,15 +755,16 @@ public class LinksListModel extends ArrayListModel<String> implements
             boolean matchCase){
             // Format the search text based off the given settings
         text = getSearchString(text,matchSpaces,matchCase);
-            // An ArrayList to get a list of indexes of matches
-        ArrayList<Integer> indexes = new ArrayList<>();
-            // A for loop to go through the elements in this list
-        for (int index = 0; index < size(); index++){
-                // If the current string contains the given search string
-            if (matchText(get(index),text,matchCase))
-                indexes.add(index);
+        synchronized (searchIndex){
+                // Get the indexes of the matching strings from the index
+            LinksListSearchIndex.Matches matches = 
+                    searchIndex.getMatches(text, matchCase);
+                // An ArrayList to get a list of indexes of matches
+            ArrayList<Integer> indexes = new ArrayList<>(matches.size());
+            for (int i = 0; i < matches.size(); i++)
+                indexes.add(matches.get(i));
+            return indexes;
         }
-        return indexes;
     }
     /**
      * 
@@ -874,6 +959,8 @@ public class LinksListModel extends ArrayListModel<String> implements
     public void add(int index, String element){
             // Check if the list is read only
         checkIfReadOnly();
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
             // Check the given element
         checkElement(element);
             // If this list can add duplicates or the set does not contain the 
@@ -886,7 +973,7 @@ public class LinksListModel extends ArrayListModel<String> implements
             // Add the element to the set
         addToSet(index,element);
             // The contents of the list have been modified
-        setContentsModified();
+        markContentsModified();
     }
     // TODO: Implement a helper method for the addAll method that throws 
     // exceptions, with the main addAll method catching those exceptions, 
@@ -917,6 +1004,8 @@ public class LinksListModel extends ArrayListModel<String> implements
                     false);
             return false;
         }
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
             // If duplicates cannot be added to this list
         if (!canAddDuplicates()){
                 // Create a set version of the given collection
@@ -983,7 +1072,7 @@ public class LinksListModel extends ArrayListModel<String> implements
                     // was added
                 subList(0,index).removeAll(c);
         }   // The contents of the list have been modified
-        setContentsModified();
+        markContentsModified();
             // Restore the selection adjustment value
         setValueIsAdjusting(adjusting);
             // If the size of the interval that was added is less than the size 
@@ -1003,6 +1092,8 @@ public class LinksListModel extends ArrayListModel<String> implements
     public String set(int index, String element){
             // Check if the list is read only
         checkIfReadOnly();
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
             // Set the value in this list, getting the old value from the list
         String old = super.set(index, checkElement(element));
             // Remove the old value from the set
@@ -1010,19 +1101,21 @@ public class LinksListModel extends ArrayListModel<String> implements
             // Add the new value to the set
         addToSet(index,element);
             // The contents of the list have been modified
-        setContentsModified();
+        markContentsModified();
         return old;
     }
     @Override
     public String remove(int index){
             // Check if the list is read only
         checkIfReadOnly();
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
             // Get the value that was removed
         String value = super.remove(index);
             // Remove the value from the set
         removeFromSet(value);
             // The contents of the list have been modified
-        setContentsModified();
+        markContentsModified();
         return value;
     }
     /**
@@ -1036,7 +1129,7 @@ public class LinksListModel extends ArrayListModel<String> implements
         else    // Retain only elements that are in this list
             set.retainAll(list);
             // The contents of the list have been modified
-        setContentsModified();
+        markContentsModified();
     }
     @Override
     protected void removeRange(int fromIndex, int toIndex){
@@ -1047,6 +1140,8 @@ public class LinksListModel extends ArrayListModel<String> implements
                 new Object[]{fromIndex,toIndex});
             // Check if the list is read only
         checkIfReadOnly();
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
             // Remove the given range from this list
         super.removeRange(fromIndex, toIndex);
             // Retain only the items in the set that are in this list
@@ -1059,6 +1154,8 @@ public class LinksListModel extends ArrayListModel<String> implements
                 new Object[]{c,fromIndex,toIndex});
             // Check if the list is read only
         checkIfReadOnly();
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
             // Get whether the modification limits are enabled
         boolean modLimit = modLimitEnabled;
             // Disable the modification limits
@@ -1068,7 +1165,7 @@ public class LinksListModel extends ArrayListModel<String> implements
             // Restore the modification limits
         modLimitEnabled = modLimit;
             // The contents of the list have been modified
-        setContentsModified();
+        markContentsModified();
         LinkManager.getLogger().exiting(this.getClass().getName(),"sort");
     }
     @Override
@@ -1076,6 +1173,8 @@ public class LinksListModel extends ArrayListModel<String> implements
             int toIndex){
         LinkManager.getLogger().entering(this.getClass().getName(),"removeIf", 
                 new Object[]{filter,fromIndex,toIndex});
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
             // Remove all matching elements and get whether the list was modified
         boolean modified = super.removeIf(filter, fromIndex, toIndex);
             // If this list was modified
@@ -1091,6 +1190,8 @@ public class LinksListModel extends ArrayListModel<String> implements
             int fromIndex, int toIndex){
         LinkManager.getLogger().entering(this.getClass().getName(),"batchRemove", 
                 new Object[]{retain,fromIndex,toIndex});
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
             // Get whether the selection value is being adjusted
         boolean adjusting = getValueIsAdjusting();
             // The selection is being adjusted
@@ -1112,6 +1213,8 @@ public class LinksListModel extends ArrayListModel<String> implements
             int toIndex){
         LinkManager.getLogger().entering(this.getClass().getName(),"replaceRange", 
                 new Object[]{operator,fromIndex,toIndex});
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
             // Replace the elements that are in the given range
         super.replaceRange(operator, fromIndex, toIndex);
             // Clear the set
@@ -1119,7 +1222,7 @@ public class LinksListModel extends ArrayListModel<String> implements
             // Add all the items in this list to the set
         set.addAll(list);
             // The contents of the list have been modified
-        setContentsModified();
+        markContentsModified();
         LinkManager.getLogger().exiting(this.getClass().getName(),"replaceRange");
     }
     /**
@@ -1130,6 +1233,8 @@ public class LinksListModel extends ArrayListModel<String> implements
         LinkManager.getLogger().entering(this.getClass().getName(),"removeDuplicates");
             // Check if the list is read only
         checkIfReadOnly();
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
             // Get the current size of this list
         int size = size();
             // Go through the elements in this list
@@ -1151,11 +1256,66 @@ public class LinksListModel extends ArrayListModel<String> implements
             // Add all the items in this list to the set
         set.addAll(list);
             // The contents of the list have been modified
-        setContentsModified();
+        markContentsModified();
         LinkManager.getLogger().exiting(this.getClass().getName(),
                 "removeDuplicates",size != size());
         return size != size();
     }
+    /**
+     * This appends the links in the given collection to the end of this list 
+     * in bulk. This is intended for populating this list from a trusted 
+     * source, such as the database, and as such skips the checks that are 
+     * performed when adding elements normally. That is to say, this ignores 
+     * whether this list is read only or full, and does not throw an exception 
+     * for invalid elements. Instead, null and blank links are skipped, and if 
+     * this list does not allow duplicates, then only the first instance of 
+     * each link is kept. The backing list and the set of links are populated 
+     * in a single pass, and listeners are notified of the added links with a 
+     * single event.
+     * @param c The collection of links to add (cannot be null).
+     * @return The number of links that were added to this list.
+     * @throws NullPointerException If the collection is null.
+     */
+    public int loadContents(Collection<? extends String> c){
+            // Check if the collection is null
+        Objects.requireNonNull(c);
+            // If the collection is empty
+        if (c.isEmpty())
+            return 0;
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
+            // Get the index at which the first link will be added
+        int index = size();
+            // Get whether duplicates are to be skipped
+        boolean skipDuplicates = !getAllowsDuplicates();
+            // If the backing list is an ArrayList
+        if (list instanceof ArrayList)
+                // Make room for the links all at once
+            ((ArrayList<String>)list).ensureCapacity(index + c.size());
+            // Go through the links in the collection
+        for (String temp : c){
+                // If the link is not valid
+            if (!isValidElement(temp))
+                continue;
+                // Add the link to the set. If the link was already in the set 
+                // and duplicates are to be skipped
+            if (!set.add(temp) && skipDuplicates)
+                continue;
+                // Add the link to the internal list
+            list.add(temp);
+        }   // Get the amount of links that were added
+        int added = size() - index;
+            // If no links were added
+        if (added == 0)
+            return 0;
+            // Increment the modification count
+        modCount++;
+            // Notify any listeners of the interval that was added to the list
+        fireIntervalAdded(index, index+added-1);
+            // The contents of the list have been modified
+        markContentsModified();
+        return added;
+    }
     /**
      * 
      * @param c 
@@ -1173,12 +1333,343 @@ public class LinksListModel extends ArrayListModel<String> implements
         addAll(c);
         LinkManager.getLogger().exiting(this.getClass().getName(),"setContents");
     }
+    /**
+     * This returns whether this list is virtual. A virtual list only keeps the 
+     * pages of links that have been read recently in memory, and reads the 
+     * rest of its links from its {@link LinksListContentsSource contents 
+     * source} as they are needed. This allows large lists to be shown without 
+     * having to keep all their links in memory. A virtual list will load all 
+     * its links into memory and stop being virtual the first time it is 
+     * edited, or when an operation needs all of its links at once, such as 
+     * iterating over its links. Finding a link using {@link #indexOf indexOf} 
+     * or {@link #contains contains} asks the contents source for the link 
+     * instead of loading the links. 
+     * @return Whether this list is virtual.
+     * @see #setVirtualContents(int, LinksListContentsSource) 
+     * @see #ensureContentsLoaded() 
+     */
+    public boolean isVirtual(){
+        return contentsSource != null;
+    }
+    /**
+     * This replaces the contents of this list with the given amount of links 
+     * from the given source, making this list {@link #isVirtual() virtual}. 
+     * The links are not read from the source until they are needed. The 
+     * source is expected to provide the links in the same order and to not 
+     * change while this list is virtual. Like {@link #loadContents 
+     * loadContents}, this is intended for populating this list from a trusted 
+     * source, and as such the links are not checked. If this list does not 
+     * allow duplicates, then the source must not contain any duplicates.
+     * @param size The amount of links in the source.
+     * @param source The source for the links (cannot be null).
+     * @throws NullPointerException If the source is null.
+     * @throws IllegalArgumentException If the size is negative.
+     * @throws IllegalStateException If this list is read only.
+     * @see #isVirtual() 
+     * @see #ensureContentsLoaded() 
+     */
+    public void setVirtualContents(int size, LinksListContentsSource source){
+        LinkManager.getLogger().entering(this.getClass().getName(),
+                "setVirtualContents", size);
+            // Check if the source is null
+        Objects.requireNonNull(source);
+            // If the size is negative
+        if (size < 0)
+            throw new IllegalArgumentException("List size cannot be negative ("+
+                    size+")");
+            // Check if the list is read only
+        checkIfReadOnly();
+            // Clear this list in preparation for the new contents
+        clear();
+            // If the source has any links
+        if (size > 0){
+            contentsSource = source;
+            virtualSize = size;
+                // Increment the modification count
+            modCount++;
+                // Notify any listeners of the interval that was added
+            fireIntervalAdded(0, size-1);
+                // The contents of the list have been modified
+            markContentsModified();
+        }
+        LinkManager.getLogger().exiting(this.getClass().getName(),
+                "setVirtualContents");
+    }
+    /**
+     * This stops this list from being virtual, discarding the pages of links 
+     * that were read from the contents source. This does not change the 
+     * contents of the backing list.
+     */
+    private void discardVirtualContents(){
+        contentsSource = null;
+        virtualSize = 0;
+        synchronized (pageCache){
+            pageCache.clear();
+        }
+    }
+    /**
+     * This loads all the links in this list into memory if this list is 
+     * {@link #isVirtual() virtual}, so that this list is no longer virtual. 
+     * This does nothing if this list is not virtual. This does not notify any 
+     * listeners or mark this list as edited, since the contents of this list 
+     * do not change.
+     * @throws RuntimeException If the links could not be read from the 
+     * contents source.
+     * @see #isVirtual() 
+     */
+    public void ensureContentsLoaded(){
+            // If this list is not virtual
+        if (!isVirtual())
+            return;
+        LinkManager.getLogger().entering(this.getClass().getName(),
+                "ensureContentsLoaded", virtualSize);
+            // Get the size of this list
+        int size = virtualSize;
+            // Read all the links from the source. If this fails, then this 
+            // list will still be virtual
+        List<String> links = contentsSource.getLinks(this, 0, size);
+        discardVirtualContents();
+            // If the backing list is an ArrayList
+        if (list instanceof ArrayList)
+                // Make room for the links all at once
+            ((ArrayList<String>)list).ensureCapacity(links.size());
+            // Add the links to the internal list
+        list.addAll(links);
+            // Add the links to the set
+        set.addAll(links);
+            // Increment the modification count
+        modCount++;
+            // If the source did not provide the expected amount of links
+        if (links.size() != size){
+            LinkManager.getLogger().log(Level.WARNING, 
+                    "List ({0}: {1}) expected {2} links, but loaded {3}", 
+                    new Object[]{getListID(), getListName(), size, 
+                        links.size()});
+                // Notify any listeners that the contents have changed
+            fireListDataEvent(ListDataEvent.CONTENTS_CHANGED, 0, 
+                    Math.max(size, links.size())-1);
+        }
+        LinkManager.getLogger().exiting(this.getClass().getName(),
+                "ensureContentsLoaded");
+    }
+    /**
+     * This returns the link at the given index while this list is virtual, 
+     * reading the page containing the link from the contents source if it is 
+     * not in the page cache.
+     * @param index The index of the link to get.
+     * @return The link at the given index.
+     */
+    private String getVirtualElement(int index){
+            // Check the index
+        Objects.checkIndex(index, virtualSize);
+            // Get the index of the page containing the link
+        int page = index / VIRTUAL_PAGE_SIZE;
+        List<String> links;
+        synchronized (pageCache){
+            links = pageCache.get(page);
+        }   // If the page is not in the cache
+        if (links == null){
+                // Get the index of the first link in the page
+            int start = page * VIRTUAL_PAGE_SIZE;
+                // Read the page from the source
+            links = contentsSource.getLinks(this, start, 
+                    Math.min(start + VIRTUAL_PAGE_SIZE, virtualSize));
+            synchronized (pageCache){
+                pageCache.put(page, links);
+            }
+        }   // Get the index of the link in the page
+        index %= VIRTUAL_PAGE_SIZE;
+        return (index < links.size()) ? links.get(index) : null;
+    }
+    /**
+     * This returns the index of the first occurrence of the given link while 
+     * this list is virtual, asking the contents source for the link instead of 
+     * loading the links into memory.
+     * @param o The link to search for.
+     * @return The index of the first occurrence of the link, or -1 if this 
+     * list does not contain the link.
+     */
+    private int getVirtualIndexOf(Object o){
+            // If the object is not a link
+        if (!(o instanceof String))
+            return -1;
+            // Get the index of the link from the source
+        int index = contentsSource.indexOf(this, (String)o);
+            // If the index is within this list, return it
+        return (index >= 0 && index < virtualSize) ? index : -1;
+    }
+    /**
+     * This returns the index of the given link in this list, checking the 
+     * given index first. This is used to carry over a selection from another 
+     * list with the same links, where the link is most likely at the same 
+     * index in this list. This avoids searching this list when the link is 
+     * where it is expected to be, which for a {@link #isVirtual() virtual} 
+     * list only needs the page containing the index.
+     * @param o The link to search for.
+     * @param index The index at which the link is expected to be.
+     * @return The given index if the link is at that index, otherwise the 
+     * index of the first occurrence of the link, or -1 if this list does not 
+     * contain the link.
+     * @see #indexOf(Object) 
+     */
+    public int findIndex(Object o, int index){
+            // If the link is at the given index
+        if (o != null && index >= 0 && index < size() && o.equals(get(index)))
+            return index;
+        return indexOf(o);
+    }
+    @Override
+    public int size(){
+        return (isVirtual()) ? virtualSize : super.size();
+    }
+    @Override
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+    @Override
+    public String get(int index){
+            // If this list is virtual, get the link from the page it is in
+        return (isVirtual()) ? getVirtualElement(index) : super.get(index);
+    }
+    @Override
+    public int getSize(){
+        return size();
+    }
+    @Override
+    public String getElementAt(int index){
+        return get(index);
+    }
+    @Override
+    public void clear(){
+            // If this list is not virtual
+        if (!isVirtual()){
+            super.clear();
+            return;
+        }   // Check if the list is read only
+        checkIfReadOnly();
+            // Get the size of this list
+        int size = virtualSize;
+            // There is no need to load the links just to remove them
+        discardVirtualContents();
+            // Increment the modification count
+        modCount++;
+            // Notify any listeners of the interval that was removed
+        fireListDataEvent(ListDataEvent.INTERVAL_REMOVED, 0, size-1);
+            // The contents of the list have been modified
+        markContentsModified();
+    }
+    @Override
+    public boolean add(String element){
+        ensureContentsLoaded();
+        return super.add(element);
+    }
+    @Override
+    public boolean addAll(Collection<? extends String> c){
+        ensureContentsLoaded();
+        return super.addAll(c);
+    }
+    @Override
+    public boolean remove(Object o){
+        ensureContentsLoaded();
+        return super.remove(o);
+    }
+    @Override
+    public boolean removeAll(Collection<?> c){
+        ensureContentsLoaded();
+        return super.removeAll(c);
+    }
+    @Override
+    public boolean retainAll(Collection<?> c){
+        ensureContentsLoaded();
+        return super.retainAll(c);
+    }
+    @Override
+    public boolean removeIf(Predicate<? super String> filter){
+        ensureContentsLoaded();
+        return super.removeIf(filter);
+    }
+    @Override
+    public void replaceAll(UnaryOperator<String> operator){
+        ensureContentsLoaded();
+        super.replaceAll(operator);
+    }
+    @Override
+    public void sort(Comparator<? super String> c){
+        ensureContentsLoaded();
+        super.sort(c);
+    }
+    @Override
+    public boolean contains(Object o){
+            // If this list is virtual, ask the source for the link
+        if (isVirtual())
+            return getVirtualIndexOf(o) >= 0;
+        return super.contains(o);
+    }
+    @Override
+    public boolean containsAll(Collection<?> c){
+        ensureContentsLoaded();
+        return super.containsAll(c);
+    }
+    @Override
+    public int indexOf(Object o){
+            // If this list is virtual, ask the source for the link
+        if (isVirtual())
+            return getVirtualIndexOf(o);
+        return super.indexOf(o);
+    }
+    @Override
+    public int lastIndexOf(Object o){
+        ensureContentsLoaded();
+        return super.lastIndexOf(o);
+    }
+    @Override
+    public Iterator<String> iterator(){
+        ensureContentsLoaded();
+        return super.iterator();
+    }
+    @Override
+    public ListIterator<String> listIterator(){
+        ensureContentsLoaded();
+        return super.listIterator();
+    }
+    @Override
+    public ListIterator<String> listIterator(int index){
+        ensureContentsLoaded();
+        return super.listIterator(index);
+    }
+    @Override
+    public List<String> subList(int fromIndex, int toIndex){
+        ensureContentsLoaded();
+        return super.subList(fromIndex, toIndex);
+    }
+    @Override
+    public Object[] toArray(){
+        ensureContentsLoaded();
+        return super.toArray();
+    }
+    @Override
+    public <T> T[] toArray(T[] a){
+        ensureContentsLoaded();
+        return super.toArray(a);
+    }
+    @Override
+    public void forEach(Consumer<? super String> action){
+        ensureContentsLoaded();
+        super.forEach(action);
+    }
+    @Override
+    public Spliterator<String> spliterator(){
+        ensureContentsLoaded();
+        return super.spliterator();
+    }
     /**
      * 
      * @param obj
      * @return 
      */
     public boolean listEquals(Object obj){
+            // Load the contents of this list if it is virtual
+        ensureContentsLoaded();
         return super.equals(obj);
     }
     @Override
@@ -1203,6 +1694,9 @@ public class LinksListModel extends ArrayListModel<String> implements
     }
     @Override
     protected void fireListDataEvent(int type, int index0, int index1){
+            // Update the search index before any listeners can search this 
+        if (searchIndex != null)    // list
+            searchIndex.update(type, index0, index1);
             // Fire the list data event
         super.fireListDataEvent(type, index0, index1);
             // Add the list data event to the event list
@@ -1215,6 +1709,79 @@ public class LinksListModel extends ArrayListModel<String> implements
     public List<ListDataEvent> getListDataEvents(){
         return events;
     }
+    /**
+     * This returns the range of this list that has been edited since this 
+     * list was last loaded or saved, as determined from the {@link 
+     * #getListDataEvents list data events}. Everything before the start of 
+     * the range and the elements after the end of the range are the same as 
+     * they were when this list was last loaded or saved. This returns null if 
+     * the edited range cannot be determined, such as if {@link 
+     * #setContentsModified setContentsModified} was called directly or if the 
+     * events are inconsistent with the size of this list.
+     * @return The range of this list that has been edited, or null.
+     * @see #getListDataEvents() 
+     */
+    public EditedRange getEditedRange(){
+            // If the events do not describe all the changes to the contents
+        if (!editsTracked)
+            return null;
+            // Get the size of the list
+        int size = size();
+            // This will get the size of the list before it was edited
+        int original = size;
+            // Go through the events to undo the changes in size
+        for (ListDataEvent evt : events){
+            int count = evt.getIndex1() - evt.getIndex0() + 1;
+            if (evt.getType() == ListDataEvent.INTERVAL_ADDED)
+                original -= count;
+            else if (evt.getType() == ListDataEvent.INTERVAL_REMOVED)
+                original += count;
+        }   // If the original size is somehow negative
+        if (original < 0)
+            return null;
+            // This gets the size of the list at the current event
+        int n = original;
+            // This gets the amount of elements at the start of the list that 
+        int head = original;    // have not been changed
+            // This gets the amount of elements at the end of the list that 
+        int tail = original;    // have not been changed
+            // Go through the events in the order they occurred
+        for (ListDataEvent evt : events){
+            int index0 = evt.getIndex0();
+            int index1 = evt.getIndex1();
+                // If the event does not have a valid range
+            if (index0 < 0)
+                return null;
+            switch(evt.getType()){
+                case(ListDataEvent.INTERVAL_ADDED):
+                        // If the interval was added past the end of the list
+                    if (index0 > n)
+                        return null;
+                    tail = Math.min(tail, n - index0);
+                    n += index1 - index0 + 1;
+                    break;
+                case(ListDataEvent.INTERVAL_REMOVED):
+                        // If the interval removed goes past the end of the list
+                    if (index1 >= n)
+                        return null;
+                    tail = Math.min(tail, n - index1 - 1);
+                    n -= index1 - index0 + 1;
+                    break;
+                default:
+                        // If the interval changed goes past the end of the list
+                    if (index1 >= n)
+                        return null;
+                    tail = Math.min(tail, n - index1 - 1);
+            }
+            head = Math.min(head, index0);
+        }   // If the events do not add up to the current size of the list
+        if (n != size)
+            return null;
+            // Make sure the unchanged tail does not overlap the unchanged head 
+            // in either the original or the current list
+        tail = Math.max(0, Math.min(tail, Math.min(original, size) - head));
+        return new EditedRange(head, tail, original, size);
+    }
     /**
      * 
      * @param l 
@@ -1628,7 +2195,8 @@ public class LinksListModel extends ArrayListModel<String> implements
             // If only one item is selected
         if (model.getSelectedItemsCount() == 1){
                 // Get the index of the selected value in this list
-            int selIndex = indexOf(model.getSelectedValue());
+            int selIndex = findIndex(model.getSelectedValue(),
+                    model.getMinSelectionIndex());
                 // If the selected value is in this list
             if (selIndex >= 0)
                 setSelectionInterval(selIndex,selIndex);
@@ -1636,14 +2204,16 @@ public class LinksListModel extends ArrayListModel<String> implements
                 // Go through the selected indexes in the given model
             for (int i : model.getSelectedIndices()){
                     // Get the index of the current selected value in this list
-                int selIndex = indexOf(model.get(i));
+                int selIndex = findIndex(model.get(i),i);
                     // If the selected value is in this list
                 if (selIndex >= 0)
                     addSelectionInterval(selIndex,selIndex);
             }   // Get the index of the anchor selection index in this list
-            int anchor = indexOf(model.get(model.getAnchorSelectionIndex()));
+            int anchor = findIndex(model.get(model.getAnchorSelectionIndex()),
+                    model.getAnchorSelectionIndex());
                 // Get the index of the lead selection index in this list
-            int lead = indexOf(model.get(model.getLeadSelectionIndex()));
+            int lead = findIndex(model.get(model.getLeadSelectionIndex()),
+                    model.getLeadSelectionIndex());
                 // If both the lead and anchor selection are not in this list
             if (anchor < 0 && lead < 0)
                 lead = anchor = getMinSelectionIndex();
@@ -1687,4 +2257,102 @@ public class LinksListModel extends ArrayListModel<String> implements
                     evt.getValueIsAdjusting());
         }
     }
+    /**
+     * This describes the range of a {@code LinksListModel} that has been 
+     * edited since the model was last loaded or saved. 
+     * @see #getEditedRange() 
+     */
+    public static class EditedRange{
+        /**
+         * The index of the first element that may have changed.
+         */
+        private final int start;
+        /**
+         * The amount of elements at the end of the list that have not changed.
+         */
+        private final int tail;
+        /**
+         * The size of the list when it was last loaded or saved.
+         */
+        private final int originalSize;
+        /**
+         * The current size of the list.
+         */
+        private final int size;
+        /**
+         * This constructs an EditedRange.
+         * @param start The index of the first element that may have changed.
+         * @param tail The amount of elements at the end of the list that have 
+         * not changed.
+         * @param originalSize The size of the list when it was last loaded or 
+         * saved.
+         * @param size The current size of the list.
+         */
+        EditedRange(int start, int tail, int originalSize, int size){
+            this.start = start;
+            this.tail = tail;
+            this.originalSize = originalSize;
+            this.size = size;
+        }
+        /**
+         * This returns the index of the first element that may have changed. 
+         * This is the same in both the original and the current list.
+         * @return The start of the edited range.
+         */
+        public int getStartIndex(){
+            return start;
+        }
+        /**
+         * This returns the end of the edited range in the current list, 
+         * exclusive.
+         * @return The end of the edited range in the current list.
+         */
+        public int getEndIndex(){
+            return size - tail;
+        }
+        /**
+         * This returns the end of the edited range in the list as it was when 
+         * it was last loaded or saved, exclusive.
+         * @return The end of the edited range in the original list.
+         */
+        public int getOriginalEndIndex(){
+            return originalSize - tail;
+        }
+        /**
+         * This returns the amount of elements at the end of the list that have 
+         * not changed.
+         * @return The size of the unchanged tail of the list.
+         */
+        public int getUnchangedTailSize(){
+            return tail;
+        }
+        /**
+         * This returns the size of the list when it was last loaded or saved.
+         * @return The original size of the list.
+         */
+        public int getOriginalSize(){
+            return originalSize;
+        }
+        /**
+         * This returns the current size of the list.
+         * @return The current size of the list.
+         */
+        public int getSize(){
+            return size;
+        }
+        /**
+         * This returns whether the list is unchanged.
+         * @return Whether the edited range is empty in both the original and 
+         * the current list.
+         */
+        public boolean isEmpty(){
+            return start == getEndIndex() && start == getOriginalEndIndex();
+        }
+        @Override
+        public String toString(){
+            return getClass().getName()+"[start="+start+",end="+getEndIndex()+
+                    ",originalEnd="+getOriginalEndIndex()+",originalSize="+
+                    originalSize+",size="+size+"]";
+        }
+    }
 }
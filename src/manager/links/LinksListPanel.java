@@ -7,7 +7,9 @@ package manager.links;
 import event.DisabledComponentMouseListener;
 import java.awt.BorderLayout;
 import java.awt.Component;
+import java.awt.Dimension;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.event.MouseListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
@@ -17,6 +19,7 @@ import java.util.logging.Level;
 import javax.swing.*;
 import javax.swing.event.*;
 import manager.LinkManager;
+import manager.renderer.TruncatingListCellRenderer;
 
 /**
  *
@@ -32,6 +35,32 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
     public static final String TAB_COMPONENT_PROPERTY_CHANGED = 
             "TabComponentPropertyChanged";
     
+    public static final String FIXED_CELL_SIZE_ENABLED_PROPERTY_CHANGED = 
+            "FixedCellSizeEnabledPropertyChanged";
+    /**
+     * This is the link used as a prototype to get the height and initial 
+     * width of the cells in the list when the list uses a fixed cell size.
+     * @see #isFixedCellSizeEnabled() 
+     */
+    public static final String PROTOTYPE_LINK = 
+            "https://www.example.com/links/prototype/0123456789/abcdefghij/"+
+            "klmnopqrst/uvwxyz.html";
+    /**
+     * This is the maximum amount of rows that will be measured when rows are 
+     * added to or changed in the list while the list uses a fixed cell size. 
+     * Larger changes, such as a list being loaded in bulk, are not measured.
+     * @see #isFixedCellSizeEnabled() 
+     */
+    public static final int MAXIMUM_MEASURED_ROWS = 1024;
+    /**
+     * This is the maximum width of the cells in the list while the list uses a 
+     * fixed cell size, as a multiple of the width of the {@link 
+     * #PROTOTYPE_LINK prototype link}. Links that are wider than this are 
+     * truncated.
+     * @see #isFixedCellSizeEnabled() 
+     */
+    public static final int MAXIMUM_CELL_WIDTH_MULTIPLIER = 4;
+    
     /**
      * The model for this LinksListPanel.
      */
@@ -62,6 +91,27 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
     private Handler handler;
     
     private Component tabComponent = null;
+    /**
+     * This stores whether the list uses a fixed cell size.
+     */
+    private boolean fixedCellSize = true;
+    /**
+     * This is the renderer the list uses when it does not use a fixed cell 
+     * size.
+     */
+    private ListCellRenderer<? super String> defaultRenderer;
+    /**
+     * This is the renderer the list uses when it uses a fixed cell size.
+     */
+    private TruncatingListCellRenderer fixedSizeRenderer;
+    /**
+     * This is the width of the prototype link when rendered in the list.
+     */
+    private int prototypeWidth = -1;
+    /**
+     * This is the width of a rendered cell that is not taken up by its text.
+     */
+    private int cellInsetWidth = 0;
     
     private void initialize(LinksListModel model){
         handler = new Handler();
@@ -75,6 +125,9 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
         list.setInheritsPopupMenu(true);
         list.addMouseListener(disabledListener);
         list.addListSelectionListener(handler);
+        defaultRenderer = list.getCellRenderer();
+        fixedSizeRenderer = new TruncatingListCellRenderer();
+        list.setCellRenderer(fixedSizeRenderer);
         scrollPane = new JScrollPane(list,ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS,
             ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setDoubleBuffered(true);
@@ -133,6 +186,7 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
                 new Object[]{(this.model!=null)?this.model.getListID():"null", 
                     model.getListID()});
         String selected = list.getSelectedValue();
+        int selIndex = list.getSelectedIndex();
         LinksListModel old = this.model;
         this.model = model;
         if (old != null){
@@ -147,6 +201,9 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
         list.setSelectionModel(model);
         LinkManager.getLogger().finer("Setting list model");
         list.setModel(model);
+            // Reset the cell size for the new model. The rows in the new model 
+            // are not measured, since that would defeat the point of using a 
+        updateFixedCellSize();  // fixed cell size
         firePropertyChange(MODEL_PROPERTY_CHANGED,old,model);
         fireContentsChanged(0,(old!=null)?Math.max(old.size()-1,model.size()-1):
                 model.size()-1);
@@ -173,8 +230,12 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
         fireStateChanged();
         if (keepSelection){
             LinkManager.getLogger().log(Level.FINER, "Maintaining selected value {0}", selected);
-            if (model.contains(selected))
-                list.setSelectedValue(selected, shouldScroll);
+                // Get the index of the selected value in the new model, 
+                // checking the index it was at first so that the new model 
+                // does not have to be searched if it is still there
+            selIndex = model.findIndex(selected, selIndex);
+            if (selIndex >= 0)
+                setSelectedIndex(selIndex, shouldScroll);
             else{
                 list.clearSelection();
                 LinkManager.getLogger().finer("Selected value not found in model");
@@ -390,6 +451,93 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
     public boolean getScrollsToBottom(){
         return bottomScrolls;
     }
+    /**
+     * This sets whether the list uses a fixed cell size. When enabled, the 
+     * height of the cells in the list and their initial width are taken from 
+     * the {@link #PROTOTYPE_LINK prototype link}, so the list does not need to 
+     * measure every row whenever its model changes. The width of the cells 
+     * only grows to fit rows that are added or changed afterwards, up to 
+     * {@link #MAXIMUM_CELL_WIDTH_MULTIPLIER} times the width of the 
+     * prototype, and any links that are too wide to fit are truncated. This is 
+     * enabled by default.
+     * @param enabled Whether the list should use a fixed cell size.
+     * @see #isFixedCellSizeEnabled() 
+     * @see TruncatingListCellRenderer
+     */
+    public void setFixedCellSizeEnabled(boolean enabled){
+        if (enabled == fixedCellSize)
+            return;
+        fixedCellSize = enabled;
+        if (enabled){
+            list.setCellRenderer(fixedSizeRenderer);
+            updateFixedCellSize();
+        } else {
+            list.setCellRenderer(defaultRenderer);
+            list.setFixedCellHeight(-1);
+            list.setFixedCellWidth(-1);
+        }
+        firePropertyChange(FIXED_CELL_SIZE_ENABLED_PROPERTY_CHANGED,!enabled,
+                enabled);
+    }
+    /**
+     * This returns whether the list uses a fixed cell size.
+     * @return Whether the list uses a fixed cell size.
+     * @see #setFixedCellSizeEnabled(boolean) 
+     */
+    public boolean isFixedCellSizeEnabled(){
+        return fixedCellSize;
+    }
+    /**
+     * This sets the cell size of the list from the {@link #PROTOTYPE_LINK 
+     * prototype link} if the list uses a fixed cell size.
+     * @see #isFixedCellSizeEnabled() 
+     */
+    protected void updateFixedCellSize(){
+            // If the list does not use a fixed cell size
+        if (!fixedCellSize)
+            return;
+            // Get the size of the prototype when rendered. This uses an index 
+            // of -1 so that the renderer does not truncate the prototype
+        Dimension size = list.getCellRenderer().getListCellRendererComponent(
+                list, PROTOTYPE_LINK, -1, false, false).getPreferredSize();
+        prototypeWidth = size.width;
+        cellInsetWidth = Math.max(size.width - list.getFontMetrics(
+                list.getFont()).stringWidth(PROTOTYPE_LINK), 0);
+        list.setFixedCellHeight(size.height);
+        list.setFixedCellWidth(size.width);
+    }
+    /**
+     * This widens the cells in the list to fit the rows in the given interval 
+     * if the list uses a fixed cell size. Only the rows in the given interval 
+     * are measured, and intervals with more than {@link 
+     * #MAXIMUM_MEASURED_ROWS} rows are not measured at all. 
+     * @param index0 One end of the interval.
+     * @param index1 The other end of the interval.
+     * @see #isFixedCellSizeEnabled() 
+     */
+    protected void updateFixedCellWidth(int index0, int index1){
+            // If the list does not use a fixed cell size
+        if (!fixedCellSize || prototypeWidth < 0)
+            return;
+        int start = Math.max(Math.min(index0, index1), 0);
+        int end = Math.min(Math.max(index0, index1), model.size()-1);
+            // If the interval is empty or too large to measure
+        if (end < start || end - start >= MAXIMUM_MEASURED_ROWS)
+            return;
+        int maxWidth = prototypeWidth * MAXIMUM_CELL_WIDTH_MULTIPLIER;
+        int width = list.getFixedCellWidth();
+        FontMetrics fm = list.getFontMetrics(list.getFont());
+            // Go through the rows in the interval until the cells are as wide 
+        for (int i = start; i <= end && width < maxWidth; i++){ // as they can be
+            String value = model.get(i);
+            if (value != null)
+                width = Math.max(width, fm.stringWidth(value)+cellInsetWidth);
+        }
+        width = Math.min(width, maxWidth);
+            // If the cells need to be wider
+        if (width > list.getFixedCellWidth())
+            list.setFixedCellWidth(width);
+    }
     
     public Map<String,LinksListAction> getListActionMap(){
         return panelActionMap;
@@ -487,7 +635,8 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
                 ",listName="+Objects.toString(getListName(),"")+
                 ",lastModified="+getLastModified()+
                 ",edited="+isEdited()+
-                ",scrollsToBottom="+getScrollsToBottom();
+                ",scrollsToBottom="+getScrollsToBottom()+
+                ",fixedCellSize="+isFixedCellSizeEnabled();
     }
     @Override
     public void setFont(Font font){
@@ -495,6 +644,7 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
         try{
             scrollPane.setFont(font);
             list.setFont(font);
+            updateFixedCellSize();
         }
         catch(NullPointerException ex){}
     }
@@ -674,6 +824,7 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
         @Override
         public void intervalAdded(ListDataEvent evt) {
                 // If this is to scroll to the bottom after adding an item
+            updateFixedCellWidth(evt.getIndex0(),evt.getIndex1());
             if (bottomScrolls){      
                 scrollAfterAdding(evt);
             }
@@ -687,6 +838,7 @@ public class LinksListPanel extends JPanel implements Comparable<LinksListPanel>
         }
         @Override
         public void contentsChanged(ListDataEvent evt) {
+            updateFixedCellWidth(evt.getIndex0(),evt.getIndex1());
             updateActionEnabled();
             fireContentsChanged(evt.getIndex0(),evt.getIndex1());
         }
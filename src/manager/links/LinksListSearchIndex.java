@@ -0,0 +1,357 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.links;
+
+import java.util.*;
+import javax.swing.event.ListDataEvent;
+
+/**
+ * This is an index used by a {@link LinksListModel} to search through its 
+ * links without having to normalize and check every link for every search. 
+ * The index keeps the normalized (lower case) forms of the links in the model, 
+ * and a cache of the sorted indexes of the links that match the most recent 
+ * searches. Both are updated incrementally from the list data events fired by 
+ * the model, so that repeated searches for the same text only need to look up 
+ * the next match in the cached indexes. A search for text that contains the 
+ * text of a cached search only checks the links that matched the cached 
+ * search. <p>
+ * 
+ * The normalized forms of the links are only kept while the model is not 
+ * {@link LinksListModel#isVirtual() virtual}, since keeping them would 
+ * require keeping a copy of every link in memory. The index is built the 
+ * first time the model is searched, and is discarded if an event cannot be 
+ * applied to it.
+ * @author Milo Steier
+ * @see LinksListModel#getNextMatch
+ * @see LinksListModel#getMatches
+ * @see LinksListModel#getMatchingIndexes
+ */
+class LinksListSearchIndex {
+    /**
+     * This is the maximum amount of searches that the matches are cached for.
+     */
+    static final int MAXIMUM_CACHED_SEARCHES = 8;
+    /**
+     * This is the model being indexed.
+     */
+    private final LinksListModel model;
+    /**
+     * These are the normalized forms of the links in the model, or null if 
+     * they have not been computed.
+     */
+    private List<String> keys = null;
+    /**
+     * This is the size of the model as of the last event applied to this 
+     * index. This is used to detect events that cannot be applied to this 
+     * index.
+     */
+    private int size = -1;
+    /**
+     * This is a cache of the matches for the most recent searches, in access 
+     * order so that the least recently used search is removed once the cache 
+     * is full.
+     */
+    private final Map<Search, Matches> cache = 
+            new LinkedHashMap<Search, Matches>(16, 0.75f, true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Search, Matches> eldest){
+            return size() > MAXIMUM_CACHED_SEARCHES;
+        }
+    };
+    /**
+     * This constructs a LinksListSearchIndex for the given model.
+     * @param model The model to index.
+     */
+    LinksListSearchIndex(LinksListModel model){
+        this.model = Objects.requireNonNull(model);
+    }
+    /**
+     * This discards the contents of this index, so that it is rebuilt the next 
+     * time the model is searched.
+     */
+    synchronized void clear(){
+        keys = null;
+        cache.clear();
+        size = -1;
+    }
+    /**
+     * This returns whether the link at the given index matches the given 
+     * search.
+     * @param index The index of the link to check.
+     * @param search The search to check for.
+     * @return Whether the link matches.
+     */
+    private boolean matches(int index, Search search){
+            // If the search is case insensitive and the normalized forms of 
+        if (!search.matchCase && keys != null)  // the links are available
+            return keys.get(index).contains(search.text);
+        return model.matchText(model.get(index), search.text, search.matchCase);
+    }
+    /**
+     * This makes sure this index is in sync with the model, rebuilding it if 
+     * it was discarded.
+     */
+    private void ensureBuilt(){
+            // If the index is in sync with the model
+        if (size == model.size() && (keys != null || model.isVirtual()))
+            return;
+        cache.clear();
+        size = model.size();
+            // If the model is virtual, then only the matches will be cached
+        if (model.isVirtual()){
+            keys = null;
+            return;
+        }
+        keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            keys.add(model.toSearchKey(model.get(i)));
+    }
+    /**
+     * This returns the matches for the given search text, which should have 
+     * already been formatted by {@link LinksListModel#getSearchString 
+     * getSearchString}. The returned matches must not be modified, and are 
+     * only valid until the model is next modified.
+     * @param text The formatted text to search for.
+     * @param matchCase Whether the search is case sensitive.
+     * @return The sorted indexes of the links that match.
+     */
+    synchronized Matches getMatches(String text, boolean matchCase){
+        ensureBuilt();
+        Search search = new Search(text, matchCase);
+        Matches matches = cache.get(search);
+            // If the matches for this search are cached
+        if (matches != null)
+            return matches;
+            // This will get the matches for a cached search whose text is in 
+            // the text for this search. Only the links that match that 
+        Matches candidates = null;  // search can match this search
+        for (Map.Entry<Search, Matches> entry : cache.entrySet()){
+            if (entry.getKey().matchCase == matchCase && 
+                    text.contains(entry.getKey().text) && (candidates == null || 
+                    entry.getValue().size < candidates.size))
+                candidates = entry.getValue();
+        }
+        matches = new Matches();
+            // If there are no cached searches to narrow down the links
+        if (candidates == null){
+            for (int i = 0; i < size; i++){
+                if (matches(i, search))
+                    matches.add(i);
+            }
+        } else {
+            for (int i = 0; i < candidates.size; i++){
+                if (matches(candidates.indexes[i], search))
+                    matches.add(candidates.indexes[i]);
+            }
+        }
+        cache.put(search, matches);
+        return matches;
+    }
+    /**
+     * This updates this index for a list data event fired by the model. This 
+     * should be called after the model has been changed and before any 
+     * listeners are notified. If the event is inconsistent with this index, 
+     * then this index is discarded.
+     * @param type The type of the event.
+     * @param index0 One end of the interval that changed.
+     * @param index1 The other end of the interval that changed.
+     */
+    synchronized void update(int type, int index0, int index1){
+            // If the index has not been built yet
+        if (size < 0)
+            return;
+        int start = Math.min(index0, index1);
+        int end = Math.max(index0, index1);
+        int length = end - start + 1;
+        int newSize = model.size();
+            // If the model is virtual, the normalized forms of the links were 
+            // not computed, or the event does not match the change in the 
+        if (model.isVirtual() || keys == null || start < 0 ||  // model's size
+                (type == ListDataEvent.INTERVAL_ADDED && 
+                        (size + length != newSize || end >= newSize)) || 
+                (type == ListDataEvent.INTERVAL_REMOVED && 
+                        (size - length != newSize || end >= size)) || 
+                (type == ListDataEvent.CONTENTS_CHANGED && 
+                        (size != newSize || end >= newSize))){
+            clear();
+            return;
+        }
+        size = newSize;
+        switch(type){
+            case ListDataEvent.INTERVAL_ADDED:
+                    // Add the normalized forms of the new links
+                List<String> added = new ArrayList<>(length);
+                for (int i = start; i <= end; i++)
+                    added.add(model.toSearchKey(model.get(i)));
+                keys.addAll(start, added);
+                for (Map.Entry<Search, Matches> entry : cache.entrySet()){
+                        // Shift the matches after the new links
+                    entry.getValue().shift(start, length);
+                    entry.getValue().insert(start, end, entry.getKey());
+                }
+                break;
+            case ListDataEvent.INTERVAL_REMOVED:
+                keys.subList(start, end+1).clear();
+                for (Matches matches : cache.values()){
+                    matches.remove(start, end);
+                        // Shift the matches after the removed links
+                    matches.shift(end+1, -length);
+                }
+                break;
+            default:
+                    // Update the normalized forms of the changed links
+                for (int i = start; i <= end; i++)
+                    keys.set(i, model.toSearchKey(model.get(i)));
+                for (Map.Entry<Search, Matches> entry : cache.entrySet()){
+                    entry.getValue().remove(start, end);
+                    entry.getValue().insert(start, end, entry.getKey());
+                }
+        }
+    }
+    /**
+     * This is a search that has its matches cached.
+     */
+    private static class Search{
+        /**
+         * The formatted text being searched for.
+         */
+        final String text;
+        /**
+         * Whether the search is case sensitive.
+         */
+        final boolean matchCase;
+        Search(String text, boolean matchCase){
+            this.text = Objects.requireNonNull(text);
+            this.matchCase = matchCase;
+        }
+        @Override
+        public boolean equals(Object obj){
+            if (!(obj instanceof Search))
+                return false;
+            Search other = (Search) obj;
+            return matchCase == other.matchCase && text.equals(other.text);
+        }
+        @Override
+        public int hashCode(){
+            return 31 * text.hashCode() + Boolean.hashCode(matchCase);
+        }
+    }
+    /**
+     * This is a sorted array of the indexes of the links that match a search.
+     */
+    class Matches{
+        /**
+         * The indexes of the matching links, in ascending order.
+         */
+        private int[] indexes = new int[16];
+        /**
+         * The amount of matching links.
+         */
+        private int size = 0;
+        /**
+         * This returns the amount of matching links.
+         * @return The amount of matches.
+         */
+        int size(){
+            return size;
+        }
+        /**
+         * This returns the index of the match at the given position.
+         * @param i The position of the match.
+         * @return The index of the matching link.
+         */
+        int get(int i){
+            Objects.checkIndex(i, size);
+            return indexes[i];
+        }
+        /**
+         * This returns the position of the first match with an index greater 
+         * than or equal to the given index.
+         * @param index The index to search for.
+         * @return The position of the first match at or after the index.
+         */
+        private int ceilingPosition(int index){
+            int pos = Arrays.binarySearch(indexes, 0, size, index);
+            return (pos < 0) ? -pos - 1 : pos;
+        }
+        /**
+         * This returns the smallest matching index that is greater than the 
+         * given index.
+         * @param index The index to start after.
+         * @return The next matching index, or -1 if there is none.
+         */
+        int higher(int index){
+            int pos = ceilingPosition(index + 1);
+            return (pos < size) ? indexes[pos] : -1;
+        }
+        /**
+         * This returns the largest matching index that is less than the given 
+         * index.
+         * @param index The index to start before.
+         * @return The previous matching index, or -1 if there is none.
+         */
+        int lower(int index){
+            int pos = ceilingPosition(index) - 1;
+            return (pos >= 0) ? indexes[pos] : -1;
+        }
+        /**
+         * This appends a matching index, which must be larger than all the 
+         * other matching indexes.
+         * @param index The matching index.
+         */
+        private void add(int index){
+            if (size == indexes.length)
+                indexes = Arrays.copyOf(indexes, size * 2);
+            indexes[size++] = index;
+        }
+        /**
+         * This shifts the matching indexes that are at or after the given 
+         * index by the given amount.
+         * @param index The first index to shift.
+         * @param amount The amount to shift the indexes by.
+         */
+        private void shift(int index, int amount){
+            for (int i = ceilingPosition(index); i < size; i++)
+                indexes[i] += amount;
+        }
+        /**
+         * This removes the matching indexes between the given indexes, 
+         * inclusive.
+         * @param start The first index to remove.
+         * @param end The last index to remove.
+         */
+        private void remove(int start, int end){
+            int from = ceilingPosition(start);
+            int to = ceilingPosition(end + 1);
+            System.arraycopy(indexes, to, indexes, from, size - to);
+            size -= to - from;
+        }
+        /**
+         * This checks the links between the given indexes, inclusive, and 
+         * inserts the indexes of the ones that match the given search. There 
+         * must not be any matching indexes between the given indexes.
+         * @param start The first index to check.
+         * @param end The last index to check.
+         * @param search The search to check the links against.
+         */
+        private void insert(int start, int end, Search search){
+                // Get the indexes of the links that match
+            Matches added = new Matches();
+            for (int i = start; i <= end; i++){
+                if (matches(i, search))
+                    added.add(i);
+            }   // If none of the links match
+            if (added.size == 0)
+                return;
+            int pos = ceilingPosition(start);
+            if (size + added.size > indexes.length)
+                indexes = Arrays.copyOf(indexes, 
+                        Math.max(size + added.size, size * 2));
+            System.arraycopy(indexes, pos, indexes, pos+added.size, size-pos);
+            System.arraycopy(added.indexes, 0, indexes, pos, added.size);
+            size += added.size;
+        }
+    }
+}
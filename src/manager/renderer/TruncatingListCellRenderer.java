@@ -0,0 +1,133 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.renderer;
+
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Insets;
+import java.util.*;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JList;
+
+/**
+ * This is a {@code DefaultListCellRenderer} for lists with a {@link 
+ * JList#getFixedCellWidth() fixed cell width}, which truncates any text that 
+ * is too long to fit in the cell and ends it with an {@link #ELLIPSIS 
+ * ellipsis}. The full text is shown as the tool tip for truncated cells. The 
+ * truncated text is cached for the most recently rendered values, so that 
+ * repainting a list does not need to measure the same text again. The cache 
+ * is cleared whenever the width of the cells or the font changes. <p>
+ * 
+ * Text is only truncated when rendering a cell in the list (i.e. when the 
+ * index is not negative), so that the preferred size of a prototype value can 
+ * be measured by rendering it with an index of -1.
+ * @author Milo Steier
+ */
+public class TruncatingListCellRenderer extends DefaultListCellRenderer{
+    /**
+     * This is the text appended to the end of text that has been truncated.
+     */
+    public static final String ELLIPSIS = "...";
+    /**
+     * This is the maximum amount of truncated text that is cached.
+     */
+    public static final int MAXIMUM_CACHED_TEXT = 1024;
+    /**
+     * This is a cache mapping text to its truncated form for the current cell 
+     * width and font. This is in access order so that the least recently used 
+     * text is removed once the cache is full.
+     */
+    private final Map<String, String> textCache = 
+            new LinkedHashMap<String, String>(16, 0.75f, true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest){
+            return size() > MAXIMUM_CACHED_TEXT;
+        }
+    };
+    /**
+     * This is the width the cached text was truncated to fit in.
+     */
+    private int cachedWidth = -1;
+    /**
+     * This is the font the cached text was measured with.
+     */
+    private Font cachedFont = null;
+    /**
+     * This returns the given text truncated so that it fits within the given 
+     * width when drawn with the given font metrics. If the text already fits, 
+     * then this returns the text as is.
+     * @param text The text to truncate.
+     * @param fm The font metrics to measure the text with.
+     * @param width The width the text must fit within.
+     * @return The truncated text.
+     */
+    protected String truncateText(String text, FontMetrics fm, int width){
+            // If the text already fits
+        if (fm.stringWidth(text) <= width)
+            return text;
+            // Get the width available for the text before the ellipsis
+        width -= fm.stringWidth(ELLIPSIS);
+            // Binary search for the longest start of the text that fits
+        int low = 0;
+        int high = text.length();
+        while (low < high){
+            int mid = (low + high + 1) >>> 1;
+            if (fm.stringWidth(text.substring(0, mid)) <= width)
+                low = mid;
+            else
+                high = mid - 1;
+        }   // If the text would be cut in the middle of a surrogate pair
+        if (low > 0 && Character.isHighSurrogate(text.charAt(low-1)))
+            low--;
+        return text.substring(0, low) + ELLIPSIS;
+    }
+    /**
+     * This returns the given text truncated so that it fits within the given 
+     * width when drawn with the given font, using the cached text if the text 
+     * has been truncated recently.
+     * @param text The text to truncate.
+     * @param font The font used to draw the text.
+     * @param width The width the text must fit within.
+     * @return The truncated text.
+     * @see #truncateText(String, FontMetrics, int) 
+     */
+    protected String getTruncatedText(String text, Font font, int width){
+            // If the width or font changed since the text was cached
+        if (width != cachedWidth || !Objects.equals(font, cachedFont)){
+            textCache.clear();
+            cachedWidth = width;
+            cachedFont = font;
+        }
+        String truncated = textCache.get(text);
+            // If the text has not been truncated recently
+        if (truncated == null){
+            truncated = truncateText(text, getFontMetrics(font), width);
+            textCache.put(text, truncated);
+        }
+        return truncated;
+    }
+    @Override
+    public Component getListCellRendererComponent(JList list, Object value, 
+            int index, boolean isSelected, boolean cellHasFocus){
+        super.getListCellRendererComponent(list, value, index, isSelected, 
+                cellHasFocus);
+        setToolTipText(null);
+            // If this is rendering a cell in a list with a fixed cell width
+        if (index >= 0 && list.getFixedCellWidth() > 0 && getText() != null){
+            String text = getText();
+            Insets insets = getInsets();
+                // Get the text truncated to fit in the cell
+            String truncated = getTruncatedText(text, getFont(), 
+                    list.getFixedCellWidth() - insets.left - insets.right);
+                // If the text was truncated
+            if (!truncated.equals(text)){
+                setText(truncated);
+                setToolTipText(text);
+            }
+        }
+        return this;
+    }
+}
@@ -0,0 +1,484 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package manager.sync;
+
+import com.dropbox.core.util.IOUtil.ProgressListener;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import manager.LinkManager;
+
+/**
+ * This downloads a file by splitting it into fixed-size byte ranges that are
+ * downloaded in parallel. The file is preallocated to its full size, and each
+ * range is written directly to its position in the file as it is received.
+ * The ranges that have been completed are recorded in a {@link
+ * #getStateFile(File) state file} next to the file, so that if the download is
+ * interrupted, downloading the same version of the file to the same location
+ * again will only download the ranges that are missing. The state file is
+ * deleted once the download completes. <p>
+ *
+ * The ranges are retrieved from a {@link RangeSource}, which allows this to be
+ * used by any {@link SyncMethod} that supports downloading part of a file.
+ * @author Milo Steier
+ * @see SyncMethod#download(File, String, manager.ProgressObserver)
+ */
+public class RangedFileDownloader {
+    /**
+     * This is the suffix for the state file that records the ranges that have
+     * been downloaded.
+     */
+    public static final String STATE_FILE_SUFFIX = ".part";
+    /**
+     * This is the default size for the ranges. This is set to 8 MiB.
+     */
+    public static final int DEFAULT_RANGE_SIZE = 0x800000;
+    /**
+     * This is the default maximum number of ranges to download at the same
+     * time.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+    /**
+     * This is the amount of times a range will be attempted before giving up.
+     */
+    public static final int MAXIMUM_ATTEMPTS = 5;
+    /**
+     * This is the value at the start of the state file used to identify it.
+     */
+    private static final int STATE_FILE_MAGIC = 0x524E4744;
+    /**
+     * This is the size of the buffer used to read each range.
+     */
+    private static final int BUFFER_SIZE = 65536;
+    /**
+     * This is an interface for the source of the ranges of a file.
+     */
+    public interface RangeSource{
+        /**
+         * This opens an input stream that reads the given range of the file.
+         * @param offset The offset of the start of the range.
+         * @param length The length of the range.
+         * @return An input stream for the range.
+         * @throws Exception If an error occurs while opening the range.
+         */
+        public InputStream openRange(long offset, long length) throws Exception;
+        /**
+         * This returns whether a range that failed with the given exception
+         * should be attempted again. By default, this returns true for I/O
+         * errors other than the file not being found.
+         * @param ex The exception that was thrown.
+         * @return Whether the range should be retried.
+         */
+        public default boolean isRetryable(Exception ex){
+            return ex instanceof IOException &&
+                    !(ex instanceof FileNotFoundException) &&
+                    !(ex instanceof InterruptedIOException);
+        }
+    }
+    /**
+     * The file being downloaded to.
+     */
+    private final File file;
+    /**
+     * The state file recording the ranges that have been completed.
+     */
+    private final File stateFile;
+    /**
+     * The size of the file being downloaded.
+     */
+    private final long size;
+    /**
+     * A string identifying the version of the file being downloaded. A
+     * download will only be resumed if the version matches.
+     */
+    private final String version;
+    /**
+     * The size of the ranges.
+     */
+    private final int rangeSize;
+    /**
+     * The maximum number of ranges to download at the same time.
+     */
+    private final int parallelism;
+    /**
+     * The number of ranges in the file.
+     */
+    private final int rangeCount;
+    /**
+     * The ranges that have been completed.
+     */
+    private BitSet completed = null;
+    /**
+     * The amount of bytes that have been downloaded so far.
+     */
+    private long bytesDownloaded = 0;
+    /**
+     * This constructs a RangedFileDownloader that will download a file with
+     * the given size and version to the given file.
+     * @param file The file to download to.
+     * @param size The size of the file being downloaded.
+     * @param version A string identifying the version of the file being
+     * downloaded, such as its revision.
+     * @param rangeSize The size of the ranges.
+     * @param parallelism The maximum number of ranges to download at the same
+     * time.
+     * @throws IllegalArgumentException If the size is negative, or if either
+     * the range size or parallelism is not positive.
+     */
+    public RangedFileDownloader(File file, long size, String version,
+            int rangeSize, int parallelism){
+        if (size < 0)
+            throw new IllegalArgumentException("Size cannot be negative: "+size);
+        if (rangeSize <= 0)
+            throw new IllegalArgumentException("Range size must be positive: "+
+                    rangeSize);
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive: "+
+                    parallelism);
+        this.file = Objects.requireNonNull(file);
+        this.stateFile = getStateFile(file);
+        this.size = size;
+        this.version = Objects.toString(version, "");
+        this.rangeSize = rangeSize;
+        this.parallelism = parallelism;
+        long count = (size + rangeSize - 1) / rangeSize;
+        if (count > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many ranges: "+count);
+        this.rangeCount = (int) count;
+    }
+    /**
+     * This constructs a RangedFileDownloader that will download a file with
+     * the given size and version to the given file using the default range
+     * size and parallelism.
+     * @param file The file to download to.
+     * @param size The size of the file being downloaded.
+     * @param version A string identifying the version of the file being
+     * downloaded, such as its revision.
+     */
+    public RangedFileDownloader(File file, long size, String version){
+        this(file,size,version,DEFAULT_RANGE_SIZE,DEFAULT_PARALLELISM);
+    }
+    /**
+     * This returns the state file used to record the ranges of the given file
+     * that have been downloaded.
+     * @param file The file being downloaded to.
+     * @return The state file for the file.
+     */
+    public static File getStateFile(File file){
+        return new File(file.getPath()+STATE_FILE_SUFFIX);
+    }
+    /**
+     * This returns whether there is an incomplete download for the given file
+     * that can be resumed.
+     * @param file The file being downloaded to.
+     * @return Whether the file has an incomplete download.
+     */
+    public static boolean isIncomplete(File file){
+        return file != null && file.exists() && getStateFile(file).exists();
+    }
+    /**
+     * This deletes the state file for the given file, if there is one. This 
+     * should be used when the file is downloaded without using a 
+     * RangedFileDownloader, so that the file is not mistaken for an incomplete 
+     * download.
+     * @param file The file being downloaded to.
+     * @return Whether the state file no longer exists.
+     */
+    public static boolean deleteState(File file){
+        File state = getStateFile(file);
+        return state.delete() || !state.exists();
+    }
+    /**
+     * This deletes the incomplete downloads in the given directory whose names 
+     * start with the given prefix and which have not been worked on for at 
+     * least the given amount of time. Both the partially downloaded file and 
+     * its state file are deleted. A state file that has no file to go with it 
+     * is also deleted. Files that do not have a state file are left alone, 
+     * since they are not incomplete downloads.
+     * @param dir The directory to search for incomplete downloads.
+     * @param prefix The prefix for the names of the files to delete.
+     * @param maxAge The amount of time in milliseconds since an incomplete 
+     * download was last worked on before it is considered stale.
+     * @param keep A file to not delete even if it is stale, or null. 
+     * @return The number of incomplete downloads that were deleted.
+     */
+    public static int deleteStaleDownloads(File dir, String prefix, long maxAge,
+            File keep){
+        LinkManager.getLogger().entering("RangedFileDownloader", 
+                "deleteStaleDownloads", new Object[]{dir,prefix,maxAge,keep});
+            // Get the state files in the directory with the given prefix
+        File[] states = dir.listFiles((File f) -> f.isFile() && 
+                f.getName().startsWith(prefix) && 
+                f.getName().endsWith(STATE_FILE_SUFFIX));
+        int count = 0;
+        if (states != null){
+                // Get the time before which a download is considered stale
+            long cutoff = System.currentTimeMillis() - maxAge;
+            for (File state : states){
+                    // Get the file that the state file is for
+                String name = state.getPath();
+                File file = new File(name.substring(0, 
+                        name.length()-STATE_FILE_SUFFIX.length()));
+                    // If this is the file to keep or the download has been 
+                    // worked on recently
+                if (file.equals(keep) || state.lastModified() >= cutoff || 
+                        file.lastModified() >= cutoff)
+                    continue;
+                LinkManager.getLogger().log(Level.FINER, 
+                        "Deleting stale download \"{0}\"", file);
+                    // Delete the file before the state file so that a 
+                    // partial file is never left without its state file
+                if ((file.delete() || !file.exists()) && 
+                        (state.delete() || !state.exists()))
+                    count++;
+            }
+        }
+        LinkManager.getLogger().exiting("RangedFileDownloader", 
+                "deleteStaleDownloads", count);
+        return count;
+    }
+    /**
+     * This returns the file being downloaded to.
+     * @return The file being downloaded to.
+     */
+    public File getFile(){
+        return file;
+    }
+    /**
+     * This returns the size of the file being downloaded.
+     * @return The size of the file.
+     */
+    public long getSize(){
+        return size;
+    }
+    /**
+     * This returns the number of ranges in the file.
+     * @return The number of ranges.
+     */
+    public int getRangeCount(){
+        return rangeCount;
+    }
+    /**
+     * This returns the length of the range with the given index.
+     * @param index The index of the range.
+     * @return The length of the range.
+     */
+    private int getRangeLength(int index){
+        return (int) Math.min(rangeSize, size - (long)index*rangeSize);
+    }
+    /**
+     * This loads the ranges that have been completed from the state file. If
+     * the state file does not exist or is for a different download, then no
+     * ranges will be considered completed.
+     * @return The ranges that have been completed.
+     */
+    private BitSet loadState(){
+            // If there is no state file or the file is not the right size
+        if (!stateFile.exists() || !file.exists() || file.length() != size)
+            return new BitSet(rangeCount);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(stateFile)))){
+                // If the state file is for the same version, size, and range
+                // size as this download
+            if (in.readInt() == STATE_FILE_MAGIC &&
+                    version.equals(in.readUTF()) && in.readLong() == size &&
+                    in.readInt() == rangeSize){
+                byte[] arr = new byte[in.readInt()];
+                in.readFully(arr);
+                BitSet bits = BitSet.valueOf(arr);
+                    // Remove any ranges beyond the end of the file
+                if (bits.length() > rangeCount)
+                    bits.clear(rangeCount, bits.length());
+                return bits;
+            }
+            LinkManager.getLogger().log(Level.FINER, 
+                    "Discarding download state for a different version of "
+                            + "\"{0}\"", file);
+        } catch (IOException ex){
+            LinkManager.getLogger().log(Level.INFO,
+                    "Failed to read download state, restarting download", ex);
+        }   // The partially downloaded file is stale, so discard it
+        file.delete();
+        stateFile.delete();
+        return new BitSet(rangeCount);
+    }
+    /**
+     * This writes the ranges that have been completed to the state file.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void saveState() throws IOException{
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(stateFile)))){
+            out.writeInt(STATE_FILE_MAGIC);
+            out.writeUTF(version);
+            out.writeLong(size);
+            out.writeInt(rangeSize);
+            byte[] arr = completed.toByteArray();
+            out.writeInt(arr.length);
+            out.write(arr);
+        }
+    }
+    /**
+     * This records that the range with the given index has been downloaded.
+     * The file is forced to storage before the state file is updated, so that
+     * the state file never claims a range that has not been written.
+     * @param channel The channel for the file.
+     * @param index The index of the range.
+     * @throws IOException If an I/O error occurs.
+     */
+    private synchronized void setCompleted(FileChannel channel, int index)
+            throws IOException{
+        channel.force(false);
+        completed.set(index);
+        saveState();
+    }
+    /**
+     * This adds the given amount of bytes to the amount downloaded and updates
+     * the progress listener.
+     * @param amount The amount of bytes downloaded.
+     * @param l The progress listener, or null.
+     */
+    private synchronized void addProgress(long amount, ProgressListener l){
+        bytesDownloaded += amount;
+        if (l != null)
+            l.onProgress(bytesDownloaded);
+    }
+    /**
+     * This downloads the range with the given index, retrying it if it fails
+     * with an exception the source considers to be retryable.
+     * @param source The source of the ranges.
+     * @param channel The channel for the file.
+     * @param index The index of the range.
+     * @param l The progress listener, or null.
+     * @throws Exception If an error occurs while downloading the range.
+     */
+    private void downloadRange(RangeSource source, FileChannel channel,
+            int index, ProgressListener l) throws Exception{
+        long offset = (long)index*rangeSize;
+        int length = getRangeLength(index);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (int attempt = 1; ; attempt++){
+                // The amount of bytes of the range written so far
+            int written = 0;
+            try (InputStream in = source.openRange(offset, length)){
+                    // The amount of bytes read
+                int len;
+                while (written < length && (len = in.read(buffer, 0,
+                        Math.min(buffer.length, length - written))) >= 0){
+                    ByteBuffer buf = ByteBuffer.wrap(buffer, 0, len);
+                        // Write the bytes at their position in the file
+                    while (buf.hasRemaining())
+                        channel.write(buf, offset + written + buf.position());
+                    written += len;
+                    addProgress(len, l);
+                }
+                if (written < length)
+                    throw new EOFException("Range at offset "+offset+
+                            " ended after "+written+" of "+length+" bytes");
+                setCompleted(channel, index);
+                return;
+            } catch (Exception ex){
+                    // Remove the progress for the failed attempt
+                addProgress(-written, l);
+                    // If the thread was interrupted or this range should not
+                    // be attempted again
+                if (Thread.currentThread().isInterrupted() ||
+                        attempt >= MAXIMUM_ATTEMPTS || !source.isRetryable(ex))
+                    throw ex;
+                LinkManager.getLogger().log(Level.INFO, "Range download attempt "+
+                        attempt+" failed at offset "+offset, ex);
+                    // Wait a little longer after each failed attempt
+                Thread.sleep(500L * attempt);
+            }
+        }
+    }
+    /**
+     * This downloads the file, resuming a previous download of the same
+     * version of the file if there is one.
+     * @param source The source of the ranges.
+     * @param l The progress listener to update with the total amount of bytes
+     * downloaded, or null.
+     * @return The amount of bytes that were downloaded by this call.
+     * @throws InterruptedIOException If this is interrupted.
+     * @throws Exception If an error occurs while downloading the file.
+     */
+    public long download(RangeSource source, ProgressListener l)
+            throws Exception{
+        LinkManager.getLogger().entering("RangedFileDownloader", "download",
+                new Object[]{file,size,version});
+        Objects.requireNonNull(source);
+        completed = loadState();
+        bytesDownloaded = 0;
+            // Count the bytes from the ranges that were already downloaded
+        for (int i = completed.nextSetBit(0); i >= 0;
+                i = completed.nextSetBit(i+1))
+            bytesDownloaded += getRangeLength(i);
+        long resumed = bytesDownloaded;
+        if (resumed > 0)
+            LinkManager.getLogger().log(Level.FINER,
+                    "Resuming download with {0} bytes already downloaded",
+                    resumed);
+        if (l != null)
+            l.onProgress(bytesDownloaded);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")){
+                // If this is not resuming a download
+            if (resumed == 0)
+                raf.setLength(0);
+                // Preallocate the file
+            raf.setLength(size);
+            saveState();
+            FileChannel channel = raf.getChannel();
+                // Get the ranges that still need to be downloaded
+            List<Integer> ranges = new ArrayList<>();
+            for (int i = completed.nextClearBit(0); i < rangeCount;
+                    i = completed.nextClearBit(i+1))
+                ranges.add(i);
+            if (!ranges.isEmpty()){
+                ExecutorService executor = Executors.newFixedThreadPool(
+                        Math.min(parallelism, ranges.size()), (Runnable r) -> {
+                            Thread thread = new Thread(r, "RangedFileDownloader");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                try{
+                    ExecutorCompletionService<Void> service =
+                            new ExecutorCompletionService<>(executor);
+                    for (Integer index : ranges){
+                        service.submit(() -> {
+                            downloadRange(source, channel, index, l);
+                            return null;
+                        });
+                    }
+                    for (int i = 0; i < ranges.size(); i++){
+                        try{
+                            service.take().get();
+                        } catch (ExecutionException ex){
+                            Throwable cause = ex.getCause();
+                            if (cause instanceof InterruptedException)
+                                throw new InterruptedIOException();
+                            if (cause instanceof Exception)
+                                throw (Exception) cause;
+                            throw ex;
+                        } catch (InterruptedException ex){
+                            throw new InterruptedIOException();
+                        }
+                    }
+                } finally {
+                        // Stop any ranges that are still downloading
+                    executor.shutdownNow();
+                }
+            }
+        }   // The download is complete, so the state is no longer needed
+        if (!stateFile.delete() && stateFile.exists())
+            stateFile.deleteOnExit();
+        long downloaded = size - resumed;
+        LinkManager.getLogger().exiting("RangedFileDownloader", "download",
+                downloaded);
+        return downloaded;
+    }
+}
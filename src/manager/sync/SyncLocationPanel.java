@@ -43,6 +43,12 @@ public class SyncLocationPanel extends javax.swing.JPanel {
      */
     public static final String FILE_COMPRESSION_LEVEL_PROPERTY_CHANGED = 
             "FileCompressionLevelPropertyChanged";
+    /**
+     * This is the property name for changes to the amount of threads used to 
+     * compress the file.
+     */
+    public static final String FILE_COMPRESSION_THREAD_COUNT_PROPERTY_CHANGED = 
+            "FileCompressionThreadCountPropertyChanged";
     /**
      * 
      */
@@ -57,6 +63,11 @@ public class SyncLocationPanel extends javax.swing.JPanel {
     private static final Integer[] COMPRESSION_LEVELS = {
         0, 1, 3, 5, 7, 9
     };
+    /**
+     * This is the maximum amount of threads that 7-Zip can use to compress a 
+     * file with LZMA2.
+     */
+    public static final int MAXIMUM_COMPRESSION_THREAD_COUNT = 32;
     /**
      * Creates new form ExternalLocationPanel
      */
@@ -65,6 +76,7 @@ public class SyncLocationPanel extends javax.swing.JPanel {
         handler = new Handler();
         dbFileField.getDocument().addDocumentListener(handler);
         compressionLevelCombo.setSelectedItem(compressionLevel);
+        compressionThreadSpinner.setValue(compressionThreads);
     }
     /**
      * This method is called from within the constructor to initialize the form.
@@ -90,6 +102,8 @@ public class SyncLocationPanel extends javax.swing.JPanel {
         compressionToggle = new javax.swing.JCheckBox();
         jLabel3 = new javax.swing.JLabel();
         compressionLevelCombo = new javax.swing.JComboBox<>();
+        threadLabel = new javax.swing.JLabel();
+        compressionThreadSpinner = new javax.swing.JSpinner();
         filePanel = new javax.swing.JPanel();
         javax.swing.JLabel jLabel2 = new javax.swing.JLabel();
         javax.swing.Box.Filler filler2 = new javax.swing.Box.Filler(new java.awt.Dimension(5, 0), new java.awt.Dimension(5, 0), new java.awt.Dimension(5, 32767));
@@ -209,6 +223,17 @@ public class SyncLocationPanel extends javax.swing.JPanel {
             }
         });
 
+        threadLabel.setLabelFor(compressionThreadSpinner);
+        threadLabel.setText("Threads:");
+
+        compressionThreadSpinner.setModel(new javax.swing.SpinnerNumberModel(1, 1, MAXIMUM_COMPRESSION_THREAD_COUNT, 1));
+        compressionThreadSpinner.setEnabled(false);
+        compressionThreadSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                compressionThreadSpinnerStateChanged(evt);
+            }
+        });
+
         filePanel.setLayout(new javax.swing.BoxLayout(filePanel, javax.swing.BoxLayout.X_AXIS));
 
         jLabel2.setLabelFor(dbFileField);
@@ -241,7 +266,11 @@ public class SyncLocationPanel extends javax.swing.JPanel {
                         .addComponent(jLabel3)
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                         .addComponent(compressionLevelCombo, javax.swing.GroupLayout.PREFERRED_SIZE, 113, javax.swing.GroupLayout.PREFERRED_SIZE)
-                        .addGap(0, 63, Short.MAX_VALUE)))
+                        .addGap(18, 18, 18)
+                        .addComponent(threadLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(compressionThreadSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, 48, javax.swing.GroupLayout.PREFERRED_SIZE)
+                        .addGap(0, 0, Short.MAX_VALUE)))
                 .addGap(0, 0, 0))
         );
         layout.setVerticalGroup(
@@ -254,7 +283,9 @@ public class SyncLocationPanel extends javax.swing.JPanel {
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
                     .addComponent(jLabel3)
                     .addComponent(compressionLevelCombo, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
-                    .addComponent(compressionToggle))
+                    .addComponent(compressionToggle)
+                    .addComponent(threadLabel)
+                    .addComponent(compressionThreadSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addGap(0, 6, Short.MAX_VALUE))
         );
     }// </editor-fold>//GEN-END:initComponents
@@ -275,6 +306,10 @@ public class SyncLocationPanel extends javax.swing.JPanel {
         int index = Math.max(compressionLevelCombo.getSelectedIndex(),0);
         setFileCompressionLevel(COMPRESSION_LEVELS[index]);
     }//GEN-LAST:event_compressionLevelComboActionPerformed
+
+    private void compressionThreadSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_compressionThreadSpinnerStateChanged
+        setFileCompressionThreadCount((Integer)compressionThreadSpinner.getValue());
+    }//GEN-LAST:event_compressionThreadSpinnerStateChanged
     /**
      * 
      * @return 
@@ -390,6 +425,7 @@ public class SyncLocationPanel extends javax.swing.JPanel {
                     !enabled,enabled);
             compressionToggle.setSelected(enabled);
             compressionLevelCombo.setEnabled(enabled&&isEnabled());
+            compressionThreadSpinner.setEnabled(enabled&&isEnabled());
         }
     }
     /**
@@ -412,6 +448,31 @@ public class SyncLocationPanel extends javax.swing.JPanel {
                 compressionLevelCombo.setSelectedItem(level);
         }
     }
+    /**
+     * This returns the amount of threads used to compress the file.
+     * @return The amount of threads to use for compression.
+     * @see #setFileCompressionThreadCount(int) 
+     */
+    public int getFileCompressionThreadCount(){
+        return compressionThreads;
+    }
+    /**
+     * This sets the amount of threads used to compress the file. This will be 
+     * clamped to be between 1 and {@link #MAXIMUM_COMPRESSION_THREAD_COUNT}.
+     * @param threads The amount of threads to use for compression.
+     * @see #getFileCompressionThreadCount() 
+     */
+    public void setFileCompressionThreadCount(int threads){
+        threads = Math.max(1, Math.min(threads, MAXIMUM_COMPRESSION_THREAD_COUNT));
+        if (compressionThreads != threads){
+            int old = compressionThreads;
+            compressionThreads = threads;
+            firePropertyChange(FILE_COMPRESSION_THREAD_COUNT_PROPERTY_CHANGED,
+                    old,threads);
+            if (!Objects.equals(compressionThreadSpinner.getValue(), threads))
+                compressionThreadSpinner.setValue(threads);
+        }
+    }
     /**
      * 
      * @param l 
@@ -495,6 +556,7 @@ public class SyncLocationPanel extends javax.swing.JPanel {
             dbFileField.setEnabled(enabled);
             compressionToggle.setEnabled(enabled);
             compressionLevelCombo.setEnabled(enabled&&isFileCompressionEnabled());
+            compressionThreadSpinner.setEnabled(enabled&&isFileCompressionEnabled());
         } catch (NullPointerException ex) {}
     }
     @Override
@@ -504,6 +566,7 @@ public class SyncLocationPanel extends javax.swing.JPanel {
                 ",fileText="+Objects.toString(getFileText(), "")+
                 ((isFileCompressionEnabled())?",fileCompressionEnabled":"")+
                 ",fileCompressionLevel="+getFileCompressionLevel()+
+                ",fileCompressionThreadCount="+getFileCompressionThreadCount()+
                 ((isBrowseButtonShown())?",browseButtonIsShown":"");
     }
     /**
@@ -534,6 +597,12 @@ public class SyncLocationPanel extends javax.swing.JPanel {
      * 
      */
     private int compressionLevel = 5;
+    /**
+     * This is the amount of threads used to compress the file.
+     */
+    private int compressionThreads = Math.max(1, Math.min(
+            Runtime.getRuntime().availableProcessors(), 
+            MAXIMUM_COMPRESSION_THREAD_COUNT));
     /**
      * 
      */
@@ -543,6 +612,7 @@ public class SyncLocationPanel extends javax.swing.JPanel {
     private javax.swing.JButton browseButton;
     private javax.swing.JLabel capacityLabel;
     private javax.swing.JComboBox<Integer> compressionLevelCombo;
+    private javax.swing.JSpinner compressionThreadSpinner;
     private javax.swing.JCheckBox compressionToggle;
     private javax.swing.JPanel dataPanel;
     private javax.swing.Box.Filler dbBrowseFiller;
@@ -554,6 +624,7 @@ public class SyncLocationPanel extends javax.swing.JPanel {
     private components.JThumbnailLabel pfpLabel;
     private javax.swing.JLabel spaceFreeLabel;
     private javax.swing.JLabel spaceUsedLabel;
+    private javax.swing.JLabel threadLabel;
     // End of variables declaration//GEN-END:variables
     /**
      * 